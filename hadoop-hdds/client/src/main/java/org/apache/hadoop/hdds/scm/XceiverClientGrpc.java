@@ -20,6 +20,7 @@
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.security.cert.X509Certificate;
 import java.util.Collections;
 import java.util.HashMap;
@@ -38,7 +39,9 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc;
 import org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc.XceiverClientProtocolServiceStub;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
@@ -58,6 +61,7 @@
 import io.opentracing.Scope;
 import io.opentracing.Span;
 import io.opentracing.util.GlobalTracer;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.thirdparty.io.grpc.ManagedChannel;
 import org.apache.ratis.thirdparty.io.grpc.Status;
 import org.apache.ratis.thirdparty.io.grpc.netty.GrpcSslContexts;
@@ -82,6 +86,8 @@ public class XceiverClientGrpc extends XceiverClientSpi {
   private final long timeout;
   private SecurityConfig secConfig;
   private final boolean topologyAwareRead;
+  // Chunk reads larger than this are streamed, 0 if streaming is disabled.
+  private final int readStreamFrameSize;
   private X509Certificate caCert;
   // Cache the DN which returned the GetBlock command so that the ReadChunk
   // command can be sent to the same DN.
@@ -114,6 +120,8 @@ public XceiverClientGrpc(Pipeline pipeline, ConfigurationSource config,
     this.topologyAwareRead = config.getBoolean(
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_KEY,
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT);
+    this.readStreamFrameSize = config.getObject(
+        XceiverClientManager.ScmClientConfig.class).getReadStreamFrameSize();
     this.caCert = caCert;
     this.getBlockDNcache = new ConcurrentHashMap<>();
   }
@@ -338,7 +346,11 @@ private XceiverClientReply sendCommandWithRetry(
         // sendCommandAsyncCall will create a new channel and async stub
         // in case these don't exist for the specific datanode.
         reply.addDatanode(dn);
-        responseProto = sendCommandAsync(request, dn).getResponse().get();
+        if (isStreamRead(request)) {
+          responseProto = streamRead(request, dn);
+        } else {
+          responseProto = sendCommandAsync(request, dn).getResponse().get();
+        }
         if (validators != null && !validators.isEmpty()) {
           for (CheckedBiFunction validator : validators) {
             validator.apply(request, responseProto);
@@ -479,6 +491,132 @@ public void onCompleted() {
     return new XceiverClientReply(replyFuture);
   }
 
+  private boolean isStreamRead(ContainerCommandRequestProto request) {
+    return readStreamFrameSize > 0 &&
+        request.getCmdType() == ContainerProtos.Type.ReadChunk &&
+        request.getReadChunk().getChunkData().getLen() > readStreamFrameSize;
+  }
+
+  /**
+   * Reads the range of a ReadChunk request as a stream of frames, and
+   * returns them as a single ReadChunk response. Falls back to a single
+   * response if the datanode does not support streamed reads.
+   */
+  private ContainerCommandResponseProto streamRead(
+      ContainerCommandRequestProto request, DatanodeDetails dn)
+      throws IOException, InterruptedException, ExecutionException {
+    try {
+      return streamReadAsync(request, dn).get();
+    } catch (ExecutionException e) {
+      if (Status.fromThrowable(e.getCause()).getCode()
+          != Status.Code.UNIMPLEMENTED) {
+        throw e;
+      }
+      LOG.debug("Datanode {} does not support streamed reads", dn, e);
+      return sendCommandAsync(request, dn).getResponse().get();
+    }
+  }
+
+  @VisibleForTesting
+  CompletableFuture<ContainerCommandResponseProto> streamReadAsync(
+      ContainerCommandRequestProto request, DatanodeDetails dn)
+      throws IOException, InterruptedException {
+    checkOpen(dn, request.getEncodedToken());
+    final ChunkInfo chunkInfo = request.getReadChunk().getChunkData();
+    final ContainerCommandRequestProto streamRequest = request.toBuilder()
+        .setReadChunk(request.getReadChunk().toBuilder()
+            .setFrameSize(readStreamFrameSize))
+        .build();
+    final CompletableFuture<ContainerCommandResponseProto> replyFuture =
+        new CompletableFuture<>();
+    semaphore.acquire();
+    long requestTime = System.nanoTime();
+    metrics.incrPendingContainerOpsMetrics(request.getCmdType());
+    final StreamObserver<ContainerCommandResponseProto> responseObserver =
+        new StreamObserver<ContainerCommandResponseProto>() {
+          private final List<ByteString> frames = new ArrayList<>();
+          private ContainerCommandResponseProto firstResponse;
+          private long received;
+
+          @Override
+          public void onNext(ContainerCommandResponseProto value) {
+            if (replyFuture.isDone()) {
+              return;
+            }
+            if (value.getResult() != ContainerProtos.Result.SUCCESS) {
+              // The error is returned as the response of the request.
+              complete(value);
+              return;
+            }
+            ChunkInfo frameInfo = value.getReadChunk().getChunkData();
+            if (frameInfo.getOffset() != chunkInfo.getOffset() + received) {
+              complete(new IOException("Unexpected frame at offset "
+                  + frameInfo.getOffset() + " of chunk "
+                  + chunkInfo.getChunkName() + ", expected offset "
+                  + (chunkInfo.getOffset() + received)));
+              return;
+            }
+            if (firstResponse == null) {
+              firstResponse = value;
+            }
+            ByteString data = value.getReadChunk().getData();
+            frames.add(data);
+            received += data.size();
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            complete(t);
+          }
+
+          @Override
+          public void onCompleted() {
+            if (firstResponse == null) {
+              complete(new IOException(
+                  "Stream completed but no reply for request " + request));
+              return;
+            }
+            // The frames are concatenated without copying their data.
+            ReadChunkResponseProto readChunk = firstResponse
+                .getReadChunk().toBuilder()
+                .setChunkData(chunkInfo)
+                .setData(ByteString.copyFrom(frames))
+                .build();
+            complete(firstResponse.toBuilder()
+                .setReadChunk(readChunk).build());
+          }
+
+          private void complete(ContainerCommandResponseProto response) {
+            if (replyFuture.complete(response)) {
+              release();
+            }
+          }
+
+          private void complete(Throwable t) {
+            if (replyFuture.completeExceptionally(t)) {
+              release();
+            }
+          }
+
+          private void release() {
+            metrics.decrPendingContainerOpsMetrics(request.getCmdType());
+            metrics.addContainerOpsLatency(request.getCmdType(),
+                System.nanoTime() - requestTime);
+            semaphore.release();
+          }
+        };
+    try {
+      asyncStubs.get(dn.getUuid())
+          .withDeadlineAfter(timeout, TimeUnit.SECONDS)
+          .streamRead(streamRequest, responseObserver);
+    } catch (RuntimeException e) {
+      // The observer is not called if the call fails to start, so the
+      // request is completed here to release the semaphore.
+      responseObserver.onError(e);
+    }
+    return replyFuture;
+  }
+
   private synchronized void checkOpen(DatanodeDetails dn, String encodedToken)
       throws IOException{
     if (closed) {
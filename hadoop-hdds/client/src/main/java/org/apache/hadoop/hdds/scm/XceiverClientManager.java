@@ -24,6 +24,7 @@
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.hadoop.hdds.conf.Config;
 import org.apache.hadoop.hdds.conf.ConfigGroup;
@@ -31,6 +32,7 @@
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.security.exception.SCMSecurityException;
 import org.apache.hadoop.hdds.security.x509.certificate.utils.CertificateCodec;
@@ -47,8 +49,13 @@
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.hadoop.hdds.conf.ConfigTag.OZONE;
@@ -70,6 +77,7 @@
 public class XceiverClientManager implements Closeable {
   private static final Logger LOG =
       LoggerFactory.getLogger(XceiverClientManager.class);
+  private static final long SHARED_THREAD_KEEP_ALIVE_SECONDS = 60;
   //TODO : change this to SCM configuration class
   private final ConfigurationSource conf;
   private final Cache<String, XceiverClientSpi> clientCache;
@@ -78,6 +86,15 @@ public class XceiverClientManager implements Closeable {
   private static XceiverClientMetrics metrics;
   private boolean isSecurityEnabled;
   private final boolean topologyAwareRead;
+  private final int readAheadChunks;
+  private final long readAheadMaxBytes;
+  private final int readAheadThreads;
+  private final int responseThreads;
+  private final int smallFileThreshold;
+  // Shared by all the input streams of the client, created on first use.
+  private ExecutorService readAheadExecutor;
+  // Shared by all the output streams of the client, created on first use.
+  private ExecutorService responseExecutor;
   /**
    * Creates a new XceiverClientManager for non secured ozone cluster.
    * For security enabled ozone cluster, client should use the other constructor
@@ -127,6 +144,83 @@ public void onRemoval(
     topologyAwareRead = conf.getBoolean(
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_KEY,
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT);
+    this.readAheadChunks = clientConf.getReadAheadChunks();
+    this.readAheadMaxBytes = clientConf.getReadAheadMaxBytes();
+    this.readAheadThreads = clientConf.getReadAheadThreads();
+    this.responseThreads = clientConf.getResponseThreads();
+    this.smallFileThreshold = clientConf.getSmallFileThreshold();
+  }
+
+  /**
+   * Returns the maximum length of a block written and read as a small file
+   * in a single request, or 0 if small files are handled as other blocks.
+   */
+  public int getSmallFileThreshold() {
+    return smallFileThreshold;
+  }
+
+  /**
+   * Returns the number of chunks and bytes an input stream can read ahead of
+   * its current position, or null if read ahead is disabled.
+   */
+  public BlockInputStream.ReadAheadBudget newReadAheadBudget() {
+    if (readAheadChunks <= 0 || readAheadMaxBytes <= 0) {
+      return null;
+    }
+    return new BlockInputStream.ReadAheadBudget(readAheadChunks,
+        readAheadMaxBytes);
+  }
+
+  /**
+   * Returns the executor used by input streams to read ahead.
+   */
+  public synchronized ExecutorService getReadAheadExecutor() {
+    if (readAheadExecutor == null) {
+      readAheadExecutor = newSharedExecutor("ReadAhead-%d", readAheadThreads,
+          XceiverClientMetrics::incrReadAheadThreads);
+    }
+    return readAheadExecutor;
+  }
+
+  /**
+   * Returns the executor used by output streams to handle the responses of
+   * their asynchronous requests. Streams which need their responses handled
+   * in order should run them through a sequential executor on top of it.
+   */
+  public synchronized ExecutorService getResponseExecutor() {
+    if (responseExecutor == null) {
+      responseExecutor = newSharedExecutor("BlockResponse-%d",
+          responseThreads, XceiverClientMetrics::incrResponseThreads);
+    }
+    return responseExecutor;
+  }
+
+  /**
+   * Creates an executor with up to the given number of daemon threads,
+   * which exit when idle. The number of live threads is counted by
+   * threadCount in the client metrics.
+   */
+  private static ExecutorService newSharedExecutor(String nameFormat,
+      int threads, ObjIntConsumer<XceiverClientMetrics> threadCount) {
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat(nameFormat)
+        .setThreadFactory(runnable -> new Thread(() -> {
+          XceiverClientMetrics clientMetrics = getXceiverClientMetrics();
+          threadCount.accept(clientMetrics, 1);
+          try {
+            runnable.run();
+          } finally {
+            threadCount.accept(clientMetrics, -1);
+          }
+        }))
+        .build();
+    int poolSize = Math.max(threads, 1);
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
+        SHARED_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   @VisibleForTesting
@@ -275,6 +369,18 @@ public void close() {
     clientCache.invalidateAll();
     clientCache.cleanUp();
 
+    synchronized (this) {
+      if (readAheadExecutor != null) {
+        readAheadExecutor.shutdownNow();
+        readAheadExecutor = null;
+      }
+      if (responseExecutor != null) {
+        // Let pending responses of streams which are not closed complete.
+        responseExecutor.shutdown();
+        responseExecutor = null;
+      }
+    }
+
     if (metrics != null) {
       metrics.unRegister();
     }
@@ -335,6 +441,70 @@ public static class ScmClientConfig {
     )
     private long staleThreshold;
 
+    @Config(key = "read.ahead.chunks",
+        defaultValue = "0",
+        tags = {OZONE, PERFORMANCE},
+        description =
+            "Number of chunks input streams read in parallel ahead of the "
+                + "current read position, including the chunks of the next "
+                + "block. Read ahead is disabled if it is 0."
+    )
+    private int readAheadChunks;
+
+    @Config(key = "read.ahead.max.bytes",
+        defaultValue = "33554432",
+        tags = {OZONE, PERFORMANCE},
+        description =
+            "Maximum number of bytes an input stream reads ahead of the "
+                + "current read position, which bounds the memory used by "
+                + "read ahead buffers of each stream."
+    )
+    private long readAheadMaxBytes;
+
+    @Config(key = "read.ahead.threads",
+        defaultValue = "8",
+        tags = {OZONE, PERFORMANCE},
+        description =
+            "Number of threads shared by the input streams of a client "
+                + "to read ahead chunks."
+    )
+    private int readAheadThreads;
+
+    @Config(key = "response.threads",
+        defaultValue = "16",
+        tags = {OZONE, PERFORMANCE},
+        description =
+            "Number of threads shared by the output streams of a client "
+                + "to handle the responses of their asynchronous requests. "
+                + "The responses of each stream are still handled in order."
+    )
+    private int responseThreads;
+
+    @Config(key = "small.file.threshold",
+        defaultValue = "0",
+        tags = {OZONE, PERFORMANCE},
+        description =
+            "Blocks of at most this many bytes are written with a single "
+                + "PutSmallFile request instead of WriteChunk and PutBlock, "
+                + "if the whole block is written at close, and are read with "
+                + "a single GetSmallFile request instead of GetBlock and "
+                + "ReadChunk. It should not be larger than the chunk size. "
+                + "Small files are handled as other blocks if it is 0."
+    )
+    private int smallFileThreshold;
+
+    @Config(key = "read.stream.frame.size",
+        defaultValue = "0",
+        tags = {OZONE, PERFORMANCE},
+        description =
+            "Chunk reads of more than this many bytes are streamed by the "
+                + "datanode in responses of at most this many bytes, so that "
+                + "the datanode does not hold the whole range in a single "
+                + "message. Chunks are read with a single response if it "
+                + "is 0."
+    )
+    private int readStreamFrameSize;
+
     public long getStaleThreshold(TimeUnit unit) {
       return unit.convert(staleThreshold, MILLISECONDS);
     }
@@ -349,6 +519,50 @@ public void setMaxSize(int maxSize) {
       this.maxSize = maxSize;
     }
 
+    public int getReadAheadChunks() {
+      return readAheadChunks;
+    }
+
+    @VisibleForTesting
+    public void setReadAheadChunks(int readAheadChunks) {
+      this.readAheadChunks = readAheadChunks;
+    }
+
+    public long getReadAheadMaxBytes() {
+      return readAheadMaxBytes;
+    }
+
+    @VisibleForTesting
+    public void setReadAheadMaxBytes(long readAheadMaxBytes) {
+      this.readAheadMaxBytes = readAheadMaxBytes;
+    }
+
+    public int getReadAheadThreads() {
+      return readAheadThreads;
+    }
+
+    public int getResponseThreads() {
+      return responseThreads;
+    }
+
+    public int getSmallFileThreshold() {
+      return smallFileThreshold;
+    }
+
+    @VisibleForTesting
+    public void setSmallFileThreshold(int smallFileThreshold) {
+      this.smallFileThreshold = smallFileThreshold;
+    }
+
+    public int getReadStreamFrameSize() {
+      return readStreamFrameSize;
+    }
+
+    @VisibleForTesting
+    public void setReadStreamFrameSize(int readStreamFrameSize) {
+      this.readStreamFrameSize = readStreamFrameSize;
+    }
+
   }
 
 }
@@ -26,6 +26,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
 /**
@@ -39,6 +40,19 @@ public class XceiverClientMetrics {
 
   private @Metric MutableCounterLong pendingOps;
   private @Metric MutableCounterLong totalOps;
+  @Metric(about = "Number of chunks read ahead by input streams")
+  private MutableCounterLong readAheadOps;
+  @Metric(about = "Number of chunk reads served by read ahead data")
+  private MutableCounterLong readAheadHits;
+  @Metric(about = "Number of chunks read ahead and dropped without use")
+  private MutableCounterLong readAheadWastes;
+  @Metric(about = "Bytes read ahead and dropped without use")
+  private MutableCounterLong readAheadWastedBytes;
+  @Metric(about = "Number of live threads reading ahead for input streams")
+  private MutableGaugeInt readAheadThreads;
+  @Metric(about = "Number of live threads handling responses of output " +
+      "streams")
+  private MutableGaugeInt responseThreads;
   private MutableCounterLong[] pendingOpsArray;
   private MutableCounterLong[] opsArray;
   private MutableRate[] containerOpsLatency;
@@ -96,6 +110,52 @@ public void addContainerOpsLatency(ContainerProtos.Type type,
     containerOpsLatency[type.ordinal()].add(latencyNanos);
   }
 
+  public void incrReadAheadOps() {
+    readAheadOps.incr();
+  }
+
+  public void incrReadAheadHits() {
+    readAheadHits.incr();
+  }
+
+  public void incrReadAheadWastes(long bytes) {
+    readAheadWastes.incr();
+    readAheadWastedBytes.incr(bytes);
+  }
+
+  public void incrReadAheadThreads(int delta) {
+    readAheadThreads.incr(delta);
+  }
+
+  public void incrResponseThreads(int delta) {
+    responseThreads.incr(delta);
+  }
+
+  @VisibleForTesting
+  public int getReadAheadThreads() {
+    return readAheadThreads.value();
+  }
+
+  @VisibleForTesting
+  public int getResponseThreads() {
+    return responseThreads.value();
+  }
+
+  @VisibleForTesting
+  public long getReadAheadOps() {
+    return readAheadOps.value();
+  }
+
+  @VisibleForTesting
+  public long getReadAheadHits() {
+    return readAheadHits.value();
+  }
+
+  @VisibleForTesting
+  public long getReadAheadWastes() {
+    return readAheadWastes.value();
+  }
+
   public long getPendingContainerOpCountMetrics(ContainerProtos.Type type) {
     return pendingOpsArray[type.ordinal()].value();
   }
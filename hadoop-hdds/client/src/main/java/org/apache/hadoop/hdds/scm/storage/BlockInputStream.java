@@ -26,6 +26,7 @@
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.security.token.Token;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.hdds.scm.XceiverClientManager;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
@@ -33,15 +34,22 @@
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetBlockResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -50,7 +58,8 @@
  * This class encapsulates all state management for iterating
  * through the sequence of chunks through {@link ChunkInputStream}.
  */
-public class BlockInputStream extends InputStream implements Seekable {
+public class BlockInputStream extends InputStream
+    implements Seekable, ByteBufferReadable {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(BlockInputStream.class);
@@ -62,9 +71,14 @@ public class BlockInputStream extends InputStream implements Seekable {
   private Pipeline pipeline;
   private final Token<OzoneBlockTokenIdentifier> token;
   private final boolean verifyChecksum;
+  // blocks up to this length are read with a single GetSmallFile request
+  private final int smallFileThreshold;
   private XceiverClientManager xceiverClientManager;
   private XceiverClientSpi xceiverClient;
   private boolean initialized = false;
+  // Data of a small block read along with its only chunk, until the stream
+  // of the chunk is created.
+  private ByteString smallFileData;
 
   // List of ChunkInputStreams, one for each chunk in the block
   private List<ChunkInputStream> chunkStreams;
@@ -107,6 +121,8 @@ public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
     this.token = token;
     this.verifyChecksum = verifyChecksum;
     this.xceiverClientManager = xceiverClientManager;
+    this.smallFileThreshold = xceiverClientManager == null ? 0 :
+        xceiverClientManager.getSmallFileThreshold();
     this.refreshPipelineFunction = refreshPipelineFunction;
   }
 
@@ -130,7 +146,7 @@ public synchronized void initialize() throws IOException {
 
     List<ChunkInfo> chunks = null;
     try {
-      chunks = getChunkInfos();
+      chunks = readChunkInfos();
     } catch (ContainerNotFoundException ioEx) {
       LOG.error("Unable to read block information from pipeline.");
       if (refreshPipelineFunction != null) {
@@ -141,7 +157,7 @@ public synchronized void initialize() throws IOException {
         } else {
           LOG.debug("New pipeline got for block {}", blockID);
           this.pipeline = newPipeline;
-          chunks = getChunkInfos();
+          chunks = readChunkInfos();
         }
       }
     }
@@ -158,6 +174,10 @@ public synchronized void initialize() throws IOException {
         chunkOffsets[i] = tempOffset;
         tempOffset += chunks.get(i).getLen();
       }
+      if (smallFileData != null) {
+        chunkStreams.get(0).setData(smallFileData);
+        smallFileData = null;
+      }
 
       initialized = true;
       this.chunkIndex = 0;
@@ -171,10 +191,61 @@ public synchronized void initialize() throws IOException {
   }
 
   /**
-   * Send RPC call to get the block info from the container.
+   * Gets the chunks of the block from the container. A small block of a
+   * single chunk is read along with its data in one request, and the data is
+   * kept in smallFileData.
    * @return List of chunks in this block.
    */
-  protected List<ChunkInfo> getChunkInfos() throws IOException {
+  private List<ChunkInfo> readChunkInfos() throws IOException {
+    smallFileData = null;
+    if (length > 0 && length <= smallFileThreshold) {
+      ReadChunkResponseProto response = getSmallFile();
+      ChunkInfo chunkInfo = response.getChunkData();
+      ByteString data = response.getData();
+      if (chunkInfo.getLen() == length && data.size() == length) {
+        if (verifyChecksum) {
+          Checksum.verifyChecksum(data,
+              ChecksumData.getFromProtoBuf(chunkInfo.getChecksumData()), 0);
+        }
+        smallFileData = data;
+        return Collections.singletonList(chunkInfo);
+      }
+      // The block has more than one chunk, which are read separately. The
+      // client is acquired again to get the block.
+      xceiverClientManager.releaseClientForReadData(xceiverClient, false);
+    }
+    return getChunkInfos();
+  }
+
+  /**
+   * Send RPC call to get the data of the whole block from the container.
+   * @return the data of the block and its last chunk.
+   */
+  protected ReadChunkResponseProto getSmallFile() throws IOException {
+    acquireClient();
+    boolean success = false;
+    ReadChunkResponseProto response;
+    try {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Reading small file {} from container {}",
+            blockID.getLocalID(), blockID.getContainerID());
+      }
+
+      if (token != null) {
+        UserGroupInformation.getCurrentUser().addToken(token);
+      }
+      response = ContainerProtocolCalls.readSmallFile(xceiverClient, blockID)
+          .getData();
+      success = true;
+    } finally {
+      if (!success) {
+        xceiverClientManager.releaseClientForReadData(xceiverClient, false);
+      }
+    }
+    return response;
+  }
+
+  private void acquireClient() throws IOException {
     // irrespective of the container state, we will always read via Standalone
     // protocol.
     if (pipeline.getType() != HddsProtos.ReplicationType.STAND_ALONE) {
@@ -182,6 +253,14 @@ protected List<ChunkInfo> getChunkInfos() throws IOException {
           .setType(HddsProtos.ReplicationType.STAND_ALONE).build();
     }
     xceiverClient = xceiverClientManager.acquireClientForReadData(pipeline);
+  }
+
+  /**
+   * Send RPC call to get the block info from the container.
+   * @return List of chunks in this block.
+   */
+  protected List<ChunkInfo> getChunkInfos() throws IOException {
+    acquireClient();
     boolean success = false;
     List<ChunkInfo> chunks;
     try {
@@ -240,22 +319,34 @@ public synchronized int read() throws IOException {
    */
   @Override
   public synchronized int read(byte[] b, int off, int len) throws IOException {
-    if (b == null) {
-      throw new NullPointerException();
-    }
-    if (off < 0 || len < 0 || len > b.length - off) {
-      throw new IndexOutOfBoundsException();
-    }
+    ByteReaderStrategy strategy = new ByteArrayReader(b, off, len);
     if (len == 0) {
       return 0;
     }
+    return readWithStrategy(strategy);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized int read(ByteBuffer byteBuffer) throws IOException {
+    ByteReaderStrategy strategy = new ByteBufferReader(byteBuffer);
+    if (strategy.getTargetLength() == 0) {
+      return 0;
+    }
+    return readWithStrategy(strategy);
+  }
 
+  private synchronized int readWithStrategy(ByteReaderStrategy strategy)
+      throws IOException {
     if (!initialized) {
       initialize();
     }
 
     checkOpen();
     int totalReadLen = 0;
+    int len = strategy.getTargetLength();
     while (len > 0) {
       // if we are at the last chunk and have read the entire chunk, return
       if (chunkStreams.size() == 0 ||
@@ -268,7 +359,7 @@ public synchronized int read(byte[] b, int off, int len) throws IOException {
       // Get the current chunkStream and read data from it
       ChunkInputStream current = chunkStreams.get(chunkIndex);
       int numBytesToRead = Math.min(len, (int)current.getRemaining());
-      int numBytesRead = current.read(b, off, numBytesToRead);
+      int numBytesRead = strategy.readFromBlock(current, numBytesToRead);
 
       if (numBytesRead != numBytesToRead) {
         // This implies that there is either data loss or corruption in the
@@ -280,7 +371,6 @@ public synchronized int read(byte[] b, int off, int len) throws IOException {
             numBytesToRead, numBytesRead));
       }
       totalReadLen += numBytesRead;
-      off += numBytesRead;
       len -= numBytesRead;
       if (current.getRemaining() <= 0 &&
           ((chunkIndex + 1) < chunkStreams.size())) {
@@ -290,6 +380,108 @@ public synchronized int read(byte[] b, int off, int len) throws IOException {
     return totalReadLen;
   }
 
+  /**
+   * Reads up to buf.remaining() bytes of the block starting at the given
+   * position into the buffer, without changing the position of the stream.
+   * It can be called concurrently with other reads.
+   *
+   * @return the number of bytes read, or -1 if the position is at or after
+   * the end of the block.
+   */
+  public int read(long position, ByteBuffer buf) throws IOException {
+    if (position < 0) {
+      throw new EOFException(
+          "Negative position " + position + " for block: " + blockID);
+    }
+    if (position >= length) {
+      return EOF;
+    }
+    if (!buf.hasRemaining()) {
+      return 0;
+    }
+
+    final List<ChunkInputStream> chunks;
+    final long[] offsets;
+    synchronized (this) {
+      if (!initialized) {
+        initialize();
+      }
+      checkOpen();
+      chunks = chunkStreams;
+      offsets = chunkOffsets;
+    }
+    if (chunks == null || chunks.isEmpty()) {
+      return EOF;
+    }
+
+    int index = Arrays.binarySearch(offsets, position);
+    if (index < 0) {
+      // Binary search returns -insertionPoint - 1 if element is not present
+      // in the array.
+      index = -index - 2;
+    }
+    int totalReadLen = 0;
+    long chunkPosition = position - offsets[index];
+    for (; index < chunks.size() && buf.hasRemaining(); index++) {
+      ChunkInputStream chunk = chunks.get(index);
+      if (chunkPosition < chunk.getLength()) {
+        int numBytesRead = chunk.read(chunkPosition, buf);
+        if (numBytesRead == EOF) {
+          break;
+        }
+        totalReadLen += numBytesRead;
+      }
+      chunkPosition = 0;
+    }
+    return totalReadLen;
+  }
+
+  /**
+   * Starts reading ahead in the background the chunks from the current
+   * position which are not read yet, within the given budget. Chunks already
+   * being read ahead also use the budget. The part of the budget left can be
+   * used to read ahead the next block.
+   *
+   * @param budget chunks and bytes which can be read ahead
+   * @param executor executor to read the chunks
+   */
+  public synchronized void readAhead(ReadAheadBudget budget,
+      Executor executor) throws IOException {
+    if (!initialized) {
+      initialize();
+    }
+    if (!initialized) {
+      return;
+    }
+    for (int i = chunkIndex; i < chunkStreams.size(); i++) {
+      ChunkInputStream chunkStream = chunkStreams.get(i);
+      if (chunkStream.isReadStarted()) {
+        continue;
+      }
+      if (!budget.acquire(chunkStream.getLength())) {
+        return;
+      }
+      chunkStream.readAhead(executor);
+    }
+  }
+
+  /**
+   * Drops the data read ahead for all the chunks.
+   */
+  public synchronized void dropReadAhead() {
+    if (chunkStreams != null) {
+      chunkStreams.forEach(ChunkInputStream::dropReadAhead);
+    }
+  }
+
+  /**
+   * Returns true if the block has been initialized, i.e. its chunks are
+   * known.
+   */
+  public synchronized boolean isInitialized() {
+    return initialized;
+  }
+
   /**
    * Seeks the BlockInputStream to the specified position. If the stream is
    * not initialized, save the seeked position via blockPosition. Otherwise,
@@ -344,6 +536,14 @@ public synchronized void seek(long pos) throws IOException {
       chunkIndex = -chunkIndex - 2;
     }
 
+    // Drop the data read ahead, except for the chunk of the new position,
+    // as the reader moved away from where it was sequentially reading.
+    for (int index = 0; index < chunkStreams.size(); index++) {
+      if (index != chunkIndex) {
+        chunkStreams.get(index).dropReadAhead();
+      }
+    }
+
     // Reset the previous chunkStream's position
     chunkStreams.get(chunkIndexOfPrevPosition).resetPosition();
 
@@ -378,6 +578,7 @@ public boolean seekToNewSource(long targetPos) throws IOException {
 
   @Override
   public synchronized void close() {
+    dropReadAhead();
     if (xceiverClientManager != null && xceiverClient != null) {
       xceiverClientManager.releaseClient(xceiverClient, false);
       xceiverClientManager = null;
@@ -408,6 +609,40 @@ public long getLength() {
     return length;
   }
 
+  /**
+   * Number of chunks and bytes which can still be read ahead by a stream.
+   * Chunks are read ahead as a whole, so a chunk larger than the bytes left
+   * is not read ahead.
+   */
+  public static final class ReadAheadBudget {
+
+    private int chunks;
+    private long bytes;
+
+    public ReadAheadBudget(int chunks, long bytes) {
+      this.chunks = chunks;
+      this.bytes = bytes;
+    }
+
+    /**
+     * Takes a chunk of the given length from the budget.
+     * @return false if the budget does not allow the chunk.
+     */
+    boolean acquire(long chunkLength) {
+      if (chunks <= 0 || chunkLength > bytes) {
+        chunks = 0;
+        return false;
+      }
+      chunks--;
+      bytes -= chunkLength;
+      return true;
+    }
+
+    public boolean isExhausted() {
+      return chunks <= 0 || bytes <= 0;
+    }
+  }
+
   @VisibleForTesting
   synchronized int getChunkIndex() {
     return chunkIndex;
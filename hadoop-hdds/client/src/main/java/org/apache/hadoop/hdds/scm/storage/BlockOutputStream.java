@@ -19,6 +19,7 @@
 package org.apache.hadoop.hdds.scm.storage;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.XceiverClientReply;
@@ -44,11 +45,10 @@
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -56,6 +56,8 @@
     .putBlockAsync;
 import static org.apache.hadoop.hdds.scm.storage.ContainerProtocolCalls
     .writeChunkAsync;
+import static org.apache.hadoop.hdds.scm.storage.ContainerProtocolCalls
+    .writeSmallFileAsync;
 
 /**
  * An {@link OutputStream} used by the REST service in combination with the
@@ -91,12 +93,16 @@ public class BlockOutputStream extends OutputStream {
   private final long streamBufferFlushSize;
   private final boolean streamBufferFlushDelay;
   private final long streamBufferMaxSize;
+  // blocks up to this length written at close are sent with PutSmallFile
+  private final int smallFileThreshold;
   private final BufferPool bufferPool;
   // The IOException will be set by response handling thread in case there is an
   // exception received in the response. If the exception is set, the next
   // request will fail upfront.
   private final AtomicReference<IOException> ioException;
-  private final ExecutorService responseExecutor;
+  // Handles the responses of async requests in order, on the threads shared
+  // by the output streams of the client.
+  private final Executor responseExecutor;
 
   // the effective length of data flushed so far
   private long totalDataFlushedLength;
@@ -151,11 +157,12 @@ public BlockOutputStream(BlockID blockID,
     this.streamBufferFlushSize = streamBufferFlushSize;
     this.streamBufferMaxSize = streamBufferMaxSize;
     this.streamBufferFlushDelay = streamBufferFlushDelay;
+    this.smallFileThreshold = xceiverClientManager.getSmallFileThreshold();
     this.bufferPool = bufferPool;
     this.bytesPerChecksum = bytesPerChecksum;
 
-    // A single thread executor handle the responses of async requests
-    responseExecutor = Executors.newSingleThreadExecutor();
+    responseExecutor = MoreExecutors.newSequentialExecutor(
+        xceiverClientManager.getResponseExecutor());
     commitWatcher = new CommitWatcher(bufferPool, xceiverClient);
     bufferList = null;
     totalDataFlushedLength = 0;
@@ -401,24 +408,8 @@ ContainerCommandResponseProto> executePutBlock(boolean close,
         }
         // if the ioException is not set, putBlock is successful
         if (getIoException() == null && !force) {
-          BlockID responseBlockID = BlockID.getFromProtobuf(
-              e.getPutBlock().getCommittedBlockLength().getBlockID());
-          Preconditions.checkState(blockID.get().getContainerBlockID()
-              .equals(responseBlockID.getContainerBlockID()));
-          // updates the bcsId of the block
-          blockID.set(responseBlockID);
-          if (LOG.isDebugEnabled()) {
-            LOG.debug(
-                "Adding index " + asyncReply.getLogIndex() + " commitMap size "
-                    + commitWatcher.getCommitInfoMapSize() + " flushLength "
-                    + flushPos + " numBuffers " + byteBufferList.size()
-                    + " blockID " + blockID + " bufferPool size" + bufferPool
-                    .getSize() + " currentBufferIndex " + bufferPool
-                    .getCurrentBufferIndex());
-          }
-          // for standalone protocol, logIndex will always be 0.
-          commitWatcher
-              .updateCommitInfoMap(asyncReply.getLogIndex(), byteBufferList);
+          updateCommitInfo(e.getPutBlock().getCommittedBlockLength(),
+              asyncReply, flushPos, byteBufferList);
         }
         return e;
       }, responseExecutor).exceptionally(e -> {
@@ -440,6 +431,92 @@ ContainerCommandResponseProto> executePutBlock(boolean close,
     return flushFuture;
   }
 
+  /**
+   * Writes the data in the buffer as the only chunk of the block, along with
+   * the block itself, in a single PutSmallFile request. It is used instead
+   * of writeChunk and putBlock when the whole block is written at close.
+   */
+  private CompletableFuture<ContainerProtos.
+      ContainerCommandResponseProto> executePutSmallFile(ChunkBuffer buffer)
+      throws IOException {
+    checkOpen();
+    long flushPos = totalDataFlushedLength;
+    final List<ChunkBuffer> byteBufferList = new ArrayList<>(1);
+    byteBufferList.add(buffer);
+    final ChunkBuffer chunk = buffer.duplicate(0, buffer.position());
+    final ByteString data = chunk.toByteString(
+        bufferPool.byteStringConversion());
+    final ChunkInfo chunkInfo = createChunkInfo(chunk);
+    containerBlockData.addChunks(chunkInfo);
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Writing small file {} length {} for blockID {}",
+          chunkInfo.getChunkName(), chunkInfo.getLen(), blockID);
+    }
+
+    CompletableFuture<ContainerProtos.
+        ContainerCommandResponseProto> flushFuture = null;
+    try {
+      XceiverClientReply asyncReply = writeSmallFileAsync(xceiverClient,
+          containerBlockData.build(), chunkInfo, data);
+      flushFuture = asyncReply.getResponse().thenApplyAsync(e -> {
+        try {
+          validateResponse(e);
+        } catch (IOException sce) {
+          throw new CompletionException(sce);
+        }
+        if (getIoException() == null) {
+          updateCommitInfo(e.getPutSmallFile().getCommittedBlockLength(),
+              asyncReply, flushPos, byteBufferList);
+        }
+        return e;
+      }, responseExecutor).exceptionally(e -> {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("putSmallFile failed for blockID {} with exception {}",
+              blockID, e.getLocalizedMessage());
+        }
+        CompletionException ce = new CompletionException(e);
+        setIoException(ce);
+        throw ce;
+      });
+    } catch (IOException | ExecutionException e) {
+      throw new IOException(EXCEPTION_MSG + e.toString(), e);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      handleInterruptedException(ex, false);
+    }
+    commitWatcher.getFutureMap().put(flushPos, flushFuture);
+    return flushFuture;
+  }
+
+  /**
+   * Updates the bcsId of the block from the response of a request which
+   * committed the block, and adds the buffers it flushed to the commit map.
+   */
+  private void updateCommitInfo(
+      ContainerProtos.GetCommittedBlockLengthResponseProto committedBlock,
+      XceiverClientReply asyncReply, long flushPos,
+      List<ChunkBuffer> byteBufferList) {
+    BlockID responseBlockID =
+        BlockID.getFromProtobuf(committedBlock.getBlockID());
+    Preconditions.checkState(blockID.get().getContainerBlockID()
+        .equals(responseBlockID.getContainerBlockID()));
+    // updates the bcsId of the block
+    blockID.set(responseBlockID);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+          "Adding index " + asyncReply.getLogIndex() + " commitMap size "
+              + commitWatcher.getCommitInfoMapSize() + " flushLength "
+              + flushPos + " numBuffers " + byteBufferList.size()
+              + " blockID " + blockID + " bufferPool size" + bufferPool
+              .getSize() + " currentBufferIndex " + bufferPool
+              .getCurrentBufferIndex());
+    }
+    // for standalone protocol, logIndex will always be 0.
+    commitWatcher
+        .updateCommitInfoMap(asyncReply.getLogIndex(), byteBufferList);
+  }
+
   @Override
   public void flush() throws IOException {
     if (xceiverClientManager != null && xceiverClient != null
@@ -483,14 +560,21 @@ private void handleFlush(boolean close)
     if (totalDataFlushedLength < writtenDataLength) {
       final ChunkBuffer currentBuffer = bufferPool.getCurrentBuffer();
       Preconditions.checkArgument(currentBuffer.position() > 0);
-      if (currentBuffer.hasRemaining()) {
-        writeChunk(currentBuffer);
+      if (close && isSmallFile()) {
+        // The whole block is still in the current buffer, so it can be
+        // written along with the block in a single request.
+        updateFlushLength();
+        executePutSmallFile(currentBuffer);
+      } else {
+        if (currentBuffer.hasRemaining()) {
+          writeChunk(currentBuffer);
+        }
+        // This can be a partially filled chunk. Since we are flushing the
+        // buffer here, we just limit this buffer to the current position.
+        // So that next write will happen in new buffer
+        updateFlushLength();
+        executePutBlock(close, false);
       }
-      // This can be a partially filled chunk. Since we are flushing the buffer
-      // here, we just limit this buffer to the current position. So that next
-      // write will happen in new buffer
-      updateFlushLength();
-      executePutBlock(close, false);
     } else if (close) {
       // forcing an "empty" putBlock if stream is being closed without new
       // data since latest flush - we need to send the "EOF" flag
@@ -506,6 +590,15 @@ private void handleFlush(boolean close)
     checkOpen();
   }
 
+  /**
+   * Returns true if no chunk of the block has been written yet and the
+   * data written so far is small enough to be sent as a small file.
+   */
+  private boolean isSmallFile() {
+    return chunkIndex == 0 && totalDataFlushedLength == 0
+        && writtenDataLength <= smallFileThreshold;
+  }
+
   @Override
   public void close() throws IOException {
     if (xceiverClientManager != null && xceiverClient != null
@@ -579,7 +672,6 @@ public void cleanup(boolean invalidateClient) {
       bufferList.clear();
     }
     bufferList = null;
-    responseExecutor.shutdown();
   }
 
   /**
@@ -610,21 +702,14 @@ public boolean isClosed() {
    * checksum
    */
   private void writeChunkToContainer(ChunkBuffer chunk) throws IOException {
-    int effectiveChunkSize = chunk.remaining();
-    final long offset = chunkOffset.getAndAdd(effectiveChunkSize);
     final ByteString data = chunk.toByteString(
         bufferPool.byteStringConversion());
-    ChecksumData checksumData = checksum.computeChecksum(chunk);
-    ChunkInfo chunkInfo = ChunkInfo.newBuilder()
-        .setChunkName(blockID.get().getLocalID() + "_chunk_" + ++chunkIndex)
-        .setOffset(offset)
-        .setLen(effectiveChunkSize)
-        .setChecksumData(checksumData.getProtoBufMessage())
-        .build();
+    final ChunkInfo chunkInfo = createChunkInfo(chunk);
 
     if (LOG.isDebugEnabled()) {
       LOG.debug("Writing chunk {} length {} at offset {}",
-          chunkInfo.getChunkName(), effectiveChunkSize, offset);
+          chunkInfo.getChunkName(), chunkInfo.getLen(),
+          chunkInfo.getOffset());
     }
 
     try {
@@ -658,6 +743,26 @@ private void writeChunkToContainer(ChunkBuffer chunk) throws IOException {
     containerBlockData.addChunks(chunkInfo);
   }
 
+  /**
+   * Creates the information of the next chunk of the block, which holds
+   * the data in the buffer.
+   *
+   * @throws OzoneChecksumException if there is an error while computing
+   * checksum
+   */
+  private ChunkInfo createChunkInfo(ChunkBuffer chunk)
+      throws OzoneChecksumException {
+    int effectiveChunkSize = chunk.remaining();
+    final long offset = chunkOffset.getAndAdd(effectiveChunkSize);
+    ChecksumData checksumData = checksum.computeChecksum(chunk);
+    return ChunkInfo.newBuilder()
+        .setChunkName(blockID.get().getLocalID() + "_chunk_" + ++chunkIndex)
+        .setOffset(offset)
+        .setLen(effectiveChunkSize)
+        .setChecksumData(checksumData.getProtoBufMessage())
+        .build();
+  }
+
   @VisibleForTesting
   public void setXceiverClient(XceiverClientSpi xceiverClient) {
     this.xceiverClient = xceiverClient;
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.hadoop.fs.ByteBufferReadable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link ByteReaderStrategy} which reads into a ByteBuffer. Streams which
+ * are {@link ByteBufferReadable} fill the buffer directly, so a direct buffer
+ * is filled without an intermediate byte array.
+ */
+public class ByteBufferReader implements ByteReaderStrategy {
+
+  private final ByteBuffer readBuf;
+  private int targetLen;
+
+  public ByteBufferReader(ByteBuffer buf) {
+    if (buf == null) {
+      throw new NullPointerException();
+    }
+    this.readBuf = buf;
+    this.targetLen = buf.remaining();
+  }
+
+  @Override
+  public int readFromBlock(InputStream is, int numBytesToRead)
+      throws IOException {
+    Preconditions.checkArgument(is != null);
+    Preconditions.checkArgument(numBytesToRead <= readBuf.remaining());
+
+    int numBytesRead;
+    if (is instanceof ByteBufferReadable) {
+      // Limit the buffer to the number of bytes to read.
+      ByteBuffer tmpBuf = readBuf.duplicate();
+      tmpBuf.limit(tmpBuf.position() + numBytesToRead);
+      numBytesRead = ((ByteBufferReadable) is).read(tmpBuf);
+    } else if (readBuf.hasArray()) {
+      numBytesRead = is.read(readBuf.array(),
+          readBuf.arrayOffset() + readBuf.position(), numBytesToRead);
+    } else {
+      byte[] tmp = new byte[numBytesToRead];
+      numBytesRead = is.read(tmp, 0, numBytesToRead);
+      if (numBytesRead > 0) {
+        readBuf.duplicate().put(tmp, 0, numBytesRead);
+      }
+    }
+
+    if (numBytesRead > 0) {
+      readBuf.position(readBuf.position() + numBytesRead);
+      targetLen -= numBytesRead;
+    }
+    return numBytesRead;
+  }
+
+  @Override
+  public int getTargetLength() {
+    return targetLen;
+  }
+}
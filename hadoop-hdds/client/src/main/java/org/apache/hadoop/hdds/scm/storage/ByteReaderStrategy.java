@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A reader strategy used by the input streams to read data into the target
+ * of the caller, either a byte array or a ByteBuffer, so that the streams
+ * share a single read path for both.
+ */
+public interface ByteReaderStrategy {
+
+  /**
+   * Reads up to numBytesToRead bytes from the given stream into the target
+   * and advances the target by the number of bytes read.
+   *
+   * @param is the stream to read from
+   * @param numBytesToRead number of bytes to read
+   * @return the number of bytes read, or -1 if the stream is at EOF
+   */
+  int readFromBlock(InputStream is, int numBytesToRead) throws IOException;
+
+  /**
+   * Returns the number of bytes which can still be read into the target.
+   */
+  int getTargetLength();
+}
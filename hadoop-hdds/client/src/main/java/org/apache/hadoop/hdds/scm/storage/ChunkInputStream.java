@@ -26,25 +26,38 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.hdds.scm.XceiverClientManager;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.Checksum;
 import org.apache.hadoop.ozone.common.ChecksumData;
 import org.apache.hadoop.ozone.common.OzoneChecksumException;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * An {@link InputStream} called from BlockInputStream to read a chunk from the
  * container. Each chunk may contain multiple underlying {@link ByteBuffer}
  * instances.
  */
-public class ChunkInputStream extends InputStream implements Seekable {
+public class ChunkInputStream extends InputStream
+    implements Seekable, ByteBufferReadable {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChunkInputStream.class);
 
   private ChunkInfo chunkInfo;
   private final long length;
@@ -72,6 +85,10 @@ public class ChunkInputStream extends InputStream implements Seekable {
   // position. Once the chunk is read, this variable is reset.
   private long chunkPosition = -1;
 
+  // Data of the whole chunk being read ahead in the background, used by the
+  // next read from the container instead of reading the chunk again.
+  private CompletableFuture<ByteString> readAheadData;
+
   private static final int EOF = -1;
 
   ChunkInputStream(ChunkInfo chunkInfo, BlockID blockId,
@@ -161,6 +178,86 @@ public synchronized int read(byte[] b, int off, int len) throws IOException {
     return total;
   }
 
+  /**
+   * Reads data into the buffer, copying it once from the buffers holding
+   * the response from the container.
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized int read(ByteBuffer buf) throws IOException {
+    int len = buf.remaining();
+    if (len == 0) {
+      return 0;
+    }
+    checkOpen();
+    int total = 0;
+    while (len > 0) {
+      int available = prepareRead(len);
+      if (available == EOF) {
+        // There is no more data in the chunk stream. The buffers should have
+        // been released by now
+        Preconditions.checkState(buffers == null);
+        return total != 0 ? total : EOF;
+      }
+      ByteBuffer readBuf = buffers.get(bufferIndex);
+      ByteBuffer tmpBuf = readBuf.duplicate();
+      tmpBuf.limit(tmpBuf.position() + available);
+      buf.put(tmpBuf);
+      readBuf.position(tmpBuf.position());
+      len -= available;
+      total += available;
+    }
+
+    if (chunkStreamEOF()) {
+      // smart consumers determine EOF by calling getPos()
+      // so we release buffers when serving the final bytes of data
+      releaseBuffers();
+    }
+
+    return total;
+  }
+
+  /**
+   * Reads up to buf.remaining() bytes of the chunk starting at the given
+   * position into the buffer, without changing the position of the stream.
+   * The data is read from the container directly rather than through the
+   * buffers of the stream, so it can be called concurrently with other
+   * reads.
+   *
+   * @return the number of bytes read, or -1 if the position is at or after
+   * the end of the chunk.
+   */
+  public int read(long position, ByteBuffer buf) throws IOException {
+    checkOpen();
+    if (position < 0) {
+      throw new EOFException("Negative position " + position + " for chunk: "
+          + chunkInfo.getChunkName());
+    }
+    if (position >= length) {
+      return EOF;
+    }
+    int len = (int) Math.min(buf.remaining(), length - position);
+    if (len == 0) {
+      return 0;
+    }
+
+    long readOffset = position;
+    long readLength = len;
+    if (verifyChecksum) {
+      readOffset = getChecksumBoundaryStart(position);
+      readLength = getChecksumBoundaryEnd(position + len) - readOffset;
+    }
+    final ChunkInfo adjustedChunkInfo = ChunkInfo.newBuilder(chunkInfo)
+        .setOffset(readOffset + chunkInfo.getOffset())
+        .setLen(readLength)
+        .build();
+
+    ByteString byteString = readChunk(adjustedChunkInfo);
+    int start = (int) (position - readOffset);
+    byteString.substring(start, start + len).copyTo(buf);
+    return len;
+  }
+
   /**
    * Seeks the ChunkInputStream to the specified position. This is done by
    * updating the chunkPosition to the seeked position in case the buffers
@@ -213,11 +310,91 @@ public boolean seekToNewSource(long targetPos) throws IOException {
 
   @Override
   public synchronized void close() {
+    dropReadAhead();
     if (xceiverClient != null) {
       xceiverClient = null;
     }
   }
 
+  /**
+   * Starts reading the whole chunk in the background if the chunk has not
+   * been read yet.
+   * @param executor executor to read the chunk
+   */
+  synchronized void readAhead(Executor executor) {
+    if (allocated || readAheadData != null) {
+      return;
+    }
+    XceiverClientManager.getXceiverClientMetrics().incrReadAheadOps();
+    readAheadData = CompletableFuture.supplyAsync(() -> {
+      try {
+        return readChunk(chunkInfo);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  /**
+   * Sets the data of the whole chunk, which has already been read from the
+   * container along with the block, so that it is not read again.
+   */
+  synchronized void setData(ByteString data) {
+    Preconditions.checkArgument(data.size() == length,
+        "Data length %s does not match chunk length %s",
+        data.size(), length);
+    buffers = data.asReadOnlyByteBufferList();
+    bufferIndex = 0;
+    bufferOffset = 0;
+    bufferLength = length;
+    allocated = true;
+  }
+
+  /**
+   * Drops the data read ahead, if it is not used yet.
+   */
+  synchronized void dropReadAhead() {
+    if (readAheadData == null) {
+      return;
+    }
+    if (readAheadData.isDone() && !readAheadData.isCompletedExceptionally()) {
+      XceiverClientManager.getXceiverClientMetrics()
+          .incrReadAheadWastes(length);
+    } else {
+      readAheadData.cancel(false);
+    }
+    readAheadData = null;
+  }
+
+  /**
+   * Returns the data of the whole chunk read ahead, or null if it is not
+   * available, in which case the chunk should be read from the container.
+   */
+  private ByteString getReadAheadData() {
+    CompletableFuture<ByteString> data = readAheadData;
+    readAheadData = null;
+    try {
+      ByteString byteString = data.get();
+      XceiverClientManager.getXceiverClientMetrics().incrReadAheadHits();
+      return byteString;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException | CancellationException e) {
+      // Fall back to read the chunk again, which reports the error if it
+      // persists.
+      LOG.debug("Read ahead of chunk {} failed", chunkInfo.getChunkName(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns true if the chunk has been read from the container.
+   */
+  synchronized boolean isReadStarted() {
+    return allocated;
+  }
+
   /**
    * Checks if the stream is open.  If not, throw an exception.
    *
@@ -286,24 +463,32 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
       startByteIndex = bufferOffset + bufferLength;
     }
 
-    if (verifyChecksum) {
-      // Update the bufferOffset and bufferLength as per the checksum
-      // boundary requirement.
-      computeChecksumBoundaries(startByteIndex, len);
+    ByteString byteString =
+        readAheadData != null ? getReadAheadData() : null;
+    if (byteString != null) {
+      // The whole chunk has been read ahead.
+      bufferOffset = 0;
+      bufferLength = length;
     } else {
-      // Read from the startByteIndex
-      bufferOffset = startByteIndex;
-      bufferLength = len;
-    }
+      if (verifyChecksum) {
+        // Update the bufferOffset and bufferLength as per the checksum
+        // boundary requirement.
+        computeChecksumBoundaries(startByteIndex, len);
+      } else {
+        // Read from the startByteIndex
+        bufferOffset = startByteIndex;
+        bufferLength = len;
+      }
 
-    // Adjust the chunkInfo so that only the required bytes are read from
-    // the chunk.
-    final ChunkInfo adjustedChunkInfo = ChunkInfo.newBuilder(chunkInfo)
-        .setOffset(bufferOffset + chunkInfo.getOffset())
-        .setLen(bufferLength)
-        .build();
+      // Adjust the chunkInfo so that only the required bytes are read from
+      // the chunk.
+      final ChunkInfo adjustedChunkInfo = ChunkInfo.newBuilder(chunkInfo)
+          .setOffset(bufferOffset + chunkInfo.getOffset())
+          .setLen(bufferLength)
+          .build();
 
-    ByteString byteString = readChunk(adjustedChunkInfo);
+      byteString = readChunk(adjustedChunkInfo);
+    }
 
     buffers = byteString.asReadOnlyByteBufferList();
     bufferIndex = 0;
@@ -392,16 +577,31 @@ protected ByteString readChunk(ChunkInfo readChunkInfo) throws IOException {
    * @param dataLen number of bytes to be read from the chunk
    */
   private void computeChecksumBoundaries(long startByteIndex, int dataLen) {
+    bufferOffset = getChecksumBoundaryStart(startByteIndex);
+    bufferLength = getChecksumBoundaryEnd(startByteIndex + dataLen)
+        - bufferOffset;
+  }
+
+  /**
+   * Returns the index of the first byte, inclusively, of the checksum range
+   * containing the given byte index.
+   */
+  private long getChecksumBoundaryStart(long startByteIndex) {
+    int bytesPerChecksum = chunkInfo.getChecksumData().getBytesPerChecksum();
+    return (startByteIndex / bytesPerChecksum) * bytesPerChecksum;
+  }
 
+  /**
+   * Returns the index of the last byte, exclusively, of the checksum range
+   * containing the byte before the given end index, capped by the chunk
+   * length.
+   */
+  private long getChecksumBoundaryEnd(long endIndex) {
     int bytesPerChecksum = chunkInfo.getChecksumData().getBytesPerChecksum();
     // index of the last byte to be read from chunk, inclusively.
-    final long endByteIndex = startByteIndex + dataLen - 1;
-
-    bufferOffset =  (startByteIndex / bytesPerChecksum)
-        * bytesPerChecksum; // inclusive
-    final long endIndex = ((endByteIndex / bytesPerChecksum) + 1)
-        * bytesPerChecksum; // exclusive
-    bufferLength = Math.min(endIndex, length) - bufferOffset;
+    final long endByteIndex = endIndex - 1;
+    return Math.min(((endByteIndex / bytesPerChecksum) + 1) * bytesPerChecksum,
+        length);
   }
 
   /**
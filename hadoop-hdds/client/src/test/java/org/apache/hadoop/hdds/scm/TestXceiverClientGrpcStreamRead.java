@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumData;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc.XceiverClientProtocolServiceImplBase;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.Server;
+import org.apache.ratis.thirdparty.io.grpc.netty.NettyServerBuilder;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getReadChunkResponse;
+
+/**
+ * Tests the streamed reads of chunks by {@link XceiverClientGrpc}.
+ */
+public class TestXceiverClientGrpcStreamRead {
+
+  private static final int FRAME_SIZE = 4;
+
+  private static final byte[] DATA = "0123456789".getBytes(UTF_8);
+
+  private Server server;
+
+  private XceiverClientGrpc client;
+
+  @After
+  public void teardown() {
+    if (client != null) {
+      client.close();
+    }
+    if (server != null) {
+      server.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFramesAreJoined() throws Exception {
+    FakeDatanode datanode = new FakeDatanode(true, 0);
+    start(datanode);
+
+    ContainerCommandRequestProto request = readChunkRequest();
+    ContainerCommandResponseProto response = client.sendCommand(request);
+
+    Assert.assertEquals(ByteString.copyFrom(DATA),
+        response.getReadChunk().getData());
+    Assert.assertEquals(request.getReadChunk().getChunkData(),
+        response.getReadChunk().getChunkData());
+    Assert.assertEquals(1, datanode.streamReads.get());
+    Assert.assertEquals(0, datanode.reads.get());
+  }
+
+  @Test
+  public void testUnexpectedFrameOffsetFails() throws Exception {
+    // The second frame skips a byte of the chunk.
+    start(new FakeDatanode(true, 1));
+
+    try {
+      client.sendCommand(readChunkRequest());
+      Assert.fail("Read of frames with a gap succeeded");
+    } catch (IOException e) {
+      Throwable cause = e;
+      while (cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      Assert.assertTrue(cause.getMessage(),
+          cause.getMessage().startsWith("Unexpected frame at offset "
+              + (FRAME_SIZE + 1)));
+    }
+  }
+
+  @Test
+  public void testFallbackIfStreamReadIsUnimplemented() throws Exception {
+    FakeDatanode datanode = new FakeDatanode(false, 0);
+    start(datanode);
+
+    ContainerCommandResponseProto response =
+        client.sendCommand(readChunkRequest());
+
+    Assert.assertEquals(ByteString.copyFrom(DATA),
+        response.getReadChunk().getData());
+    Assert.assertEquals(1, datanode.reads.get());
+  }
+
+  private void start(FakeDatanode datanode) throws IOException {
+    server = NettyServerBuilder.forPort(0).addService(datanode).build()
+        .start();
+    DatanodeDetails dn = DatanodeDetails.newBuilder()
+        .setUuid(UUID.randomUUID().toString())
+        .setHostName("localhost")
+        .setIpAddress("127.0.0.1")
+        .addPort(DatanodeDetails.newPort(
+            DatanodeDetails.Port.Name.STANDALONE, server.getPort()))
+        .build();
+    Pipeline pipeline = Pipeline.newBuilder()
+        .setId(PipelineID.randomId())
+        .setType(ReplicationType.STAND_ALONE)
+        .setFactor(ReplicationFactor.ONE)
+        .setState(Pipeline.PipelineState.OPEN)
+        .setNodes(Collections.singletonList(dn))
+        .build();
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt("scm.container.client.read.stream.frame.size", FRAME_SIZE);
+    client = new XceiverClientGrpc(pipeline, conf);
+    client.connect();
+  }
+
+  private static ContainerCommandRequestProto readChunkRequest() {
+    ChunkInfo chunk = ChunkInfo.newBuilder()
+        .setChunkName("chunk")
+        .setOffset(0)
+        .setLen(DATA.length)
+        .setChecksumData(ChecksumData.newBuilder()
+            .setType(ChecksumType.NONE)
+            .setBytesPerChecksum(DATA.length))
+        .build();
+    return ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.ReadChunk)
+        .setContainerID(1)
+        .setDatanodeUuid(UUID.randomUUID().toString())
+        .setReadChunk(ReadChunkRequestProto.newBuilder()
+            .setBlockID(DatanodeBlockID.newBuilder()
+                .setContainerID(1)
+                .setLocalID(1))
+            .setChunkData(chunk))
+        .build();
+  }
+
+  /**
+   * Datanode serving reads of {@link #DATA}.
+   */
+  private static final class FakeDatanode
+      extends XceiverClientProtocolServiceImplBase {
+
+    private final boolean streamReadSupported;
+    // added to the offset of the second frame
+    private final long secondFrameShift;
+    private final AtomicInteger streamReads = new AtomicInteger();
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private FakeDatanode(boolean streamReadSupported, long secondFrameShift) {
+      this.streamReadSupported = streamReadSupported;
+      this.secondFrameShift = secondFrameShift;
+    }
+
+    @Override
+    public StreamObserver<ContainerCommandRequestProto> send(
+        StreamObserver<ContainerCommandResponseProto> responseObserver) {
+      return new StreamObserver<ContainerCommandRequestProto>() {
+        @Override
+        public void onNext(ContainerCommandRequestProto request) {
+          reads.incrementAndGet();
+          ChunkInfo chunk = request.getReadChunk().getChunkData();
+          responseObserver.onNext(getReadChunkResponse(request,
+              read(chunk.getOffset(), chunk.getLen())));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          // the client does not send errors
+        }
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      };
+    }
+
+    @Override
+    public void streamRead(ContainerCommandRequestProto request,
+        StreamObserver<ContainerCommandResponseProto> responseObserver) {
+      if (!streamReadSupported) {
+        super.streamRead(request, responseObserver);
+        return;
+      }
+      streamReads.incrementAndGet();
+      ReadChunkRequestProto readChunk = request.getReadChunk();
+      ChunkInfo chunk = readChunk.getChunkData();
+      long frameSize = readChunk.getFrameSize();
+      int frame = 0;
+      for (long position = 0; position < chunk.getLen();
+           position += frameSize, frame++) {
+        long offset = chunk.getOffset() + position
+            + (frame == 1 ? secondFrameShift : 0);
+        long len = Math.min(frameSize, chunk.getOffset() + chunk.getLen()
+            - offset);
+        ChunkInfo frameChunk = chunk.toBuilder()
+            .setOffset(offset)
+            .setLen(len)
+            .build();
+        ContainerCommandRequestProto frameRequest = request.toBuilder()
+            .setReadChunk(readChunk.toBuilder().setChunkData(frameChunk))
+            .build();
+        responseObserver.onNext(getReadChunkResponse(frameRequest,
+            read(offset, len)));
+      }
+      responseObserver.onCompleted();
+    }
+
+    private static ByteString read(long offset, long len) {
+      return ByteString.copyFrom(DATA, (int) offset, (int) len);
+    }
+  }
+}
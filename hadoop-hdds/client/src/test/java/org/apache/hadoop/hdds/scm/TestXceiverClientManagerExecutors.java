@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.XceiverClientManager.ScmClientConfig;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the executors XceiverClientManager shares between streams.
+ */
+public class TestXceiverClientManagerExecutors {
+
+  private static final int THREADS = 2;
+
+  private XceiverClientManager manager;
+
+  @Before
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt("scm.container.client.response.threads", THREADS);
+    manager = new XceiverClientManager(conf,
+        conf.getObject(ScmClientConfig.class), null);
+  }
+
+  @After
+  public void teardown() {
+    manager.close();
+  }
+
+  @Test
+  public void testResponsesOfStreamsRunInOrder() throws Exception {
+    int streams = 10;
+    int responses = 100;
+    List<List<Integer>> handled = new ArrayList<>();
+    CountDownLatch done = new CountDownLatch(streams * responses);
+    for (int i = 0; i < streams; i++) {
+      List<Integer> streamHandled = new ArrayList<>();
+      handled.add(streamHandled);
+      Executor executor = MoreExecutors.newSequentialExecutor(
+          manager.getResponseExecutor());
+      for (int j = 0; j < responses; j++) {
+        int response = j;
+        executor.execute(() -> {
+          streamHandled.add(response);
+          done.countDown();
+        });
+      }
+    }
+    Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+
+    for (List<Integer> streamHandled : handled) {
+      Assert.assertEquals(responses, streamHandled.size());
+      for (int j = 0; j < responses; j++) {
+        Assert.assertEquals(j, (int) streamHandled.get(j));
+      }
+    }
+    // All the streams share the threads of the manager.
+    Assert.assertTrue(XceiverClientManager.getXceiverClientMetrics()
+        .getResponseThreads() <= THREADS);
+  }
+}
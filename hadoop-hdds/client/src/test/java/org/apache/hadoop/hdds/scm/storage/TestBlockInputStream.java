@@ -23,19 +23,26 @@
 import org.apache.hadoop.hdds.client.ContainerBlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.XceiverClientManager;
+import org.apache.hadoop.hdds.scm.XceiverClientManager.ScmClientConfig;
 import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.EOFException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.hadoop.hdds.scm.storage.TestChunkInputStream.generateRandomData;
 
@@ -182,6 +189,46 @@ public void testRead() throws Exception {
     Assert.assertEquals(2, blockStream.getChunkIndex());
   }
 
+  @Test
+  public void testReadToByteBuffer() throws Exception {
+    // read 200 bytes of data starting from position 50 into a direct buffer
+    seekAndVerify(50);
+    ByteBuffer buf = ByteBuffer.allocateDirect(200);
+    Assert.assertEquals(200, blockStream.read(buf));
+    Assert.assertFalse(buf.hasRemaining());
+
+    byte[] b = new byte[200];
+    buf.flip();
+    buf.get(b);
+    matchWithInputData(b, 50, 200);
+    Assert.assertEquals(250, blockStream.getPos());
+    Assert.assertEquals(2, blockStream.getChunkIndex());
+  }
+
+  @Test
+  public void testPositionalRead() throws Exception {
+    seekAndVerify(50);
+
+    // Read 200 bytes from position 150, which spans 3 chunks.
+    ByteBuffer buf = ByteBuffer.allocateDirect(200);
+    Assert.assertEquals(200, blockStream.read(150, buf));
+    byte[] b = new byte[200];
+    buf.flip();
+    buf.get(b);
+    matchWithInputData(b, 150, 200);
+
+    // The read is cut at the end of the block.
+    buf = ByteBuffer.allocate(200);
+    Assert.assertEquals(blockSize - 350, blockStream.read(350, buf));
+    Assert.assertEquals(-1, blockStream.read(blockSize, buf));
+
+    // The position of the stream is not changed.
+    Assert.assertEquals(50, blockStream.getPos());
+    b = new byte[100];
+    blockStream.read(b, 0, 100);
+    matchWithInputData(b, 50, 100);
+  }
+
   @Test
   public void testSeekAndRead() throws Exception {
     // Seek to a position and read data
@@ -196,6 +243,83 @@ public void testSeekAndRead() throws Exception {
     matchWithInputData(b2, 150, 100);
   }
 
+  @Test
+  public void testReadAhead() throws Exception {
+    // Read ahead 2 chunks after the first read, which reads chunk 0.
+    byte[] b = new byte[50];
+    blockStream.read(b, 0, 50);
+    blockStream.readAhead(
+        new BlockInputStream.ReadAheadBudget(2, CHUNK_SIZE * 3), Runnable::run);
+
+    List<ChunkInputStream> chunkStreams = blockStream.getChunkStreams();
+    for (int i = 1; i < chunkStreams.size(); i++) {
+      int expectedReads = i <= 2 ? 1 : 0;
+      Assert.assertEquals(expectedReads, ((DummyChunkInputStream)
+          chunkStreams.get(i)).getReadByteBuffers().size());
+    }
+
+    // The chunks read ahead are not read again.
+    b = new byte[blockSize - 50];
+    blockStream.read(b, 0, b.length);
+    matchWithInputData(b, 50, b.length);
+    for (int i = 1; i < chunkStreams.size(); i++) {
+      Assert.assertEquals(1, ((DummyChunkInputStream)
+          chunkStreams.get(i)).getReadByteBuffers().size());
+    }
+  }
+
+  @Test
+  public void testReadAheadDroppedOnSeek() throws Exception {
+    blockStream.readAhead(
+        new BlockInputStream.ReadAheadBudget(5, blockSize), Runnable::run);
+
+    // Seek to chunk 3, the data read ahead for the other chunks is dropped
+    // and read again when needed.
+    seekAndVerify(CHUNK_SIZE * 3);
+    seekAndVerify(0);
+    byte[] b = new byte[CHUNK_SIZE * 2];
+    blockStream.read(b, 0, b.length);
+    matchWithInputData(b, 0, b.length);
+
+    List<ChunkInputStream> chunkStreams = blockStream.getChunkStreams();
+    Assert.assertEquals(2, ((DummyChunkInputStream)
+        chunkStreams.get(1)).getReadByteBuffers().size());
+  }
+
+  @Test
+  public void testReadSmallFile() throws Exception {
+    BlockID blockID = new BlockID(new ContainerBlockID(1, 1));
+    blockSize = 0;
+    createChunkList(1);
+    OzoneConfiguration conf = new OzoneConfiguration();
+    ScmClientConfig clientConf = conf.getObject(ScmClientConfig.class);
+    clientConf.setSmallFileThreshold(CHUNK_SIZE);
+    AtomicInteger smallFileReads = new AtomicInteger();
+    try (XceiverClientManager manager =
+             new XceiverClientManager(conf, clientConf, null)) {
+      BlockInputStream smallFileStream = new DummyBlockInputStream(blockID,
+          blockSize, null, null, true, manager, null, chunkDataMap) {
+        @Override
+        protected ReadChunkResponseProto getSmallFile() {
+          smallFileReads.incrementAndGet();
+          return ReadChunkResponseProto.newBuilder()
+              .setBlockID(blockID.getDatanodeBlockIDProtobuf())
+              .setChunkData(chunks.get(0))
+              .setData(ByteString.copyFrom(blockData))
+              .build();
+        }
+      };
+
+      // The block is read with its chunk, which is not read again.
+      byte[] b = new byte[blockSize];
+      Assert.assertEquals(blockSize, smallFileStream.read(b, 0, blockSize));
+      matchWithInputData(b, 0, blockSize);
+      Assert.assertEquals(1, smallFileReads.get());
+      Assert.assertTrue(((DummyChunkInputStream) smallFileStream
+          .getChunkStreams().get(0)).getReadByteBuffers().isEmpty());
+    }
+  }
+
   @Test
   public void testRefreshPipelineFunction() throws Exception {
     BlockID blockID = new BlockID(new ContainerBlockID(1, 1));
@@ -34,6 +34,10 @@ public final class HddsConfigKeys {
       "hdds.container.report.interval";
   public static final String HDDS_CONTAINER_REPORT_INTERVAL_DEFAULT =
       "60s";
+  public static final String HDDS_CONTAINER_REPORT_DELTA_ENABLED =
+      "hdds.container.report.delta.enabled";
+  public static final boolean HDDS_CONTAINER_REPORT_DELTA_ENABLED_DEFAULT =
+      false;
   public static final String HDDS_PIPELINE_REPORT_INTERVAL =
           "hdds.pipeline.report.interval";
   public static final String HDDS_PIPELINE_REPORT_INTERVAL_DEFAULT =
@@ -334,6 +334,14 @@ public final class ScmConfigKeys {
       "ozone.scm.block.deletion.max.retry";
   public static final int OZONE_SCM_BLOCK_DELETION_MAX_RETRY_DEFAULT = 4096;
 
+  public static final String OZONE_SCM_EVENT_REPORT_EXEC_THREADS =
+      "ozone.scm.event.report.exec.threads";
+  public static final int OZONE_SCM_EVENT_REPORT_EXEC_THREADS_DEFAULT = 8;
+
+  public static final String OZONE_SCM_EVENT_REPORT_QUEUE_SIZE =
+      "ozone.scm.event.report.queue.size";
+  public static final int OZONE_SCM_EVENT_REPORT_QUEUE_SIZE_DEFAULT = 1000;
+
   public static final String HDDS_SCM_WATCHER_TIMEOUT =
       "hdds.scm.watcher.timeout";
 
@@ -378,6 +378,48 @@ public static PutSmallFileResponseProto writeSmallFile(
     return response.getPutSmallFile();
   }
 
+  /**
+   * Writes a block of a single chunk to the container using a single RPC.
+   *
+   * @param client client to perform call
+   * @param containerBlockData block data with the chunk of the block
+   * @param chunk information about chunk to write
+   * @param data the data of the chunk to write
+   * @return reply of the asynchronous PutSmallFile request
+   * @throws IOException if there is an error while performing the call
+   * @throws InterruptedException
+   * @throws ExecutionException
+   */
+  public static XceiverClientReply writeSmallFileAsync(
+      XceiverClientSpi client, BlockData containerBlockData, ChunkInfo chunk,
+      ByteString data)
+      throws IOException, InterruptedException, ExecutionException {
+    PutBlockRequestProto.Builder createBlockRequest =
+        PutBlockRequestProto.newBuilder()
+            .setBlockData(containerBlockData)
+            .setEof(true);
+    PutSmallFileRequestProto putSmallFileRequest =
+        PutSmallFileRequestProto.newBuilder()
+            .setChunkInfo(chunk)
+            .setBlock(createBlockRequest)
+            .setData(data)
+            .build();
+    String id = client.getPipeline().getFirstNode().getUuidString();
+    ContainerCommandRequestProto.Builder builder =
+        ContainerCommandRequestProto.newBuilder()
+            .setCmdType(Type.PutSmallFile)
+            .setContainerID(containerBlockData.getBlockID().getContainerID())
+            .setDatanodeUuid(id)
+            .setPutSmallFile(putSmallFileRequest);
+    String encodedToken =
+        getEncodedBlockToken(getService(containerBlockData.getBlockID()));
+    if (encodedToken != null) {
+      builder.setEncodedToken(encodedToken);
+    }
+    ContainerCommandRequestProto request = builder.build();
+    return client.sendCommandAsync(request);
+  }
+
   /**
    * createContainer call that creates a container on the datanode.
    * @param client  - client
@@ -60,6 +60,25 @@ public final class OzoneConfigKeys {
   public static final String DFS_CONTAINER_CHUNK_WRITE_SYNC_KEY =
       "dfs.container.chunk.write.sync";
   public static final boolean DFS_CONTAINER_CHUNK_WRITE_SYNC_DEFAULT = false;
+  public static final String DFS_CONTAINER_CHUNK_READ_CACHE_SIZE_KEY =
+      "dfs.container.chunk.read.cache.size";
+  public static final int DFS_CONTAINER_CHUNK_READ_CACHE_SIZE_DEFAULT = 1024;
+  public static final String DFS_CONTAINER_CHUNK_READ_CACHE_EXPIRY_KEY =
+      "dfs.container.chunk.read.cache.expiry";
+  public static final String DFS_CONTAINER_CHUNK_READ_CACHE_EXPIRY_DEFAULT =
+      "60s";
+  public static final String DFS_CONTAINER_CHUNK_READ_MMAP_ENABLED_KEY =
+      "dfs.container.chunk.read.mmap.enabled";
+  public static final boolean DFS_CONTAINER_CHUNK_READ_MMAP_ENABLED_DEFAULT =
+      false;
+  public static final String DFS_CONTAINER_CHUNK_READ_MMAP_MIN_SIZE_KEY =
+      "dfs.container.chunk.read.mmap.min.size";
+  public static final String DFS_CONTAINER_CHUNK_READ_MMAP_MIN_SIZE_DEFAULT =
+      "256KB";
+  public static final String DFS_CONTAINER_CHUNK_READ_MMAP_CACHE_SIZE_KEY =
+      "dfs.container.chunk.read.mmap.cache.size";
+  public static final String
+      DFS_CONTAINER_CHUNK_READ_MMAP_CACHE_SIZE_DEFAULT = "1GB";
   /**
    * Ratis Port where containers listen to.
    */
@@ -96,6 +115,13 @@ public final class OzoneConfigKeys {
   public static final String OZONE_METADATA_STORE_ROCKSDB_STATISTICS_OFF =
       "OFF";
 
+  public static final String OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE =
+      "ozone.metastore.rocksdb.block.cache.size";
+  // Used for each table of the store if the size of the cache is not set.
+  public static final String
+      OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE_PER_TABLE_DEFAULT =
+      "256MB";
+
   public static final String OZONE_UNSAFEBYTEOPERATIONS_ENABLED =
       "ozone.UnsafeByteOperations.enabled";
   public static final boolean OZONE_UNSAFEBYTEOPERATIONS_ENABLED_DEFAULT
@@ -440,6 +466,9 @@ public final class OzoneConfigKeys {
   public static final String OZONE_MANAGER_FAIR_LOCK = "ozone.om.lock.fair";
   public static final boolean OZONE_MANAGER_FAIR_LOCK_DEFAULT = false;
 
+  public static final String OZONE_LOCK_STRIPES = "ozone.lock.stripes";
+  public static final int OZONE_LOCK_STRIPES_DEFAULT = 1024;
+
   public static final String OZONE_CLIENT_LIST_TRASH_KEYS_MAX =
       "ozone.client.list.trash.keys.max";
   public static final int OZONE_CLIENT_LIST_TRASH_KEYS_MAX_DEFAULT = 1000;
@@ -17,26 +17,44 @@
 
 package org.apache.hadoop.ozone.lock;
 
-import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_LOCK_STRIPES;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_LOCK_STRIPES_DEFAULT;
 
 /**
- * Manages the locks on a given resource. A new lock is created for each
- * and every unique resource. Uniqueness of resource depends on the
- * {@code equals} implementation of it.
+ * Manages the locks on a given resource. The locks are taken from a fixed
+ * array of read-write locks, the stripe of a resource is selected by the
+ * {@code hashCode} of it. Resources which are {@code equals} always use the
+ * same lock.
+ * <p>
+ * Different resources may share a stripe. As the locks are reentrant this
+ * is harmless for a thread locking several resources in the same mode, but
+ * a thread must not take the write lock of a resource while it holds the
+ * read lock of another one, and several write locks must be taken in the
+ * order of {@link #getStripe}. Taking a write lock on a stripe the thread
+ * holds the read lock of fails, instead of blocking the thread forever.
+ * <p>
+ * The resources locked by each thread are recorded, so releasing a
+ * resource which the thread did not lock fails even if it shares a stripe
+ * with a locked one.
  */
 public class LockManager<R> {
 
   private static final Logger LOG = LoggerFactory.getLogger(LockManager.class);
 
-  private final Map<R, ActiveLock> activeLocks = new ConcurrentHashMap<>();
-  private final GenericObjectPool<ActiveLock> lockPool;
+  private final ReentrantReadWriteLock[] stripes;
+
+  private final ThreadLocal<Map<R, HoldCount>> heldLocks =
+      ThreadLocal.withInitial(HashMap::new);
 
   /**
    * Creates new LockManager instance with the given Configuration.and uses
@@ -56,9 +74,22 @@ public LockManager(final ConfigurationSource conf) {
    * @param fair - true to use fair lock ordering, else non-fair lock ordering.
    */
   public LockManager(final ConfigurationSource conf, boolean fair) {
-    lockPool =
-        new GenericObjectPool<>(new PooledLockFactory(fair));
-    lockPool.setMaxTotal(-1);
+    int stripeCount = conf.getInt(OZONE_LOCK_STRIPES,
+        OZONE_LOCK_STRIPES_DEFAULT);
+    if (stripeCount <= 0) {
+      LOG.warn("Invalid {} {}, using {}", OZONE_LOCK_STRIPES, stripeCount,
+          OZONE_LOCK_STRIPES_DEFAULT);
+      stripeCount = OZONE_LOCK_STRIPES_DEFAULT;
+    }
+    // Round up to a power of two, so the stripe is selected with a mask.
+    int size = Integer.highestOneBit(stripeCount);
+    if (size < stripeCount) {
+      size <<= 1;
+    }
+    stripes = new ReentrantReadWriteLock[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantReadWriteLock(fair);
+    }
   }
 
   /**
@@ -98,7 +129,8 @@ public void unlock(final R resource) {
    * @param resource on which the read lock has to be acquired
    */
   public void readLock(final R resource) {
-    acquire(resource, ActiveLock::readLock);
+    getLock(resource).readLock().lock();
+    heldLocks.get().computeIfAbsent(resource, r -> new HoldCount()).reads++;
   }
 
   /**
@@ -109,7 +141,13 @@ public void readLock(final R resource) {
    *                                      hold this lock
    */
   public void readUnlock(final R resource) throws IllegalMonitorStateException {
-    release(resource, ActiveLock::readUnlock);
+    HoldCount held = heldLocks.get().get(resource);
+    if (held == null || held.reads == 0) {
+      throw notHeld(resource);
+    }
+    getLock(resource).readLock().unlock();
+    held.reads--;
+    released(resource, held);
   }
 
   /**
@@ -127,9 +165,18 @@ public void readUnlock(final R resource) throws IllegalMonitorStateException {
    * lies dormant until the write lock has been acquired.
    *
    * @param resource on which the lock has to be acquired
+   * @throws IllegalStateException if the current thread holds the read lock
+   *                               of the stripe of the resource
    */
   public void writeLock(final R resource) {
-    acquire(resource, ActiveLock::writeLock);
+    ReentrantReadWriteLock lock = getLock(resource);
+    if (lock.getReadHoldCount() > 0 && !lock.isWriteLockedByCurrentThread()) {
+      // A read lock cannot be upgraded, the thread would wait for itself.
+      throw new IllegalStateException("Cannot acquire the write lock on "
+          + resource + " while holding a read lock of the same stripe");
+    }
+    lock.writeLock().lock();
+    heldLocks.get().computeIfAbsent(resource, r -> new HoldCount()).writes++;
   }
 
   /**
@@ -141,97 +188,76 @@ public void writeLock(final R resource) {
    */
   public void writeUnlock(final R resource)
       throws IllegalMonitorStateException {
-    release(resource, ActiveLock::writeUnlock);
+    HoldCount held = heldLocks.get().get(resource);
+    if (held == null || held.writes == 0) {
+      throw notHeld(resource);
+    }
+    getLock(resource).writeLock().unlock();
+    held.writes--;
+    released(resource, held);
   }
 
   /**
-   * Acquires the lock on given resource using the provided lock function.
-   *
-   * @param resource on which the lock has to be acquired
-   * @param lockFn function to acquire the lock
+   * Returns the resources locked by the current thread.
    */
-  private void acquire(final R resource, final Consumer<ActiveLock> lockFn) {
-    lockFn.accept(getLockForLocking(resource));
+  public Set<R> getLockedByCurrentThread() {
+    return Collections.unmodifiableSet(heldLocks.get().keySet());
   }
 
   /**
-   * Releases the lock on given resource using the provided release function.
-   *
-   * @param resource for which the lock has to be released
-   * @param releaseFn function to release the lock
+   * Returns true if the current thread holds the write lock of the given
+   * resource.
    */
-  private void release(final R resource, final Consumer<ActiveLock> releaseFn) {
-    final ActiveLock lock = getLockForReleasing(resource);
-    releaseFn.accept(lock);
-    decrementActiveLockCount(resource);
+  public boolean isWriteLockedByCurrentThread(final R resource) {
+    HoldCount held = heldLocks.get().get(resource);
+    return held != null && held.writes > 0;
   }
 
   /**
-   * Returns {@link ActiveLock} instance for the given resource,
-   * on which the lock can be acquired.
+   * Returns the index of the lock used for the given resource. Callers
+   * which hold several write locks at a time acquire them in the order of
+   * their index to avoid deadlocks.
    *
-   * @param resource on which the lock has to be acquired
-   * @return {@link ActiveLock} instance
+   * @param resource the resource
+   * @return index of the stripe
    */
-  private ActiveLock getLockForLocking(final R resource) {
-    /*
-     * While getting a lock object for locking we should
-     * atomically increment the active count of the lock.
-     *
-     * This is to avoid cases where the selected lock could
-     * be removed from the activeLocks map and returned to
-     * the object pool.
-     */
-    return activeLocks.compute(resource, (k, v) -> {
-      final ActiveLock lock;
-      try {
-        if (v == null) {
-          lock = lockPool.borrowObject();
-        } else {
-          lock = v;
-        }
-        lock.incrementActiveCount();
-      } catch (Exception ex) {
-        LOG.error("Unable to obtain lock.", ex);
-        throw new RuntimeException(ex);
-      }
-      return lock;
-    });
+  public int getStripe(final R resource) {
+    int h = resource.hashCode();
+    // Spread the higher bits, like HashMap does.
+    return (h ^ (h >>> 16)) & (stripes.length - 1);
   }
 
   /**
-   * Returns {@link ActiveLock} instance for the given resource,
-   * for which the lock has to be released.
-   *
-   * @param resource for which the lock has to be released
-   * @return {@link ActiveLock} instance
+   * Returns the number of locks of the manager.
    */
-  private ActiveLock getLockForReleasing(final R resource) {
-    if (activeLocks.containsKey(resource)) {
-      return activeLocks.get(resource);
+  public int getStripeCount() {
+    return stripes.length;
+  }
+
+  private ReentrantReadWriteLock getLock(final R resource) {
+    return stripes[getStripe(resource)];
+  }
+
+  private void released(final R resource, final HoldCount held) {
+    if (held.reads == 0 && held.writes == 0) {
+      heldLocks.get().remove(resource);
     }
+  }
+
+  private IllegalMonitorStateException notHeld(final R resource) {
     // Someone is releasing a lock which was never acquired.
     LOG.error("Trying to release the lock on {}, which was never acquired.",
         resource);
-    throw new IllegalMonitorStateException("Releasing lock on resource "
+    return new IllegalMonitorStateException("Releasing lock on resource "
         + resource + " without acquiring lock");
   }
 
   /**
-   * Decrements the active lock count and returns the {@link ActiveLock}
-   * object to pool if the active count is 0.
-   *
-   * @param resource resource to which the ActiveLock is associated
+   * Number of read and write locks a thread holds on one resource.
    */
-  private void decrementActiveLockCount(final R resource) {
-    activeLocks.computeIfPresent(resource, (k, v) -> {
-      v.decrementActiveCount();
-      if (v.getActiveLockCount() != 0) {
-        return v;
-      }
-      lockPool.returnObject(v);
-      return null;
-    });
-  }
-
-}
\ No newline at end of file
+  private static final class HoldCount {
+    private int reads;
+    private int writes;
+  }
+
+}
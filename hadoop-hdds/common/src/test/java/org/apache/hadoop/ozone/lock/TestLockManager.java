@@ -18,11 +18,13 @@
 package org.apache.hadoop.ozone.lock;
 
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.test.GenericTestUtils;
 import org.apache.hadoop.util.Daemon;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -200,4 +202,58 @@ public void testConcurrentWriteLockWithDifferentResource() throws Exception {
         10 * count * sleep);
     Assert.assertEquals(count, done.get());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testStripes() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OzoneConfigKeys.OZONE_LOCK_STRIPES, 100);
+    final LockManager<Integer> manager = new LockManager<>(conf);
+    Assert.assertEquals(128, manager.getStripeCount());
+    Assert.assertEquals(manager.getStripe(1), manager.getStripe(129));
+    Assert.assertNotEquals(manager.getStripe(1), manager.getStripe(2));
+
+    // Resources sharing a stripe can be write locked by one thread.
+    manager.writeLock(1);
+    manager.writeLock(129);
+    manager.writeUnlock(129);
+    manager.writeUnlock(1);
+  }
+
+  @Test(expected = IllegalMonitorStateException.class)
+  public void testReleaseWithoutLock() {
+    final LockManager<String> manager =
+        new LockManager<>(new OzoneConfiguration());
+    manager.readUnlock("/resourceOne");
+  }
+
+  @Test(expected = IllegalMonitorStateException.class)
+  public void testReleaseWithoutLockOnSharedStripe() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OzoneConfigKeys.OZONE_LOCK_STRIPES, 128);
+    final LockManager<Integer> manager = new LockManager<>(conf);
+    manager.writeLock(1);
+    try {
+      manager.writeUnlock(129);
+    } finally {
+      manager.writeUnlock(1);
+    }
+  }
+
+  @Test
+  public void testWriteLockAfterReadLockOnSharedStripe() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OzoneConfigKeys.OZONE_LOCK_STRIPES, 128);
+    final LockManager<Integer> manager = new LockManager<>(conf);
+    manager.readLock(1);
+    try {
+      manager.writeLock(129);
+      Assert.fail("Write lock taken while holding the read lock");
+    } catch (IllegalStateException ex) {
+      // expected, the thread would wait for itself
+    }
+    Assert.assertEquals(Collections.singleton(1),
+        manager.getLockedByCurrentThread());
+    manager.readUnlock(1);
+    Assert.assertTrue(manager.getLockedByCurrentThread().isEmpty());
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.report;
+
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+
+/**
+ * Digest of the container replicas of a datanode, used to verify that SCM
+ * has the same view of the replicas as the datanode after applying a delta
+ * container report.
+ * <p>
+ * The digest is the sum of the hashes of the replicas, so it does not
+ * depend on the order of the replicas and can be computed from any subset
+ * of them.
+ */
+public final class ContainerReportDigest {
+
+  private ContainerReportDigest() {
+  }
+
+  /**
+   * Returns the hash of a replica, to be added to the digest.
+   */
+  public static long hash(long containerID,
+      ContainerReplicaProto.State state, long blockCommitSequenceId) {
+    long hash = mix(containerID);
+    hash = mix(hash ^ state.getNumber());
+    return mix(hash ^ blockCommitSequenceId);
+  }
+
+  public static long hash(ContainerReplicaProto replica) {
+    return hash(replica.getContainerID(), replica.getState(),
+        replica.getBlockCommitSequenceId());
+  }
+
+  /**
+   * Finalizer of the SplitMix64 generator, spreads the bits of the value.
+   */
+  private static long mix(long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -26,6 +26,10 @@
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+import static org.apache.hadoop.hdds.HddsConfigKeys
+    .HDDS_CONTAINER_REPORT_DELTA_ENABLED;
+import static org.apache.hadoop.hdds.HddsConfigKeys
+    .HDDS_CONTAINER_REPORT_DELTA_ENABLED_DEFAULT;
 import static org.apache.hadoop.hdds.HddsConfigKeys
     .HDDS_CONTAINER_REPORT_INTERVAL;
 import static org.apache.hadoop.hdds.HddsConfigKeys
@@ -80,7 +84,12 @@ private long getRandomReportDelay() {
 
   @Override
   protected ContainerReportsProto getReport() throws IOException {
-    return getContext().getParent().getContainer()
+    ContainerReportsProto report = getContext().getParent().getContainer()
         .getController().getContainerReport();
+    if (getConf().getBoolean(HDDS_CONTAINER_REPORT_DELTA_ENABLED,
+        HDDS_CONTAINER_REPORT_DELTA_ENABLED_DEFAULT)) {
+      return getContext().getContainerReportTracker().getReport(report);
+    }
+    return report;
   }
 }
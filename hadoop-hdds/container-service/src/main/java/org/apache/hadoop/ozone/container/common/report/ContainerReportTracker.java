@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.report;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+
+/**
+ * Remembers the replicas sent in the last container report of the datanode,
+ * and turns the following full reports into delta reports, which contain
+ * only the replicas changed since then.
+ * <p>
+ * Every report carries a generation and the digest of all the replicas, so
+ * SCM can detect a lost delta or a diverged view, and ask for a full report.
+ */
+public class ContainerReportTracker {
+
+  /**
+   * Hash of the reported fields of the replicas in the last report, by
+   * container ID.
+   */
+  private Map<Long, Long> lastReported = new HashMap<>();
+
+  private long generation;
+
+  private boolean fullReportRequested = true;
+
+  /**
+   * The next report will be a full report.
+   */
+  public synchronized void requestFullReport() {
+    fullReportRequested = true;
+  }
+
+  /**
+   * Returns the report to send, based on the current full report.
+   *
+   * @param fullReport report of all the replicas of the datanode
+   * @return the full report or the delta since the last report, with the
+   * generation and the digest set
+   */
+  public synchronized ContainerReportsProto getReport(
+      ContainerReportsProto fullReport) {
+    long baseGeneration = generation;
+    generation++;
+
+    Map<Long, Long> reported = new HashMap<>(fullReport.getReportsCount());
+    ContainerReportsProto.Builder builder = ContainerReportsProto.newBuilder()
+        .setGeneration(generation);
+    long digest = 0;
+    for (ContainerReplicaProto replica : fullReport.getReportsList()) {
+      long replicaHash = ContainerReportDigest.hash(replica);
+      digest += replicaHash;
+      long id = replica.getContainerID();
+      long reportedHash = replicaHash * 31 + Objects.hash(
+          replica.getUsed(), replica.getKeyCount(),
+          replica.getDeleteTransactionId());
+      reported.put(id, reportedHash);
+      Long lastHash = lastReported.remove(id);
+      if (fullReportRequested || lastHash == null
+          || lastHash != reportedHash) {
+        builder.addReports(replica);
+      }
+    }
+    builder.setDigest(digest);
+
+    if (!fullReportRequested) {
+      builder.setBaseGeneration(baseGeneration)
+          .addAllRemovedContainerIDs(lastReported.keySet());
+    }
+    lastReported = reported;
+    fullReportRequested = false;
+    return builder.build();
+  }
+}
@@ -20,6 +20,7 @@
 import org.apache.hadoop.hdds.conf.ConfigGroup;
 import org.apache.hadoop.hdds.conf.ConfigType;
 import org.apache.hadoop.hdds.conf.PostConstruct;
+import org.apache.hadoop.ozone.container.replication.CopyContainerCompression;
 
 import static org.apache.hadoop.hdds.conf.ConfigTag.DATANODE;
 import org.slf4j.Logger;
@@ -38,6 +39,10 @@ public class DatanodeConfiguration {
       "hdds.datanode.replication.streams.limit";
   static final String CONTAINER_DELETE_THREADS_MAX_KEY =
       "hdds.datanode.container.delete.threads.max";
+  static final String CONTAINER_LOAD_THREADS_PER_VOLUME_KEY =
+      "hdds.datanode.container.load.threads.per.volume";
+  static final String REPLICATION_COMPRESSION_KEY =
+      "hdds.datanode.replication.compression";
 
   static final int REPLICATION_MAX_STREAMS_DEFAULT = 10;
 
@@ -54,6 +59,52 @@ public class DatanodeConfiguration {
   )
   private int replicationMaxStreams = REPLICATION_MAX_STREAMS_DEFAULT;
 
+  /**
+   * Whether replicated containers are imported while they are downloaded.
+   */
+  @Config(key = "replication.streaming.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "false",
+      tags = {DATANODE},
+      description = "If enabled, a replicated container is unpacked into " +
+          "its destination volume while it is downloaded, instead of being " +
+          "saved to a temporary archive first. Requires source datanodes " +
+          "which put the container descriptor first in the archive."
+  )
+  private boolean replicationStreamingEnabled = false;
+
+  static final CopyContainerCompression REPLICATION_COMPRESSION_DEFAULT =
+      CopyContainerCompression.GZIP;
+
+  /**
+   * The compression requested for the container archives this datanode
+   * downloads.
+   */
+  @Config(key = "replication.compression",
+      type = ConfigType.STRING,
+      defaultValue = "GZIP",
+      tags = {DATANODE},
+      description = "The compression of the container archives downloaded " +
+          "for replication: NO_COMPRESSION or GZIP. Source datanodes which " +
+          "do not know the requested compression always send GZIP."
+  )
+  private String replicationCompression =
+      REPLICATION_COMPRESSION_DEFAULT.name();
+
+  /**
+   * Replication bandwidth limit of the datanode, per direction.
+   */
+  @Config(key = "replication.max.bandwidth",
+      type = ConfigType.LONG,
+      defaultValue = "0",
+      tags = {DATANODE},
+      description = "The maximum bandwidth in bytes per second used by " +
+          "container replication. Downloads and uploads are limited " +
+          "separately and shared by all the containers replicated at the " +
+          "same time. 0 means unlimited."
+  )
+  private long replicationMaxBandwidth = 0;
+
   static final int CONTAINER_DELETE_THREADS_DEFAULT = 2;
 
   /**
@@ -69,6 +120,38 @@ public class DatanodeConfiguration {
   )
   private int containerDeleteThreads = CONTAINER_DELETE_THREADS_DEFAULT;
 
+  static final int CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT = 4;
+
+  /**
+   * The number of threads used to load the containers of a volume at
+   * datanode startup.
+   */
+  @Config(key = "container.load.threads.per.volume",
+      type = ConfigType.INT,
+      defaultValue = "4",
+      tags = {DATANODE},
+      description = "The number of threads used to load the containers of " +
+          "each volume at datanode startup"
+  )
+  private int containerLoadThreadsPerVolume =
+      CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+
+  /**
+   * Whether the container index of each volume is written at shutdown.
+   */
+  @Config(key = "container.index.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "true",
+      tags = {DATANODE},
+      description = "If enabled, the datanode writes an index of the " +
+          "containers of each volume at shutdown, with their state, BCSID, " +
+          "bytes used and block count. At the next start the containers " +
+          "found in the index, whose DB files did not change since, are " +
+          "loaded without opening their DB. The index is removed at every " +
+          "start, so it is used only after a clean shutdown."
+  )
+  private boolean containerIndexEnabled = true;
+
   @PostConstruct
   public void validate() {
     if (replicationMaxStreams < 1) {
@@ -84,6 +167,24 @@ public void validate() {
           containerDeleteThreads, CONTAINER_DELETE_THREADS_DEFAULT);
       containerDeleteThreads = CONTAINER_DELETE_THREADS_DEFAULT;
     }
+
+    if (containerLoadThreadsPerVolume < 1) {
+      LOG.warn(CONTAINER_LOAD_THREADS_PER_VOLUME_KEY + " must be greater " +
+              "than zero and was set to {}. Defaulting to {}",
+          containerLoadThreadsPerVolume,
+          CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT);
+      containerLoadThreadsPerVolume =
+          CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+    }
+
+    try {
+      CopyContainerCompression.valueOf(replicationCompression);
+    } catch (IllegalArgumentException e) {
+      LOG.warn(REPLICATION_COMPRESSION_KEY + " is set to unknown value {}. " +
+          "Defaulting to {}", replicationCompression,
+          REPLICATION_COMPRESSION_DEFAULT);
+      replicationCompression = REPLICATION_COMPRESSION_DEFAULT.name();
+    }
   }
 
   public void setReplicationMaxStreams(int replicationMaxStreams) {
@@ -102,4 +203,45 @@ public int getContainerDeleteThreads() {
     return containerDeleteThreads;
   }
 
+  public void setReplicationStreamingEnabled(boolean enabled) {
+    this.replicationStreamingEnabled = enabled;
+  }
+
+  public boolean isReplicationStreamingEnabled() {
+    return replicationStreamingEnabled;
+  }
+
+  public void setReplicationCompression(
+      CopyContainerCompression compression) {
+    this.replicationCompression = compression.name();
+  }
+
+  public CopyContainerCompression getReplicationCompression() {
+    return CopyContainerCompression.valueOf(replicationCompression);
+  }
+
+  public void setReplicationMaxBandwidth(long bytesPerSecond) {
+    this.replicationMaxBandwidth = bytesPerSecond;
+  }
+
+  public long getReplicationMaxBandwidth() {
+    return replicationMaxBandwidth;
+  }
+
+  public void setContainerLoadThreadsPerVolume(int threads) {
+    this.containerLoadThreadsPerVolume = threads;
+  }
+
+  public int getContainerLoadThreadsPerVolume() {
+    return containerLoadThreadsPerVolume;
+  }
+
+  public void setContainerIndexEnabled(boolean enabled) {
+    this.containerIndexEnabled = enabled;
+  }
+
+  public boolean isContainerIndexEnabled() {
+    return containerIndexEnabled;
+  }
+
 }
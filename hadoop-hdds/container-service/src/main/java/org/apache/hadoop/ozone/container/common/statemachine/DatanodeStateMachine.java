@@ -46,6 +46,7 @@
 import org.apache.hadoop.ozone.container.replication.ContainerReplicator;
 import org.apache.hadoop.ozone.container.replication.DownloadAndImportReplicator;
 import org.apache.hadoop.ozone.container.replication.ReplicationSupervisor;
+import org.apache.hadoop.ozone.container.replication.ReplicationSupervisorMetrics;
 import org.apache.hadoop.ozone.container.replication.SimpleContainerDownloader;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
 import org.apache.hadoop.util.JvmPauseMonitor;
@@ -77,6 +78,7 @@ public class DatanodeStateMachine implements Closeable {
   private Thread stateMachineThread = null;
   private Thread cmdProcessThread = null;
   private final ReplicationSupervisor supervisor;
+  private final ReplicationSupervisorMetrics replicationMetrics;
 
   private JvmPauseMonitor jvmPauseMonitor;
   private CertificateClient dnCertClient;
@@ -124,11 +126,14 @@ public DatanodeStateMachine(DatanodeDetails datanodeDetails,
     ContainerReplicator replicator =
         new DownloadAndImportReplicator(container.getContainerSet(),
             container.getController(),
-            new SimpleContainerDownloader(conf), new TarContainerPacker());
+            new SimpleContainerDownloader(conf),
+            new TarContainerPacker(dnConf.getReplicationCompression()),
+            dnConf.isReplicationStreamingEnabled());
 
     supervisor =
         new ReplicationSupervisor(container.getContainerSet(), replicator,
             dnConf.getReplicationMaxStreams());
+    replicationMetrics = ReplicationSupervisorMetrics.create(supervisor);
 
     // When we add new handlers just adding a new handler here should do the
      // trick.
@@ -299,6 +304,10 @@ public void close() throws IOException {
     if (commandDispatcher != null) {
       commandDispatcher.stop();
     }
+
+    if (replicationMetrics != null) {
+      replicationMetrics.unRegister();
+    }
   }
 
   /**
@@ -40,6 +40,7 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerAction;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.PipelineAction;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto;
+import org.apache.hadoop.ozone.container.common.report.ContainerReportTracker;
 import org.apache.hadoop.ozone.container.common.states.DatanodeState;
 import org.apache.hadoop.ozone.container.common.states.datanode.InitDatanodeState;
 import org.apache.hadoop.ozone.container.common.states.datanode.RunningDatanodeState;
@@ -71,6 +72,7 @@ public class StateContext {
   private final Map<InetSocketAddress, List<GeneratedMessage>> reports;
   private final Map<InetSocketAddress, Queue<ContainerAction>> containerActions;
   private final Map<InetSocketAddress, Queue<PipelineAction>> pipelineActions;
+  private final ContainerReportTracker containerReportTracker;
   private DatanodeStateMachine.DatanodeStates state;
   private boolean shutdownOnError = false;
   private boolean shutdownGracefully = false;
@@ -101,6 +103,7 @@ public StateContext(ConfigurationSource conf,
     endpoints = new HashSet<>();
     containerActions = new HashMap<>();
     pipelineActions = new HashMap<>();
+    containerReportTracker = new ContainerReportTracker();
     lock = new ReentrantLock();
     stateExecutionCount = new AtomicLong(0);
   }
@@ -544,6 +547,14 @@ public long getHeartbeatFrequency() {
     return heartbeatFrequency.get();
   }
 
+  /**
+   * Returns the tracker of the container reports sent to SCM, used to build
+   * the delta container reports.
+   */
+  public ContainerReportTracker getContainerReportTracker() {
+    return containerReportTracker;
+  }
+
   public void addEndpoint(InetSocketAddress endpoint) {
     if (!endpoints.contains(endpoint)) {
       this.endpoints.add(endpoint);
@@ -331,6 +331,12 @@ private void processResponse(SCMHeartbeatResponseProto response,
         }
         this.context.addCommand(closePipelineCommand);
         break;
+      case fullContainerReportCommand:
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Received SCM request for a full container report.");
+        }
+        this.context.getContainerReportTracker().requestFullReport();
+        break;
       default:
         throw new IllegalArgumentException("Unknown response : "
             + commandResponseProto.getCommandType().name());
@@ -17,19 +17,28 @@
  */
 
 package org.apache.hadoop.ozone.container.common.transport.server;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
+    .ChunkInfo;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
     .ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
     .ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
+    .ReadChunkRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto
     .XceiverClientProtocolServiceGrpc;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.MappedFileCache;
+import org.apache.ratis.thirdparty.io.grpc.stub.ServerCallStreamObserver;
 import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.malformedRequest;
+
 /**
  * Grpc Service for handling Container Commands on datanode.
  */
@@ -52,7 +61,10 @@ public StreamObserver<ContainerCommandRequestProto> send(
 
       @Override
       public void onNext(ContainerCommandRequestProto request) {
-        try {
+        // Buffers of mapped chunk files in the response are copied by
+        // onNext, so the mappings are released after it.
+        try (MappedFileCache.ReadScope ignored =
+                 MappedFileCache.openReadScope()) {
           ContainerCommandResponseProto resp =
               dispatcher.dispatch(request, null);
           responseObserver.onNext(resp);
@@ -78,4 +90,92 @@ public void onCompleted() {
       }
     };
   }
+
+  /**
+   * Reads the range of a ReadChunk request as ReadChunk requests of at most
+   * frameSize bytes each, which are dispatched one by one only when the
+   * client is ready to receive their responses. This bounds the data read
+   * for the request, and held by the datanode, to a few frames.
+   */
+  @Override
+  public void streamRead(ContainerCommandRequestProto request,
+      StreamObserver<ContainerCommandResponseProto> responseObserver) {
+    if (request.getCmdType() != ContainerProtos.Type.ReadChunk ||
+        !request.hasReadChunk() ||
+        request.getReadChunk().getFrameSize() <= 0) {
+      responseObserver.onNext(malformedRequest(request));
+      responseObserver.onCompleted();
+      return;
+    }
+    ServerCallStreamObserver<ContainerCommandResponseProto> observer =
+        (ServerCallStreamObserver<ContainerCommandResponseProto>)
+            responseObserver;
+    StreamReader reader = new StreamReader(request, observer);
+    observer.setOnCancelHandler(reader::cancel);
+    observer.setOnReadyHandler(reader::sendFrames);
+    reader.sendFrames();
+  }
+
+  /**
+   * Sends the frames of a streamed read while the client is ready.
+   */
+  private final class StreamReader {
+    private final ContainerCommandRequestProto request;
+    private final ServerCallStreamObserver<ContainerCommandResponseProto>
+        observer;
+    private final ChunkInfo chunkInfo;
+    private final long frameSize;
+    // Offset of the next frame in the requested range.
+    private long position;
+    private boolean done;
+
+    StreamReader(ContainerCommandRequestProto request,
+        ServerCallStreamObserver<ContainerCommandResponseProto> observer) {
+      this.request = request;
+      this.observer = observer;
+      this.chunkInfo = request.getReadChunk().getChunkData();
+      this.frameSize = request.getReadChunk().getFrameSize();
+    }
+
+    synchronized void cancel() {
+      LOG.debug("Stream read of chunk {} cancelled at {}",
+          chunkInfo.getChunkName(), position);
+      done = true;
+    }
+
+    synchronized void sendFrames() {
+      try {
+        while (!done && observer.isReady()) {
+          long len = Math.min(frameSize, chunkInfo.getLen() - position);
+          ContainerCommandResponseProto response;
+          try (MappedFileCache.ReadScope ignored =
+                   MappedFileCache.openReadScope()) {
+            response = dispatcher.dispatch(getFrameRequest(len), null);
+            observer.onNext(response);
+          }
+          position += len;
+          if (response.getResult() != ContainerProtos.Result.SUCCESS ||
+              position >= chunkInfo.getLen()) {
+            done = true;
+            observer.onCompleted();
+          }
+        }
+      } catch (Throwable e) {
+        LOG.error("Got exception when streaming read of"
+            + " ContainerCommandRequestProto {}", request, e);
+        done = true;
+        observer.onError(e);
+      }
+    }
+
+    private ContainerCommandRequestProto getFrameRequest(long len) {
+      ReadChunkRequestProto readChunk = request.getReadChunk().toBuilder()
+          .setChunkData(chunkInfo.toBuilder()
+              .setOffset(chunkInfo.getOffset() + position)
+              .setLen(len))
+          .clearFrameSize()
+          .build();
+      return request.toBuilder().setReadChunk(readChunk).build();
+    }
+  }
 }
@@ -31,6 +31,9 @@ public class VolumeIOStats {
   private final AtomicLong writeOpCount;
   private final AtomicLong readTime;
   private final AtomicLong writeTime;
+  private final AtomicLong readFileCacheHits;
+  private final AtomicLong readFileCacheMisses;
+  private final AtomicLong openReadFiles;
 
   public VolumeIOStats() {
     readBytes = new AtomicLong(0);
@@ -39,6 +42,9 @@ public VolumeIOStats() {
     writeOpCount = new AtomicLong(0);
     readTime = new AtomicLong(0);
     writeTime = new AtomicLong(0);
+    readFileCacheHits = new AtomicLong(0);
+    readFileCacheMisses = new AtomicLong(0);
+    openReadFiles = new AtomicLong(0);
   }
 
   /**
@@ -87,6 +93,34 @@ public void incWriteTime(long time) {
     writeTime.addAndGet(time);
   }
 
+  /**
+   * Increment the number of reads served by an already open file.
+   */
+  public void incReadFileCacheHits() {
+    readFileCacheHits.incrementAndGet();
+  }
+
+  /**
+   * Increment the number of reads which had to open the file.
+   */
+  public void incReadFileCacheMisses() {
+    readFileCacheMisses.incrementAndGet();
+  }
+
+  /**
+   * Increment the number of files open for read on the volume.
+   */
+  public void incOpenReadFiles() {
+    openReadFiles.incrementAndGet();
+  }
+
+  /**
+   * Decrement the number of files open for read on the volume.
+   */
+  public void decOpenReadFiles() {
+    openReadFiles.decrementAndGet();
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -135,5 +169,29 @@ public long getWriteTime() {
     return writeTime.get();
   }
 
+  /**
+   * Returns number of reads served by an already open file.
+   * @return long
+   */
+  public long getReadFileCacheHits() {
+    return readFileCacheHits.get();
+  }
+
+  /**
+   * Returns number of reads which had to open the file.
+   * @return long
+   */
+  public long getReadFileCacheMisses() {
+    return readFileCacheMisses.get();
+  }
+
+  /**
+   * Returns number of files currently open for read on the volume.
+   * @return long
+   */
+  public long getOpenReadFiles() {
+    return openReadFiles.get();
+  }
+
 
 }
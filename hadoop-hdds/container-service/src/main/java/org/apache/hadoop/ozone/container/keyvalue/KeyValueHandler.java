@@ -92,6 +92,7 @@
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.putBlockResponseSuccess;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.unsupportedRequest;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -604,10 +605,21 @@ ContainerCommandResponseProto handleReadChunk(
 
     Preconditions.checkNotNull(data, "Chunk data is null");
 
-    ByteString byteString = data.toByteString(byteBufferToByteString);
+    ByteString byteString = data.toByteString(this::readBufferToByteString);
     return getReadChunkResponse(request, byteString);
   }
 
+  /**
+   * Read only buffers, which are returned by memory mapped reads of closed
+   * containers, can not be modified, so they are wrapped without copying.
+   */
+  private ByteString readBufferToByteString(ByteBuffer buffer) {
+    if (buffer.isReadOnly()) {
+      return UnsafeByteOperations.unsafeWrap(buffer);
+    }
+    return byteBufferToByteString.apply(buffer);
+  }
+
   /**
    * Throw an exception if the container is unhealthy.
    *
@@ -832,7 +844,7 @@ ContainerCommandResponseProto handleGetSmallFile(
         // Tmp chunk files won't exist here.
         ChunkBuffer data = chunkManager.readChunk(kvContainer, blockID,
             ChunkInfo.getFromProtoBuf(chunk), dispatcherContext);
-        ByteString current = data.toByteString(byteBufferToByteString);
+        ByteString current = data.toByteString(this::readBufferToByteString);
         dataBuf = dataBuf.concat(current);
         chunkInfo = chunk;
       }
@@ -1065,7 +1077,11 @@ private void deleteInternal(Container container, boolean force)
       container.writeUnlock();
     }
     // Avoid holding write locks for disk operations
-    container.delete();
+    try {
+      container.delete();
+    } finally {
+      chunkManager.deleteContainer(container);
+    }
     container.getContainerData().setState(State.DELETED);
     sendICR(container);
   }
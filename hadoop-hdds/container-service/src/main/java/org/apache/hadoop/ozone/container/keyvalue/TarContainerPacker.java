@@ -34,20 +34,22 @@
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerPacker;
+import org.apache.hadoop.ozone.container.replication.CopyContainerCompression;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
-import org.apache.commons.compress.compressors.CompressorException;
-import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.commons.io.IOUtils;
 
 import static java.util.stream.Collectors.toList;
 
 /**
- * Compress/uncompress KeyValueContainer data to a tar.gz archive.
+ * Compress/uncompress KeyValueContainer data to a tar archive.
+ * <p>
+ * The container descriptor is the first entry of the archive, so that it
+ * can be read before the rest of the archive has been received.
  */
 public class TarContainerPacker
     implements ContainerPacker<KeyValueContainerData> {
@@ -58,6 +60,20 @@
 
   private static final String CONTAINER_FILE_NAME = "container.yaml";
 
+  private final CopyContainerCompression compression;
+
+  public TarContainerPacker() {
+    this(CopyContainerCompression.GZIP);
+  }
+
+  public TarContainerPacker(CopyContainerCompression compression) {
+    this.compression = compression;
+  }
+
+  public CopyContainerCompression getCompression() {
+    return compression;
+  }
+
   /**
    * Given an input stream (tar file) extract the data to the specified
    * directories.
@@ -74,7 +90,7 @@ public byte[] unpackContainerData(Container<KeyValueContainerData> container,
     Path dbRoot = containerData.getDbFile().toPath();
     Path chunksRoot = Paths.get(containerData.getChunksPath());
 
-    try (InputStream decompressed = decompress(input);
+    try (InputStream decompressed = compression.wrap(input);
          ArchiveInputStream archiveInput = untar(decompressed)) {
 
       ArchiveEntry entry = archiveInput.getNextEntry();
@@ -100,12 +116,6 @@ public byte[] unpackContainerData(Container<KeyValueContainerData> container,
         entry = archiveInput.getNextEntry();
       }
       return descriptorFileContent;
-
-    } catch (CompressorException e) {
-      throw new IOException(
-          "Can't uncompress the given container: " + container
-              .getContainerData().getContainerID(),
-          e);
     }
   }
 
@@ -149,28 +159,24 @@ public void pack(Container<KeyValueContainerData> container,
 
     KeyValueContainerData containerData = container.getContainerData();
 
-    try (OutputStream compressed = compress(output);
+    try (OutputStream compressed = compression.wrap(output);
          ArchiveOutputStream archiveOutput = tar(compressed)) {
 
-      includePath(containerData.getDbFile().toPath(), DB_DIR_NAME,
+      includeFile(container.getContainerFile(), CONTAINER_FILE_NAME,
           archiveOutput);
 
-      includePath(Paths.get(containerData.getChunksPath()), CHUNKS_DIR_NAME,
+      includePath(containerData.getDbFile().toPath(), DB_DIR_NAME,
           archiveOutput);
 
-      includeFile(container.getContainerFile(), CONTAINER_FILE_NAME,
+      includePath(Paths.get(containerData.getChunksPath()), CHUNKS_DIR_NAME,
           archiveOutput);
-    } catch (CompressorException e) {
-      throw new IOException(
-          "Can't compress the container: " + containerData.getContainerID(),
-          e);
     }
   }
 
   @Override
   public byte[] unpackContainerDescriptor(InputStream input)
       throws IOException {
-    try (InputStream decompressed = decompress(input);
+    try (InputStream decompressed = compression.wrap(input);
          ArchiveInputStream archiveInput = untar(decompressed)) {
 
       ArchiveEntry entry = archiveInput.getNextEntry();
@@ -181,10 +187,6 @@ public byte[] unpackContainerDescriptor(InputStream input)
         }
         entry = archiveInput.getNextEntry();
       }
-    } catch (CompressorException e) {
-      throw new IOException(
-          "Can't read the container descriptor from the container archive",
-          e);
     }
 
     throw new IOException(
@@ -235,16 +237,4 @@ private static ArchiveOutputStream tar(OutputStream output) {
     return new TarArchiveOutputStream(output);
   }
 
-  private static InputStream decompress(InputStream input)
-      throws CompressorException {
-    return new CompressorStreamFactory()
-        .createCompressorInputStream(CompressorStreamFactory.GZIP, input);
-  }
-
-  private static OutputStream compress(OutputStream output)
-      throws CompressorException {
-    return new CompressorStreamFactory()
-        .createCompressorOutputStream(CompressorStreamFactory.GZIP, output);
-  }
-
 }
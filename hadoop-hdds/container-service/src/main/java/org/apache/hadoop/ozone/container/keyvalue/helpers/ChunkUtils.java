@@ -23,6 +23,8 @@
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.NoSuchFileException;
@@ -207,6 +209,111 @@ public static void readData(File file, ByteBuffer buf,
     buf.flip();
   }
 
+  /**
+   * Reads data from an existing chunk file through a channel from the given
+   * cache. The data is read with positional reads, without taking a lock on
+   * the file, so concurrent reads of the same file share the channel.
+   * <p>
+   * A reader interrupted during the read closes the shared channel. The
+   * channel is then dropped from the cache and the other readers of the
+   * file continue their read with a newly opened channel.
+   *
+   * @param file file where data lives
+   * @param channels cache to get the channel from
+   */
+  public static void readData(File file, ReadChannelCache channels,
+      ByteBuffer buf, long offset, long len, VolumeIOStats volumeIOStats)
+      throws StorageContainerException {
+
+    final long startTime = Time.monotonicNow();
+    final int startPosition = buf.position();
+    final long bytesRead;
+
+    try {
+      for (;;) {
+        try (ReadChannelCache.ReadChannel channel =
+                 channels.acquire(file, volumeIOStats)) {
+          try {
+            readFully(channel.getChannel(), buf,
+                offset + buf.position() - startPosition);
+            break;
+          } catch (ClosedChannelException e) {
+            channels.invalidate(file, channel);
+            if (e instanceof ClosedByInterruptException) {
+              // this reader was interrupted
+              throw e;
+            }
+            LOG.debug("Reopening {} closed by another reader", file);
+          }
+        }
+      }
+      bytesRead = buf.position() - startPosition;
+    } catch (IOException e) {
+      throw wrapInStorageContainerException(e);
+    }
+
+    // Increment volumeIO stats here.
+    long endTime = Time.monotonicNow();
+    volumeIOStats.incReadTime(endTime - startTime);
+    volumeIOStats.incReadOpCount();
+    volumeIOStats.incReadBytes(bytesRead);
+
+    LOG.debug("Read {} bytes starting at offset {} from {}",
+        bytesRead, offset, file);
+
+    validateReadSize(len, bytesRead);
+
+    buf.flip();
+  }
+
+  /**
+   * Reads data of a chunk file of a closed container from a memory mapped
+   * region of the file.
+   *
+   * @param file file where data lives
+   * @param mappedFiles cache of mapped files
+   * @return read only buffer which refers to the mapped region, see
+   *         {@link MappedFileCache#openReadScope} for how long it is valid
+   */
+  public static ByteBuffer readMappedData(File file,
+      MappedFileCache mappedFiles, long offset, long len,
+      VolumeIOStats volumeIOStats) throws StorageContainerException {
+
+    final long startTime = Time.monotonicNow();
+    final ByteBuffer data;
+
+    try {
+      data = mappedFiles.read(file, offset, len);
+    } catch (IOException e) {
+      throw wrapInStorageContainerException(e);
+    }
+
+    final long bytesRead = data.remaining();
+    long endTime = Time.monotonicNow();
+    volumeIOStats.incReadTime(endTime - startTime);
+    volumeIOStats.incReadOpCount();
+    volumeIOStats.incReadBytes(bytesRead);
+
+    LOG.debug("Read {} mapped bytes starting at offset {} from {}",
+        bytesRead, offset, file);
+
+    validateReadSize(len, bytesRead);
+
+    return data;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buf,
+      long offset) throws IOException {
+    long bytesRead = 0;
+    while (buf.hasRemaining()) {
+      int n = channel.read(buf, offset + bytesRead);
+      if (n < 0) {
+        break;
+      }
+      bytesRead += n;
+    }
+  }
+
   /**
    * Validates chunk data and returns a file object to Chunk File that we are
    * expected to write data to.
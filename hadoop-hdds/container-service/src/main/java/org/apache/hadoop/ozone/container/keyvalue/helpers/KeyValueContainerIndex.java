@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-volume index of the KeyValue containers, written when the datanode
+ * shuts down cleanly. The index is kept in the
+ * {@literal <<hddsRoot>>/<<scmUuid>>/current} directory of the volume, next
+ * to the container directories, as the hdds root may only hold the VERSION
+ * file and the scm directory.
+ * <p>
+ * Each entry holds the values which are otherwise read from the container
+ * DB at startup (BCSID, bytes used, block count, pending deletes and the
+ * last delete transaction). With an entry at hand the container can be
+ * registered without opening its DB; the DB is then opened on first
+ * access through the container cache.
+ * <p>
+ * Each entry also records a signature of the files of the container DB,
+ * taken after the DB was closed. An entry is only used if the DB files are
+ * unchanged, so counters updated after the index was written are read from
+ * the DB again.
+ * <p>
+ * The index is removed at every startup, whether it is used or not, so a
+ * datanode which does not shut down cleanly falls back to reading every
+ * container DB.
+ */
+public final class KeyValueContainerIndex {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(KeyValueContainerIndex.class);
+
+  public static final String INDEX_FILE_NAME = "container.index";
+
+  private static final String TMP_FILE_NAME = INDEX_FILE_NAME + ".tmp";
+
+  private static final int VERSION = 2;
+
+  private final Map<Long, Entry> entries;
+
+  private KeyValueContainerIndex(Map<Long, Entry> entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * Returns an empty index.
+   */
+  public static KeyValueContainerIndex empty() {
+    return new KeyValueContainerIndex(new ConcurrentHashMap<>());
+  }
+
+  /**
+   * Removes and returns the entry of the given container.
+   *
+   * @return the entry, or null if the container is not in the index
+   */
+  public Entry remove(long containerID) {
+    return entries.remove(containerID);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  @VisibleForTesting
+  public static File getIndexFile(File currentDir) {
+    return new File(currentDir, INDEX_FILE_NAME);
+  }
+
+  /**
+   * Returns the directory holding the index of a container, which is the
+   * current directory its container directory belongs to.
+   */
+  public static File getIndexDir(KeyValueContainerData container) {
+    return new File(container.getContainerPath()).getParentFile()
+        .getParentFile();
+  }
+
+  /**
+   * Loads the index of the volume and deletes the index files. A missing or
+   * corrupted index results in an empty index.
+   *
+   * @param currentDir the current directory of the volume
+   */
+  public static KeyValueContainerIndex load(File currentDir) {
+    File indexFile = getIndexFile(currentDir);
+    if (!indexFile.exists()) {
+      delete(currentDir);
+      return empty();
+    }
+    Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    try (InputStream in = Files.newInputStream(indexFile.toPath())) {
+      CRC32 checksum = new CRC32();
+      DataInputStream data = new DataInputStream(new CheckedInputStream(
+          new BufferedInputStream(in), checksum));
+      int version = data.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported index version " + version);
+      }
+      int count = data.readInt();
+      for (int i = 0; i < count; i++) {
+        Entry entry = Entry.read(data);
+        entries.put(entry.getContainerID(), entry);
+      }
+      long expected = checksum.getValue();
+      if (data.readLong() != expected) {
+        throw new IOException("Checksum mismatch");
+      }
+      LOG.info("Loaded container index of {} with {} entries",
+          currentDir, entries.size());
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.warn("Ignoring unreadable container index {}", indexFile, e);
+      entries.clear();
+    } finally {
+      if (!delete(currentDir)) {
+        entries.clear();
+      }
+    }
+    return new KeyValueContainerIndex(entries);
+  }
+
+  /**
+   * Deletes the index files of the volume, including a temporary file left
+   * by an interrupted write.
+   *
+   * @param currentDir the current directory of the volume
+   * @return true if no index file is left
+   */
+  public static boolean delete(File currentDir) {
+    boolean deleted = true;
+    for (String name : new String[] {INDEX_FILE_NAME, TMP_FILE_NAME}) {
+      File file = new File(currentDir, name);
+      try {
+        Files.deleteIfExists(file.toPath());
+      } catch (IOException e) {
+        LOG.warn("Failed to delete container index {}", file, e);
+        deleted = false;
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * Writes the index of the given containers of a volume. The DBs of the
+   * containers must be closed.
+   *
+   * @param currentDir the current directory of the volume
+   * @param containers containers of the volume
+   */
+  public static void write(File currentDir,
+      Collection<KeyValueContainerData> containers) throws IOException {
+    List<Entry> index = new ArrayList<>();
+    for (KeyValueContainerData container : containers) {
+      if (container.getDbFile() != null) {
+        index.add(Entry.of(container));
+      }
+    }
+    File indexFile = getIndexFile(currentDir);
+    File tmpFile = new File(currentDir, TMP_FILE_NAME);
+    try (OutputStream out = Files.newOutputStream(tmpFile.toPath())) {
+      CRC32 checksum = new CRC32();
+      DataOutputStream data = new DataOutputStream(new CheckedOutputStream(
+          new BufferedOutputStream(out), checksum));
+      data.writeInt(VERSION);
+      data.writeInt(index.size());
+      for (Entry entry : index) {
+        entry.write(data);
+      }
+      data.flush();
+      data.writeLong(checksum.getValue());
+      data.flush();
+    }
+    Files.move(tmpFile.toPath(), indexFile.toPath(),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    LOG.info("Wrote container index of {} with {} entries",
+        currentDir, index.size());
+  }
+
+  /**
+   * Returns a signature of the names, sizes and modification times of the
+   * files of a container DB, which changes with any write to the DB.
+   *
+   * @return the signature, 0 if the files could not be listed
+   */
+  @VisibleForTesting
+  static long getDbSignature(File dbFile) {
+    File[] files = dbFile.listFiles();
+    if (files == null) {
+      return 0;
+    }
+    Arrays.sort(files, Comparator.comparing(File::getName));
+    Hasher hasher = Hashing.sipHash24().newHasher();
+    for (File file : files) {
+      hasher.putString(file.getName(), StandardCharsets.UTF_8)
+          .putLong(file.length())
+          .putLong(file.lastModified());
+    }
+    return hasher.hash().asLong();
+  }
+
+  /**
+   * Indexed values of one container.
+   */
+  public static final class Entry {
+
+    private final long containerID;
+    private final State state;
+    private final long blockCommitSequenceId;
+    private final long bytesUsed;
+    private final long keyCount;
+    private final int pendingDeletionBlocks;
+    private final long deleteTransactionId;
+    private final long dbSignature;
+
+    @SuppressWarnings("parameternumber")
+    private Entry(long containerID, State state, long blockCommitSequenceId,
+        long bytesUsed, long keyCount, int pendingDeletionBlocks,
+        long deleteTransactionId, long dbSignature) {
+      this.containerID = containerID;
+      this.state = state;
+      this.blockCommitSequenceId = blockCommitSequenceId;
+      this.bytesUsed = bytesUsed;
+      this.keyCount = keyCount;
+      this.pendingDeletionBlocks = pendingDeletionBlocks;
+      this.deleteTransactionId = deleteTransactionId;
+      this.dbSignature = dbSignature;
+    }
+
+    static Entry of(KeyValueContainerData data) {
+      return new Entry(data.getContainerID(), data.getState(),
+          data.getBlockCommitSequenceId(), data.getBytesUsed(),
+          data.getKeyCount(), data.getNumPendingDeletionBlocks(),
+          data.getDeleteTransactionId(), getDbSignature(data.getDbFile()));
+    }
+
+    static Entry read(DataInputStream in) throws IOException {
+      long containerID = in.readLong();
+      State state = State.forNumber(in.readInt());
+      if (state == null) {
+        throw new IOException("Unknown state of container " + containerID);
+      }
+      return new Entry(containerID, state, in.readLong(), in.readLong(),
+          in.readLong(), in.readInt(), in.readLong(), in.readLong());
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      out.writeLong(containerID);
+      out.writeInt(state.getNumber());
+      out.writeLong(blockCommitSequenceId);
+      out.writeLong(bytesUsed);
+      out.writeLong(keyCount);
+      out.writeInt(pendingDeletionBlocks);
+      out.writeLong(deleteTransactionId);
+      out.writeLong(dbSignature);
+    }
+
+    public long getContainerID() {
+      return containerID;
+    }
+
+    public State getState() {
+      return state;
+    }
+
+    /**
+     * Applies the entry to the container data read from the .container
+     * file. The entry is only used if the container is in the same state
+     * as when the index was written and is no longer open, as the counters
+     * of an open container may be ahead of its DB, and if the files of its
+     * DB did not change since.
+     *
+     * @return true if the entry was applied
+     */
+    public boolean applyTo(KeyValueContainerData data) {
+      if (data.getContainerID() != containerID || data.getState() != state
+          || state == State.OPEN) {
+        return false;
+      }
+      if (dbSignature == 0
+          || dbSignature != getDbSignature(data.getDbFile())) {
+        LOG.info("Container {} changed since the index was written",
+            containerID);
+        return false;
+      }
+      data.updateBlockCommitSequenceId(blockCommitSequenceId);
+      data.setBytesUsed(bytesUsed);
+      data.setKeyCount(keyCount);
+      data.incrPendingDeletionBlocks(pendingDeletionBlocks);
+      data.updateDeleteTransactionId(deleteTransactionId);
+      return true;
+    }
+  }
+}
@@ -143,6 +143,21 @@ public static void removeContainer(KeyValueContainerData containerData,
    */
   public static void parseKVContainerData(KeyValueContainerData kvContainerData,
       ConfigurationSource config) throws IOException {
+    parseKVContainerData(kvContainerData, config, null);
+  }
+
+  /**
+   * Parse KeyValueContainerData and verify checksum. If an up to date
+   * container index entry is given, the DB counters are taken from it and
+   * the container DB is not opened.
+   * @param kvContainerData
+   * @param config
+   * @param indexEntry entry of the container index, may be null
+   * @throws IOException
+   */
+  public static void parseKVContainerData(KeyValueContainerData kvContainerData,
+      ConfigurationSource config, KeyValueContainerIndex.Entry indexEntry)
+      throws IOException {
 
     long containerID = kvContainerData.getContainerID();
     File metadataPath = new File(kvContainerData.getMetadataPath());
@@ -160,6 +175,9 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
     }
     kvContainerData.setDbFile(dbFile);
 
+    if (indexEntry != null && indexEntry.applyTo(kvContainerData)) {
+      return;
+    }
 
     boolean isBlockMetadataSet = false;
 
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.hadoop.util.CleanerUtil;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.channels.FileChannel.open;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.NO_ATTRIBUTES;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.READ_OPTIONS;
+
+/**
+ * Cache of memory mapped chunk files of closed containers.
+ *
+ * Files of a closed container do not change, so reads can be served from
+ * read only mapped regions of the files, which can be sent to the client
+ * without copying. The cache is bounded by the total size of the mapped
+ * files.
+ *
+ * Mappings are reference counted: the cache holds one reference, and each
+ * read done in a {@link ReadScope} holds one until the scope is closed. A
+ * mapping evicted from the cache is unmapped once the last reference is
+ * released, instead of waiting for the garbage collector to release it.
+ * A buffer returned by a read outside of a scope may be used for any time,
+ * so its mapping is never unmapped explicitly, and is released when the
+ * buffers referring to it are garbage collected.
+ */
+public final class MappedFileCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(MappedFileCache.class);
+
+  private static final RemovalListener<String, Mapping> ON_REMOVE =
+      event -> event.getValue().release();
+
+  // mappings read by the thread in the current read scope, if any
+  private static final ThreadLocal<List<Mapping>> SCOPE = new ThreadLocal<>();
+
+  private final Cache<String, Mapping> files;
+  private final long minReadSize;
+  private final AtomicLong unmapped = new AtomicLong();
+
+  /**
+   * @param maxMappedBytes maximum total size of the mapped files.
+   * @param minReadSize reads smaller than this are not served by mapping.
+   */
+  public MappedFileCache(long maxMappedBytes, long minReadSize) {
+    Preconditions.checkArgument(maxMappedBytes > 0,
+        "Max mapped bytes should be greater than zero");
+    this.files = CacheBuilder.newBuilder()
+        .maximumWeight(maxMappedBytes)
+        .weigher((String path, Mapping mapping) -> mapping.capacity())
+        .removalListener(ON_REMOVE)
+        .build();
+    this.minReadSize = minReadSize;
+  }
+
+  /**
+   * Opens a scope for the reads of the calling thread. Mappings read in the
+   * scope are not unmapped until it is closed, so the returned buffers must
+   * not be used after that. The scope must be closed by the same thread.
+   */
+  public static ReadScope openReadScope() {
+    Preconditions.checkState(SCOPE.get() == null,
+        "Read scope is already open");
+    SCOPE.set(new ArrayList<>());
+    return new ReadScope();
+  }
+
+  /**
+   * Returns true if a read of len bytes from the container should be
+   * served by mapping the file.
+   */
+  public boolean isMappedRead(ContainerData containerData, long len) {
+    return len >= minReadSize &&
+        containerData.getState() == ContainerDataProto.State.CLOSED;
+  }
+
+  /**
+   * Returns a read only buffer of len bytes of the file starting at offset.
+   * The buffer has less than len bytes if the file ends before it.
+   */
+  public ByteBuffer read(File file, long offset, long len)
+      throws IOException {
+    final long end = offset + len;
+    if (file.length() > Integer.MAX_VALUE) {
+      // Too large to be mapped as a whole, map only the requested region.
+      try (FileChannel channel =
+               open(file.toPath(), READ_OPTIONS, NO_ATTRIBUTES)) {
+        long size = Math.max(0, Math.min(end, channel.size()) - offset);
+        Mapping mapping = new Mapping(file,
+            channel.map(FileChannel.MapMode.READ_ONLY, offset, size));
+        addToScope(mapping);
+        return mapping.buffer.asReadOnlyBuffer();
+      }
+    }
+    Mapping mapping = acquire(file);
+    addToScope(mapping);
+    ByteBuffer buffer = mapping.buffer.duplicate();
+    buffer.position((int) Math.min(offset, buffer.capacity()));
+    buffer.limit((int) Math.min(end, buffer.capacity()));
+    return buffer.slice();
+  }
+
+  /**
+   * Hands the reference of the reader to the read scope of the thread, or
+   * pins the mapping if there is no scope.
+   */
+  private static void addToScope(Mapping mapping) {
+    List<Mapping> scope = SCOPE.get();
+    if (scope != null) {
+      scope.add(mapping);
+    } else {
+      mapping.pin();
+      mapping.release();
+    }
+  }
+
+  private Mapping acquire(File file) throws IOException {
+    for (;;) {
+      Mapping mapping;
+      try {
+        mapping = files.get(file.getPath(), () -> map(file));
+      } catch (ExecutionException | UncheckedExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException("Failed to map " + file, e.getCause());
+      }
+      // The mapping may be evicted and unmapped by the time it is retained,
+      // in which case it is not in the cache anymore, so retry.
+      if (mapping.retain()) {
+        return mapping;
+      }
+    }
+  }
+
+  private Mapping map(File file) throws IOException {
+    try (FileChannel channel =
+             open(file.toPath(), READ_OPTIONS, NO_ATTRIBUTES)) {
+      MappedByteBuffer mapped =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Mapped file {} of size {}", file, mapped.capacity());
+      }
+      return new Mapping(file, mapped);
+    }
+  }
+
+  /**
+   * Removes the mapping of the file, which should be called when the file
+   * is deleted.
+   */
+  public void invalidate(File file) {
+    if (file != null) {
+      files.invalidate(file.getPath());
+    }
+  }
+
+  /**
+   * Removes the mappings of all the files under the directory, which should
+   * be called when the directory is deleted.
+   */
+  public void invalidateAll(File dir) {
+    if (dir != null) {
+      String prefix = dir.getPath() + File.separator;
+      files.invalidateAll(files.asMap().keySet().stream()
+          .filter(path -> path.startsWith(prefix))
+          .collect(Collectors.toList()));
+    }
+  }
+
+  public void invalidateAll() {
+    files.invalidateAll();
+  }
+
+  @VisibleForTesting
+  public long size() {
+    return files.size();
+  }
+
+  @VisibleForTesting
+  long getUnmappedCount() {
+    return unmapped.get();
+  }
+
+  /**
+   * Scope of the reads of a thread, which releases the mappings read in it
+   * when it is closed.
+   */
+  public static final class ReadScope implements Closeable {
+
+    private ReadScope() {
+    }
+
+    @Override
+    public void close() {
+      List<Mapping> mappings = SCOPE.get();
+      SCOPE.remove();
+      if (mappings != null) {
+        mappings.forEach(Mapping::release);
+      }
+    }
+  }
+
+  /**
+   * Reference counted mapping of a file.
+   */
+  private final class Mapping {
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    // starts with the reference of the creator.
+    private final AtomicInteger refCount = new AtomicInteger(1);
+    // set once a buffer of the mapping is used out of a read scope
+    private volatile boolean pinned;
+
+    private Mapping(File file, MappedByteBuffer buffer) {
+      this.file = file;
+      this.buffer = buffer;
+    }
+
+    private int capacity() {
+      return buffer.capacity();
+    }
+
+    private void pin() {
+      pinned = true;
+    }
+
+    private boolean retain() {
+      for (;;) {
+        int count = refCount.get();
+        if (count <= 0) {
+          return false;
+        }
+        if (refCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void release() {
+      if (refCount.decrementAndGet() == 0 && !pinned) {
+        unmap();
+      }
+    }
+
+    private void unmap() {
+      if (!CleanerUtil.UNMAP_SUPPORTED) {
+        return;
+      }
+      try {
+        CleanerUtil.getCleaner().freeBuffer(buffer);
+        unmapped.incrementAndGet();
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Unmapped file {}", file);
+        }
+      } catch (IOException e) {
+        LOG.warn("Failed to unmap file {}", file, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.channels.FileChannel.open;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.NO_ATTRIBUTES;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.READ_OPTIONS;
+
+/**
+ * Bounded cache of file channels opened for reading chunk files.
+ *
+ * Channels are reference counted: the cache holds one reference, and each
+ * reader holds one while it reads. A channel evicted from the cache is
+ * closed only after the last reader releases it, so eviction never closes
+ * a channel under a concurrent read. Callers must {@link #invalidate} a file
+ * after it is deleted or replaced, so that later reads do not see the old
+ * file through a cached channel.
+ */
+public final class ReadChannelCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ReadChannelCache.class);
+
+  private static final RemovalListener<String, ReadChannel> ON_REMOVE =
+      event -> event.getValue().release();
+
+  // null if caching is disabled
+  private final Cache<String, ReadChannel> channels;
+
+  /**
+   * @param maxSize maximum number of channels to keep open, caching is
+   *                disabled if it is not positive.
+   * @param expiry time after which a channel not accessed is closed.
+   */
+  public ReadChannelCache(int maxSize, Duration expiry) {
+    if (maxSize > 0) {
+      channels = CacheBuilder.newBuilder()
+          .maximumSize(maxSize)
+          .expireAfterAccess(expiry)
+          .removalListener(ON_REMOVE)
+          .build();
+    } else {
+      channels = null;
+    }
+  }
+
+  /**
+   * Returns a channel to read the file. The returned channel must be closed
+   * after the read, which releases it back to the cache.
+   */
+  public ReadChannel acquire(File file, VolumeIOStats volumeIOStats)
+      throws IOException {
+    if (channels == null) {
+      // not cached, so the reader holds the only reference.
+      volumeIOStats.incReadFileCacheMisses();
+      return new ReadChannel(file, volumeIOStats);
+    }
+
+    for (;;) {
+      AtomicBoolean opened = new AtomicBoolean(false);
+      ReadChannel channel;
+      try {
+        channel = channels.get(file.getPath(), () -> {
+          opened.set(true);
+          return new ReadChannel(file, volumeIOStats);
+        });
+      } catch (ExecutionException | UncheckedExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException("Failed to open " + file, e.getCause());
+      }
+      // The channel may be evicted and closed by the time it is retained,
+      // in which case it is not in the cache anymore, so retry.
+      if (channel.retain()) {
+        if (opened.get()) {
+          volumeIOStats.incReadFileCacheMisses();
+        } else {
+          volumeIOStats.incReadFileCacheHits();
+        }
+        return channel;
+      }
+    }
+  }
+
+  /**
+   * Closes the cached channel of the file, if any. Readers which already
+   * acquired it can complete their read.
+   */
+  public void invalidate(File file) {
+    if (channels != null && file != null) {
+      channels.invalidate(file.getPath());
+    }
+  }
+
+  /**
+   * Removes the channel from the cache if it is still the cached channel of
+   * the file, for example after it was closed by an interrupted reader.
+   */
+  public void invalidate(File file, ReadChannel channel) {
+    if (channels != null) {
+      channels.asMap().remove(file.getPath(), channel);
+    }
+  }
+
+  /**
+   * Closes the cached channels of all the files under the directory, if any.
+   */
+  public void invalidateAll(File dir) {
+    if (channels != null && dir != null) {
+      String prefix = dir.getPath() + File.separator;
+      channels.invalidateAll(channels.asMap().keySet().stream()
+          .filter(path -> path.startsWith(prefix))
+          .collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Closes all the cached channels.
+   */
+  public void invalidateAll() {
+    if (channels != null) {
+      channels.invalidateAll();
+    }
+  }
+
+  @VisibleForTesting
+  public long size() {
+    return channels == null ? 0 : channels.size();
+  }
+
+  /**
+   * Reference counted read only file channel.
+   */
+  public static final class ReadChannel implements Closeable {
+
+    private final File file;
+    private final FileChannel channel;
+    private final VolumeIOStats volumeIOStats;
+    // starts with the reference of the creator.
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    private ReadChannel(File file, VolumeIOStats volumeIOStats)
+        throws IOException {
+      this.file = file;
+      this.channel = open(file.toPath(), READ_OPTIONS, NO_ATTRIBUTES);
+      this.volumeIOStats = volumeIOStats;
+      volumeIOStats.incOpenReadFiles();
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Opened file {} for read", file);
+      }
+    }
+
+    public FileChannel getChannel() {
+      return channel;
+    }
+
+    private boolean retain() {
+      for (;;) {
+        int count = refCount.get();
+        if (count <= 0) {
+          return false;
+        }
+        if (refCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void release() {
+      if (refCount.decrementAndGet() == 0) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close file {}", file, e);
+        }
+        volumeIOStats.decOpenReadFiles();
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Closed file {}", file);
+        }
+      }
+    }
+
+    /**
+     * Releases the reference acquired by the reader.
+     */
+    @Override
+    public void close() {
+      release();
+    }
+  }
+}
@@ -29,6 +29,8 @@
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.impl.ChunkLayOutVersion;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.MappedFileCache;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ReadChannelCache;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
@@ -56,9 +58,12 @@ public class ChunkManagerDispatcher implements ChunkManager {
   private final Map<ChunkLayOutVersion, ChunkManager> handlers
       = new EnumMap<>(ChunkLayOutVersion.class);
 
-  ChunkManagerDispatcher(boolean sync, BlockManager manager) {
-    handlers.put(FILE_PER_CHUNK, new FilePerChunkStrategy(sync, manager));
-    handlers.put(FILE_PER_BLOCK, new FilePerBlockStrategy(sync));
+  ChunkManagerDispatcher(boolean sync, BlockManager manager,
+      ReadChannelCache readChannels, MappedFileCache mappedFiles) {
+    handlers.put(FILE_PER_CHUNK,
+        new FilePerChunkStrategy(sync, manager, readChannels, mappedFiles));
+    handlers.put(FILE_PER_BLOCK,
+        new FilePerBlockStrategy(sync, readChannels, mappedFiles));
   }
 
   @Override
@@ -116,6 +121,12 @@ public void deleteChunks(Container container, BlockData blockData)
             .mapToLong(ContainerProtos.ChunkInfo::getLen).sum());
   }
 
+  @Override
+  public void deleteContainer(Container container)
+      throws StorageContainerException {
+    selectHandler(container).deleteContainer(container);
+  }
+
   @Override
   public void shutdown() {
     handlers.values().forEach(ChunkManager::shutdown);
@@ -19,12 +19,18 @@
 package org.apache.hadoop.ozone.container.keyvalue.impl;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.MappedFileCache;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ReadChannelCache;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_PERSISTDATA;
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_PERSISTDATA_DEFAULT;
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_SCRUB_ENABLED;
@@ -76,6 +82,39 @@ public static ChunkManager createChunkManager(ConfigurationSource conf,
       return new ChunkManagerDummyImpl();
     }
 
-    return new ChunkManagerDispatcher(sync, manager);
+    ReadChannelCache readChannels = createReadChannelCache(conf);
+
+    MappedFileCache mappedFiles = null;
+    if (conf.getBoolean(
+        OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_MMAP_ENABLED_KEY,
+        OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_MMAP_ENABLED_DEFAULT)) {
+      long maxMappedBytes = (long) conf.getStorageSize(
+          OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_MMAP_CACHE_SIZE_KEY,
+          OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_MMAP_CACHE_SIZE_DEFAULT,
+          StorageUnit.BYTES);
+      long minReadSize = (long) conf.getStorageSize(
+          OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_MMAP_MIN_SIZE_KEY,
+          OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_MMAP_MIN_SIZE_DEFAULT,
+          StorageUnit.BYTES);
+      mappedFiles = new MappedFileCache(maxMappedBytes, minReadSize);
+    }
+
+    return new ChunkManagerDispatcher(sync, manager, readChannels,
+        mappedFiles);
+  }
+
+  /**
+   * Create the cache of channels opened for reading chunk files.
+   */
+  static ReadChannelCache createReadChannelCache(ConfigurationSource conf) {
+    int readCacheSize = conf.getInt(
+        OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_CACHE_SIZE_KEY,
+        OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_CACHE_SIZE_DEFAULT);
+    long readCacheExpiry = conf.getTimeDuration(
+        OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_CACHE_EXPIRY_KEY,
+        OzoneConfigKeys.DFS_CONTAINER_CHUNK_READ_CACHE_EXPIRY_DEFAULT,
+        TimeUnit.MILLISECONDS);
+    return new ReadChannelCache(readCacheSize,
+        Duration.ofMillis(readCacheExpiry));
   }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@
 import com.google.common.cache.RemovalListener;
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
@@ -35,6 +36,8 @@
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.MappedFileCache;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ReadChannelCache;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 
@@ -67,9 +70,23 @@ public class FilePerBlockStrategy implements ChunkManager {
 
   private final boolean doSyncWrite;
   private final OpenFiles files = new OpenFiles();
+  private final ReadChannelCache readChannels;
+  // null if memory mapped reads are disabled
+  private final MappedFileCache mappedFiles;
 
-  public FilePerBlockStrategy(boolean sync) {
+  public FilePerBlockStrategy(boolean sync, ConfigurationSource conf) {
+    this(sync, ChunkManagerFactory.createReadChannelCache(conf));
+  }
+
+  public FilePerBlockStrategy(boolean sync, ReadChannelCache readChannels) {
+    this(sync, readChannels, null);
+  }
+
+  public FilePerBlockStrategy(boolean sync, ReadChannelCache readChannels,
+      MappedFileCache mappedFiles) {
     doSyncWrite = sync;
+    this.readChannels = readChannels;
+    this.mappedFiles = mappedFiles;
   }
 
   private static void checkLayoutVersion(Container container) {
@@ -145,8 +162,13 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
 
     long len = info.getLen();
     long offset = info.getOffset();
+    if (mappedFiles != null && mappedFiles.isMappedRead(containerData, len)) {
+      return ChunkBuffer.wrap(ChunkUtils.readMappedData(chunkFile,
+          mappedFiles, offset, len, volumeIOStats));
+    }
     ByteBuffer data = ByteBuffer.allocate((int) len);
-    ChunkUtils.readData(chunkFile, data, offset, len, volumeIOStats);
+    ChunkUtils.readData(chunkFile, readChannels, data, offset, len,
+        volumeIOStats);
 
     return ChunkBuffer.wrap(data);
   }
@@ -194,10 +216,32 @@ private void deleteChunk(Container container, BlockID blockID,
       checkFullDelete(info, file);
     }
 
+    readChannels.invalidate(file);
+    if (mappedFiles != null) {
+      mappedFiles.invalidate(file);
+    }
     FileUtil.fullyDelete(file);
     LOG.info("Deleted block file: {}", file);
   }
 
+  @Override
+  public void deleteContainer(Container container) {
+    File chunksDir = new File(((KeyValueContainerData)
+        container.getContainerData()).getChunksPath());
+    readChannels.invalidateAll(chunksDir);
+    if (mappedFiles != null) {
+      mappedFiles.invalidateAll(chunksDir);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    readChannels.invalidateAll();
+    if (mappedFiles != null) {
+      mappedFiles.invalidateAll();
+    }
+  }
+
   private File getChunkFile(Container container, BlockID blockID,
       ChunkInfo info) throws StorageContainerException {
     return FILE_PER_BLOCK.getChunkFile(container.getContainerData(), blockID,
@@ -22,6 +22,7 @@
 
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
@@ -34,6 +35,8 @@
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.MappedFileCache;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ReadChannelCache;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
@@ -65,10 +68,26 @@ public class FilePerChunkStrategy implements ChunkManager {
 
   private final boolean doSyncWrite;
   private final BlockManager blockManager;
+  private final ReadChannelCache readChannels;
+  // null if memory mapped reads are disabled
+  private final MappedFileCache mappedFiles;
 
-  public FilePerChunkStrategy(boolean sync, BlockManager manager) {
+  public FilePerChunkStrategy(boolean sync, BlockManager manager,
+      ConfigurationSource conf) {
+    this(sync, manager, ChunkManagerFactory.createReadChannelCache(conf));
+  }
+
+  public FilePerChunkStrategy(boolean sync, BlockManager manager,
+      ReadChannelCache readChannels) {
+    this(sync, manager, readChannels, null);
+  }
+
+  public FilePerChunkStrategy(boolean sync, BlockManager manager,
+      ReadChannelCache readChannels, MappedFileCache mappedFiles) {
     doSyncWrite = sync;
     blockManager = manager;
+    this.readChannels = readChannels;
+    this.mappedFiles = mappedFiles;
   }
 
   private static void checkLayoutVersion(Container container) {
@@ -131,6 +150,7 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
           // the data to be written here which should be efficient and
           // it matches we can safely return without rewriting.
           LOG.warn("ChunkFile already exists {}. Deleting it.", chunkFile);
+          readChannels.invalidate(chunkFile);
           FileUtil.fullyDelete(chunkFile);
         }
         if (tmpChunkFile.exists()) {
@@ -220,7 +240,10 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
     }
 
     long len = info.getLen();
-    ByteBuffer data = ByteBuffer.allocate((int) len);
+    // Files of a closed container do not change, so they can be mapped.
+    boolean mappedRead = mappedFiles != null &&
+        mappedFiles.isMappedRead(containerData, len);
+    ByteBuffer data = mappedRead ? null : ByteBuffer.allocate((int) len);
 
     long chunkFileOffset = 0;
     if (info.getOffset() != 0) {
@@ -253,7 +276,12 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
         if (file.exists()) {
           long offset = info.getOffset() - chunkFileOffset;
           Preconditions.checkState(offset >= 0);
-          ChunkUtils.readData(file, data, offset, len, volumeIOStats);
+          if (mappedRead) {
+            return ChunkBuffer.wrap(ChunkUtils.readMappedData(file,
+                mappedFiles, offset, len, volumeIOStats));
+          }
+          ChunkUtils.readData(file, readChannels, data, offset, len,
+              volumeIOStats);
           return ChunkBuffer.wrap(data);
         }
       } catch (StorageContainerException ex) {
@@ -262,7 +290,9 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
         if (ex.getResult() != UNABLE_TO_FIND_CHUNK) {
           throw ex;
         }
-        data.clear();
+        if (data != null) {
+          data.clear();
+        }
       }
     }
     throw new StorageContainerException(
@@ -304,6 +334,10 @@ public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
         // file length is offset + real chunk length; see HDDS-3644
         || info.getLen() + info.getOffset() == chunkFileSize;
     if (allowed) {
+      readChannels.invalidate(chunkFile);
+      if (mappedFiles != null) {
+        mappedFiles.invalidate(chunkFile);
+      }
       FileUtil.fullyDelete(chunkFile);
       LOG.info("Deleted chunk file {} (size {}) for chunk {}",
           chunkFile, chunkFileSize, info);
@@ -330,6 +364,24 @@ public void deleteChunks(Container container, BlockData blockData)
     }
   }
 
+  @Override
+  public void deleteContainer(Container container) {
+    File chunksDir = new File(((KeyValueContainerData)
+        container.getContainerData()).getChunksPath());
+    readChannels.invalidateAll(chunksDir);
+    if (mappedFiles != null) {
+      mappedFiles.invalidateAll(chunksDir);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    readChannels.invalidateAll();
+    if (mappedFiles != null) {
+      mappedFiles.invalidateAll();
+    }
+  }
+
   private static File getChunkFile(KeyValueContainer container, BlockID blockID,
       ChunkInfo info) throws StorageContainerException {
     return FILE_PER_CHUNK.getChunkFile(container.getContainerData(), blockID,
@@ -365,6 +417,11 @@ private void commitChunk(File tmpChunkFile, File chunkFile) throws
       IOException {
     Files.move(tmpChunkFile.toPath(), chunkFile.toPath(),
         StandardCopyOption.REPLACE_EXISTING);
+    // Channels opened for reading the tmp chunk file or the replaced chunk
+    // file should not be used after the rename. A channel cached before the
+    // rename would otherwise stay in the cache, so invalidate only after it.
+    readChannels.invalidate(tmpChunkFile);
+    readChannels.invalidate(chunkFile);
   }
 
 }
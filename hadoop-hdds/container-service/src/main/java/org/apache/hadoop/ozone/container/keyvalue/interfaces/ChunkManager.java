@@ -88,6 +88,18 @@ void deleteChunk(Container container, BlockID blockID, ChunkInfo info) throws
   void deleteChunks(Container container, BlockData blockData) throws
       StorageContainerException;
 
+  /**
+   * Releases the resources held for reading the chunks of the container,
+   * like cached open files, when the container is deleted.
+   *
+   * @param container - Container being deleted
+   * @throws StorageContainerException
+   */
+  default void deleteContainer(Container container)
+      throws StorageContainerException {
+    // if applicable
+  }
+
   // TODO : Support list operations.
 
   /**
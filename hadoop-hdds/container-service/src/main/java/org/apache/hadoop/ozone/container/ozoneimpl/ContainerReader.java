@@ -21,6 +21,12 @@
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -31,12 +37,15 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
-
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerIndex;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,7 +72,12 @@
  * the {@literal <<dataPath>>} layout for KeyValueContainers is:
  * <p>{@literal ../hdds/<<scmUuid>>/current/<<containerDir>>/<<KVcontainerID
  * >/chunks/<<chunksFile>>}
- *
+ * <p>
+ * The containers of a volume are loaded by a pool of
+ * {@link DatanodeConfiguration#getContainerLoadThreadsPerVolume()} threads.
+ * If the volume has a {@link KeyValueContainerIndex} written at the last
+ * clean shutdown, the indexed containers are registered without opening
+ * their DB.
  */
 public class ContainerReader implements Runnable {
 
@@ -74,6 +88,9 @@ public class ContainerReader implements Runnable {
   private final ConfigurationSource config;
   private final File hddsVolumeDir;
   private final MutableVolumeSet volumeSet;
+  private final DatanodeConfiguration datanodeConfig;
+  private KeyValueContainerIndex containerIndex =
+      KeyValueContainerIndex.empty();
 
   ContainerReader(MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
       ConfigurationSource conf) {
@@ -83,6 +100,7 @@ public class ContainerReader implements Runnable {
     this.containerSet = cset;
     this.config = conf;
     this.volumeSet = volSet;
+    this.datanodeConfig = conf.getObject(DatanodeConfiguration.class);
   }
 
   @Override
@@ -120,30 +138,74 @@ public boolean accept(File pathname) {
       return;
     }
 
+    List<File> containerDirs = new ArrayList<>();
     for (File scmLoc : scmDir) {
       File currentDir = new File(scmLoc, Storage.STORAGE_DIR_CURRENT);
       File[] containerTopDirs = currentDir.listFiles();
       if (containerTopDirs != null) {
         for (File containerTopDir : containerTopDirs) {
           if (containerTopDir.isDirectory()) {
-            File[] containerDirs = containerTopDir.listFiles();
-            if (containerDirs != null) {
-              for (File containerDir : containerDirs) {
-                File containerFile = ContainerUtils.getContainerFile(
-                    containerDir);
-                long containerID = ContainerUtils.getContainerID(containerDir);
-                if (containerFile.exists()) {
-                  verifyContainerFile(containerID, containerFile);
-                } else {
-                  LOG.error("Missing .container file for ContainerID: {}",
-                      containerDir.getName());
-                }
+            File[] dirs = containerTopDir.listFiles();
+            if (dirs != null) {
+              for (File containerDir : dirs) {
+                containerDirs.add(containerDir);
               }
             }
           }
         }
       }
     }
+
+    // The index is removed at every start, so an index left over while it
+    // was disabled is never used later.
+    for (File scmLoc : scmDir) {
+      File currentDir = new File(scmLoc, Storage.STORAGE_DIR_CURRENT);
+      if (datanodeConfig.isContainerIndexEnabled()) {
+        containerIndex = KeyValueContainerIndex.load(currentDir);
+      } else {
+        KeyValueContainerIndex.delete(currentDir);
+      }
+    }
+
+    int threads = Math.min(datanodeConfig.getContainerLoadThreadsPerVolume(),
+        Math.max(containerDirs.size(), 1));
+    ExecutorService executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("ContainerReader-" + hddsVolumeRootDir.getName()
+                + "-%d")
+            .build());
+    try {
+      List<Future<?>> futures = new ArrayList<>(containerDirs.size());
+      for (File containerDir : containerDirs) {
+        futures.add(executor.submit(() -> readContainer(containerDir)));
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          LOG.error("Failed to load container from volume {}",
+              hddsVolumeRootDir, e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      LOG.warn("Interrupted while loading containers of volume {}",
+          hddsVolumeRootDir);
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+      containerIndex = KeyValueContainerIndex.empty();
+    }
+  }
+
+  private void readContainer(File containerDir) {
+    File containerFile = ContainerUtils.getContainerFile(containerDir);
+    long containerID = ContainerUtils.getContainerID(containerDir);
+    if (containerFile.exists()) {
+      verifyContainerFile(containerID, containerFile);
+    } else {
+      LOG.error("Missing .container file for ContainerID: {}",
+          containerDir.getName());
+    }
   }
 
   private void verifyContainerFile(long containerID, File containerFile) {
@@ -178,7 +240,8 @@ public void verifyAndFixupContainerData(ContainerData containerData)
             containerData;
         containerData.setVolume(hddsVolume);
 
-        KeyValueContainerUtil.parseKVContainerData(kvContainerData, config);
+        KeyValueContainerUtil.parseKVContainerData(kvContainerData, config,
+            containerIndex.remove(containerData.getContainerID()));
         KeyValueContainer kvContainer = new KeyValueContainer(
             kvContainerData, config);
 
@@ -18,8 +18,10 @@
 
 package org.apache.hadoop.ozone.container.ozoneimpl;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -37,16 +39,22 @@
 import org.apache.hadoop.hdds.security.x509.SecurityConfig;
 import org.apache.hadoop.hdds.security.x509.certificate.client.CertificateClient;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.impl.HddsDispatcher;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
 import org.apache.hadoop.ozone.container.common.transport.server.XceiverServerGrpc;
 import org.apache.hadoop.ozone.container.common.transport.server.XceiverServerSpi;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.XceiverServerRatis;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerIndex;
 import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.BlockDeletingService;
 import org.apache.hadoop.ozone.container.replication.GrpcReplicationService;
 import org.apache.hadoop.ozone.container.replication.OnDemandContainerReplicationSource;
@@ -152,7 +160,9 @@ public OzoneContainer(DatanodeDetails datanodeDetails, ConfigurationSource
 
   private GrpcReplicationService createReplicationService() {
     return new GrpcReplicationService(
-        new OnDemandContainerReplicationSource(controller));
+        new OnDemandContainerReplicationSource(controller),
+        config.getObject(DatanodeConfiguration.class)
+            .getReplicationMaxBandwidth());
   }
 
   /**
@@ -249,11 +259,61 @@ public void stop() {
     readChannel.stop();
     this.handlers.values().forEach(Handler::stop);
     hddsDispatcher.shutdown();
-    volumeSet.shutdown();
     blockDeletingService.shutdown();
+    writeContainerIndexes();
+    volumeSet.shutdown();
     ContainerMetrics.remove();
   }
 
+  /**
+   * Writes the container index of each volume, so that the next start can
+   * register the containers without opening their DB. The DB of each
+   * indexed container is closed first, so that the index records the final
+   * state of its files.
+   */
+  private void writeContainerIndexes() {
+    if (!config.getObject(DatanodeConfiguration.class)
+        .isContainerIndexEnabled()) {
+      return;
+    }
+    for (HddsVolume volume : volumeSet.getVolumesList()) {
+      Map<File, List<KeyValueContainerData>> containers = new HashMap<>();
+      Iterator<Container<?>> it = containerSet.getContainerIterator(volume);
+      while (it.hasNext()) {
+        ContainerData data = it.next().getContainerData();
+        if (data instanceof KeyValueContainerData) {
+          KeyValueContainerData kvData = (KeyValueContainerData) data;
+          if (kvData.getDbFile() == null || !closeDB(kvData)) {
+            continue;
+          }
+          containers.computeIfAbsent(
+              KeyValueContainerIndex.getIndexDir(kvData),
+              dir -> new ArrayList<>()).add(kvData);
+        }
+      }
+      for (Map.Entry<File, List<KeyValueContainerData>> entry
+          : containers.entrySet()) {
+        try {
+          KeyValueContainerIndex.write(entry.getKey(), entry.getValue());
+        } catch (IOException e) {
+          LOG.warn("Failed to write the container index of {}",
+              entry.getKey(), e);
+        }
+      }
+    }
+  }
+
+  private boolean closeDB(KeyValueContainerData data) {
+    try {
+      BlockUtils.removeDB(data, config);
+      return true;
+    } catch (IllegalArgumentException e) {
+      LOG.warn("DB of container {} is still in use, it is not indexed",
+          data.getContainerID());
+      return false;
+    }
+  }
+
   public void handleVolumeFailures() {
     if (containerSet != null) {
       containerSet.handleVolumeFailures();
@@ -18,6 +18,8 @@
 package org.apache.hadoop.ozone.container.replication;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -37,4 +39,11 @@ public interface ContainerDownloader extends Closeable {
   CompletableFuture<Path> getContainerDataFromReplicas(long containerId,
       List<DatanodeDetails> sources);
 
+  /**
+   * Opens the compressed container data of a single replica as a stream,
+   * without saving it to the working directory.
+   */
+  InputStream getContainerDataStream(long containerId,
+      DatanodeDetails source) throws IOException;
+
 }
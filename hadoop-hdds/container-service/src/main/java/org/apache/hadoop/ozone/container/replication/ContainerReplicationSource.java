@@ -43,7 +43,20 @@ public interface ContainerReplicationSource {
    * @param destination   The destination stream to copy all the container data.
    * @throws IOException
    */
-  void copyData(long containerId, OutputStream destination)
-      throws IOException;
+  default void copyData(long containerId, OutputStream destination)
+      throws IOException {
+    copyData(containerId, destination, CopyContainerCompression.GZIP);
+  }
+
+  /**
+   * Copy the container data to an output stream.
+   *
+   * @param containerId Container to replicate
+   * @param destination   The destination stream to copy all the container data.
+   * @param compression Compression of the container archive.
+   * @throws IOException
+   */
+  void copyData(long containerId, OutputStream destination,
+      CopyContainerCompression compression) throws IOException;
 
 }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.replication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerCompressProto;
+
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+
+/**
+ * Compression of the container archives sent for replication.
+ */
+public enum CopyContainerCompression {
+
+  NO_COMPRESSION(CopyContainerCompressProto.NO_COMPRESSION, null),
+  GZIP(CopyContainerCompressProto.GZIP, CompressorStreamFactory.GZIP);
+
+  private final CopyContainerCompressProto proto;
+  private final String compressorName;
+
+  CopyContainerCompression(CopyContainerCompressProto proto,
+      String compressorName) {
+    this.proto = proto;
+    this.compressorName = compressorName;
+  }
+
+  public CopyContainerCompressProto toProto() {
+    return proto;
+  }
+
+  public static CopyContainerCompression fromProto(
+      CopyContainerCompressProto proto) {
+    for (CopyContainerCompression compression : values()) {
+      if (compression.proto == proto) {
+        return compression;
+      }
+    }
+    throw new IllegalArgumentException("Unknown compression " + proto);
+  }
+
+  /**
+   * Wraps the stream of a compressed archive.
+   */
+  public InputStream wrap(InputStream input) throws IOException {
+    if (compressorName == null) {
+      return input;
+    }
+    try {
+      return new CompressorStreamFactory()
+          .createCompressorInputStream(compressorName, input);
+    } catch (CompressorException e) {
+      throw new IOException("Can't uncompress the container archive with "
+          + this, e);
+    }
+  }
+
+  /**
+   * Wraps the destination stream of an archive to compress it.
+   */
+  public OutputStream wrap(OutputStream output) throws IOException {
+    if (compressorName == null) {
+      return output;
+    }
+    try {
+      return new CompressorStreamFactory()
+          .createCompressorOutputStream(compressorName, output);
+    } catch (CompressorException e) {
+      throw new IOException("Can't compress the container archive with "
+          + this, e);
+    }
+  }
+}
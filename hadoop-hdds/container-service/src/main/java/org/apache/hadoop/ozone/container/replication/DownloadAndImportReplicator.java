@@ -17,7 +17,10 @@
  */
 package org.apache.hadoop.ozone.container.replication;
 
+import java.io.BufferedInputStream;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -32,6 +35,9 @@
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
 import org.apache.hadoop.ozone.container.replication.ReplicationTask.Status;
 
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +46,10 @@
  * <p>
  * This class does the real job. Executes the download and import the container
  * to the container set.
+ * <p>
+ * In streaming mode the container archive is unpacked to its destination
+ * while it is downloaded, without a temporary archive in the working
+ * directory. The sources are tried one after the other.
  */
 public class DownloadAndImportReplicator implements ContainerReplicator {
 
@@ -52,17 +62,35 @@ public class DownloadAndImportReplicator implements ContainerReplicator {
 
   private final ContainerDownloader downloader;
 
+  /**
+   * The descriptor is the first entry of the archive, this much of the
+   * stream is kept to read it before unpacking the whole archive.
+   */
+  private static final int DESCRIPTOR_READ_LIMIT = 1024 * 1024;
+
   private final TarContainerPacker packer;
 
+  private final boolean streaming;
+
   public DownloadAndImportReplicator(
       ContainerSet containerSet,
       ContainerController controller,
       ContainerDownloader downloader,
       TarContainerPacker packer) {
+    this(containerSet, controller, downloader, packer, false);
+  }
+
+  public DownloadAndImportReplicator(
+      ContainerSet containerSet,
+      ContainerController controller,
+      ContainerDownloader downloader,
+      TarContainerPacker packer,
+      boolean streaming) {
     this.containerSet = containerSet;
     this.controller = controller;
     this.downloader = downloader;
     this.packer = packer;
+    this.streaming = streaming;
   }
 
   public void importContainer(long containerID, Path tarFilePath) {
@@ -99,8 +127,31 @@ public void importContainer(long containerID, Path tarFilePath) {
     }
   }
 
+  /**
+   * Imports a container from the stream of its archive.
+   */
+  public void importContainer(long containerID, InputStream archive)
+      throws IOException {
+    InputStream input = new BufferedInputStream(archive);
+    input.mark(DESCRIPTOR_READ_LIMIT);
+    byte[] containerDescriptorYaml = packer.unpackContainerDescriptor(
+        new BoundedInputStream(new CloseShieldInputStream(input),
+            DESCRIPTOR_READ_LIMIT));
+    input.reset();
+    ContainerData originalContainerData =
+        ContainerDataYaml.readContainer(containerDescriptorYaml);
+    Container container = controller.importContainer(
+        originalContainerData, input, packer);
+    containerSet.addContainer(container);
+  }
+
   @Override
   public void replicate(ReplicationTask task) {
+    if (streaming) {
+      replicateStreaming(task);
+      return;
+    }
+
     long containerID = task.getContainerId();
 
     List<DatanodeDetails> sourceDatanodes = task.getSources();
@@ -116,6 +167,7 @@ public void replicate(ReplicationTask task) {
       //wait for the download. This thread pool is limiting the paralell
       //downloads, so it's ok to block here and wait for the full download.
       Path path = tempTarFile.get();
+      task.addTransferredBytes(Files.size(path));
       LOG.info("Container {} is downloaded, starting to import.",
           containerID);
       importContainer(containerID, path);
@@ -126,4 +178,31 @@ public void replicate(ReplicationTask task) {
       task.setStatus(Status.FAILED);
     }
   }
+
+  private void replicateStreaming(ReplicationTask task) {
+    long containerID = task.getContainerId();
+    for (DatanodeDetails source : task.getSources()) {
+      LOG.info("Starting streaming replication of container {} from {}",
+          containerID, source);
+      try (InputStream archive =
+               downloader.getContainerDataStream(containerID, source)) {
+        importContainer(containerID, new ProxyInputStream(archive) {
+          @Override
+          protected void afterRead(int n) {
+            if (n > 0) {
+              task.addTransferredBytes(n);
+            }
+          }
+        });
+        LOG.info("Container {} is replicated successfully from {}",
+            containerID, source);
+        task.setStatus(Status.DONE);
+        return;
+      } catch (Exception e) {
+        LOG.error("Streaming replication of container {} from {} was "
+            + "unsuccessful.", containerID, source, e);
+      }
+    }
+    task.setStatus(Status.FAILED);
+  }
 }
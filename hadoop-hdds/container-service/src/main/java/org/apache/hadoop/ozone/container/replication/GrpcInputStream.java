@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.replication;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerResponseProto;
+import org.apache.hadoop.hdfs.util.DataTransferThrottler;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.StatusRuntimeException;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Adapter from the responses of a blocking gRPC download to
+ * {@code InputStream}. The next response is only requested when the
+ * previous one has been consumed, so the sender is slowed down by the
+ * reader.
+ * <p>
+ * Closing the stream before the last response has been received cancels
+ * the download.
+ */
+class GrpcInputStream extends InputStream {
+
+  private final Iterator<CopyContainerResponseProto> responses;
+
+  private final long containerId;
+
+  private final DataTransferThrottler throttler;
+
+  private final Runnable onCancel;
+
+  private final Runnable onClose;
+
+  private ByteString current = ByteString.EMPTY;
+
+  private int position;
+
+  private long readBytes;
+
+  private boolean eof;
+
+  private boolean closed;
+
+  GrpcInputStream(Iterator<CopyContainerResponseProto> responses,
+      long containerId, DataTransferThrottler throttler, Runnable onCancel,
+      Runnable onClose) {
+    this.responses = responses;
+    this.containerId = containerId;
+    this.throttler = throttler;
+    this.onCancel = onCancel;
+    this.onClose = onClose;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    int n = read(b, 0, 1);
+    return n < 0 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override
+  public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    while (position == current.size()) {
+      if (!nextResponse()) {
+        return -1;
+      }
+    }
+    int n = Math.min(len, current.size() - position);
+    current.copyTo(b, position, off, n);
+    position += n;
+    readBytes += n;
+    return n;
+  }
+
+  @Override
+  public int available() {
+    return current.size() - position;
+  }
+
+  private boolean nextResponse() throws IOException {
+    if (closed) {
+      throw new IOException("Stream of container " + containerId
+          + " is closed");
+    }
+    if (eof) {
+      return false;
+    }
+    try {
+      if (!responses.hasNext()) {
+        eof = true;
+        return false;
+      }
+      CopyContainerResponseProto response = responses.next();
+      if (response.getReadOffset() != readBytes) {
+        throw new IOException("Unexpected offset " + response.getReadOffset()
+            + " in the stream of container " + containerId + ", expected "
+            + readBytes);
+      }
+      ByteString data = response.getData();
+      if (throttler != null) {
+        throttler.throttle(data.size());
+      }
+      current = data;
+      position = 0;
+      eof = response.getEof();
+      return true;
+    } catch (StatusRuntimeException e) {
+      throw new IOException("Failed to download container " + containerId,
+          e);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      if (!eof) {
+        onCancel.run();
+      }
+      onClose.run();
+    }
+  }
+}
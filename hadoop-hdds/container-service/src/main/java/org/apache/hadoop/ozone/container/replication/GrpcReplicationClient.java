@@ -20,10 +20,12 @@
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -37,6 +39,7 @@
     .IntraDatanodeProtocolServiceGrpc.IntraDatanodeProtocolServiceStub;
 
 import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.ratis.thirdparty.io.grpc.ManagedChannel;
 import org.apache.ratis.thirdparty.io.grpc.netty.NettyChannelBuilder;
@@ -58,8 +61,21 @@ public class GrpcReplicationClient {
 
   private final Path workingDirectory;
 
+  private final CopyContainerCompression compression;
+
+  private final DataTransferThrottler throttler;
+
   public GrpcReplicationClient(String host,
       int port, Path workingDir) {
+    this(host, port, workingDir, CopyContainerCompression.GZIP, null);
+  }
+
+  /**
+   * @param compression compression requested from the source datanode
+   * @param throttler limits the download bandwidth, may be null
+   */
+  public GrpcReplicationClient(String host, int port, Path workingDir,
+      CopyContainerCompression compression, DataTransferThrottler throttler) {
 
     channel = NettyChannelBuilder.forAddress(host, port)
         .usePlaintext()
@@ -67,27 +83,49 @@ public GrpcReplicationClient(String host,
         .build();
     client = IntraDatanodeProtocolServiceGrpc.newStub(channel);
     workingDirectory = workingDir;
+    this.compression = compression;
+    this.throttler = throttler;
   }
 
   public CompletableFuture<Path> download(long containerId) {
-    CopyContainerRequestProto request =
-        CopyContainerRequestProto.newBuilder()
-            .setContainerID(containerId)
-            .setLen(-1)
-            .setReadOffset(0)
-            .build();
-
     CompletableFuture<Path> response = new CompletableFuture<>();
 
     Path destinationPath =
         getWorkingDirectory().resolve("container-" + containerId + ".tar.gz");
 
-    client.download(request,
-        new StreamDownloader(containerId, response, destinationPath));
+    client.download(newRequest(containerId),
+        new StreamDownloader(containerId, response, destinationPath,
+            throttler));
 
     return response;
   }
 
+  /**
+   * Opens the container archive as a stream, without saving it to the
+   * working directory. Closing the stream shuts down this client, the
+   * download is cancelled if the stream is closed before its end.
+   */
+  public InputStream openStream(long containerId) {
+    Iterator<CopyContainerResponseProto> responses =
+        IntraDatanodeProtocolServiceGrpc.newBlockingStub(channel)
+            .download(newRequest(containerId));
+    return new GrpcInputStream(responses, containerId, throttler,
+        channel::shutdownNow, this::shutdown);
+  }
+
+  public CopyContainerCompression getCompression() {
+    return compression;
+  }
+
+  private CopyContainerRequestProto newRequest(long containerId) {
+    return CopyContainerRequestProto.newBuilder()
+        .setContainerID(containerId)
+        .setLen(-1)
+        .setReadOffset(0)
+        .setCompression(compression.toProto())
+        .build();
+  }
+
   private Path getWorkingDirectory() {
     return workingDirectory;
   }
@@ -111,10 +149,17 @@ public void shutdown() {
     private final long containerId;
     private final OutputStream stream;
     private final Path outputPath;
+    private final DataTransferThrottler throttler;
 
     public StreamDownloader(long containerId, CompletableFuture<Path> response,
         Path outputPath) {
+      this(containerId, response, outputPath, null);
+    }
+
+    public StreamDownloader(long containerId, CompletableFuture<Path> response,
+        Path outputPath, DataTransferThrottler throttler) {
       this.response = response;
+      this.throttler = throttler;
       this.containerId = containerId;
       this.outputPath = outputPath;
       try {
@@ -131,6 +176,9 @@ public StreamDownloader(long containerId, CompletableFuture<Path> response,
     @Override
     public void onNext(CopyContainerResponseProto chunk) {
       try {
+        if (throttler != null) {
+          throttler.throttle(chunk.getData().size());
+        }
         chunk.getData().writeTo(stream);
       } catch (IOException e) {
         response.completeExceptionally(e);
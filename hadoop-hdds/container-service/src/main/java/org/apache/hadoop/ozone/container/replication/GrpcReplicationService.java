@@ -23,6 +23,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.IntraDatanodeProtocolServiceGrpc;
+import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 
 import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
@@ -41,19 +42,36 @@ public class GrpcReplicationService extends
 
   private final ContainerReplicationSource source;
 
+  private final DataTransferThrottler throttler;
+
   public GrpcReplicationService(ContainerReplicationSource source) {
+    this(source, 0);
+  }
+
+  /**
+   * @param source provider of the container data
+   * @param maxBandwidth upload limit in bytes per second shared by all the
+   *                     containers sent at the same time, 0 for unlimited
+   */
+  public GrpcReplicationService(ContainerReplicationSource source,
+      long maxBandwidth) {
     this.source = source;
+    this.throttler = maxBandwidth > 0
+        ? new DataTransferThrottler(maxBandwidth) : null;
   }
 
   @Override
   public void download(CopyContainerRequestProto request,
       StreamObserver<CopyContainerResponseProto> responseObserver) {
     long containerID = request.getContainerID();
-    LOG.info("Streaming container data ({}) to other datanode", containerID);
+    CopyContainerCompression compression =
+        CopyContainerCompression.fromProto(request.getCompression());
+    LOG.info("Streaming container data ({}) to other datanode with {}",
+        containerID, compression);
     try {
-      GrpcOutputStream outputStream =
-          new GrpcOutputStream(responseObserver, containerID, BUFFER_SIZE);
-      source.copyData(containerID, outputStream);
+      GrpcOutputStream outputStream = new GrpcOutputStream(responseObserver,
+          containerID, BUFFER_SIZE, throttler);
+      source.copyData(containerID, outputStream, compression);
     } catch (IOException e) {
       LOG.error("Error streaming container {}", containerID, e);
       responseObserver.onError(e);
@@ -35,8 +35,6 @@
 
   private final ContainerController controller;
 
-  private final TarContainerPacker packer = new TarContainerPacker();
-
   public OnDemandContainerReplicationSource(
       ContainerController controller) {
     this.controller = controller;
@@ -48,8 +46,8 @@ public void prepare(long containerId) {
   }
 
   @Override
-  public void copyData(long containerId, OutputStream destination)
-      throws IOException {
+  public void copyData(long containerId, OutputStream destination,
+      CopyContainerCompression compression) throws IOException {
 
     Container container = controller.getContainer(containerId);
 
@@ -57,7 +55,8 @@ public void copyData(long containerId, OutputStream destination)
         container, "Container is not found " + containerId);
 
     controller.exportContainer(
-        container.getContainerType(), containerId, destination, packer);
+        container.getContainerType(), containerId, destination,
+        new TarContainerPacker(compression));
 
   }
 }
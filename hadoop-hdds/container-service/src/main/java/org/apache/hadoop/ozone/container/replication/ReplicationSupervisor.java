@@ -17,10 +17,13 @@
  */
 package org.apache.hadoop.ozone.container.replication;
 
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentHashMap.KeySetView;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -47,6 +50,21 @@ public class ReplicationSupervisor {
   private final AtomicLong requestCounter = new AtomicLong();
   private final AtomicLong successCounter = new AtomicLong();
   private final AtomicLong failureCounter = new AtomicLong();
+  private final AtomicLong transferredBytesCounter = new AtomicLong();
+  private final AtomicLong transferTimeCounter = new AtomicLong();
+  private final AtomicLong taskSequence = new AtomicLong();
+
+  /**
+   * The tasks which are waiting to be executed, to report the backlog.
+   */
+  private final Map<Long, ReplicationTask> queuedTasks =
+      new ConcurrentHashMap<>();
+
+  /**
+   * The tasks which are being executed, to report their progress.
+   */
+  private final Map<Long, ReplicationTask> runningTasks =
+      new ConcurrentHashMap<>();
 
   /**
    * A set of container IDs that are currently being downloaded
@@ -68,12 +86,25 @@ public class ReplicationSupervisor {
   public ReplicationSupervisor(
       ContainerSet containerSet,
       ContainerReplicator replicator, int poolSize) {
-    this(containerSet, replicator, new ThreadPoolExecutor(
-        0, poolSize, 60, TimeUnit.SECONDS,
-        new LinkedBlockingQueue<>(),
+    this(containerSet, replicator, createExecutor(poolSize));
+  }
+
+  /**
+   * Creates the executor of the replication tasks, which runs the most
+   * urgent queued task first. The core pool size is the maximum one, as
+   * the pool only grows beyond its core size when the queue is full,
+   * which never happens with an unbounded queue.
+   */
+  @VisibleForTesting
+  static ThreadPoolExecutor createExecutor(int poolSize) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        poolSize, poolSize, 60, TimeUnit.SECONDS,
+        new PriorityBlockingQueue<>(),
         new ThreadFactoryBuilder().setDaemon(true)
             .setNameFormat("ContainerReplicationThread-%d")
-            .build()));
+            .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   /**
@@ -81,7 +112,8 @@ public ReplicationSupervisor(
    */
   public void addTask(ReplicationTask task) {
     if (containersInFlight.add(task.getContainerId())) {
-      executor.execute(new TaskRunner(task));
+      queuedTasks.put(task.getContainerId(), task);
+      executor.execute(new TaskRunner(task, taskSequence.incrementAndGet()));
     }
   }
 
@@ -102,21 +134,46 @@ public void stop() {
    * or scheduled for download.
    * @return Count of in-flight replications.
    */
-  @VisibleForTesting
-  int getInFlightReplications() {
+  public int getInFlightReplications() {
     return containersInFlight.size();
   }
 
-  private final class TaskRunner implements Runnable {
+  /**
+   * Runs a replication task. Runners are ordered by the priority of their
+   * task, then in the order they were added.
+   */
+  private final class TaskRunner
+      implements Runnable, Comparable<TaskRunner> {
+
     private final ReplicationTask task;
+    private final long sequence;
 
-    private TaskRunner(ReplicationTask task) {
+    private TaskRunner(ReplicationTask task, long sequence) {
       this.task = task;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(TaskRunner other) {
+      int result = Integer.compare(task.getPriority(),
+          other.task.getPriority());
+      return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(sequence);
     }
 
     @Override
     public void run() {
       final Long containerId = task.getContainerId();
+      queuedTasks.remove(containerId);
       try {
         requestCounter.incrementAndGet();
 
@@ -126,7 +183,20 @@ public void run() {
         }
 
         task.setStatus(Status.DOWNLOADING);
-        replicator.replicate(task);
+        runningTasks.put(containerId, task);
+        long start = System.nanoTime();
+        try {
+          replicator.replicate(task);
+        } finally {
+          runningTasks.remove(containerId);
+          long elapsed = TimeUnit.NANOSECONDS.toMillis(
+              System.nanoTime() - start);
+          long bytes = task.getTransferredBytes();
+          transferredBytesCounter.addAndGet(bytes);
+          transferTimeCounter.addAndGet(elapsed);
+          LOG.info("Transferred {} bytes of container {} in {} ms",
+              bytes, containerId, elapsed);
+        }
 
         if (task.getStatus() == Status.FAILED) {
           LOG.error(
@@ -159,4 +229,58 @@ public long getReplicationSuccessCount() {
   public long getReplicationFailureCount() {
     return failureCounter.get();
   }
+
+  /**
+   * Returns the number of bytes downloaded by the finished and the running
+   * replication tasks.
+   */
+  public long getReplicationTransferredBytes() {
+    return transferredBytesCounter.get() + getReplicationInProgressBytes();
+  }
+
+  /**
+   * Returns the number of bytes downloaded so far by the running tasks.
+   */
+  public long getReplicationInProgressBytes() {
+    long bytes = 0;
+    for (ReplicationTask task : runningTasks.values()) {
+      bytes += task.getTransferredBytes();
+    }
+    return bytes;
+  }
+
+  public int getReplicationRunningCount() {
+    return runningTasks.size();
+  }
+
+  public int getReplicationQueuedCount() {
+    return queuedTasks.size();
+  }
+
+  /**
+   * Returns the number of queued tasks per priority.
+   */
+  public SortedMap<Integer, Integer> getReplicationQueuedCountByPriority() {
+    SortedMap<Integer, Integer> counts = new TreeMap<>();
+    for (ReplicationTask task : queuedTasks.values()) {
+      counts.merge(task.getPriority(), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the total time spent by the finished tasks in milliseconds.
+   */
+  public long getReplicationTime() {
+    return transferTimeCounter.get();
+  }
+
+  /**
+   * Returns the average throughput of the finished tasks in bytes per
+   * second.
+   */
+  public long getReplicationThroughput() {
+    long time = transferTimeCounter.get();
+    return time == 0 ? 0 : transferredBytesCounter.get() * 1000 / time;
+  }
 }
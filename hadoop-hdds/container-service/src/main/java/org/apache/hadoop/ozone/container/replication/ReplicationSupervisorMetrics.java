@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.replication;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics source to report the progress and throughput of the container
+ * replications of a datanode.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Container Replication Metrics", context = OzoneConsts.OZONE)
+public class ReplicationSupervisorMetrics implements MetricsSource {
+
+  private static final String SOURCE =
+      ReplicationSupervisorMetrics.class.getSimpleName();
+
+  private final ReplicationSupervisor supervisor;
+
+  public ReplicationSupervisorMetrics(ReplicationSupervisor supervisor) {
+    this.supervisor = supervisor;
+  }
+
+  public static ReplicationSupervisorMetrics create(
+      ReplicationSupervisor supervisor) {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(SOURCE, "Container Replication Metrics",
+        new ReplicationSupervisorMetrics(supervisor));
+  }
+
+  public void unRegister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(SOURCE);
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    MetricsRecordBuilder builder = collector.addRecord(SOURCE);
+    builder
+        .addGauge(Interns.info("numRequestedReplications",
+            "Number of requested replications"),
+            supervisor.getReplicationRequestCount())
+        .addGauge(Interns.info("numSuccessReplications",
+            "Number of successful replications"),
+            supervisor.getReplicationSuccessCount())
+        .addGauge(Interns.info("numFailureReplications",
+            "Number of failed replications"),
+            supervisor.getReplicationFailureCount())
+        .addGauge(Interns.info("numRunningReplications",
+            "Number of replications being executed"),
+            supervisor.getReplicationRunningCount())
+        .addGauge(Interns.info("numInFlightReplications",
+            "Number of replications queued or being executed"),
+            supervisor.getInFlightReplications())
+        .addGauge(Interns.info("transferredBytes",
+            "Bytes downloaded by the replications"),
+            supervisor.getReplicationTransferredBytes())
+        .addGauge(Interns.info("inProgressBytes",
+            "Bytes downloaded so far by the running replications"),
+            supervisor.getReplicationInProgressBytes())
+        .addGauge(Interns.info("replicationTime",
+            "Time spent by the finished replications in milliseconds"),
+            supervisor.getReplicationTime())
+        .addGauge(Interns.info("throughput",
+            "Average download throughput of the finished replications in "
+                + "bytes per second"),
+            supervisor.getReplicationThroughput())
+        .addGauge(Interns.info("numQueuedReplications",
+            "Number of replications waiting to be executed"),
+            supervisor.getReplicationQueuedCount());
+    // Tasks without priority, sent by older SCMs, are reported as Default.
+    supervisor.getReplicationQueuedCountByPriority().forEach(
+        (priority, count) -> {
+          String name = priority == Integer.MAX_VALUE
+              ? "Default" : String.valueOf(priority);
+          builder.addGauge(Interns.info(
+              "numQueuedReplicationsPriority" + name,
+              "Number of replications of priority " + name
+                  + " waiting to be executed"), count);
+        });
+  }
+}
@@ -20,6 +20,7 @@
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 
@@ -34,12 +35,25 @@ public class ReplicationTask {
 
   private List<DatanodeDetails> sources;
 
+  /**
+   * Urgency of the replication, lower values are executed first.
+   */
+  private final int priority;
+
   private final Instant queued = Instant.now();
 
+  private final AtomicLong transferredBytes = new AtomicLong();
+
   public ReplicationTask(long containerId,
       List<DatanodeDetails> sources) {
+    this(containerId, sources, Integer.MAX_VALUE);
+  }
+
+  public ReplicationTask(long containerId,
+      List<DatanodeDetails> sources, int priority) {
     this.containerId = containerId;
     this.sources = sources;
+    this.priority = priority;
   }
 
   @Override
@@ -67,6 +81,10 @@ public List<DatanodeDetails> getSources() {
     return sources;
   }
 
+  public int getPriority() {
+    return priority;
+  }
+
   public Status getStatus() {
     return status;
   }
@@ -82,6 +100,7 @@ public String toString() {
         "status=" + status +
         ", containerId=" + containerId +
         ", sources=" + sources +
+        ", priority=" + priority +
         ", queued=" + queued +
         '}';
   }
@@ -90,6 +109,17 @@ public Instant getQueued() {
     return queued;
   }
 
+  /**
+   * Records the progress of the container download.
+   */
+  public void addTransferredBytes(long bytes) {
+    transferredBytes.addAndGet(bytes);
+  }
+
+  public long getTransferredBytes() {
+    return transferredBytes.get();
+  }
+
   /**
    * Status of the replication.
    */
@@ -18,6 +18,8 @@
 
 package org.apache.hadoop.ozone.container.replication;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -27,7 +29,9 @@
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails.Port.Name;
+import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +50,21 @@ public class SimpleContainerDownloader implements ContainerDownloader {
 
   private final Path workingDirectory;
 
+  private final CopyContainerCompression compression;
+
+  /**
+   * Shared by all the downloads to limit the replication bandwidth of the
+   * datanode, null if unlimited.
+   */
+  private final DataTransferThrottler throttler;
+
   public SimpleContainerDownloader(ConfigurationSource conf) {
+    DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    compression = dnConf.getReplicationCompression();
+    long maxBandwidth = dnConf.getReplicationMaxBandwidth();
+    throttler = maxBandwidth > 0
+        ? new DataTransferThrottler(maxBandwidth) : null;
 
     String workDirString =
         conf.get(OzoneConfigKeys.OZONE_CONTAINER_COPY_WORKDIR);
@@ -68,20 +86,12 @@ public CompletableFuture<Path> getContainerDataFromReplicas(long containerId,
       try {
 
         if (result == null) {
-          GrpcReplicationClient grpcReplicationClient =
-              new GrpcReplicationClient(datanode.getIpAddress(),
-                  datanode.getPort(Name.STANDALONE).getValue(),
-                  workingDirectory);
-          result = grpcReplicationClient.download(containerId);
+          result = createClient(datanode).download(containerId);
         } else {
           result = result.thenApply(CompletableFuture::completedFuture)
               .exceptionally(t -> {
                 LOG.error("Error on replicating container: " + containerId, t);
-                GrpcReplicationClient grpcReplicationClient =
-                    new GrpcReplicationClient(datanode.getIpAddress(),
-                        datanode.getPort(Name.STANDALONE).getValue(),
-                        workingDirectory);
-                return grpcReplicationClient.download(containerId);
+                return createClient(datanode).download(containerId);
               }).thenCompose(Function.identity());
         }
       } catch (Exception ex) {
@@ -95,6 +105,18 @@ public CompletableFuture<Path> getContainerDataFromReplicas(long containerId,
 
   }
 
+  @Override
+  public InputStream getContainerDataStream(long containerId,
+      DatanodeDetails source) throws IOException {
+    return createClient(source).openStream(containerId);
+  }
+
+  private GrpcReplicationClient createClient(DatanodeDetails datanode) {
+    return new GrpcReplicationClient(datanode.getIpAddress(),
+        datanode.getPort(Name.STANDALONE).getValue(), workingDirectory,
+        compression, throttler);
+  }
+
   @Override
   public void close() {
     // noop
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.protocol.commands;
+
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.FullContainerReportCommandProto;
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.SCMCommandProto;
+
+/**
+ * Asks a datanode to send a full container report, as SCM could not apply
+ * the last delta report.
+ */
+public class FullContainerReportCommand extends
+    SCMCommand<FullContainerReportCommandProto> {
+
+  /**
+   * Returns the type of this command.
+   *
+   * @return Type
+   */
+  @Override
+  public SCMCommandProto.Type getType() {
+    return SCMCommandProto.Type.fullContainerReportCommand;
+  }
+
+  /**
+   * Not implemented for FullContainerReportCommand.
+   *
+   * @return cmdId.
+   */
+  @Override
+  public long getId() {
+    return 0;
+  }
+
+  @Override
+  public FullContainerReportCommandProto getProto() {
+    return FullContainerReportCommandProto.getDefaultInstance();
+  }
+}
@@ -41,6 +41,7 @@
 
   private final long containerID;
   private final List<DatanodeDetails> sourceDatanodes;
+  private int priority = Integer.MAX_VALUE;
 
   public ReplicateContainerCommand(long containerID,
       List<DatanodeDetails> sourceDatanodes) {
@@ -70,6 +71,9 @@ public ReplicateContainerCommandProto getProto() {
     for (DatanodeDetails dd : sourceDatanodes) {
       builder.addSources(dd.getProtoBufMessage());
     }
+    if (priority != Integer.MAX_VALUE) {
+      builder.setPriority(priority);
+    }
     return builder.build();
   }
 
@@ -83,9 +87,13 @@ public static ReplicateContainerCommand getFromProtobuf(
             .map(DatanodeDetails::getFromProtoBuf)
             .collect(Collectors.toList());
 
-    return new ReplicateContainerCommand(protoMessage.getContainerID(),
-        datanodeDetails, protoMessage.getCmdId());
-
+    ReplicateContainerCommand command = new ReplicateContainerCommand(
+        protoMessage.getContainerID(), datanodeDetails,
+        protoMessage.getCmdId());
+    if (protoMessage.hasPriority()) {
+      command.setPriority(protoMessage.getPriority());
+    }
+    return command;
   }
 
   public long getContainerID() {
@@ -95,4 +103,15 @@ public long getContainerID() {
   public List<DatanodeDetails> getSourceDatanodes() {
     return sourceDatanodes;
   }
+
+  /**
+   * Sets the urgency of the replication, lower values are replicated first.
+   */
+  public void setPriority(int priority) {
+    this.priority = priority;
+  }
+
+  public int getPriority() {
+    return priority;
+  }
 }
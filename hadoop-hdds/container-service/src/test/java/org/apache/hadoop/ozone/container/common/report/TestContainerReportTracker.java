@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.report;
+
+import java.util.Arrays;
+
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State;
+import org.apache.hadoop.hdds.protocol.proto
+    .StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the delta container reports built by {@link ContainerReportTracker}.
+ */
+public class TestContainerReportTracker {
+
+  @Test
+  public void testDeltaReports() {
+    ContainerReportTracker tracker = new ContainerReportTracker();
+
+    ContainerReportsProto first = tracker.getReport(
+        getReport(replica(1, State.OPEN, 10), replica(2, State.CLOSED, 20)));
+    Assert.assertFalse(first.hasBaseGeneration());
+    Assert.assertEquals(2, first.getReportsCount());
+    Assert.assertEquals(
+        ContainerReportDigest.hash(1, State.OPEN, 10)
+            + ContainerReportDigest.hash(2, State.CLOSED, 20),
+        first.getDigest());
+
+    // Container 1 is closed, 2 is deleted and 3 is created.
+    ContainerReportsProto second = tracker.getReport(
+        getReport(replica(1, State.CLOSED, 11), replica(3, State.OPEN, 0)));
+    Assert.assertEquals(first.getGeneration(), second.getBaseGeneration());
+    Assert.assertEquals(first.getGeneration() + 1, second.getGeneration());
+    Assert.assertEquals(2, second.getReportsCount());
+    Assert.assertEquals(Arrays.asList(2L),
+        second.getRemovedContainerIDsList());
+    Assert.assertEquals(
+        ContainerReportDigest.hash(1, State.CLOSED, 11)
+            + ContainerReportDigest.hash(3, State.OPEN, 0),
+        second.getDigest());
+
+    // Nothing changed.
+    ContainerReportsProto third = tracker.getReport(
+        getReport(replica(1, State.CLOSED, 11), replica(3, State.OPEN, 0)));
+    Assert.assertEquals(second.getGeneration(), third.getBaseGeneration());
+    Assert.assertEquals(0, third.getReportsCount());
+    Assert.assertEquals(0, third.getRemovedContainerIDsCount());
+    Assert.assertEquals(second.getDigest(), third.getDigest());
+  }
+
+  @Test
+  public void testRequestFullReport() {
+    ContainerReportTracker tracker = new ContainerReportTracker();
+    ContainerReportsProto report =
+        getReport(replica(1, State.OPEN, 10), replica(2, State.CLOSED, 20));
+    tracker.getReport(report);
+
+    tracker.requestFullReport();
+    ContainerReportsProto full = tracker.getReport(report);
+    Assert.assertFalse(full.hasBaseGeneration());
+    Assert.assertEquals(2, full.getReportsCount());
+
+    Assert.assertTrue(tracker.getReport(report).hasBaseGeneration());
+  }
+
+  private static ContainerReportsProto getReport(
+      ContainerReplicaProto... replicas) {
+    return ContainerReportsProto.newBuilder()
+        .addAllReports(Arrays.asList(replicas))
+        .build();
+  }
+
+  private static ContainerReplicaProto replica(long containerID,
+      State state, long bcsId) {
+    return ContainerReplicaProto.newBuilder()
+        .setContainerID(containerID)
+        .setState(state)
+        .setBlockCommitSequenceId(bcsId)
+        .build();
+  }
+}
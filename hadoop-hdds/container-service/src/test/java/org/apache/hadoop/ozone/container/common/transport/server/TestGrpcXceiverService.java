@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
+    .ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
+    .ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
+    .ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
+    .ReadChunkRequestProto;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.stub.ServerCallStreamObserver;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getReadChunkResponse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests streamed reads of {@link GrpcXceiverService}.
+ */
+public class TestGrpcXceiverService {
+
+  private static final int CHUNK_OFFSET = 1000;
+  private static final int CHUNK_LEN = 1000;
+  private static final int FRAME_SIZE = 300;
+
+  private ContainerDispatcher dispatcher;
+  private GrpcXceiverService service;
+  private ServerCallStreamObserver<ContainerCommandResponseProto> observer;
+  private final AtomicBoolean ready = new AtomicBoolean(true);
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    dispatcher = Mockito.mock(ContainerDispatcher.class);
+    // Returns as many bytes as requested.
+    Mockito.when(dispatcher.dispatch(any(), any())).thenAnswer(invocation -> {
+      ContainerCommandRequestProto request = invocation.getArgument(0);
+      int len = (int) request.getReadChunk().getChunkData().getLen();
+      return getReadChunkResponse(request, ByteString.copyFrom(new byte[len]));
+    });
+    service = new GrpcXceiverService(dispatcher);
+    observer = Mockito.mock(ServerCallStreamObserver.class);
+    Mockito.when(observer.isReady()).thenAnswer(invocation -> ready.get());
+  }
+
+  @Test
+  public void testStreamRead() {
+    service.streamRead(getReadChunkRequest(FRAME_SIZE), observer);
+
+    List<ContainerCommandResponseProto> responses = getResponses(4);
+    long offset = CHUNK_OFFSET;
+    for (ContainerCommandResponseProto response : responses) {
+      Assert.assertEquals(ContainerProtos.Result.SUCCESS,
+          response.getResult());
+      ChunkInfo frame = response.getReadChunk().getChunkData();
+      Assert.assertEquals(offset, frame.getOffset());
+      Assert.assertEquals(frame.getLen(),
+          response.getReadChunk().getData().size());
+      offset += frame.getLen();
+    }
+    Assert.assertEquals(CHUNK_OFFSET + CHUNK_LEN, offset);
+    Assert.assertEquals(CHUNK_LEN % FRAME_SIZE, responses.get(3)
+        .getReadChunk().getChunkData().getLen());
+    verify(observer).onCompleted();
+  }
+
+  @Test
+  public void testStreamReadWaitsForReadyClient() {
+    ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+    ready.set(false);
+    service.streamRead(getReadChunkRequest(FRAME_SIZE), observer);
+    verify(observer).setOnReadyHandler(onReady.capture());
+
+    // Nothing is read until the client is ready.
+    verify(dispatcher, times(0)).dispatch(any(), any());
+
+    ready.set(true);
+    onReady.getValue().run();
+    getResponses(4);
+    verify(dispatcher, times(4)).dispatch(any(), any());
+    verify(observer).onCompleted();
+  }
+
+  @Test
+  public void testStreamReadStopsOnError() {
+    Mockito.when(dispatcher.dispatch(any(), any())).thenAnswer(invocation ->
+        ContainerCommandResponseProto.newBuilder()
+            .setCmdType(ContainerProtos.Type.ReadChunk)
+            .setResult(ContainerProtos.Result.UNABLE_TO_FIND_CHUNK)
+            .build());
+    service.streamRead(getReadChunkRequest(FRAME_SIZE), observer);
+
+    Assert.assertEquals(ContainerProtos.Result.UNABLE_TO_FIND_CHUNK,
+        getResponses(1).get(0).getResult());
+    verify(observer).onCompleted();
+  }
+
+  @Test
+  public void testStreamReadWithoutFrameSize() {
+    service.streamRead(getReadChunkRequest(0), observer);
+
+    Assert.assertEquals(ContainerProtos.Result.MALFORMED_REQUEST,
+        getResponses(1).get(0).getResult());
+    verify(dispatcher, times(0)).dispatch(any(), any());
+  }
+
+  private List<ContainerCommandResponseProto> getResponses(int count) {
+    ArgumentCaptor<ContainerCommandResponseProto> responses =
+        ArgumentCaptor.forClass(ContainerCommandResponseProto.class);
+    verify(observer, times(count)).onNext(responses.capture());
+    return responses.getAllValues();
+  }
+
+  private static ContainerCommandRequestProto getReadChunkRequest(
+      int frameSize) {
+    ChunkInfo chunkInfo = ChunkInfo.newBuilder()
+        .setChunkName("chunk")
+        .setOffset(CHUNK_OFFSET)
+        .setLen(CHUNK_LEN)
+        .setChecksumData(ContainerProtos.ChecksumData.newBuilder()
+            .setType(ContainerProtos.ChecksumType.NONE)
+            .setBytesPerChecksum(CHUNK_LEN))
+        .build();
+    return ContainerCommandRequestProto.newBuilder()
+        .setCmdType(ContainerProtos.Type.ReadChunk)
+        .setContainerID(1)
+        .setDatanodeUuid(UUID.randomUUID().toString())
+        .setReadChunk(ReadChunkRequestProto.newBuilder()
+            .setBlockID(ContainerProtos.DatanodeBlockID.newBuilder()
+                .setContainerID(1).setLocalID(1))
+            .setChunkData(chunkInfo)
+            .setFrameSize(frameSize))
+        .build();
+  }
+}
@@ -63,7 +63,8 @@ public void updateConfig(OzoneConfiguration config) {
 
   FILE_PER_CHUNK {
     public ChunkManager createChunkManager(boolean sync, BlockManager manager) {
-      return new FilePerChunkStrategy(sync, manager);
+      return new FilePerChunkStrategy(sync, manager,
+          new OzoneConfiguration());
     }
 
     @Override
@@ -79,7 +80,7 @@ public ChunkLayOutVersion getLayout() {
 
   FILE_PER_BLOCK {
     public ChunkManager createChunkManager(boolean sync, BlockManager manager) {
-      return new FilePerBlockStrategy(sync);
+      return new FilePerBlockStrategy(sync, new OzoneConfiguration());
     }
 
     @Override
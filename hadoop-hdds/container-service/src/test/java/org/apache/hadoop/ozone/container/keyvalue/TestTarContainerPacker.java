@@ -39,6 +39,7 @@
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.ozone.container.common.impl.ChunkLayOutVersion;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerPacker;
+import org.apache.hadoop.ozone.container.replication.CopyContainerCompression;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
@@ -219,6 +220,54 @@ public void pack() throws IOException, CompressorException {
     Assert.assertEquals(TEST_DESCRIPTOR_FILE_CONTENT, descriptor);
   }
 
+  @Test
+  public void packWithoutCompression() throws IOException {
+    //GIVEN
+    OzoneConfiguration conf = new OzoneConfiguration();
+    TarContainerPacker uncompressedPacker =
+        new TarContainerPacker(CopyContainerCompression.NO_COMPRESSION);
+
+    KeyValueContainerData sourceContainerData =
+        createContainer(SOURCE_CONTAINER_ROOT);
+    KeyValueContainer sourceContainer =
+        new KeyValueContainer(sourceContainerData, conf);
+    writeDbFile(sourceContainerData, TEST_DB_FILE_NAME);
+    writeChunkFile(sourceContainerData, TEST_CHUNK_FILE_NAME);
+    writeDescriptor(sourceContainer);
+
+    Path targetFile = TEMP_DIR.resolve("container.tar");
+
+    //WHEN
+    try (FileOutputStream output = new FileOutputStream(targetFile.toFile())) {
+      uncompressedPacker.pack(sourceContainer, output);
+    }
+
+    //THEN: a plain tar with the descriptor as the first entry
+    try (FileInputStream input = new FileInputStream(targetFile.toFile());
+         TarArchiveInputStream tarStream = new TarArchiveInputStream(input)) {
+      Assert.assertEquals("container.yaml",
+          tarStream.getNextTarEntry().getName());
+    }
+
+    KeyValueContainerData destinationContainerData =
+        createContainer(DEST_CONTAINER_ROOT);
+    KeyValueContainer destinationContainer =
+        new KeyValueContainer(destinationContainerData, conf);
+    String descriptor;
+    try (FileInputStream input = new FileInputStream(targetFile.toFile())) {
+      descriptor = new String(uncompressedPacker.unpackContainerData(
+          destinationContainer, input), UTF_8);
+    }
+
+    assertExampleMetadataDbIsGood(
+        destinationContainerData.getDbFile().toPath(),
+        TEST_DB_FILE_NAME);
+    assertExampleChunkFileIsGood(
+        Paths.get(destinationContainerData.getChunksPath()),
+        TEST_CHUNK_FILE_NAME);
+    Assert.assertEquals(TEST_DESCRIPTOR_FILE_CONTENT, descriptor);
+  }
+
   @Test
   public void unpackContainerDataWithValidRelativeDbFilePath()
       throws Exception {
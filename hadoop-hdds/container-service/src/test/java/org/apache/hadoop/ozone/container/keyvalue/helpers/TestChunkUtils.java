@@ -23,6 +23,7 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -171,6 +172,115 @@ public void serialRead() throws Exception {
     }
   }
 
+  @Test
+  public void readWithChannelCache() throws Exception {
+    byte[] array = "Hello World".getBytes(StandardCharsets.UTF_8);
+    Path tempFile = Files.createTempFile(PREFIX, "cached");
+    ReadChannelCache channels = new ReadChannelCache(1, Duration.ofMinutes(1));
+    try {
+      File file = tempFile.toFile();
+      VolumeIOStats stats = new VolumeIOStats();
+      long len = array.length;
+      ChunkUtils.writeData(file, ChunkBuffer.wrap(ByteBuffer.wrap(array)), 0,
+          len, stats, true);
+
+      for (int i = 0; i < 3; i++) {
+        ByteBuffer readBuffer = ByteBuffer.allocate((int) len);
+        ChunkUtils.readData(file, channels, readBuffer, 0, len, stats);
+        assertArrayEquals(array, readBuffer.array());
+      }
+      assertEquals(1, stats.getReadFileCacheMisses());
+      assertEquals(2, stats.getReadFileCacheHits());
+      assertEquals(1, stats.getOpenReadFiles());
+
+      // A channel acquired by a reader is not closed on invalidate.
+      try (ReadChannelCache.ReadChannel channel =
+               channels.acquire(file, stats)) {
+        channels.invalidate(file);
+        assertEquals(0, channels.size());
+        ByteBuffer readBuffer = ByteBuffer.allocate(5);
+        assertEquals(5, channel.getChannel().read(readBuffer, 6));
+        assertEquals(1, stats.getOpenReadFiles());
+      }
+      assertEquals(0, stats.getOpenReadFiles());
+    } finally {
+      channels.invalidateAll();
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  @Test
+  public void readWhileAnotherReaderIsInterrupted() throws Exception {
+    byte[] array = "Hello World".getBytes(StandardCharsets.UTF_8);
+    Path tempFile = Files.createTempFile(PREFIX, "interrupted");
+    ReadChannelCache channels = new ReadChannelCache(1, Duration.ofMinutes(1));
+    try {
+      File file = tempFile.toFile();
+      VolumeIOStats stats = new VolumeIOStats();
+      long len = array.length;
+      ChunkUtils.writeData(file, ChunkBuffer.wrap(ByteBuffer.wrap(array)), 0,
+          len, stats, true);
+
+      AtomicBoolean done = new AtomicBoolean();
+      AtomicInteger interrupted = new AtomicInteger();
+      // Each read of this thread is interrupted, which closes the channel it
+      // shares with the other reader.
+      Thread interruptedReader = new Thread(() -> {
+        while (!done.get()) {
+          Thread.currentThread().interrupt();
+          try {
+            ChunkUtils.readData(file, channels,
+                ByteBuffer.allocate((int) len), 0, len, stats);
+          } catch (StorageContainerException e) {
+            interrupted.incrementAndGet();
+          }
+          Thread.interrupted();
+        }
+      });
+      interruptedReader.start();
+      try {
+        for (int i = 0; i < 1000; i++) {
+          ByteBuffer readBuffer = ByteBuffer.allocate((int) len);
+          ChunkUtils.readData(file, channels, readBuffer, 0, len, stats);
+          assertArrayEquals(array, readBuffer.array());
+        }
+      } finally {
+        done.set(true);
+        interruptedReader.join();
+      }
+      Assert.assertTrue(interrupted.get() > 0);
+    } finally {
+      channels.invalidateAll();
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  @Test
+  public void invalidateChannelsOfDirectory() throws Exception {
+    Path dir = Files.createTempDirectory(PREFIX);
+    Path otherDir = Files.createTempDirectory(PREFIX);
+    ReadChannelCache channels = new ReadChannelCache(4, Duration.ofMinutes(1));
+    try {
+      VolumeIOStats stats = new VolumeIOStats();
+      File[] files = {
+          Files.createFile(dir.resolve("chunk1")).toFile(),
+          Files.createFile(dir.resolve("chunk2")).toFile(),
+          Files.createFile(otherDir.resolve("chunk1")).toFile()};
+      for (File file : files) {
+        channels.acquire(file, stats).close();
+      }
+      assertEquals(3, stats.getOpenReadFiles());
+
+      channels.invalidateAll(dir.toFile());
+      assertEquals(1, channels.size());
+      assertEquals(1, stats.getOpenReadFiles());
+    } finally {
+      channels.invalidateAll();
+      FileUtils.deleteDirectory(dir.toFile());
+      FileUtils.deleteDirectory(otherDir.toFile());
+    }
+  }
+
   @Test
   public void validateChunkForOverwrite() throws IOException {
 
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.hadoop.util.CleanerUtil;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link MappedFileCache}.
+ */
+public class TestMappedFileCache {
+
+  private static final byte[] DATA =
+      "Hello World".getBytes(StandardCharsets.UTF_8);
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private MappedFileCache mappedFiles;
+
+  @Before
+  public void setup() {
+    Assume.assumeTrue(CleanerUtil.UNMAP_NOT_SUPPORTED_REASON,
+        CleanerUtil.UNMAP_SUPPORTED);
+    mappedFiles = new MappedFileCache(1024 * 1024, 0);
+  }
+
+  @Test
+  public void unmapAfterReadScope() throws Exception {
+    File file = createFile(folder.getRoot(), "chunk");
+
+    try (MappedFileCache.ReadScope ignored =
+             MappedFileCache.openReadScope()) {
+      ByteBuffer buffer = mappedFiles.read(file, 6, 5);
+      mappedFiles.invalidate(file);
+      assertEquals(0, mappedFiles.size());
+      // The mapping is not unmapped while the scope is open.
+      assertEquals(0, mappedFiles.getUnmappedCount());
+      assertEquals("World", toString(buffer));
+    }
+    assertEquals(1, mappedFiles.getUnmappedCount());
+  }
+
+  @Test
+  public void keepMappingReadOutOfScope() throws Exception {
+    File file = createFile(folder.getRoot(), "chunk");
+
+    ByteBuffer buffer = mappedFiles.read(file, 0, 5);
+    mappedFiles.invalidate(file);
+    assertEquals(0, mappedFiles.size());
+    assertEquals(0, mappedFiles.getUnmappedCount());
+    assertEquals("Hello", toString(buffer));
+  }
+
+  @Test
+  public void invalidateMappingsOfDirectory() throws Exception {
+    File dir = folder.newFolder("chunks");
+    File otherDir = folder.newFolder("other");
+    File[] files = {
+        createFile(dir, "chunk1"),
+        createFile(dir, "chunk2"),
+        createFile(otherDir, "chunk1")};
+    try (MappedFileCache.ReadScope ignored =
+             MappedFileCache.openReadScope()) {
+      for (File file : files) {
+        mappedFiles.read(file, 0, DATA.length);
+      }
+    }
+    assertEquals(3, mappedFiles.size());
+
+    mappedFiles.invalidateAll(dir);
+    assertEquals(1, mappedFiles.size());
+    assertEquals(2, mappedFiles.getUnmappedCount());
+  }
+
+  private static File createFile(File dir, String name) throws Exception {
+    File file = new File(dir, name);
+    Files.write(file.toPath(), DATA);
+    return file;
+  }
+
+  private static String toString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -24,15 +24,19 @@
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.container.ContainerTestHelper;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.keyvalue.ChunkLayoutTestInfo;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.MappedFileCache;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ReadChannelCache;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.junit.Test;
 
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.time.Duration;
 
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.getChunk;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.setDataChecksum;
@@ -133,6 +137,41 @@ public void testPartialRead() throws Exception {
     assertEquals(data.duplicate(start, start + length), readData2.rewind());
   }
 
+  /**
+   * Test reads of a closed container are served from mapped file.
+   */
+  @Test
+  public void testMappedReadOfClosedContainer() throws Exception {
+    final int datalen = 1024;
+    final int start = datalen / 4;
+    final int length = datalen / 2;
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    setDataChecksum(info, data);
+    DispatcherContext ctx = getDispatcherContext();
+    MappedFileCache mappedFiles = new MappedFileCache(1024 * 1024, 0);
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new ReadChannelCache(0, Duration.ofMinutes(1)), mappedFiles);
+    subject.writeChunk(container, blockID, info, data, ctx);
+
+    // Open container is not read from mapped file.
+    subject.readChunk(container, blockID, info, ctx);
+    assertEquals(0, mappedFiles.size());
+
+    getKeyValueContainerData().setState(
+        ContainerProtos.ContainerDataProto.State.CLOSED);
+    ChunkInfo info2 = getChunk(blockID.getLocalID(), 0, start, length);
+    ChunkBuffer readData = subject.readChunk(container, blockID, info2, ctx);
+    assertEquals(1, mappedFiles.size());
+    assertEquals(data.duplicate(start, start + length), readData.rewind());
+
+    subject.deleteChunks(container, new BlockData(blockID));
+    assertEquals(0, mappedFiles.size());
+  }
+
   @Override
   protected ChunkLayoutTestInfo getStrategy() {
     return ChunkLayoutTestInfo.FILE_PER_BLOCK;
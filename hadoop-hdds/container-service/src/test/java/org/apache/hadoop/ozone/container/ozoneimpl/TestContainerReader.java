@@ -31,6 +31,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ChunkLayOutVersion;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.utils.ContainerCache;
 import org.apache.hadoop.ozone.container.common.utils.ReferenceCountedDB;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
@@ -38,6 +39,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerIndex;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -219,4 +221,100 @@ public void testContainerReader() throws Exception {
           keyValueContainerData.getNumPendingDeletionBlocks());
     }
   }
+
+  @Test
+  public void testContainerReaderWithIndex() throws Exception {
+    new ContainerReader(volumeSet, hddsVolume, containerSet, conf).run();
+    Assert.assertEquals(2, containerSet.containerCount());
+
+    List<KeyValueContainerData> containers = closeContainers();
+    File indexDir = KeyValueContainerIndex.getIndexDir(containers.get(0));
+    Assert.assertEquals(new File(hddsVolume.getHddsRootDir(),
+        scmId + File.separator + "current"), indexDir);
+    KeyValueContainerIndex.write(indexDir, containers);
+    File indexFile = KeyValueContainerIndex.getIndexFile(indexDir);
+    Assert.assertTrue(indexFile.exists());
+
+    ContainerSet reloaded = new ContainerSet();
+    new ContainerReader(volumeSet, hddsVolume, reloaded, conf).run();
+    Assert.assertFalse(indexFile.exists());
+    Assert.assertEquals(2, reloaded.containerCount());
+
+    ContainerCache cache = ContainerCache.getInstance(conf);
+    for (KeyValueContainerData expected : containers) {
+      KeyValueContainerData actual = (KeyValueContainerData) reloaded
+          .getContainer(expected.getContainerID()).getContainerData();
+      Assert.assertEquals(ContainerProtos.ContainerDataProto.State.CLOSED,
+          actual.getState());
+      Assert.assertEquals(expected.getKeyCount(), actual.getKeyCount());
+      Assert.assertEquals(expected.getBytesUsed(), actual.getBytesUsed());
+      Assert.assertEquals(expected.getBlockCommitSequenceId(),
+          actual.getBlockCommitSequenceId());
+      Assert.assertEquals(expected.getNumPendingDeletionBlocks(),
+          actual.getNumPendingDeletionBlocks());
+      Assert.assertEquals(expected.getDbFile(), actual.getDbFile());
+      // The counters were taken from the index, the DB was not opened.
+      Assert.assertFalse(
+          cache.containsKey(actual.getDbFile().getAbsolutePath()));
+    }
+  }
+
+  @Test
+  public void testContainerReaderIgnoresStaleIndexEntries() throws Exception {
+    new ContainerReader(volumeSet, hddsVolume, containerSet, conf).run();
+    List<KeyValueContainerData> containers = closeContainers();
+    File indexDir = KeyValueContainerIndex.getIndexDir(containers.get(0));
+    KeyValueContainerIndex.write(indexDir, containers);
+
+    // The DB of the first container changes after the index was written,
+    // like when blocks are deleted while the index is disabled.
+    try (ReferenceCountedDB metadataStore = BlockUtils.getDB(
+        containers.get(0), conf)) {
+      metadataStore.getStore().put(DB_BLOCK_COUNT_KEY, Longs.toByteArray(0));
+    }
+    BlockUtils.removeDB(containers.get(0), conf);
+
+    ContainerSet reloaded = new ContainerSet();
+    new ContainerReader(volumeSet, hddsVolume, reloaded, conf).run();
+    Assert.assertEquals(0,
+        reloaded.getContainer(0).getContainerData().getKeyCount());
+    Assert.assertEquals(containers.get(1).getKeyCount(),
+        reloaded.getContainer(1).getContainerData().getKeyCount());
+  }
+
+  @Test
+  public void testContainerReaderRemovesIndexWhenDisabled() throws Exception {
+    new ContainerReader(volumeSet, hddsVolume, containerSet, conf).run();
+    List<KeyValueContainerData> containers = closeContainers();
+    File indexDir = KeyValueContainerIndex.getIndexDir(containers.get(0));
+    KeyValueContainerIndex.write(indexDir, containers);
+    File indexFile = KeyValueContainerIndex.getIndexFile(indexDir);
+    File tmpFile = new File(indexDir, indexFile.getName() + ".tmp");
+    Assert.assertTrue(tmpFile.createNewFile());
+
+    OzoneConfiguration disabled = new OzoneConfiguration();
+    disabled.setBoolean("hdds.datanode.container.index.enabled", false);
+
+    ContainerSet reloaded = new ContainerSet();
+    new ContainerReader(volumeSet, hddsVolume, reloaded, disabled).run();
+    Assert.assertEquals(2, reloaded.containerCount());
+    Assert.assertFalse(indexFile.exists());
+    Assert.assertFalse(tmpFile.exists());
+  }
+
+  /**
+   * Closes the loaded containers and their DB, as the datanode does before
+   * writing the index at shutdown.
+   */
+  private List<KeyValueContainerData> closeContainers() throws Exception {
+    List<KeyValueContainerData> containers = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      KeyValueContainer container =
+          (KeyValueContainer) containerSet.getContainer(i);
+      container.close();
+      BlockUtils.removeDB(container.getContainerData(), conf);
+      containers.add(container.getContainerData());
+    }
+    return containers;
+  }
 }
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.replication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerResponseProto;
+import org.apache.hadoop.ozone.container.common.impl.ChunkLayOutVersion;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
+import org.apache.hadoop.ozone.container.replication.ReplicationTask.Status;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.Status.Code;
+import org.apache.ratis.thirdparty.io.grpc.StatusRuntimeException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.ratis.thirdparty.io.grpc.Status.UNAVAILABLE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test the streaming import of replicated containers.
+ */
+public class TestDownloadAndImportReplicator {
+
+  private static final long CONTAINER_ID = 1L;
+
+  private static final int FRAME_SIZE = 16 * 1024;
+
+  private static final String CHUNK_FILE_NAME = "chunk1";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final OzoneConfiguration conf = new OzoneConfiguration();
+
+  private final TarContainerPacker packer = new TarContainerPacker();
+
+  private final DatanodeDetails source =
+      MockDatanodeDetails.randomDatanodeDetails();
+
+  private final AtomicBoolean cancelled = new AtomicBoolean();
+
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  private ContainerSet containerSet;
+
+  private ContainerDownloader downloader;
+
+  private DownloadAndImportReplicator replicator;
+
+  private byte[] chunk;
+
+  private List<CopyContainerResponseProto> responses;
+
+  @Before
+  public void setup() throws Exception {
+    chunk = new byte[256 * 1024];
+    new Random().nextBytes(chunk);
+    responses = toResponses(packSourceContainer());
+
+    File destinationRoot = folder.newFolder("destination");
+    ContainerController controller = mock(ContainerController.class);
+    when(controller.importContainer(any(ContainerData.class),
+        any(InputStream.class), any(TarContainerPacker.class)))
+        .thenAnswer(invocation -> {
+          KeyValueContainer container = new KeyValueContainer(
+              createContainerData(destinationRoot), conf);
+          packer.unpackContainerData(container, invocation.getArgument(1));
+          return container;
+        });
+
+    containerSet = new ContainerSet();
+    downloader = mock(ContainerDownloader.class);
+    replicator = new DownloadAndImportReplicator(containerSet, controller,
+        downloader, packer, true);
+  }
+
+  @Test
+  public void testStreamingImport() throws Exception {
+    when(downloader.getContainerDataStream(anyLong(), any()))
+        .thenReturn(newStream(responses.iterator()));
+    ReplicationTask task = new ReplicationTask(CONTAINER_ID,
+        Collections.singletonList(source));
+
+    replicator.replicate(task);
+
+    Assert.assertEquals(Status.DONE, task.getStatus());
+    Assert.assertTrue(task.getTransferredBytes() > 0);
+    Assert.assertTrue(closed.get());
+    KeyValueContainerData imported = (KeyValueContainerData)
+        containerSet.getContainer(CONTAINER_ID).getContainerData();
+    Assert.assertArrayEquals(chunk, Files.readAllBytes(
+        new File(imported.getChunksPath(), CHUNK_FILE_NAME).toPath()));
+  }
+
+  @Test
+  public void testStreamingImportFailsPartway() throws Exception {
+    // The download fails before the last frame of the archive.
+    Iterator<CopyContainerResponseProto> frames =
+        responses.subList(0, responses.size() - 1).iterator();
+    Iterator<CopyContainerResponseProto> failing =
+        new Iterator<CopyContainerResponseProto>() {
+          @Override
+          public boolean hasNext() {
+            if (!frames.hasNext()) {
+              throw new StatusRuntimeException(UNAVAILABLE);
+            }
+            return true;
+          }
+
+          @Override
+          public CopyContainerResponseProto next() {
+            return frames.next();
+          }
+        };
+
+    try (InputStream archive = newStream(failing)) {
+      replicator.importContainer(CONTAINER_ID, archive);
+      Assert.fail("Import of a truncated container archive succeeded");
+    } catch (IOException e) {
+      Assert.assertTrue(e.getCause() instanceof StatusRuntimeException);
+      Assert.assertEquals(Code.UNAVAILABLE,
+          ((StatusRuntimeException) e.getCause()).getStatus().getCode());
+    }
+
+    Assert.assertNull(containerSet.getContainer(CONTAINER_ID));
+    // Closing the stream before its end cancels the download.
+    Assert.assertTrue(cancelled.get());
+    Assert.assertTrue(closed.get());
+  }
+
+  private InputStream newStream(
+      Iterator<CopyContainerResponseProto> frames) {
+    return new GrpcInputStream(frames, CONTAINER_ID, null,
+        () -> cancelled.set(true), () -> closed.set(true));
+  }
+
+  private byte[] packSourceContainer() throws IOException {
+    KeyValueContainerData containerData =
+        createContainerData(folder.newFolder("source"));
+    containerData.setContainerDBType("RocksDB");
+    KeyValueContainer container = new KeyValueContainer(containerData, conf);
+    Files.write(new File(containerData.getDbFile(), "db1").toPath(),
+        "db".getBytes(UTF_8));
+    Files.write(new File(containerData.getChunksPath(), CHUNK_FILE_NAME)
+        .toPath(), chunk);
+    ContainerDataYaml.createContainerFile(
+        ContainerProtos.ContainerType.KeyValueContainer, containerData,
+        container.getContainerFile());
+
+    ByteArrayOutputStream archive = new ByteArrayOutputStream();
+    packer.pack(container, archive);
+    return archive.toByteArray();
+  }
+
+  private static KeyValueContainerData createContainerData(File root)
+      throws IOException {
+    File metadata = new File(root, "metadata");
+    File db = new File(metadata, "db");
+    File chunks = new File(root, "chunks");
+    Files.createDirectories(db.toPath());
+    Files.createDirectories(chunks.toPath());
+
+    KeyValueContainerData containerData = new KeyValueContainerData(
+        CONTAINER_ID, ChunkLayOutVersion.FILE_PER_BLOCK, -1,
+        UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    containerData.setMetadataPath(metadata.getPath());
+    containerData.setChunksPath(chunks.getPath());
+    containerData.setDbFile(db);
+    return containerData;
+  }
+
+  /**
+   * Splits the archive to the responses the source datanode would send.
+   */
+  private static List<CopyContainerResponseProto> toResponses(
+      byte[] archive) {
+    List<CopyContainerResponseProto> frames = new ArrayList<>();
+    for (int offset = 0; offset < archive.length; offset += FRAME_SIZE) {
+      int len = Math.min(FRAME_SIZE, archive.length - offset);
+      frames.add(CopyContainerResponseProto.newBuilder()
+          .setContainerID(CONTAINER_ID)
+          .setReadOffset(offset)
+          .setLen(len)
+          .setEof(offset + len == archive.length)
+          .setData(ByteString.copyFrom(archive, offset, len))
+          .build());
+    }
+    return frames;
+  }
+}
@@ -18,9 +18,12 @@
 
 package org.apache.hadoop.ozone.container.replication;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -32,6 +35,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.ChunkLayoutTestInfo;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.test.GenericTestUtils;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -150,6 +154,76 @@ public void failureHandling() {
     }
   }
 
+  @Test
+  public void transferredBytes() {
+    // GIVEN
+    ReplicationSupervisor supervisor = supervisorWith(
+        s -> task -> {
+          task.addTransferredBytes(1000);
+          Assert.assertEquals(1, s.getReplicationRunningCount());
+          Assert.assertEquals(1000, s.getReplicationInProgressBytes());
+          task.setStatus(ReplicationTask.Status.DONE);
+        }, newDirectExecutorService());
+
+    try {
+      //WHEN
+      supervisor.addTask(new ReplicationTask(1L, emptyList()));
+      supervisor.addTask(new ReplicationTask(2L, emptyList()));
+
+      //THEN
+      Assert.assertEquals(2, supervisor.getReplicationSuccessCount());
+      Assert.assertEquals(2000, supervisor.getReplicationTransferredBytes());
+      Assert.assertEquals(0, supervisor.getReplicationInProgressBytes());
+      Assert.assertEquals(0, supervisor.getReplicationRunningCount());
+    } finally {
+      supervisor.stop();
+    }
+  }
+
+  @Test
+  public void urgentTasksFirst() throws Exception {
+    // GIVEN
+    CountDownLatch blocked = new CountDownLatch(1);
+    List<Long> executed = new CopyOnWriteArrayList<>();
+    ReplicationSupervisor supervisor = supervisorWith(
+        __ -> task -> {
+          try {
+            blocked.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          executed.add(task.getContainerId());
+          task.setStatus(ReplicationTask.Status.DONE);
+        }, ReplicationSupervisor.createExecutor(1));
+
+    try {
+      //WHEN
+      supervisor.addTask(new ReplicationTask(1L, emptyList(), 3));
+      GenericTestUtils.waitFor(
+          () -> supervisor.getReplicationRequestCount() == 1, 10, 1000);
+      supervisor.addTask(new ReplicationTask(2L, emptyList(), 3));
+      supervisor.addTask(new ReplicationTask(3L, emptyList()));
+      supervisor.addTask(new ReplicationTask(4L, emptyList(), 1));
+      supervisor.addTask(new ReplicationTask(5L, emptyList(), 2));
+      supervisor.addTask(new ReplicationTask(6L, emptyList(), 1));
+
+      Assert.assertEquals(5, supervisor.getReplicationQueuedCount());
+      Assert.assertEquals(2, supervisor.getReplicationQueuedCountByPriority()
+          .get(1).intValue());
+      Assert.assertEquals(1, supervisor.getReplicationQueuedCountByPriority()
+          .get(Integer.MAX_VALUE).intValue());
+      blocked.countDown();
+
+      //THEN
+      GenericTestUtils.waitFor(
+          () -> supervisor.getReplicationSuccessCount() == 6, 10, 1000);
+      Assert.assertEquals(Arrays.asList(1L, 4L, 6L, 5L, 2L, 3L), executed);
+      Assert.assertEquals(0, supervisor.getReplicationQueuedCount());
+    } finally {
+      supervisor.stop();
+    }
+  }
+
   @Test
   public void stalledDownload() {
     // GIVEN
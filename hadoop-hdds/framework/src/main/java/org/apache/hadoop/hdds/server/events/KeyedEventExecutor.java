@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.server.events;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.util.Time;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * EventExecutor which calls the event handler from a fixed number of
+ * threads. Events are partitioned by a key of their payload, for example the
+ * datanode which sent a report, and the events with the same key are handled
+ * one-by-one in the order they are fired, by the same thread.
+ * <p>
+ * Each thread has a bounded queue. The publisher of an event is blocked
+ * while the queue of its thread is full.
+ *
+ * @param <P> the payload type of events
+ */
+@Metrics(context = "EventQueue")
+public class KeyedEventExecutor<P> implements EventExecutor<P> {
+
+  private static final String EVENT_QUEUE = "EventQueue";
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(KeyedEventExecutor.class);
+
+  private final String name;
+
+  private final Function<P, Object> keyFunction;
+
+  private final ThreadPoolExecutor[] executors;
+
+  @Metric
+  private MutableCounterLong queued;
+
+  @Metric
+  private MutableCounterLong done;
+
+  @Metric
+  private MutableCounterLong failed;
+
+  @Metric("Time events wait in the queue in milliseconds")
+  private MutableRate queueWaitTime;
+
+  @Metric("Time the handler takes to process an event in milliseconds")
+  private MutableRate processingTime;
+
+  /**
+   * Create KeyedEventExecutor.
+   *
+   * @param name        Unique name used in monitoring and metrics.
+   * @param threads     Number of threads handling the events.
+   * @param queueSize   Maximum number of events queued for each thread.
+   * @param keyFunction Returns the key of an event payload, the events with
+   *                    equal keys are handled in order.
+   */
+  public KeyedEventExecutor(String name, int threads, int queueSize,
+      Function<P, Object> keyFunction) {
+    Preconditions.checkArgument(threads > 0,
+        "Number of threads should be positive.");
+    Preconditions.checkArgument(queueSize > 0,
+        "Queue size should be positive.");
+    this.name = name;
+    this.keyFunction = keyFunction;
+    DefaultMetricsSystem.instance()
+        .register(EVENT_QUEUE + name, "Event Executor metrics ", this);
+
+    executors = new ThreadPoolExecutor[threads];
+    for (int i = 0; i < threads; i++) {
+      String threadName = EVENT_QUEUE + "-" + name + "-" + i;
+      executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(queueSize),
+          runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName(threadName);
+            return thread;
+          },
+          KeyedEventExecutor::waitForQueue);
+    }
+  }
+
+  /**
+   * Blocks the publisher until the event fits in the queue, as the single
+   * thread of the executor is always alive to take it.
+   */
+  private static void waitForQueue(Runnable task,
+      ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      throw new RejectedExecutionException("Executor is shut down");
+    }
+    try {
+      executor.getQueue().put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException(
+          "Interrupted while waiting for the event queue", e);
+    }
+  }
+
+  @Override
+  public void onMessage(EventHandler<P> handler, P message, EventPublisher
+      publisher) {
+    queued.incr();
+    long queuedTime = Time.monotonicNow();
+    getExecutor(message).execute(() -> {
+      long startTime = Time.monotonicNow();
+      queueWaitTime.add(startTime - queuedTime);
+      try {
+        handler.onMessage(message, publisher);
+        done.incr();
+      } catch (Exception ex) {
+        LOG.error("Error on execution message {}", message, ex);
+        failed.incr();
+      } finally {
+        processingTime.add(Time.monotonicNow() - startTime);
+      }
+    });
+  }
+
+  private ThreadPoolExecutor getExecutor(P message) {
+    return executors[getPartition(keyFunction.apply(message))];
+  }
+
+  @VisibleForTesting
+  int getPartition(Object key) {
+    return key == null ? 0 :
+        (key.hashCode() & Integer.MAX_VALUE) % executors.length;
+  }
+
+  @Override
+  public long failedEvents() {
+    return failed.value();
+  }
+
+  @Override
+  public long successfulEvents() {
+    return done.value();
+  }
+
+  @Override
+  public long queuedEvents() {
+    return queued.value();
+  }
+
+  @Override
+  public void close() {
+    for (ThreadPoolExecutor executor : executors) {
+      executor.shutdown();
+    }
+    DefaultMetricsSystem.instance().unregisterSource(EVENT_QUEUE + name);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+}
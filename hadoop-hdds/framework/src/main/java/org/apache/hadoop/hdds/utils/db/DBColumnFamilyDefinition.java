@@ -38,17 +38,31 @@
 
   private final Codec<VALUE> valueCodec;
 
+  private final TableTuning tuning;
+
   public DBColumnFamilyDefinition(
       String tableName,
       Class<KEY> keyType,
       Codec<KEY> keyCodec,
       Class<VALUE> valueType,
       Codec<VALUE> valueCodec) {
+    this(tableName, keyType, keyCodec, valueType, valueCodec,
+        TableTuning.DEFAULT);
+  }
+
+  public DBColumnFamilyDefinition(
+      String tableName,
+      Class<KEY> keyType,
+      Codec<KEY> keyCodec,
+      Class<VALUE> valueType,
+      Codec<VALUE> valueCodec,
+      TableTuning tuning) {
     this.tableName = tableName;
     this.keyType = keyType;
     this.keyCodec = keyCodec;
     this.valueType = valueType;
     this.valueCodec = valueCodec;
+    this.tuning = tuning;
   }
 
   public Table<KEY, VALUE> getTable(DBStore db) throws IOException {
@@ -78,4 +92,11 @@ public Class<VALUE> getValueType() {
   public Codec<VALUE> getValueCodec() {
     return valueCodec;
   }
+
+  /**
+   * Returns the RocksDB tuning of the column family.
+   */
+  public TableTuning getTuning() {
+    return tuning;
+  }
 }
@@ -22,6 +22,7 @@
 import org.apache.hadoop.conf.StorageUnit;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompactionStyle;
 import org.rocksdb.DBOptions;
@@ -52,21 +53,30 @@ public ColumnFamilyOptions getColumnFamilyOptions() {
       // Set BlockCacheSize to 256 MB. This should not be an issue for HADOOP.
       final long blockCacheSize = toLong(StorageUnit.MB.toBytes(256.00));
 
+      return getColumnFamilyOptions(TableTuning.DEFAULT,
+          new LRUCache(blockCacheSize));
+    }
+
+    @Override
+    public ColumnFamilyOptions getColumnFamilyOptions(TableTuning tuning,
+        Cache blockCache) {
+
       // Set the Default block size to 16KB
       final long blockSize = toLong(StorageUnit.KB.toBytes(16));
 
       // Write Buffer Size -- set to 128 MB
       final long writeBufferSize = toLong(StorageUnit.MB.toBytes(128));
 
-      return new ColumnFamilyOptions()
+      ColumnFamilyOptions options = new ColumnFamilyOptions()
           .setLevelCompactionDynamicLevelBytes(true)
-          .setWriteBufferSize(writeBufferSize)
-          .setTableFormatConfig(
-              new BlockBasedTableConfig()
-                  .setBlockCache(new LRUCache(blockCacheSize))
-                  .setBlockSize(blockSize)
-                  .setPinL0FilterAndIndexBlocksInCache(true)
-                  .setFilterPolicy(new BloomFilter()));
+          .setWriteBufferSize(writeBufferSize);
+      BlockBasedTableConfig tableConfig = new BlockBasedTableConfig()
+          .setBlockCache(blockCache)
+          .setBlockSize(blockSize)
+          .setPinL0FilterAndIndexBlocksInCache(true)
+          .setFilterPolicy(new BloomFilter());
+      tuning.apply(options, tableConfig);
+      return options.setTableFormatConfig(tableConfig);
     }
 
     @Override
@@ -106,9 +116,23 @@ public ColumnFamilyOptions getColumnFamilyOptions() {
       return columnFamilyOptions;
     }
 
+    @Override
+    public ColumnFamilyOptions getColumnFamilyOptions(TableTuning tuning,
+        Cache blockCache) {
+      ColumnFamilyOptions columnFamilyOptions =
+          SSD.getColumnFamilyOptions(tuning, blockCache);
+      if (tuning.getCompactionStyle() == null) {
+        columnFamilyOptions.setCompactionStyle(CompactionStyle.LEVEL);
+      }
+      return columnFamilyOptions;
+    }
+
 
   };
 
+  // Part of the shared block cache reserved for high priority blocks.
+  private static final double HIGH_PRIORITY_POOL_RATIO = 0.2;
+
   private static long toLong(double value) {
     BigDecimal temp = BigDecimal.valueOf(value);
     return temp.longValue();
@@ -117,4 +141,25 @@ private static long toLong(double value) {
   public abstract DBOptions getDBOptions();
 
   public abstract ColumnFamilyOptions getColumnFamilyOptions();
+
+  /**
+   * Returns the column family options of a table with the given tuning,
+   * which caches its blocks in the given block cache.
+   *
+   * @param tuning tuning of the table
+   * @param blockCache block cache, which may be shared between tables
+   */
+  public abstract ColumnFamilyOptions getColumnFamilyOptions(
+      TableTuning tuning, Cache blockCache);
+
+  /**
+   * Returns a block cache to be shared by the tables of a DB. A part of the
+   * cache is reserved for the index and filter blocks of the tables with
+   * {@link TableTuning.CachePriority#HIGH} priority.
+   *
+   * @param capacity size of the cache in bytes
+   */
+  public static Cache newSharedBlockCache(long capacity) {
+    return new LRUCache(capacity, -1, false, HIGH_PRIORITY_POOL_RATIO);
+  }
 }
@@ -25,6 +25,7 @@
 import java.util.Map;
 
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValueFormat;
 import org.apache.hadoop.hdds.utils.db.cache.TableCacheImpl;
 
 /**
@@ -70,6 +71,17 @@ <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
       Class<KEY> keyType, Class<VALUE> valueType,
       TableCacheImpl.CacheCleanupPolicy cleanupPolicy) throws IOException;
 
+  /**
+   * Gets an existing TableStore with implicit key/value conversion, with
+   * specified cleanup policy for cache and the format in which the cache
+   * keeps values.
+   * @throws IOException
+   */
+  <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
+      Class<KEY> keyType, Class<VALUE> valueType,
+      TableCacheImpl.CacheCleanupPolicy cleanupPolicy,
+      CacheValueFormat cacheValueFormat) throws IOException;
+
   /**
    * Lists the Known list of Tables in a DB.
    *
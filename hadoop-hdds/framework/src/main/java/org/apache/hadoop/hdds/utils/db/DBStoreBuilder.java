@@ -23,25 +23,31 @@
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageSize;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 
 import com.google.common.base.Preconditions;
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_DB_PROFILE;
 import static org.apache.hadoop.hdds.server.ServerUtils.getDirectoryFromConfig;
 import static org.apache.hadoop.hdds.server.ServerUtils.getOzoneMetaDirPath;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE_PER_TABLE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_STATISTICS;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_STATISTICS_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_STATISTICS_OFF;
 import org.eclipse.jetty.util.StringUtil;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
@@ -75,7 +81,7 @@ public final class DBStoreBuilder {
   private DBOptions rocksDBOption;
   private String dbname;
   private Path dbPath;
-  private List<String> tableNames;
+  private Map<String, TableTuning> tableTunings;
   private ConfigurationSource configuration;
   private CodecRegistry registry;
   private String rocksDbStat;
@@ -88,7 +94,7 @@ private DBStoreBuilder(ConfigurationSource configuration) {
   private DBStoreBuilder(ConfigurationSource configuration,
       RocksDBConfiguration rocksDBConfiguration) {
     tables = new HashSet<>();
-    tableNames = new LinkedList<>();
+    tableTunings = new LinkedHashMap<>();
     this.configuration = configuration;
     this.registry = new CodecRegistry();
     this.rocksDbStat = configuration.getTrimmed(
@@ -117,7 +123,15 @@ public DBStoreBuilder setName(String name) {
   }
 
   public DBStoreBuilder addTable(String tableName) {
-    tableNames.add(tableName);
+    return addTable(tableName, TableTuning.DEFAULT);
+  }
+
+  /**
+   * Adds a table whose options are built by the profile with the given
+   * tuning.
+   */
+  public DBStoreBuilder addTable(String tableName, TableTuning tuning) {
+    tableTunings.put(tableName, tuning);
     return this;
   }
 
@@ -134,7 +148,12 @@ public DBStoreBuilder addTable(String tableName, ColumnFamilyOptions option)
 
   private DBStoreBuilder addTableDefinition(String tableName,
       ColumnFamilyOptions option) throws IOException {
-    TableConfig tableConfig = new TableConfig(tableName, option);
+    return addTableDefinition(tableName, option, TableTuning.DEFAULT);
+  }
+
+  private DBStoreBuilder addTableDefinition(String tableName,
+      ColumnFamilyOptions option, TableTuning tuning) throws IOException {
+    TableConfig tableConfig = new TableConfig(tableName, option, tuning);
     if (!tables.add(tableConfig)) {
       String message = "Unable to add the table: " + tableName +
           ".  Please check if this table name is already in use.";
@@ -194,12 +213,36 @@ private void processDBProfile() {
   }
 
   private void processTables() throws IOException {
-    List<String> list = new ArrayList<>(tableNames);
-    list.add(DEFAULT_COLUMN_FAMILY_NAME);
-    for (String name : list) {
-      LOG.debug("using default profile for table:{}", name);
-      addTableDefinition(name, dbProfile.getColumnFamilyOptions());
+    Map<String, TableTuning> tunings = new LinkedHashMap<>(tableTunings);
+    tunings.putIfAbsent(DEFAULT_COLUMN_FAMILY_NAME, TableTuning.DEFAULT);
+    // The tables of the DB share one block cache.
+    long blockCacheSize = getBlockCacheSize(tunings.size());
+    Cache blockCache = DBProfile.newSharedBlockCache(blockCacheSize);
+    for (Map.Entry<String, TableTuning> table : tunings.entrySet()) {
+      LOG.debug("using default profile for table:{}", table.getKey());
+      addTableDefinition(table.getKey(),
+          dbProfile.getColumnFamilyOptions(table.getValue(), blockCache),
+          table.getValue());
+    }
+  }
+
+  /**
+   * Returns the size of the block cache shared by the given number of
+   * tables. Unless it is configured, each table adds the size of the cache
+   * it used to have of its own.
+   */
+  private long getBlockCacheSize(int tableCount) {
+    String size = configuration.getTrimmed(
+        OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE);
+    if (size == null || size.isEmpty()) {
+      StorageSize perTable = StorageSize.parse(
+          OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE_PER_TABLE_DEFAULT);
+      return tableCount *
+          (long) perTable.getUnit().toBytes(perTable.getValue());
     }
+    return (long) configuration.getStorageSize(
+        OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE, size,
+        StorageUnit.BYTES);
   }
 
   private DBOptions getDbProfile() {
@@ -302,7 +345,7 @@ public static DBStore createDBStore(ConfigurationSource configuration,
 
   private <KEY, VALUE> void registerTable(
       DBColumnFamilyDefinition<KEY, VALUE> definition) {
-    addTable(definition.getName())
+    addTable(definition.getName(), definition.getTuning())
         .addCodec(definition.getKeyType(), definition.getKeyCodec())
         .addCodec(definition.getValueType(), definition.getValueCodec());
   }
@@ -62,6 +62,15 @@ public void delete(ColumnFamilyHandle handle, byte[] key) throws IOException {
     }
   }
 
+  public void deleteRange(ColumnFamilyHandle handle, byte[] beginKey,
+      byte[] endKey) throws IOException {
+    try {
+      writeBatch.deleteRange(handle, beginKey, endKey);
+    } catch (RocksDBException e) {
+      throw new IOException("Can't record batch delete range operation.", e);
+    }
+  }
+
   public void put(ColumnFamilyHandle handle, byte[] key, byte[] value)
       throws IOException {
     try {
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.hadoop.hdds.utils.db;
+
+import java.util.Map;
+
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsInfo;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics of the column families of one RocksDB store, read from the
+ * RocksDB properties of each column family.
+ * <p>
+ * Unlike {@link RDBMetrics}, which is shared by all the stores of the
+ * process, there is one source per store, and one record per column family
+ * tagged with the DB and the column family name.
+ */
+public final class RDBColumnFamilyMetrics implements MetricsSource {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(RDBColumnFamilyMetrics.class);
+
+  private static final String SOURCE_NAME =
+      RDBColumnFamilyMetrics.class.getSimpleName();
+
+  private static final MetricsInfo DB_NAME =
+      Interns.info("DbName", "Name of the DB");
+
+  private static final MetricsInfo COLUMN_FAMILY =
+      Interns.info("ColumnFamily", "Name of the column family");
+
+  /**
+   * RocksDB properties reported for each column family.
+   */
+  private enum Property {
+    ESTIMATE_NUM_KEYS("EstimateNumKeys", "rocksdb.estimate-num-keys",
+        "Estimated number of keys"),
+    CUR_SIZE_ALL_MEM_TABLES("CurSizeAllMemTables",
+        "rocksdb.cur-size-all-mem-tables",
+        "Size of the active and unflushed memtables in bytes"),
+    ESTIMATE_TABLE_READERS_MEM("EstimateTableReadersMem",
+        "rocksdb.estimate-table-readers-mem",
+        "Memory used by the index and filter blocks held outside of the "
+            + "block cache in bytes"),
+    ESTIMATE_LIVE_DATA_SIZE("EstimateLiveDataSize",
+        "rocksdb.estimate-live-data-size",
+        "Estimated size of the live data in bytes"),
+    TOTAL_SST_FILES_SIZE("TotalSstFilesSize", "rocksdb.total-sst-files-size",
+        "Size of all the SST files in bytes"),
+    ESTIMATE_PENDING_COMPACTION_BYTES("EstimatePendingCompactionBytes",
+        "rocksdb.estimate-pending-compaction-bytes",
+        "Estimated bytes to be rewritten by compaction");
+
+    private final MetricsInfo info;
+    private final String rocksDbProperty;
+
+    Property(String name, String rocksDbProperty, String description) {
+      this.info = Interns.info(name, description);
+      this.rocksDbProperty = rocksDbProperty;
+    }
+  }
+
+  private final RocksDB db;
+  private final String dbName;
+  private final String sourceName;
+  private final Map<String, ColumnFamilyHandle> handles;
+
+  private RDBColumnFamilyMetrics(RocksDB db, String dbName,
+      Map<String, ColumnFamilyHandle> handles) {
+    this.db = db;
+    this.dbName = dbName;
+    this.sourceName = SOURCE_NAME + "_" + dbName;
+    this.handles = handles;
+  }
+
+  /**
+   * Registers the metrics of the column families of a store.
+   *
+   * @return the registered source, or null if a store with the same name
+   * is registered already.
+   */
+  public static RDBColumnFamilyMetrics create(RocksDB db, String dbName,
+      Map<String, ColumnFamilyHandle> handles) {
+    RDBColumnFamilyMetrics metrics =
+        new RDBColumnFamilyMetrics(db, dbName, handles);
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    if (ms.getSource(metrics.sourceName) != null) {
+      LOG.warn("{} is registered already, the column families of {} are "
+          + "not reported.", metrics.sourceName, dbName);
+      return null;
+    }
+    return ms.register(metrics.sourceName,
+        "RocksDB column family metrics", metrics);
+  }
+
+  public void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(sourceName);
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    for (Map.Entry<String, ColumnFamilyHandle> entry : handles.entrySet()) {
+      MetricsRecordBuilder rb = collector.addRecord(SOURCE_NAME)
+          .setContext("rocksdb")
+          .tag(DB_NAME, dbName)
+          .tag(COLUMN_FAMILY, entry.getKey());
+      for (Property property : Property.values()) {
+        try {
+          rb.addGauge(property.info,
+              db.getLongProperty(entry.getValue(), property.rocksDbProperty));
+        } catch (RocksDBException e) {
+          LOG.debug("Failed to read {} of column family {}",
+              property.rocksDbProperty, entry.getKey(), e);
+        }
+      }
+    }
+  }
+}
@@ -36,6 +36,7 @@
 import org.apache.hadoop.metrics2.util.MBeans;
 
 import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValueFormat;
 import org.apache.hadoop.hdds.utils.db.cache.TableCacheImpl;
 import org.apache.ratis.thirdparty.com.google.common.annotations.VisibleForTesting;
 import org.rocksdb.ColumnFamilyDescriptor;
@@ -62,11 +63,13 @@ public class RDBStore implements DBStore {
   private final DBOptions dbOptions;
   private final CodecRegistry codecRegistry;
   private final Map<String, ColumnFamilyHandle> handleTable;
+  private final Map<String, Integer> prefixLengths;
   private ObjectName statMBeanName;
   private RDBCheckpointManager checkPointManager;
   private String checkpointsParentDir;
   private List<ColumnFamilyHandle> columnFamilyHandles;
   private RDBMetrics rdbMetrics;
+  private RDBColumnFamilyMetrics columnFamilyMetrics;
 
   @VisibleForTesting
   public RDBStore(File dbFile, DBOptions options,
@@ -82,6 +85,7 @@ public RDBStore(File dbFile, DBOptions options,
     Preconditions.checkNotNull(families);
     Preconditions.checkArgument(!families.isEmpty());
     handleTable = new HashMap<>();
+    prefixLengths = new HashMap<>();
     codecRegistry = registry;
     final List<ColumnFamilyDescriptor> columnFamilyDescriptors =
         new ArrayList<>();
@@ -89,6 +93,8 @@ public RDBStore(File dbFile, DBOptions options,
 
     for (TableConfig family : families) {
       columnFamilyDescriptors.add(family.getDescriptor());
+      prefixLengths.put(family.getName(),
+          family.getTuning().getPrefixLength());
     }
 
     dbOptions = options;
@@ -144,6 +150,8 @@ public RDBStore(File dbFile, DBOptions options,
       //Initialize checkpoint manager
       checkPointManager = new RDBCheckpointManager(db, "rdb");
       rdbMetrics = RDBMetrics.create();
+      columnFamilyMetrics =
+          RDBColumnFamilyMetrics.create(db, dbFile.getName(), handleTable);
 
     } catch (RocksDBException e) {
       String msg = "Failed init RocksDB, db path : " + dbFile.getAbsolutePath()
@@ -207,6 +215,13 @@ public void compactDB() throws IOException {
   @Override
   public void close() throws IOException {
 
+    // Stop reading the column family properties before the handles are
+    // closed.
+    if (columnFamilyMetrics != null) {
+      columnFamilyMetrics.unregister();
+      columnFamilyMetrics = null;
+    }
+
     for (final ColumnFamilyHandle handle : handleTable.values()) {
       handle.close();
     }
@@ -291,7 +306,7 @@ public Table<byte[], byte[]> getTable(String name) throws IOException {
     if (handle == null) {
       throw new IOException("No such table in this DB. TableName : " + name);
     }
-    return new RDBTable(this.db, handle, this.writeOptions, rdbMetrics);
+    return newTable(name, handle);
   }
 
   @Override
@@ -309,15 +324,30 @@ public <K, V> Table<K, V> getTable(String name,
         valueType, cleanupPolicy);
   }
 
+  @Override
+  public <K, V> Table<K, V> getTable(String name,
+      Class<K> keyType, Class<V> valueType,
+      TableCacheImpl.CacheCleanupPolicy cleanupPolicy,
+      CacheValueFormat cacheValueFormat) throws IOException {
+    return new TypedTable<>(getTable(name), codecRegistry, keyType,
+        valueType, cleanupPolicy, cacheValueFormat);
+  }
+
   @Override
   public ArrayList<Table> listTables() {
     ArrayList<Table> returnList = new ArrayList<>();
-    for (ColumnFamilyHandle handle : handleTable.values()) {
-      returnList.add(new RDBTable(db, handle, writeOptions, rdbMetrics));
+    for (Map.Entry<String, ColumnFamilyHandle> entry
+        : handleTable.entrySet()) {
+      returnList.add(newTable(entry.getKey(), entry.getValue()));
     }
     return returnList;
   }
 
+  private RDBTable newTable(String name, ColumnFamilyHandle handle) {
+    return new RDBTable(db, handle, writeOptions, rdbMetrics,
+        prefixLengths.getOrDefault(name, 0));
+  }
+
   @Override
   public void flush() throws IOException {
     try (FlushOptions flushOptions = new FlushOptions()) {
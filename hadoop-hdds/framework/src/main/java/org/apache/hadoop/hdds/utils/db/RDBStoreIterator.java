@@ -23,6 +23,7 @@
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 
+import org.rocksdb.AbstractNativeReference;
 import org.rocksdb.RocksIterator;
 
 /**
@@ -33,8 +34,19 @@
 
   private RocksIterator rocksDBIterator;
 
-  public RDBStoreIterator(RocksIterator iterator) {
+  private final AbstractNativeReference[] resources;
+
+  /**
+   * Creates an iterator positioned at the first entry.
+   *
+   * @param iterator the RocksDB iterator
+   * @param resources native objects used by the iterator, like its read
+   *                  options and bounds, which are closed with it
+   */
+  public RDBStoreIterator(RocksIterator iterator,
+      AbstractNativeReference... resources) {
     this.rocksDBIterator = iterator;
+    this.resources = resources;
     rocksDBIterator.seekToFirst();
   }
 
@@ -103,5 +115,8 @@ public ByteArrayKeyValue value() {
   @Override
   public void close() throws IOException {
     rocksDBIterator.close();
+    for (AbstractNativeReference resource : resources) {
+      resource.close();
+    }
   }
 }
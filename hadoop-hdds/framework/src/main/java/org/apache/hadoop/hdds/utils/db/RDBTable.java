@@ -21,15 +21,23 @@
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.StringUtils;
 
+import com.google.common.annotations.VisibleForTesting;
+
+import org.rocksdb.AbstractNativeReference;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.Holder;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Slice;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +58,7 @@ class RDBTable implements Table<byte[], byte[]> {
   private final ColumnFamilyHandle handle;
   private final WriteOptions writeOptions;
   private final RDBMetrics rdbMetrics;
+  private final int prefixLength;
 
   /**
    * Constructs a TableStore.
@@ -60,10 +69,25 @@ class RDBTable implements Table<byte[], byte[]> {
    */
   RDBTable(RocksDB db, ColumnFamilyHandle handle,
       WriteOptions writeOptions, RDBMetrics rdbMetrics) {
+    this(db, handle, writeOptions, rdbMetrics, 0);
+  }
+
+  /**
+   * Constructs a TableStore.
+   *
+   * @param db - DBstore that we are using.
+   * @param handle - ColumnFamily Handle.
+   * @param writeOptions - RocksDB write Options.
+   * @param prefixLength - Length of the prefix extractor of the column
+   *                     family, 0 if it has none.
+   */
+  RDBTable(RocksDB db, ColumnFamilyHandle handle,
+      WriteOptions writeOptions, RDBMetrics rdbMetrics, int prefixLength) {
     this.db = db;
     this.handle = handle;
     this.writeOptions = writeOptions;
     this.rdbMetrics = rdbMetrics;
+    this.prefixLength = prefixLength;
   }
 
   /**
@@ -182,6 +206,20 @@ public byte[] getIfExist(byte[] key) throws IOException {
     }
   }
 
+  @Override
+  public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
+    if (keys.isEmpty()) {
+      return Collections.emptyList();
+    }
+    try {
+      return db.multiGetAsList(
+          Collections.nCopies(keys.size(), handle), keys);
+    } catch (RocksDBException e) {
+      throw toIOException(
+          "Failed to get the values for the given keys", e);
+    }
+  }
+
   @Override
   public void delete(byte[] key) throws IOException {
     try {
@@ -202,11 +240,90 @@ public void deleteWithBatch(BatchOperation batch, byte[] key)
 
   }
 
+  @Override
+  public void deleteRange(byte[] beginKey, byte[] endKey)
+      throws IOException {
+    try {
+      db.deleteRange(handle, writeOptions, beginKey, endKey);
+    } catch (RocksDBException e) {
+      throw toIOException("Failed to delete the given key range", e);
+    }
+  }
+
+  @Override
+  public void deleteRangeWithBatch(BatchOperation batch, byte[] beginKey,
+      byte[] endKey) throws IOException {
+    if (batch instanceof RDBBatchOperation) {
+      ((RDBBatchOperation) batch).deleteRange(getHandle(), beginKey, endKey);
+    } else {
+      throw new IllegalArgumentException("batch should be RDBBatchOperation");
+    }
+  }
+
   @Override
   public TableIterator<byte[], ByteArrayKeyValue> iterator() {
+    return iterator(null, null);
+  }
+
+  @Override
+  public TableIterator<byte[], ByteArrayKeyValue> iterator(byte[] prefix) {
+    if (prefix == null) {
+      return iterator();
+    }
+    // All the keys of the range share the prefix of the column family if
+    // the given prefix is at least as long, so its bloom filters can be used.
+    return newIterator(prefix, getPrefixUpperBound(prefix),
+        prefixLength > 0 && prefix.length >= prefixLength);
+  }
+
+  @Override
+  public TableIterator<byte[], ByteArrayKeyValue> iterator(
+      byte[] lowerBound, byte[] upperBound) {
+    return newIterator(lowerBound, upperBound, false);
+  }
+
+  private TableIterator<byte[], ByteArrayKeyValue> newIterator(
+      byte[] lowerBound, byte[] upperBound, boolean samePrefix) {
+    List<AbstractNativeReference> resources = new ArrayList<>();
     ReadOptions readOptions = new ReadOptions();
     readOptions.setFillCache(false);
-    return new RDBStoreIterator(db.newIterator(handle, readOptions));
+    if (samePrefix) {
+      readOptions.setPrefixSameAsStart(true);
+    } else if (prefixLength > 0) {
+      // Without total order, a seek only finds the keys which have the same
+      // prefix as the seek key.
+      readOptions.setTotalOrderSeek(true);
+    }
+    resources.add(readOptions);
+    if (lowerBound != null) {
+      Slice lower = new Slice(lowerBound);
+      readOptions.setIterateLowerBound(lower);
+      resources.add(lower);
+    }
+    if (upperBound != null) {
+      Slice upper = new Slice(upperBound);
+      readOptions.setIterateUpperBound(upper);
+      resources.add(upper);
+    }
+    return new RDBStoreIterator(db.newIterator(handle, readOptions),
+        resources.toArray(new AbstractNativeReference[0]));
+  }
+
+  /**
+   * Returns the smallest key which is greater than all the keys starting
+   * with the given prefix, or null if there is no such key, that is the
+   * prefix consists of 0xFF bytes only.
+   */
+  @VisibleForTesting
+  static byte[] getPrefixUpperBound(byte[] prefix) {
+    for (int i = prefix.length - 1; i >= 0; i--) {
+      if (prefix[i] != (byte) 0xFF) {
+        byte[] upperBound = Arrays.copyOf(prefix, i + 1);
+        upperBound[i]++;
+        return upperBound;
+      }
+    }
+    return null;
   }
 
   @Override
@@ -115,6 +115,17 @@ default VALUE getReadCopy(KEY key) throws IOException {
    */
   VALUE getIfExist(KEY key) throws IOException;
 
+  /**
+   * Returns the values mapped to the given keys, looked up in a single
+   * batch. The values are returned in the order of the keys, with null for
+   * every key which is not found.
+   *
+   * @param keys metadata keys
+   * @return values, in the order of the keys.
+   * @throws IOException on Failure
+   */
+  List<VALUE> multiGet(List<KEY> keys) throws IOException;
+
   /**
    * Deletes a key from the metadata store.
    *
@@ -132,6 +143,32 @@ default VALUE getReadCopy(KEY key) throws IOException {
    */
   void deleteWithBatch(BatchOperation batch, KEY key) throws IOException;
 
+  /**
+   * Deletes the keys in the range [beginKey, endKey) from the metadata
+   * store with a single range tombstone.
+   * The table cache is not updated, the caller has to make sure that no
+   * key of the range is in the cache.
+   *
+   * @param beginKey first key of the range, inclusive
+   * @param endKey end of the range, exclusive
+   * @throws IOException on Failure
+   */
+  void deleteRange(KEY beginKey, KEY endKey) throws IOException;
+
+  /**
+   * Deletes the keys in the range [beginKey, endKey) from the metadata
+   * store as part of a batch operation.
+   * The table cache is not updated, the caller has to make sure that no
+   * key of the range is in the cache.
+   *
+   * @param batch the batch operation
+   * @param beginKey first key of the range, inclusive
+   * @param endKey end of the range, exclusive
+   * @throws IOException on Failure
+   */
+  void deleteRangeWithBatch(BatchOperation batch, KEY beginKey, KEY endKey)
+      throws IOException;
+
   /**
    * Returns the iterator for this metadata store.
    *
@@ -139,6 +176,34 @@ default VALUE getReadCopy(KEY key) throws IOException {
    */
   TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> iterator();
 
+  /**
+   * Returns an iterator over the entries whose key starts with the given
+   * prefix, compared on the encoded keys. The iterator is bounded in
+   * RocksDB, so the entries and tombstones after the prefix are never
+   * scanned. Seeking to a key outside of the prefix is not supported.
+   *
+   * @param prefix key prefix, null to iterate over the whole table
+   * @return MetaStoreIterator
+   * @throws IOException on Failure
+   */
+  TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> iterator(KEY prefix)
+      throws IOException;
+
+  /**
+   * Returns an iterator over the entries with a key in the range
+   * [lowerBound, upperBound), compared on the encoded keys. The iterator is
+   * bounded in RocksDB, so the entries and tombstones outside of the range
+   * are never scanned. Seeking to a key outside of the range is not
+   * supported.
+   *
+   * @param lowerBound first key of the range, inclusive, null if unbounded
+   * @param upperBound end of the range, exclusive, null if unbounded
+   * @return MetaStoreIterator
+   * @throws IOException on Failure
+   */
+  TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> iterator(KEY lowerBound,
+      KEY upperBound) throws IOException;
+
   /**
    * Returns the Name of this Table.
    * @return - Table Name.
@@ -182,6 +247,14 @@ default void cleanupCache(List<Long> epochs) {
     throw new NotImplementedException("cleanupCache is not implemented");
   }
 
+  /**
+   * Return the total size in bytes of the values kept encoded in the table
+   * cache, which is zero if the cache keeps values as objects.
+   */
+  default long getCacheEncodedSize() {
+    return 0;
+  }
+
   /**
    * Return cache iterator maintained for this table.
    */
@@ -190,6 +263,18 @@ default void cleanupCache(List<Long> epochs) {
     throw new NotImplementedException("cacheIterator is not implemented");
   }
 
+  /**
+   * Return cache iterator maintained for this table, which returns the
+   * entries in key order starting from the first entry whose key is greater
+   * than or equal to startKey. Callers should stop iterating once the keys
+   * move past the range they are interested in.
+   * @param startKey
+   */
+  default Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>>
+      cacheIterator(KEY startKey) {
+    throw new NotImplementedException("cacheIterator is not implemented");
+  }
+
   /**
    * Class used to represent the key and value pair of a db entry.
    */
@@ -198,5 +283,15 @@ default void cleanupCache(List<Long> epochs) {
     KEY getKey() throws IOException;
 
     VALUE getValue() throws IOException;
+
+    /**
+     * Returns the value decoded with the given codec instead of the codec
+     * registered for the table. This allows reading a partial view of the
+     * value, the returned object must not be written back to the table.
+     * Entries without the raw value at hand return {@link #getValue()}.
+     */
+    default VALUE getValue(Codec<VALUE> codec) throws IOException {
+      return getValue();
+    }
   }
 }
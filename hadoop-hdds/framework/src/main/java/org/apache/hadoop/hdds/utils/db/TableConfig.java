@@ -32,6 +32,7 @@
 public class TableConfig {
   private final String name;
   private final ColumnFamilyOptions columnFamilyOptions;
+  private final TableTuning tuning;
 
 
   /**
@@ -40,8 +41,20 @@ public class TableConfig {
    * @param columnFamilyOptions - Column Family options.
    */
   public TableConfig(String name, ColumnFamilyOptions columnFamilyOptions) {
+    this(name, columnFamilyOptions, TableTuning.DEFAULT);
+  }
+
+  /**
+   * Constructs a Table Config.
+   * @param name - Name of the Table.
+   * @param columnFamilyOptions - Column Family options.
+   * @param tuning - Tuning the column family options were built with.
+   */
+  public TableConfig(String name, ColumnFamilyOptions columnFamilyOptions,
+      TableTuning tuning) {
     this.name = name;
     this.columnFamilyOptions = columnFamilyOptions;
+    this.tuning = tuning;
   }
 
   /**
@@ -69,6 +82,14 @@ public ColumnFamilyOptions getColumnFamilyOptions() {
     return columnFamilyOptions;
   }
 
+  /**
+   * Returns the tuning of this Table.
+   * @return TableTuning
+   */
+  public TableTuning getTuning() {
+    return tuning;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
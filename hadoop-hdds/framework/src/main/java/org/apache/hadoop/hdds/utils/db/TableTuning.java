@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.hadoop.hdds.utils.db;
+
+import com.google.common.base.Preconditions;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.CompressionType;
+
+/**
+ * Tuning of one table, applied on top of the column family options of the
+ * {@link DBProfile}. The settings which are not set keep the value of the
+ * profile.
+ */
+public final class TableTuning {
+
+  /**
+   * Tuning which keeps the options of the profile.
+   */
+  public static final TableTuning DEFAULT = newBuilder().build();
+
+  /**
+   * Where the index and filter blocks of the table are kept.
+   */
+  public enum CachePriority {
+    /**
+     * Index and filter blocks are cached in the high priority pool of the
+     * shared block cache, the ones of L0 are pinned.
+     */
+    HIGH,
+    /**
+     * Index and filter blocks are held by the table readers, outside of the
+     * block cache.
+     */
+    NORMAL,
+    /**
+     * Index and filter blocks are cached with low priority in the shared
+     * block cache, so they are evicted before the ones of other tables.
+     */
+    LOW
+  }
+
+  private final CachePriority cachePriority;
+  private final int prefixLength;
+  private final CompactionStyle compactionStyle;
+  private final CompressionType compressionType;
+  private final long writeBufferSize;
+
+  private TableTuning(Builder builder) {
+    this.cachePriority = builder.cachePriority;
+    this.prefixLength = builder.prefixLength;
+    this.compactionStyle = builder.compactionStyle;
+    this.compressionType = builder.compressionType;
+    this.writeBufferSize = builder.writeBufferSize;
+  }
+
+  public CachePriority getCachePriority() {
+    return cachePriority;
+  }
+
+  /**
+   * Returns the length of the key prefixes added to the bloom filters, 0 if
+   * the table has no prefix extractor.
+   */
+  public int getPrefixLength() {
+    return prefixLength;
+  }
+
+  public CompactionStyle getCompactionStyle() {
+    return compactionStyle;
+  }
+
+  public CompressionType getCompressionType() {
+    return compressionType;
+  }
+
+  public long getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  /**
+   * Applies the tuning to the options built by the profile.
+   */
+  void apply(ColumnFamilyOptions options, BlockBasedTableConfig tableConfig) {
+    switch (cachePriority) {
+    case HIGH:
+      tableConfig.setCacheIndexAndFilterBlocks(true)
+          .setCacheIndexAndFilterBlocksWithHighPriority(true)
+          .setPinL0FilterAndIndexBlocksInCache(true);
+      break;
+    case LOW:
+      tableConfig.setCacheIndexAndFilterBlocks(true)
+          .setCacheIndexAndFilterBlocksWithHighPriority(false)
+          .setPinL0FilterAndIndexBlocksInCache(false);
+      break;
+    default:
+      break;
+    }
+    if (prefixLength > 0) {
+      // Keys shorter than the prefix length are their own prefix.
+      options.useCappedPrefixExtractor(prefixLength);
+    }
+    if (compactionStyle != null) {
+      options.setCompactionStyle(compactionStyle);
+    }
+    if (compressionType != null) {
+      options.setCompressionType(compressionType);
+    }
+    if (writeBufferSize > 0) {
+      options.setWriteBufferSize(writeBufferSize);
+    }
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder for TableTuning.
+   */
+  public static final class Builder {
+    private CachePriority cachePriority = CachePriority.NORMAL;
+    private int prefixLength;
+    private CompactionStyle compactionStyle;
+    private CompressionType compressionType;
+    private long writeBufferSize;
+
+    private Builder() {
+    }
+
+    public Builder setCachePriority(CachePriority priority) {
+      this.cachePriority = Preconditions.checkNotNull(priority);
+      return this;
+    }
+
+    /**
+     * Adds the first prefixLength bytes of the keys to the bloom filters.
+     * Iterators over a prefix at least this long only read the files which
+     * may contain the prefix.
+     */
+    public Builder setPrefixLength(int length) {
+      Preconditions.checkArgument(length >= 0,
+          "Prefix length must not be negative");
+      this.prefixLength = length;
+      return this;
+    }
+
+    public Builder setCompactionStyle(CompactionStyle style) {
+      this.compactionStyle = style;
+      return this;
+    }
+
+    public Builder setCompressionType(CompressionType type) {
+      this.compressionType = type;
+      return this;
+    }
+
+    public Builder setWriteBufferSize(long size) {
+      this.writeBufferSize = size;
+      return this;
+    }
+
+    public TableTuning build() {
+      return new TableTuning(this);
+    }
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.hadoop.hdds.utils.db;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,8 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheResult;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValueFormat;
+import org.apache.hadoop.hdds.utils.db.cache.EncodedCacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.TableCacheImpl;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCacheImpl.CacheCleanupPolicy;
@@ -55,6 +58,10 @@
 
   private final TableCache<CacheKey<KEY>, CacheValue<VALUE>> cache;
 
+  private final CacheValueFormat cacheValueFormat;
+
+  private final CacheCleanupPolicy cleanupPolicy;
+
   private final static long EPOCH_DEFAULT = -1L;
 
   /**
@@ -88,10 +95,32 @@ public TypedTable(
       CodecRegistry codecRegistry, Class<KEY> keyType,
       Class<VALUE> valueType,
       TableCacheImpl.CacheCleanupPolicy cleanupPolicy) throws IOException {
+    this(rawTable, codecRegistry, keyType, valueType, cleanupPolicy,
+        CacheValueFormat.OBJECT);
+  }
+
+  /**
+   * Create an TypedTable from the raw table with specified cleanup policy
+   * for table cache, and the format in which the cache keeps values.
+   * @param rawTable
+   * @param codecRegistry
+   * @param keyType
+   * @param valueType
+   * @param cleanupPolicy
+   * @param cacheValueFormat
+   */
+  public TypedTable(
+      Table<byte[], byte[]> rawTable,
+      CodecRegistry codecRegistry, Class<KEY> keyType,
+      Class<VALUE> valueType,
+      TableCacheImpl.CacheCleanupPolicy cleanupPolicy,
+      CacheValueFormat cacheValueFormat) throws IOException {
     this.rawTable = rawTable;
     this.codecRegistry = codecRegistry;
     this.keyType = keyType;
     this.valueType = valueType;
+    this.cacheValueFormat = cacheValueFormat;
+    this.cleanupPolicy = cleanupPolicy;
     cache = new TableCacheImpl<>(cleanupPolicy);
 
     if (cleanupPolicy == CacheCleanupPolicy.NEVER) {
@@ -105,8 +134,8 @@ public TypedTable(
           // We should build cache after OM restart when clean up policy is
           // NEVER. Setting epoch value -1, so that when it is marked for
           // delete, this will be considered for cleanup.
-          cache.loadInitial(new CacheKey<>(kv.getKey()),
-              new CacheValue<>(Optional.of(kv.getValue()), EPOCH_DEFAULT));
+          cache.loadInitial(new CacheKey<>(kv.getKey()), toCacheValue(
+              new CacheValue<>(Optional.of(kv.getValue()), EPOCH_DEFAULT)));
         }
       }
     }
@@ -168,8 +197,7 @@ public VALUE get(KEY key) throws IOException {
         cache.lookup(new CacheKey<>(key));
 
     if (cacheResult.getCacheStatus() == EXISTS) {
-      return codecRegistry.copyObject(cacheResult.getValue().getCacheValue(),
-          valueType);
+      return copyCacheValue(cacheResult.getValue());
     } else if (cacheResult.getCacheStatus() == NOT_EXIST) {
       return null;
     } else {
@@ -223,8 +251,7 @@ public VALUE getIfExist(KEY key) throws IOException {
         cache.lookup(new CacheKey<>(key));
 
     if (cacheResult.getCacheStatus() == EXISTS) {
-      return codecRegistry.copyObject(cacheResult.getValue().getCacheValue(),
-          valueType);
+      return copyCacheValue(cacheResult.getValue());
     } else if (cacheResult.getCacheStatus() == NOT_EXIST) {
       return null;
     } else {
@@ -232,6 +259,48 @@ public VALUE getIfExist(KEY key) throws IOException {
     }
   }
 
+  /**
+   * Returns the values of the given keys. The keys found in the cache are
+   * served from it, the others are looked up in a single batch from the
+   * RocksDB table. The values are copies, as returned by {@link #get}.
+   */
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    List<VALUE> values = new ArrayList<>(keys.size());
+    List<Integer> missedIndexes = new ArrayList<>();
+    List<byte[]> missedKeys = new ArrayList<>();
+    for (KEY key : keys) {
+      CacheResult<CacheValue<VALUE>> cacheResult =
+          cache.lookup(new CacheKey<>(key));
+      if (cacheResult.getCacheStatus() == EXISTS) {
+        values.add(copyCacheValue(cacheResult.getValue()));
+      } else {
+        values.add(null);
+        if (cacheResult.getCacheStatus() != NOT_EXIST) {
+          missedIndexes.add(values.size() - 1);
+          missedKeys.add(codecRegistry.asRawData(key));
+        }
+      }
+    }
+    if (!missedKeys.isEmpty()) {
+      List<byte[]> rawValues = rawTable.multiGet(missedKeys);
+      for (int i = 0; i < missedIndexes.size(); i++) {
+        values.set(missedIndexes.get(i),
+            codecRegistry.asObject(rawValues.get(i), valueType));
+      }
+    }
+    return values;
+  }
+
+  private VALUE copyCacheValue(CacheValue<VALUE> cacheValue)
+      throws IOException {
+    // An encoded value is decoded to a new object, which need not be copied.
+    if (cacheValue instanceof EncodedCacheValue) {
+      return cacheValue.getCacheValue();
+    }
+    return codecRegistry.copyObject(cacheValue.getCacheValue(), valueType);
+  }
+
   private VALUE getFromTable(KEY key) throws IOException {
     byte[] keyBytes = codecRegistry.asRawData(key);
     byte[] valueBytes = rawTable.get(keyBytes);
@@ -256,6 +325,38 @@ public void deleteWithBatch(BatchOperation batch, KEY key)
 
   }
 
+  /**
+   * Deletes the key range from the RocksDB table only, the table cache is
+   * not updated. Not supported on a table whose cache is never cleaned up,
+   * as the deleted keys would still be served from the cache.
+   */
+  @Override
+  public void deleteRange(KEY beginKey, KEY endKey) throws IOException {
+    checkRangeDeleteSupported();
+    rawTable.deleteRange(codecRegistry.asRawData(beginKey),
+        codecRegistry.asRawData(endKey));
+  }
+
+  /**
+   * Deletes the key range from the RocksDB table only, the table cache is
+   * not updated. Not supported on a table whose cache is never cleaned up,
+   * as the deleted keys would still be served from the cache.
+   */
+  @Override
+  public void deleteRangeWithBatch(BatchOperation batch, KEY beginKey,
+      KEY endKey) throws IOException {
+    checkRangeDeleteSupported();
+    rawTable.deleteRangeWithBatch(batch, codecRegistry.asRawData(beginKey),
+        codecRegistry.asRawData(endKey));
+  }
+
+  private void checkRangeDeleteSupported() throws IOException {
+    if (cleanupPolicy == CacheCleanupPolicy.NEVER) {
+      throw new UnsupportedOperationException("Range delete is not " +
+          "supported on table " + getName() + " with a full table cache");
+    }
+  }
+
   @Override
   public TableIterator<KEY, TypedKeyValue> iterator() {
     TableIterator<byte[], ? extends KeyValue<byte[], byte[]>> iterator =
@@ -263,6 +364,26 @@ public TableIterator<KEY, TypedKeyValue> iterator() {
     return new TypedTableIterator(iterator, keyType, valueType);
   }
 
+  @Override
+  public TableIterator<KEY, TypedKeyValue> iterator(KEY prefix)
+      throws IOException {
+    TableIterator<byte[], ? extends KeyValue<byte[], byte[]>> iterator =
+        rawTable.iterator(toRawBound(prefix));
+    return new TypedTableIterator(iterator, keyType, valueType);
+  }
+
+  @Override
+  public TableIterator<KEY, TypedKeyValue> iterator(KEY lowerBound,
+      KEY upperBound) throws IOException {
+    TableIterator<byte[], ? extends KeyValue<byte[], byte[]>> iterator =
+        rawTable.iterator(toRawBound(lowerBound), toRawBound(upperBound));
+    return new TypedTableIterator(iterator, keyType, valueType);
+  }
+
+  private byte[] toRawBound(KEY bound) throws IOException {
+    return bound == null ? null : codecRegistry.asRawData(bound);
+  }
+
   @Override
   public String getName() throws IOException {
     return rawTable.getName();
@@ -283,7 +404,24 @@ public void close() throws Exception {
   public void addCacheEntry(CacheKey<KEY> cacheKey,
       CacheValue<VALUE> cacheValue) {
     // This will override the entry if there is already entry for this key.
-    cache.put(cacheKey, cacheValue);
+    cache.put(cacheKey, toCacheValue(cacheValue));
+  }
+
+  /**
+   * Encodes a present value, if the cache keeps values encoded.
+   */
+  private CacheValue<VALUE> toCacheValue(CacheValue<VALUE> cacheValue) {
+    if (cacheValueFormat == CacheValueFormat.OBJECT ||
+        cacheValue instanceof EncodedCacheValue || !cacheValue.isPresent()) {
+      return cacheValue;
+    }
+    try {
+      return EncodedCacheValue.encode(cacheValue.getCacheValue(),
+          cacheValue.getEpoch(), codecRegistry, valueType, cacheValueFormat);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode cache value of " +
+          valueType.getSimpleName(), e);
+    }
   }
 
   @Override
@@ -295,11 +433,22 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator() {
     return cache.iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator(
+      KEY startKey) {
+    return cache.iterator(new CacheKey<>(startKey));
+  }
+
   @Override
   public void cleanupCache(List<Long> epochs) {
     cache.cleanup(epochs);
   }
 
+  @Override
+  public long getCacheEncodedSize() {
+    return cache.getEncodedSize();
+  }
+
   @VisibleForTesting
   TableCache<CacheKey<KEY>, CacheValue<VALUE>> getCache() {
     return cache;
@@ -346,6 +495,12 @@ public KEY getKey() throws IOException {
     public VALUE getValue() throws IOException {
       return codecRegistry.asObject(rawKeyValue.getValue(), valueType);
     }
+
+    @Override
+    public VALUE getValue(Codec<VALUE> codec) throws IOException {
+      byte[] rawValue = rawKeyValue.getValue();
+      return rawValue == null ? null : codec.fromPersistedFormat(rawValue);
+    }
   }
 
   /**
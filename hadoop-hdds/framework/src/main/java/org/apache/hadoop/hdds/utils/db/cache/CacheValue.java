@@ -40,6 +40,14 @@ public VALUE getCacheValue() {
     return value.orNull();
   }
 
+  /**
+   * Returns false if the entry is marked for delete. Unlike
+   * {@link #getCacheValue()}, this does not decode an encoded value.
+   */
+  public boolean isPresent() {
+    return value.isPresent();
+  }
+
   public long getEpoch() {
     return epoch;
   }
@@ -0,0 +1,30 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+/**
+ * Format in which a table cache keeps its values.
+ */
+public enum CacheValueFormat {
+  OBJECT, // Values are kept as objects, this is the default.
+  HEAP, // Values are kept encoded by the table codec in heap byte arrays,
+  // and decoded on access.
+  OFF_HEAP // Values are kept encoded by the table codec in direct buffers
+  // outside of the heap, and decoded on access.
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.nio.ByteBuffer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Allocates small direct buffers by slicing them from shared slabs, instead
+ * of making a native allocation, with its own cleaner, for each buffer.
+ *
+ * The memory of a slab is never reused. A slab is freed by the garbage
+ * collector once none of the buffers sliced from it is reachable, so a
+ * single long lived buffer keeps its whole slab allocated. Buffers larger
+ * than a quarter of a slab are allocated on their own.
+ */
+final class DirectBufferArena {
+
+  private final int slabSize;
+
+  private ByteBuffer slab;
+
+  DirectBufferArena(int slabSize) {
+    Preconditions.checkArgument(slabSize > 0);
+    this.slabSize = slabSize;
+  }
+
+  /**
+   * Returns a read-only direct buffer holding a copy of the given data.
+   */
+  ByteBuffer copyOf(byte[] data) {
+    ByteBuffer buffer = allocate(data.length);
+    buffer.put(data);
+    buffer.flip();
+    return buffer.asReadOnlyBuffer();
+  }
+
+  private ByteBuffer allocate(int size) {
+    if (size > slabSize / 4) {
+      return ByteBuffer.allocateDirect(size);
+    }
+    ByteBuffer buffer;
+    synchronized (this) {
+      if (slab == null || slab.remaining() < size) {
+        slab = ByteBuffer.allocateDirect(slabSize);
+      }
+      buffer = slab.slice();
+      slab.position(slab.position() + size);
+    }
+    buffer.limit(size);
+    return buffer.slice();
+  }
+}
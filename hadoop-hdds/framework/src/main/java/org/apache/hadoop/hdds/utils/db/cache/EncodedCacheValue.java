@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.google.common.base.Optional;
+import org.apache.hadoop.hdds.utils.db.CodecRegistry;
+
+/**
+ * CacheValue which keeps the value encoded by its codec, so that the cache
+ * holds a single array or buffer for it instead of a graph of objects. The
+ * value is decoded on each access, which returns a new object, so changes
+ * to a returned value are not reflected in the cache.
+ *
+ * Only present values are encoded, entries marked for delete are kept as a
+ * plain {@link CacheValue}.
+ * @param <VALUE>
+ */
+public abstract class EncodedCacheValue<VALUE> extends CacheValue<VALUE> {
+
+  /**
+   * Size of the direct buffers which off heap values are sliced from.
+   */
+  private static final int OFF_HEAP_SLAB_SIZE = 4 * 1024 * 1024;
+
+  private static final DirectBufferArena OFF_HEAP_ARENA =
+      new DirectBufferArena(OFF_HEAP_SLAB_SIZE);
+
+  private final CodecRegistry codecRegistry;
+  private final Class<VALUE> valueType;
+
+  private EncodedCacheValue(long epoch, CodecRegistry codecRegistry,
+      Class<VALUE> valueType) {
+    super(Optional.absent(), epoch);
+    this.codecRegistry = codecRegistry;
+    this.valueType = valueType;
+  }
+
+  /**
+   * Encodes the value to be kept in the given format.
+   * @param value value to encode, should not be null.
+   * @param epoch
+   * @param codecRegistry registry with the codec of valueType.
+   * @param valueType
+   * @param format {@link CacheValueFormat#HEAP} or
+   *               {@link CacheValueFormat#OFF_HEAP}.
+   */
+  public static <VALUE> EncodedCacheValue<VALUE> encode(VALUE value,
+      long epoch, CodecRegistry codecRegistry, Class<VALUE> valueType,
+      CacheValueFormat format) throws IOException {
+    byte[] data = codecRegistry.asRawData(value);
+    switch (format) {
+    case HEAP:
+      return new HeapValue<>(data, epoch, codecRegistry, valueType);
+    case OFF_HEAP:
+      return new OffHeapValue<>(data, epoch, codecRegistry, valueType);
+    default:
+      throw new IllegalArgumentException(
+          "Values are not encoded in format " + format);
+    }
+  }
+
+  @Override
+  public VALUE getCacheValue() {
+    try {
+      return codecRegistry.asObject(getEncoded(), valueType);
+    } catch (IOException e) {
+      // The value was encoded by the same codec, so it should be decoded.
+      throw new IllegalStateException("Failed to decode cached value of " +
+          valueType.getSimpleName(), e);
+    }
+  }
+
+  @Override
+  public boolean isPresent() {
+    return true;
+  }
+
+  /**
+   * Returns the size in bytes of the encoded value.
+   */
+  public abstract int getEncodedSize();
+
+  protected abstract byte[] getEncoded();
+
+  /**
+   * Value encoded in a heap byte array.
+   */
+  private static final class HeapValue<VALUE>
+      extends EncodedCacheValue<VALUE> {
+
+    private final byte[] data;
+
+    private HeapValue(byte[] data, long epoch, CodecRegistry codecRegistry,
+        Class<VALUE> valueType) {
+      super(epoch, codecRegistry, valueType);
+      this.data = data;
+    }
+
+    @Override
+    public int getEncodedSize() {
+      return data.length;
+    }
+
+    @Override
+    protected byte[] getEncoded() {
+      return data;
+    }
+  }
+
+  /**
+   * Value encoded in a direct buffer sliced from a slab shared by the off
+   * heap values of all tables. The slab is freed when all of its values are
+   * garbage collected.
+   */
+  private static final class OffHeapValue<VALUE>
+      extends EncodedCacheValue<VALUE> {
+
+    private final ByteBuffer buffer;
+
+    private OffHeapValue(byte[] data, long epoch,
+        CodecRegistry codecRegistry, Class<VALUE> valueType) {
+      super(epoch, codecRegistry, valueType);
+      buffer = OFF_HEAP_ARENA.copyOf(data);
+    }
+
+    @Override
+    public int getEncodedSize() {
+      return buffer.capacity();
+    }
+
+    @Override
+    protected byte[] getEncoded() {
+      byte[] data = new byte[buffer.capacity()];
+      // Read through a duplicate, so concurrent readers do not share the
+      // buffer position.
+      buffer.duplicate().get(data);
+      return data;
+    }
+  }
+}
@@ -79,12 +79,30 @@
    */
   int size();
 
+  /**
+   * Return the total size in bytes of the encoded values in the cache.
+   * Values kept as objects are not counted.
+   * @return size of encoded values
+   */
+  long getEncodedSize();
+
   /**
    * Return an iterator for the cache.
    * @return iterator of the underlying cache for the table.
    */
   Iterator<Map.Entry<CACHEKEY, CACHEVALUE>> iterator();
 
+  /**
+   * Return an iterator for the cache, which returns the entries in key order
+   * starting from the first entry whose key is greater than or equal to
+   * startKey. Only the entries from startKey are visited, so a caller
+   * listing a range of keys touches only the entries in that range and not
+   * the whole cache.
+   * @param startKey
+   * @return iterator of the underlying cache for the table from startKey.
+   */
+  Iterator<Map.Entry<CACHEKEY, CACHEVALUE>> iterator(CACHEKEY startKey);
+
   /**
    * Check key exist in cache or not.
    *
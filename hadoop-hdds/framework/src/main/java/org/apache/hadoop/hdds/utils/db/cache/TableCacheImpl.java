@@ -19,10 +19,13 @@
 
 package org.apache.hadoop.hdds.utils.db.cache;
 
+import java.util.AbstractMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -31,6 +34,7 @@
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -58,7 +62,13 @@
       LoggerFactory.getLogger(TableCacheImpl.class);
 
   private final Map<CACHEKEY, CACHEVALUE> cache;
+  // Keys of a partial cache in sorted order, so that a range of the cache
+  // can be iterated without walking the whole cache. Full cache is already
+  // a sorted map, so this is not maintained for it.
+  private final NavigableSet<CACHEKEY> sortedKeys;
   private final NavigableSet<EpochEntry<CACHEKEY>> epochEntries;
+  // Total size of the encoded values in the cache.
+  private final AtomicLong encodedSize = new AtomicLong();
   private ExecutorService executorService;
   private CacheCleanupPolicy cleanupPolicy;
 
@@ -70,8 +80,10 @@ public TableCacheImpl(CacheCleanupPolicy cleanupPolicy) {
     // manner, so that list will be easy. For other we can go with Hash map.
     if (cleanupPolicy == CacheCleanupPolicy.NEVER) {
       cache = new ConcurrentSkipListMap<>();
+      sortedKeys = null;
     } else {
       cache = new ConcurrentHashMap<>();
+      sortedKeys = new ConcurrentSkipListSet<>();
     }
     epochEntries = new ConcurrentSkipListSet<>();
     // Created a singleThreadExecutor, so one cleanup will be running at a
@@ -91,12 +103,20 @@ public CACHEVALUE get(CACHEKEY cachekey) {
   public void loadInitial(CACHEKEY cacheKey, CACHEVALUE cacheValue) {
     // No need to add entry to epochEntries. Adding to cache is required during
     // normal put operation.
-    cache.put(cacheKey, cacheValue);
+    CACHEVALUE previous = cache.put(cacheKey, cacheValue);
+    encodedSize.addAndGet(encodedSize(cacheValue) - encodedSize(previous));
+    if (sortedKeys != null) {
+      sortedKeys.add(cacheKey);
+    }
   }
 
   @Override
   public void put(CACHEKEY cacheKey, CACHEVALUE value) {
-    cache.put(cacheKey, value);
+    CACHEVALUE previous = cache.put(cacheKey, value);
+    encodedSize.addAndGet(encodedSize(value) - encodedSize(previous));
+    if (sortedKeys != null) {
+      sortedKeys.add(cacheKey);
+    }
     epochEntries.add(new EpochEntry<>(value.getEpoch(), cacheKey));
   }
 
@@ -109,11 +129,32 @@ public int size() {
     return cache.size();
   }
 
+  @Override
+  public long getEncodedSize() {
+    return encodedSize.get();
+  }
+
+  private static long encodedSize(CacheValue cacheValue) {
+    return cacheValue instanceof EncodedCacheValue ?
+        ((EncodedCacheValue) cacheValue).getEncodedSize() : 0;
+  }
+
   @Override
   public Iterator<Map.Entry<CACHEKEY, CACHEVALUE>> iterator() {
     return cache.entrySet().iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CACHEKEY, CACHEVALUE>> iterator(
+      CACHEKEY startKey) {
+    if (sortedKeys == null) {
+      return ((NavigableMap<CACHEKEY, CACHEVALUE>) cache)
+          .tailMap(startKey, true).entrySet().iterator();
+    }
+    return new SortedCacheIterator(sortedKeys.tailSet(startKey, true)
+        .iterator());
+  }
+
   @VisibleForTesting
   protected void evictCache(List<Long> epochs) {
     EpochEntry<CACHEKEY> currentEntry;
@@ -131,13 +172,15 @@ protected void evictCache(List<Long> epochs) {
             LOG.debug("CacheKey {} with epoch {} is removed from cache",
                 k.getCacheKey(), currentEpoch);
             iterator.remove();
+            sortedKeys.remove(k);
+            encodedSize.addAndGet(-encodedSize(v));
             removed.set(true);
             return null;
           }
         } else if (cleanupPolicy == CacheCleanupPolicy.NEVER) {
           // Remove only entries which are marked for delete.
           if (v.getEpoch() == currentEpoch && epochs.contains(v.getEpoch())
-              && v.getCacheValue() == null) {
+              && !v.isPresent()) {
             LOG.debug("CacheKey {} with epoch {} is removed from cache",
                 k.getCacheKey(), currentEpoch);
             removed.set(true);
@@ -177,7 +220,7 @@ public CacheResult<CACHEVALUE> lookup(CACHEKEY cachekey) {
             null);
       }
     } else {
-      if (cachevalue.getCacheValue() != null) {
+      if (cachevalue.isPresent()) {
         return new CacheResult<>(CacheResult.CacheStatus.EXISTS, cachevalue);
       } else {
         // When entity is marked for delete, cacheValue will be set to null.
@@ -193,6 +236,49 @@ public Set<EpochEntry<CACHEKEY>> getEpochEntrySet() {
     return epochEntries;
   }
 
+  /**
+   * Iterator over the entries of a partial cache in key order. Keys are
+   * taken from the sorted key set and their current values from the cache,
+   * skipping keys which are evicted while iterating.
+   */
+  private final class SortedCacheIterator
+      implements Iterator<Map.Entry<CACHEKEY, CACHEVALUE>> {
+
+    private final Iterator<CACHEKEY> keyIterator;
+    private Map.Entry<CACHEKEY, CACHEVALUE> nextEntry;
+
+    private SortedCacheIterator(Iterator<CACHEKEY> keyIterator) {
+      this.keyIterator = keyIterator;
+      this.nextEntry = findNext();
+    }
+
+    private Map.Entry<CACHEKEY, CACHEVALUE> findNext() {
+      while (keyIterator.hasNext()) {
+        CACHEKEY cacheKey = keyIterator.next();
+        CACHEVALUE cacheValue = cache.get(cacheKey);
+        if (cacheValue != null) {
+          return new AbstractMap.SimpleImmutableEntry<>(cacheKey, cacheValue);
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextEntry != null;
+    }
+
+    @Override
+    public Map.Entry<CACHEKEY, CACHEVALUE> next() {
+      if (nextEntry == null) {
+        throw new NoSuchElementException();
+      }
+      Map.Entry<CACHEKEY, CACHEVALUE> current = nextEntry;
+      nextEntry = findNext();
+      return current;
+    }
+  }
+
   /**
    * Cleanup policies for table cache.
    */
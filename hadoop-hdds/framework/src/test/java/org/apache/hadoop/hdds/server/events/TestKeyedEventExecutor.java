@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.server.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+
+/**
+ * Testing the keyed executor of the event queue.
+ */
+public class TestKeyedEventExecutor {
+
+  private static final Event<Long> EVENT =
+      new TypedEvent<>(Long.class, "SCM_KEYED_EVENT");
+
+  private static final int KEYS = 4;
+
+  private EventQueue queue;
+
+  @Before
+  public void startEventQueue() {
+    DefaultMetricsSystem.initialize(getClass().getSimpleName());
+    queue = new EventQueue();
+  }
+
+  @After
+  public void stopEventQueue() {
+    DefaultMetricsSystem.shutdown();
+    queue.close();
+  }
+
+  @Test
+  public void eventsOfTheSameKeyAreHandledInOrder() {
+    Map<Long, List<Long>> handled = new HashMap<>();
+    for (long key = 0; key < KEYS; key++) {
+      handled.put(key, Collections.synchronizedList(new ArrayList<>()));
+    }
+    KeyedEventExecutor<Long> executor =
+        new KeyedEventExecutor<>("ordered", 3, 10, payload -> payload % KEYS);
+    queue.addHandler(EVENT, executor,
+        (payload, publisher) -> handled.get(payload % KEYS).add(payload));
+
+    int count = 1000;
+    for (long i = 0; i < count; i++) {
+      queue.fireEvent(EVENT, i);
+    }
+    queue.processAll(5000);
+
+    Assert.assertEquals(count, executor.queuedEvents());
+    Assert.assertEquals(count, executor.successfulEvents());
+    Assert.assertEquals(0, executor.failedEvents());
+    for (long key = 0; key < KEYS; key++) {
+      List<Long> events = handled.get(key);
+      Assert.assertEquals(count / KEYS, events.size());
+      for (int i = 0; i < events.size(); i++) {
+        Assert.assertEquals(key + i * KEYS, (long) events.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void eventsOfDifferentKeysAreHandledInParallel()
+      throws Exception {
+    KeyedEventExecutor<Long> executor =
+        new KeyedEventExecutor<>("parallel", KEYS, 10, payload -> payload);
+    for (long key = 1; key < KEYS; key++) {
+      Assert.assertNotEquals(executor.getPartition(0L),
+          executor.getPartition(key));
+    }
+
+    // Each handler waits for the others, which would never complete if the
+    // events were handled by the same thread.
+    CountDownLatch latch = new CountDownLatch(KEYS);
+    queue.addHandler(EVENT, executor, (payload, publisher) -> {
+      latch.countDown();
+      try {
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    });
+
+    for (long key = 0; key < KEYS; key++) {
+      queue.fireEvent(EVENT, key);
+    }
+    queue.processAll(20000);
+
+    Assert.assertEquals(KEYS, executor.successfulEvents());
+    Assert.assertEquals(0, executor.failedEvents());
+  }
+
+  @Test
+  public void failedEventsAreCounted() {
+    KeyedEventExecutor<Long> executor =
+        new KeyedEventExecutor<>("failing", 2, 10, payload -> payload);
+    queue.addHandler(EVENT, executor, (payload, publisher) -> {
+      if (payload % 2 == 0) {
+        throw new IllegalArgumentException("Even payload " + payload);
+      }
+    });
+
+    for (long i = 0; i < 10; i++) {
+      queue.fireEvent(EVENT, i);
+    }
+    queue.processAll(5000);
+
+    Assert.assertEquals(5, executor.successfulEvents());
+    Assert.assertEquals(5, executor.failedEvents());
+  }
+}
@@ -21,22 +21,35 @@
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.TableTuning.CachePriority;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.apache.hadoop.hdds.utils.db.TestRDBTableStore.bytes;
+import static org.apache.hadoop.hdds.utils.db.TestRDBTableStore.readKeys;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE;
 
 /**
  * Tests RDBStore creation.
  */
 public class TestDBStoreBuilder {
 
+  private static final String BLOCK_CACHE_CAPACITY =
+      "rocksdb.block-cache-capacity";
+  private static final String BLOCK_CACHE_USAGE = "rocksdb.block-cache-usage";
+
   @Rule
   public TemporaryFolder folder = new TemporaryFolder();
   @Rule
@@ -170,4 +183,106 @@ public void builderWithDiskProfileWrites() throws Exception {
   }
 
 
-}
\ No newline at end of file
+
+  @Test
+  public void builderWithTunedTables() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    File newFolder = folder.newFolder();
+    if(!newFolder.exists()) {
+      Assert.assertTrue(newFolder.mkdirs());
+    }
+    String sourceName = "RDBColumnFamilyMetrics_Tuned.db";
+    try (DBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Tuned.db")
+        .setPath(newFolder.toPath())
+        .addTable("Keys", TableTuning.newBuilder()
+            .setCachePriority(CachePriority.HIGH)
+            .setPrefixLength(4)
+            .build())
+        .addTable("Queue", TableTuning.newBuilder()
+            .setCachePriority(CachePriority.LOW)
+            .build())
+        .build()) {
+      Assert.assertNotNull(
+          DefaultMetricsSystem.instance().getSource(sourceName));
+
+      try (Table<byte[], byte[]> keys = dbStore.getTable("Keys")) {
+        byte[] value = bytes("value");
+        for (String key : Arrays.asList("/v1/b1/k1", "/v1/b1/k2",
+            "/v1/b2/k1", "/v2/b1/k1", "/x")) {
+          keys.put(bytes(key), value);
+        }
+        dbStore.flush();
+
+        // Prefixes at least as long as the prefix length use the filters.
+        Assert.assertEquals(Arrays.asList("/v1/b1/k1", "/v1/b1/k2"),
+            readKeys(keys.iterator(bytes("/v1/b1/"))));
+        Assert.assertEquals(Arrays.asList("/v2/b1/k1"),
+            readKeys(keys.iterator(bytes("/v2/"))));
+        // Shorter prefixes and unbounded iterators see the whole table.
+        Assert.assertEquals(Arrays.asList("/v1/b1/k1", "/v1/b1/k2",
+            "/v1/b2/k1", "/v2/b1/k1"), readKeys(keys.iterator(bytes("/v"))));
+        try (TableIterator<byte[], ? extends Table.KeyValue<byte[], byte[]>>
+                 iter = keys.iterator()) {
+          Assert.assertArrayEquals(bytes("/v2/b1/k1"),
+              iter.seek(bytes("/v1/c")).getKey());
+          iter.next();
+          Assert.assertArrayEquals(bytes("/x"), iter.next().getKey());
+        }
+      }
+
+      try (Table<byte[], byte[]> queue = dbStore.getTable("Queue")) {
+        queue.put(bytes("1"), bytes("value"));
+        Assert.assertArrayEquals(bytes("value"), queue.get(bytes("1")));
+      }
+    }
+    Assert.assertNull(DefaultMetricsSystem.instance().getSource(sourceName));
+  }
+
+  @Test
+  public void tablesShareBlockCache() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_METADATA_STORE_ROCKSDB_BLOCK_CACHE_SIZE, "8MB");
+    try (DBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Shared.db")
+        .setPath(folder.newFolder().toPath())
+        .addTable("First")
+        .addTable("Second")
+        .build();
+         Table<byte[], byte[]> first = dbStore.getTable("First");
+         Table<byte[], byte[]> second = dbStore.getTable("Second")) {
+      RocksDB db = ((RDBStore) dbStore).getDb();
+      ColumnFamilyHandle firstHandle = ((RDBTable) first).getHandle();
+      ColumnFamilyHandle secondHandle = ((RDBTable) second).getHandle();
+      Assert.assertEquals(8 * 1024 * 1024,
+          db.getLongProperty(firstHandle, BLOCK_CACHE_CAPACITY));
+
+      first.put(bytes("key"), bytes("value"));
+      dbStore.flush();
+      Assert.assertArrayEquals(bytes("value"), first.get(bytes("key")));
+
+      // The blocks read from the first table are in the cache of the second.
+      long usage = db.getLongProperty(firstHandle, BLOCK_CACHE_USAGE);
+      Assert.assertTrue(usage > 0);
+      Assert.assertEquals(usage,
+          db.getLongProperty(secondHandle, BLOCK_CACHE_USAGE));
+    }
+  }
+
+  @Test
+  public void blockCacheSizeDefaultsToSizePerTable() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    try (DBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Default.db")
+        .setPath(folder.newFolder().toPath())
+        .addTable("First")
+        .addTable("Second")
+        .build();
+         Table<byte[], byte[]> first = dbStore.getTable("First")) {
+      // Two tables and the default column family.
+      Assert.assertEquals(3 * 256L * 1024 * 1024,
+          ((RDBStore) dbStore).getDb().getLongProperty(
+              ((RDBTable) first).getHandle(), BLOCK_CACHE_CAPACITY));
+    }
+  }
+}
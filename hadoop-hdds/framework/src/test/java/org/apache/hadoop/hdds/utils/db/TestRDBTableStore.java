@@ -364,4 +364,111 @@ public void testCountEstimatedRowsInTable() throws Exception {
       Assert.assertTrue(keyCount > 0 && keyCount <= numKeys);
     }
   }
+
+  @Test
+  public void testMultiGet() throws Exception {
+    try (Table<byte[], byte[]> testTable = rdbStore.getTable("Fifth")) {
+      List<byte[]> keys = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        byte[] key = ("key" + i).getBytes(StandardCharsets.UTF_8);
+        keys.add(key);
+        if (i % 2 == 0) {
+          testTable.put(key, ("value" + i).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+
+      List<byte[]> values = testTable.multiGet(keys);
+      Assert.assertEquals(keys.size(), values.size());
+      for (int i = 0; i < keys.size(); i++) {
+        if (i % 2 == 0) {
+          Assert.assertArrayEquals(
+              ("value" + i).getBytes(StandardCharsets.UTF_8), values.get(i));
+        } else {
+          Assert.assertNull(values.get(i));
+        }
+      }
+      Assert.assertTrue(testTable.multiGet(new ArrayList<>()).isEmpty());
+    }
+  }
+
+  @Test
+  public void testBoundedIterators() throws Exception {
+    try (Table<byte[], byte[]> testTable = rdbStore.getTable("Sixth")) {
+      byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+      for (String key : Arrays.asList("a/1", "a/2", "a/3", "b/1", "b/2",
+          "c/1")) {
+        testTable.put(key.getBytes(StandardCharsets.UTF_8), value);
+      }
+
+      Assert.assertEquals(Arrays.asList("b/1", "b/2"),
+          readKeys(testTable.iterator(bytes("b/"))));
+      Assert.assertEquals(Arrays.asList("a/2", "a/3", "b/1"),
+          readKeys(testTable.iterator(bytes("a/2"), bytes("b/2"))));
+      Assert.assertEquals(Arrays.asList("b/2", "c/1"),
+          readKeys(testTable.iterator(bytes("b/2"), null)));
+      Assert.assertEquals(Arrays.asList("a/1", "a/2"),
+          readKeys(testTable.iterator(null, bytes("a/3"))));
+      Assert.assertTrue(readKeys(testTable.iterator(bytes("d/"))).isEmpty());
+
+      // Seeking within the bounds.
+      try (TableIterator<byte[], ? extends Table.KeyValue<byte[], byte[]>>
+               iter = testTable.iterator(bytes("a/"))) {
+        Assert.assertArrayEquals(bytes("a/2"), iter.seek(bytes("a/2"))
+            .getKey());
+        iter.next();
+        iter.next();
+        Assert.assertFalse(iter.hasNext());
+      }
+    }
+  }
+
+  @Test
+  public void testPrefixUpperBound() {
+    Assert.assertArrayEquals(new byte[] {1, 3},
+        RDBTable.getPrefixUpperBound(new byte[] {1, 2}));
+    Assert.assertArrayEquals(new byte[] {2},
+        RDBTable.getPrefixUpperBound(new byte[] {1, (byte) 0xFF}));
+    Assert.assertNull(
+        RDBTable.getPrefixUpperBound(new byte[] {(byte) 0xFF, (byte) 0xFF}));
+  }
+
+  @Test
+  public void testDeleteRange() throws Exception {
+    try (Table<byte[], byte[]> testTable = rdbStore.getTable("Seventh")) {
+      byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+      for (String key : Arrays.asList("a/1", "b/1", "b/2", "c/1", "d/1")) {
+        testTable.put(key.getBytes(StandardCharsets.UTF_8), value);
+      }
+
+      testTable.deleteRange(bytes("b/"), bytes("c/"));
+      Assert.assertEquals(Arrays.asList("a/1", "c/1", "d/1"),
+          readKeys(testTable.iterator()));
+
+      try (BatchOperation batch = rdbStore.initBatchOperation()) {
+        testTable.deleteRangeWithBatch(batch, bytes("c/"), bytes("d/1"));
+        Assert.assertNotNull(testTable.get(bytes("c/1")));
+        rdbStore.commitBatchOperation(batch);
+      }
+      Assert.assertEquals(Arrays.asList("a/1", "d/1"),
+          readKeys(testTable.iterator()));
+    }
+  }
+
+  static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  static List<String> readKeys(
+      TableIterator<byte[], ? extends Table.KeyValue<byte[], byte[]>> iter)
+      throws IOException {
+    List<String> keys = new ArrayList<>();
+    try {
+      while (iter.hasNext()) {
+        keys.add(StringUtils.bytes2String(iter.next().getKey()));
+      }
+    } finally {
+      iter.close();
+    }
+    return keys;
+  }
 }
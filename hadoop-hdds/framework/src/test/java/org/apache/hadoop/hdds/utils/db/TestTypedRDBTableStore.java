@@ -36,6 +36,9 @@
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValueFormat;
+import org.apache.hadoop.hdds.utils.db.cache.EncodedCacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.TableCacheImpl;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -264,6 +267,33 @@ public void testTypedTableWithCache() throws Exception {
     }
   }
 
+  @Test
+  public void testTypedTableWithEncodedCacheValues() throws Exception {
+    try (Table<String, String> testTable = new TypedTable<>(
+        rdbStore.getTable("Eighth"), codecRegistry, String.class,
+        String.class, TableCacheImpl.CacheCleanupPolicy.MANUAL,
+        CacheValueFormat.OFF_HEAP)) {
+      testTable.addCacheEntry(new CacheKey<>("key1"),
+          new CacheValue<>(Optional.of("value1"), 1));
+      testTable.addCacheEntry(new CacheKey<>("key2"),
+          new CacheValue<>(Optional.absent(), 2));
+
+      CacheValue<String> cacheValue =
+          testTable.getCacheValue(new CacheKey<>("key1"));
+      Assert.assertTrue(cacheValue instanceof EncodedCacheValue);
+      Assert.assertEquals(1, cacheValue.getEpoch());
+      Assert.assertEquals("value1", testTable.get("key1"));
+      Assert.assertTrue(testTable.isExist("key1"));
+      Assert.assertFalse(testTable.isExist("key2"));
+      Assert.assertEquals("value1".length(),
+          testTable.getCacheEncodedSize());
+
+      testTable.cleanupCache(Arrays.asList(1L, 2L));
+      GenericTestUtils.waitFor(() -> testTable.getCacheEncodedSize() == 0,
+          100, 5000);
+    }
+  }
+
   @Test
   public void testTypedTableWithCacheWithFewDeletedOperationType()
       throws Exception {
@@ -408,4 +438,51 @@ public void testByteArrayTypedTable() throws Exception {
       Assert.assertSame(value, testTable.get(key));
     }
   }
+
+  @Test
+  public void testMultiGetWithCache() throws Exception {
+    try (Table<String, String> testTable = createTypedTable(
+        "Sixth")) {
+      testTable.put("key1", "value1");
+      testTable.put("key2", "value2");
+      testTable.addCacheEntry(new CacheKey<>("key2"),
+          new CacheValue<>(Optional.absent(), 1L));
+      testTable.addCacheEntry(new CacheKey<>("key3"),
+          new CacheValue<>(Optional.of("value3"), 1L));
+
+      Assert.assertEquals(Arrays.asList("value1", null, "value3", null),
+          testTable.multiGet(
+              Arrays.asList("key1", "key2", "key3", "key4")));
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testDeleteRangeWithFullCache() throws Exception {
+    try (Table<String, String> testTable = new TypedTable<>(
+        rdbStore.getTable("Seven"), codecRegistry, String.class,
+        String.class, TableCacheImpl.CacheCleanupPolicy.NEVER)) {
+      testTable.deleteRange("a", "b");
+    }
+  }
+
+  @Test
+  public void testPrefixIterator() throws Exception {
+    try (Table<String, String> testTable = createTypedTable(
+        "Fourth")) {
+      for (String key : Arrays.asList("/vol/bucket/a", "/vol/bucket/b",
+          "/vol/bucket0", "/vol/bucket1/a", "/vol/buck/a")) {
+        testTable.put(key, key);
+      }
+
+      List<String> keys = new ArrayList<>();
+      try (TableIterator<String, ? extends KeyValue<String, String>> iter =
+               testTable.iterator("/vol/bucket/")) {
+        while (iter.hasNext()) {
+          keys.add(iter.next().getKey());
+        }
+      }
+      Assert.assertEquals(Arrays.asList("/vol/bucket/a", "/vol/bucket/b"),
+          keys);
+    }
+  }
 }
@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Class tests the direct buffer arena of off heap cache values.
+ */
+public class TestDirectBufferArena {
+
+  @Test
+  public void testCopies() {
+    DirectBufferArena arena = new DirectBufferArena(64);
+    List<byte[]> values = new ArrayList<>();
+    List<ByteBuffer> buffers = new ArrayList<>();
+    // Values of 0 to 20 bytes, the largest ones are not sliced from a slab.
+    for (int i = 0; i <= 20; i++) {
+      byte[] value = new byte[i];
+      for (int j = 0; j < i; j++) {
+        value[j] = (byte) (i + j);
+      }
+      values.add(value);
+      buffers.add(arena.copyOf(value));
+    }
+
+    for (int i = 0; i < values.size(); i++) {
+      ByteBuffer buffer = buffers.get(i);
+      Assert.assertTrue(buffer.isDirect());
+      Assert.assertEquals(values.get(i).length, buffer.capacity());
+      byte[] data = new byte[buffer.remaining()];
+      buffer.duplicate().get(data);
+      Assert.assertArrayEquals(values.get(i), data);
+    }
+  }
+}
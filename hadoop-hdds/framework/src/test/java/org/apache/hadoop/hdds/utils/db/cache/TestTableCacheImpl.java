@@ -22,10 +22,13 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import com.google.common.base.Optional;
+import org.apache.hadoop.hdds.utils.db.CodecRegistry;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -392,4 +395,98 @@ private int writeToCache(int count, int startVal, long sleep)
     }
     return count;
   }
+
+  @Test
+  public void testRangeIterator() {
+    for (int i = 0; i < 10; i++) {
+      tableCache.put(new CacheKey<>("/vol/bucket1/key" + i),
+          new CacheValue<>(Optional.of(Integer.toString(i)), i));
+      tableCache.put(new CacheKey<>("/vol/bucket2/key" + i),
+          new CacheValue<>(Optional.of(Integer.toString(i)), i + 10));
+    }
+
+    String prefix = "/vol/bucket1/";
+    Iterator<Map.Entry<CacheKey<String>, CacheValue<String>>> iterator =
+        tableCache.iterator(new CacheKey<>(prefix + "key5"));
+    List<String> keys = new ArrayList<>();
+    while (iterator.hasNext()) {
+      String key = iterator.next().getKey().getCacheKey();
+      if (!key.startsWith(prefix)) {
+        break;
+      }
+      keys.add(key);
+    }
+
+    Assert.assertEquals(5, keys.size());
+    for (int i = 0; i < 5; i++) {
+      Assert.assertEquals(prefix + "key" + (i + 5), keys.get(i));
+    }
+
+    // Evicted entries should not be returned by the iterator.
+    List<Long> epochs = new ArrayList<>();
+    for (long i = 10; i < 20; i++) {
+      epochs.add(i);
+    }
+    tableCache.evictCache(epochs);
+
+    iterator = tableCache.iterator(new CacheKey<>("/vol/bucket2/"));
+    if (cacheCleanupPolicy == TableCacheImpl.CacheCleanupPolicy.MANUAL) {
+      Assert.assertFalse(iterator.hasNext());
+    } else {
+      Assert.assertTrue(iterator.hasNext());
+      Assert.assertEquals("/vol/bucket2/key0",
+          iterator.next().getKey().getCacheKey());
+    }
+  }
+
+  @Test
+  public void testEncodedValues() throws Exception {
+    CodecRegistry codecRegistry = new CodecRegistry();
+    long expectedSize = 0;
+    for (int i = 0; i < 10; i++) {
+      String value = "value" + i;
+      CacheValueFormat format = i % 2 == 0 ?
+          CacheValueFormat.HEAP : CacheValueFormat.OFF_HEAP;
+      EncodedCacheValue<String> cacheValue = EncodedCacheValue.encode(value,
+          i, codecRegistry, String.class, format);
+      Assert.assertEquals(value.length(), cacheValue.getEncodedSize());
+      tableCache.put(new CacheKey<>(Integer.toString(i)), cacheValue);
+      expectedSize += value.length();
+    }
+    Assert.assertEquals(expectedSize, tableCache.getEncodedSize());
+
+    // Each access decodes a new copy of the value.
+    CacheResult<CacheValue<String>> result =
+        tableCache.lookup(new CacheKey<>("3"));
+    Assert.assertEquals(CacheResult.CacheStatus.EXISTS,
+        result.getCacheStatus());
+    Assert.assertEquals("value3", result.getValue().getCacheValue());
+    Assert.assertNotSame(result.getValue().getCacheValue(),
+        result.getValue().getCacheValue());
+
+    // Overriding an entry replaces the size of its value.
+    tableCache.put(new CacheKey<>("0"), EncodedCacheValue.encode("value10",
+        10, codecRegistry, String.class, CacheValueFormat.HEAP));
+    expectedSize += 1;
+    Assert.assertEquals(expectedSize, tableCache.getEncodedSize());
+
+    // Marking an entry for delete drops the size of its value.
+    tableCache.put(new CacheKey<>("1"),
+        new CacheValue<>(Optional.absent(), 11));
+    expectedSize -= "value1".length();
+    Assert.assertEquals(expectedSize, tableCache.getEncodedSize());
+    Assert.assertEquals(CacheResult.CacheStatus.NOT_EXIST,
+        tableCache.lookup(new CacheKey<>("1")).getCacheStatus());
+
+    List<Long> epochs = new ArrayList<>();
+    for (long i = 0; i <= 11; i++) {
+      epochs.add(i);
+    }
+    tableCache.evictCache(epochs);
+    if (cacheCleanupPolicy == TableCacheImpl.CacheCleanupPolicy.MANUAL) {
+      Assert.assertEquals(0, tableCache.getEncodedSize());
+    } else {
+      Assert.assertEquals(expectedSize, tableCache.getEncodedSize());
+    }
+  }
 }
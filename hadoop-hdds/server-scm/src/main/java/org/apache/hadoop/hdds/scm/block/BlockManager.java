@@ -49,6 +49,23 @@ AllocatedBlock allocateBlock(long size, HddsProtos.ReplicationType type,
       HddsProtos.ReplicationFactor factor, String owner,
       ExcludeList excludeList) throws IOException;
 
+  /**
+   * Allocates a number of new blocks for a given size. The blocks that fit
+   * in a matching container are allocated in it at once.
+   * @param size - Block Size
+   * @param num - Number of blocks to allocate
+   * @param type Replication Type
+   * @param factor - Replication Factor
+   * @param excludeList List of datanodes/containers to exclude during block
+   *                    allocation.
+   * @return the allocated blocks, fewer than requested if no container
+   * could be found for the others.
+   * @throws IOException
+   */
+  List<AllocatedBlock> allocateBlocks(long size, int num,
+      HddsProtos.ReplicationType type, HddsProtos.ReplicationFactor factor,
+      String owner, ExcludeList excludeList) throws IOException;
+
   /**
    * Deletes a list of blocks in an atomic operation. Internally, SCM
    * writes these blocks into a {@link DeletedBlockLog} and deletes them
@@ -19,6 +19,7 @@
 import javax.management.ObjectName;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +35,7 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ScmOps;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.ScmUtils;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.ContainerManager;
 import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
@@ -151,8 +153,33 @@ public void stop() throws IOException {
   public AllocatedBlock allocateBlock(final long size, ReplicationType type,
       ReplicationFactor factor, String owner, ExcludeList excludeList)
       throws IOException {
+    List<AllocatedBlock> blocks =
+        allocateBlocks(size, 1, type, factor, owner, excludeList);
+    return blocks.isEmpty() ? null : blocks.get(0);
+  }
+
+  /**
+   * Allocates a number of blocks and returns their info. The blocks that
+   * fit in the free space of a matching container are allocated in it at
+   * once, and another container is matched only for the rest of them.
+   *
+   * @param size - Block Size
+   * @param num - Number of blocks
+   * @param type Replication Type
+   * @param factor - Replication Factor
+   * @param excludeList List of datanodes/containers to exclude during block
+   *                    allocation.
+   * @return Allocated blocks, fewer than requested if no container could be
+   * found for the others.
+   * @throws IOException on failure.
+   */
+  @Override
+  public List<AllocatedBlock> allocateBlocks(final long size, int num,
+      ReplicationType type, ReplicationFactor factor, String owner,
+      ExcludeList excludeList) throws IOException {
     if (LOG.isTraceEnabled()) {
-      LOG.trace("Size : {} , type : {}, factor : {} ", size, type, factor);
+      LOG.trace("Size : {} , num : {}, type : {}, factor : {} ", size, num,
+          type, factor);
     }
     ScmUtils.preCheck(ScmOps.allocateBlock, safeModePrecheck);
     if (size < 0 || size > containerSize) {
@@ -161,6 +188,68 @@ public AllocatedBlock allocateBlock(final long size, ReplicationType type,
           INVALID_BLOCK_SIZE);
     }
 
+    List<AllocatedBlock> blocks = new ArrayList<>(num);
+    // Space of each container taken by the blocks allocated so far, which
+    // is not part of the used bytes of the container yet.
+    Map<ContainerID, Long> allocatedBytes = new HashMap<>();
+    ExcludeList exclude = excludeList;
+    while (blocks.size() < num) {
+      ContainerInfo containerInfo =
+          getMatchingContainer(size, type, factor, owner, exclude);
+      if (containerInfo == null) {
+        // we have tried all strategies we know and but somehow we are not
+        // able to get a container for this block. Log that info and return
+        // the blocks allocated so far.
+        LOG.error(
+            "Unable to allocate a block for the size: {}, type: {}, factor: {}",
+            size, type, factor);
+        break;
+      }
+      ContainerID id = containerInfo.containerID();
+      int remaining = num - blocks.size();
+      long free = containerSize - containerInfo.getUsedBytes()
+          - allocatedBytes.getOrDefault(id, 0L);
+      int count = size == 0 ? remaining : (int) Math.min(remaining,
+          Math.max(free, 0) / size);
+      List<AllocatedBlock> newBlocks = count > 0 ?
+          newBlocks(containerInfo, count) : Collections.emptyList();
+      if (newBlocks.isEmpty()) {
+        // The container was filled by the blocks allocated before, or its
+        // pipeline was closed since it was matched, so the rest of the
+        // blocks are allocated in another container.
+        if (exclude == excludeList) {
+          exclude = copyOf(excludeList);
+        }
+        exclude.addConatinerId(id);
+        continue;
+      }
+      allocatedBytes.merge(id, size * newBlocks.size(), Long::sum);
+      blocks.addAll(newBlocks);
+    }
+    return blocks;
+  }
+
+  /**
+   * Returns a copy of the exclude list of the client, to which the
+   * containers skipped by an allocation are added.
+   */
+  private static ExcludeList copyOf(ExcludeList excludeList) {
+    ExcludeList copy = new ExcludeList();
+    copy.addDatanodes(excludeList.getDatanodes());
+    excludeList.getContainerIds().forEach(copy::addConatinerId);
+    excludeList.getPipelineIds().forEach(copy::addPipeline);
+    return copy;
+  }
+
+  /**
+   * Finds an open container with space for a block of the given size, in
+   * an open pipeline of the given type and factor.
+   *
+   * @return the container, null if none could be found.
+   */
+  private ContainerInfo getMatchingContainer(final long size,
+      ReplicationType type, ReplicationFactor factor, String owner,
+      ExcludeList excludeList) {
     /*
       Here is the high level logic.
 
@@ -232,43 +321,44 @@ public AllocatedBlock allocateBlock(final long size, ReplicationType type,
           pipeline, excludeList.getContainerIds());
 
       if (containerInfo != null) {
-        return newBlock(containerInfo);
+        return containerInfo;
       }
     }
-
-    // we have tried all strategies we know and but somehow we are not able
-    // to get a container for this block. Log that info and return a null.
-    LOG.error(
-        "Unable to allocate a block for the size: {}, type: {}, factor: {}",
-        size, type, factor);
     return null;
   }
 
   /**
-   * newBlock - returns a new block assigned to a container.
+   * newBlocks - returns new blocks assigned to a container.
    *
    * @param containerInfo - Container Info.
-   * @return AllocatedBlock
+   * @param num - Number of blocks.
+   * @return AllocatedBlocks, empty if the pipeline of the container is not
+   * found.
    */
-  private AllocatedBlock newBlock(ContainerInfo containerInfo) {
+  private List<AllocatedBlock> newBlocks(ContainerInfo containerInfo,
+      int num) {
     try {
       final Pipeline pipeline = pipelineManager
           .getPipeline(containerInfo.getPipelineID());
-      // TODO : Revisit this local ID allocation when HA is added.
-      long localID = UniqueId.next();
       long containerID = containerInfo.getContainerID();
-      AllocatedBlock.Builder abb =  new AllocatedBlock.Builder()
-          .setContainerBlockID(new ContainerBlockID(containerID, localID))
-          .setPipeline(pipeline);
-      if (LOG.isTraceEnabled()) {
-        LOG.trace("New block allocated : {} Container ID: {}", localID,
-            containerID);
+      List<AllocatedBlock> blocks = new ArrayList<>(num);
+      for (int i = 0; i < num; i++) {
+        // TODO : Revisit this local ID allocation when HA is added.
+        long localID = UniqueId.next();
+        blocks.add(new AllocatedBlock.Builder()
+            .setContainerBlockID(new ContainerBlockID(containerID, localID))
+            .setPipeline(pipeline)
+            .build());
+        if (LOG.isTraceEnabled()) {
+          LOG.trace("New block allocated : {} Container ID: {}", localID,
+              containerID);
+        }
+        pipelineManager.incNumBlocksAllocatedMetric(pipeline.getId());
       }
-      pipelineManager.incNumBlocksAllocatedMetric(pipeline.getId());
-      return abb.build();
+      return blocks;
     } catch (PipelineNotFoundException ex) {
       LOG.error("Pipeline Machine count is zero.", ex);
-      return null;
+      return Collections.emptyList();
     }
   }
 
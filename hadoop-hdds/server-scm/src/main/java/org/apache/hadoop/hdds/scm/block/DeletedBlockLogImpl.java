@@ -25,7 +25,6 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -63,6 +62,11 @@
  * of each transaction so as long as transaction is still valid, they get
  * equally same chance to be retrieved which only depends on the nature
  * order of the transaction ID.
+ * <p>
+ * A scan stops as soon as the datanodes have enough transactions, so its
+ * cost depends on the number of transactions sent and not on the size of
+ * the log. The number of valid transactions is also maintained in memory
+ * instead of counting them in the log.
  */
 public class DeletedBlockLogImpl
     implements DeletedBlockLog, EventHandler<DeleteBlockStatus> {
@@ -76,6 +80,12 @@
   private final Lock lock;
   // Maps txId to set of DNs which are successful in committing the transaction
   private Map<Long, Set<UUID>> transactionToDNsCommitMap;
+  // The last transaction ID scanned by getTransactions, the next scan
+  // continues after it.
+  private long lastScannedTxID;
+  // Number of transactions with count > -1, loaded from the log at the
+  // first use, -1 until then.
+  private int numOfValidTransactions = -1;
 
   public DeletedBlockLogImpl(ConfigurationSource conf,
                              ContainerManager containerManager,
@@ -148,6 +158,9 @@ public void incrementCount(List<Long> txIDs) throws IOException {
         }
         scmMetadataStore.getDeletedBlocksTXTable().put(txID,
             builder.build());
+        if (block.getCount() > -1 && builder.getCount() == -1) {
+          updateNumOfValidTransactions(-1);
+        }
       } catch (IOException ex) {
         LOG.warn("Cannot increase count for txID " + txID, ex);
         // We do not throw error here, since we don't want to abort the loop.
@@ -219,7 +232,12 @@ public void commitTransactions(
             if (dnsWithCommittedTxn.containsAll(containerDns)) {
               transactionToDNsCommitMap.remove(txID);
               LOG.debug("Purging txId={} from block deletion log", txID);
+              DeletedBlocksTransaction tx =
+                  scmMetadataStore.getDeletedBlocksTXTable().get(txID);
               scmMetadataStore.getDeletedBlocksTXTable().delete(txID);
+              if (tx != null && tx.getCount() > -1) {
+                updateNumOfValidTransactions(-1);
+              }
             }
           }
           LOG.debug("Datanode txId={} containerId={} committed by dnId={}",
@@ -264,6 +282,7 @@ public void addTransaction(long containerID, List<Long> blocks)
       DeletedBlocksTransaction tx =
           constructNewTransaction(nextTXID, containerID, blocks);
       scmMetadataStore.getDeletedBlocksTXTable().put(nextTXID, tx);
+      updateNumOfValidTransactions(1);
     } finally {
       lock.unlock();
     }
@@ -273,23 +292,36 @@ public void addTransaction(long containerID, List<Long> blocks)
   public int getNumOfValidTransactions() throws IOException {
     lock.lock();
     try {
-      final AtomicInteger num = new AtomicInteger(0);
-      try (TableIterator<Long,
-          ? extends Table.KeyValue<Long, DeletedBlocksTransaction>> iter =
-               scmMetadataStore.getDeletedBlocksTXTable().iterator()) {
-        while (iter.hasNext()) {
-          DeletedBlocksTransaction delTX = iter.next().getValue();
-          if (delTX.getCount() > -1) {
-            num.incrementAndGet();
+      if (numOfValidTransactions < 0) {
+        int num = 0;
+        try (TableIterator<Long,
+            ? extends Table.KeyValue<Long, DeletedBlocksTransaction>> iter =
+                 scmMetadataStore.getDeletedBlocksTXTable().iterator()) {
+          while (iter.hasNext()) {
+            DeletedBlocksTransaction delTX = iter.next().getValue();
+            if (delTX.getCount() > -1) {
+              num++;
+            }
           }
         }
+        numOfValidTransactions = num;
       }
-      return num.get();
+      return numOfValidTransactions;
     } finally {
       lock.unlock();
     }
   }
 
+  /**
+   * Updates the number of valid transactions, if it is already loaded from
+   * the log. Should be called with the lock held.
+   */
+  private void updateNumOfValidTransactions(int delta) {
+    if (numOfValidTransactions >= 0) {
+      numOfValidTransactions += delta;
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -310,6 +342,7 @@ public void addTransactions(Map<Long, List<Long>> containerBlocksMap)
             nextTXID, tx);
       }
       scmMetadataStore.getStore().commitBatchOperation(batch);
+      updateNumOfValidTransactions(containerBlocksMap.size());
     } finally {
       lock.unlock();
     }
@@ -328,15 +361,33 @@ public Map<Long, Long> getTransactions(
       try (TableIterator<Long,
           ? extends Table.KeyValue<Long, DeletedBlocksTransaction>> iter =
                scmMetadataStore.getDeletedBlocksTXTable().iterator()) {
-        while (iter.hasNext()) {
+        // Continue after the last scanned transaction, then wrap around to
+        // the beginning of the log, until it is scanned once or the
+        // datanodes have enough transactions.
+        final long startTxID = lastScannedTxID;
+        boolean wrapped = false;
+        iter.seek(startTxID + 1);
+        while (!transactions.isFull()) {
+          if (!iter.hasNext()) {
+            if (wrapped || startTxID == 0) {
+              break;
+            }
+            iter.seekToFirst();
+            wrapped = true;
+            continue;
+          }
           Table.KeyValue<Long, DeletedBlocksTransaction> keyValue =
               iter.next();
+          if (wrapped && keyValue.getKey() > startTxID) {
+            break;
+          }
           DeletedBlocksTransaction block = keyValue.getValue();
+          lastScannedTxID = block.getTxID();
           if (block.getCount() > -1 && block.getCount() <= maxRetry) {
             if (transactions.addTransaction(block,
                 transactionToDNsCommitMap.get(block.getTxID()))) {
-              deleteTransactionMap.put(block.getContainerID(),
-                  block.getTxID());
+              deleteTransactionMap.merge(block.getContainerID(),
+                  block.getTxID(), Math::max);
               transactionToDNsCommitMap
                   .putIfAbsent(block.getTxID(), new LinkedHashSet<>());
             }
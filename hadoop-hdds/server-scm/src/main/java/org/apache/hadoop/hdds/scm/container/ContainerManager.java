@@ -22,6 +22,7 @@
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 
@@ -151,6 +152,16 @@ void updateContainerReplica(ContainerID containerID, ContainerReplica replica)
   void removeContainerReplica(ContainerID containerID, ContainerReplica replica)
       throws ContainerNotFoundException, ContainerReplicaNotFoundException;
 
+  /**
+   * Returns the digest of the replicas on the given datanode, as used by
+   * delta container reports. The digest is kept up to date as replicas are
+   * added and removed, so it does not iterate the replicas.
+   *
+   * @param datanode DatanodeDetails
+   * @return digest of the replicas on the datanode
+   */
+  long getReplicaDigest(DatanodeDetails datanode);
+
   /**
    * Update deleteTransactionId according to deleteTransactionMap.
    *
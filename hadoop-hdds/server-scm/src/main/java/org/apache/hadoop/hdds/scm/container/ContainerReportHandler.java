@@ -35,13 +35,17 @@
 import org.apache.hadoop.hdds.server.events.EventPublisher;
 import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
 import org.apache.hadoop.ozone.protocol.commands.DeleteContainerCommand;
+import org.apache.hadoop.ozone.protocol.commands.FullContainerReportCommand;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -57,6 +61,13 @@ public class ContainerReportHandler extends AbstractContainerReportHandler
   private final ContainerManager containerManager;
   private final String unknownContainerHandleAction;
 
+  /**
+   * The last applied report generation of the datanodes which send delta
+   * container reports.
+   */
+  private final Map<UUID, ReportGeneration> reportGenerations =
+      new ConcurrentHashMap<>();
+
   /**
    * The action taken by ContainerReportHandler to handle
    * unknown containers.
@@ -108,28 +119,11 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
         reportFromDatanode.getReport();
 
     try {
-      final List<ContainerReplicaProto> replicas =
-          containerReport.getReportsList();
-      final Set<ContainerID> containersInSCM =
-          nodeManager.getContainers(datanodeDetails);
-
-      final Set<ContainerID> containersInDn = replicas.parallelStream()
-          .map(ContainerReplicaProto::getContainerID)
-          .map(ContainerID::valueof).collect(Collectors.toSet());
-
-      final Set<ContainerID> missingReplicas = new HashSet<>(containersInSCM);
-      missingReplicas.removeAll(containersInDn);
-
-      processContainerReplicas(datanodeDetails, replicas, publisher);
-      processMissingReplicas(datanodeDetails, missingReplicas);
-      updateDeleteTransaction(datanodeDetails, replicas, publisher);
-
-      /*
-       * Update the latest set of containers for this datanode in
-       * NodeManager
-       */
-      nodeManager.setContainers(datanodeDetails, containersInDn);
-
+      if (containerReport.hasBaseGeneration()) {
+        processDeltaReport(datanodeDetails, containerReport, publisher);
+      } else {
+        processFullReport(datanodeDetails, containerReport, publisher);
+      }
       containerManager.notifyContainerReportProcessing(true, true);
     } catch (NodeNotFoundException ex) {
       containerManager.notifyContainerReportProcessing(true, false);
@@ -139,6 +133,104 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
 
   }
 
+  private void processFullReport(final DatanodeDetails datanodeDetails,
+      final ContainerReportsProto containerReport,
+      final EventPublisher publisher) throws NodeNotFoundException {
+    final List<ContainerReplicaProto> replicas =
+        containerReport.getReportsList();
+    final Set<ContainerID> containersInSCM =
+        nodeManager.getContainers(datanodeDetails);
+
+    final Set<ContainerID> containersInDn = replicas.parallelStream()
+        .map(ContainerReplicaProto::getContainerID)
+        .map(ContainerID::valueof).collect(Collectors.toSet());
+
+    final Set<ContainerID> missingReplicas = new HashSet<>(containersInSCM);
+    missingReplicas.removeAll(containersInDn);
+
+    processContainerReplicas(datanodeDetails, replicas, publisher);
+    processMissingReplicas(datanodeDetails, missingReplicas);
+    updateDeleteTransaction(datanodeDetails, replicas, publisher);
+
+    /*
+     * Update the latest set of containers for this datanode in
+     * NodeManager
+     */
+    nodeManager.setContainers(datanodeDetails, containersInDn);
+
+    if (containerReport.hasGeneration()) {
+      // The replicas which SCM does not know (eg. unknown containers) are
+      // part of the digest of the datanode, but not of the digest computed
+      // by SCM. The difference is expected to stay the same after the
+      // following delta reports.
+      final long digestOffset = containerReport.getDigest()
+          - containerManager.getReplicaDigest(datanodeDetails);
+      reportGenerations.put(datanodeDetails.getUuid(), new ReportGeneration(
+          containerReport.getGeneration(), digestOffset));
+    } else {
+      reportGenerations.remove(datanodeDetails.getUuid());
+    }
+  }
+
+  /**
+   * Applies a delta container report, which contains only the replicas
+   * changed since the report with the base generation. A full report is
+   * requested from the datanode if the delta does not follow the last
+   * applied report, or the digest of the replicas in SCM does not match the
+   * digest sent by the datanode.
+   */
+  private void processDeltaReport(final DatanodeDetails datanodeDetails,
+      final ContainerReportsProto containerReport,
+      final EventPublisher publisher) throws NodeNotFoundException {
+    final ReportGeneration lastReport =
+        reportGenerations.remove(datanodeDetails.getUuid());
+    if (lastReport == null ||
+        lastReport.getGeneration() != containerReport.getBaseGeneration()) {
+      LOG.info("Requesting full container report from datanode {}, " +
+              "received delta from generation {}, last applied is {}.",
+          datanodeDetails, containerReport.getBaseGeneration(),
+          lastReport == null ? "none" : lastReport.getGeneration());
+      requestFullReport(datanodeDetails, publisher);
+      return;
+    }
+
+    final List<ContainerReplicaProto> replicas =
+        containerReport.getReportsList();
+    final Set<ContainerID> removedReplicas =
+        containerReport.getRemovedContainerIDsList().stream()
+            .map(ContainerID::valueof).collect(Collectors.toSet());
+
+    processContainerReplicas(datanodeDetails, replicas, publisher);
+    processMissingReplicas(datanodeDetails, removedReplicas);
+    updateDeleteTransaction(datanodeDetails, replicas, publisher);
+
+    final Set<ContainerID> containersInDn =
+        new HashSet<>(nodeManager.getContainers(datanodeDetails));
+    for (ContainerReplicaProto replica : replicas) {
+      containersInDn.add(ContainerID.valueof(replica.getContainerID()));
+    }
+    containersInDn.removeAll(removedReplicas);
+    nodeManager.setContainers(datanodeDetails, containersInDn);
+
+    final long digestOffset = containerReport.getDigest()
+        - containerManager.getReplicaDigest(datanodeDetails);
+    if (digestOffset != lastReport.getDigestOffset()) {
+      LOG.info("Requesting full container report from datanode {}, " +
+          "the replicas in SCM do not match the report digest.",
+          datanodeDetails);
+      requestFullReport(datanodeDetails, publisher);
+      return;
+    }
+    reportGenerations.put(datanodeDetails.getUuid(), new ReportGeneration(
+        containerReport.getGeneration(), digestOffset));
+  }
+
+  private void requestFullReport(final DatanodeDetails datanodeDetails,
+      final EventPublisher publisher) {
+    publisher.fireEvent(SCMEvents.DATANODE_COMMAND, new CommandForDatanode<>(
+        datanodeDetails.getUuid(), new FullContainerReportCommand()));
+  }
+
   /**
    * Processes the ContainerReport, unknown container reported
    * that will be deleted by SCM.
@@ -241,4 +333,25 @@ private void updateDeleteTransaction(final DatanodeDetails datanodeDetails,
           pendingDeleteStatusList);
     }
   }
+
+  /**
+   * Generation of the last applied container report of a datanode.
+   */
+  private static final class ReportGeneration {
+    private final long generation;
+    private final long digestOffset;
+
+    private ReportGeneration(long generation, long digestOffset) {
+      this.generation = generation;
+      this.digestOffset = digestOffset;
+    }
+
+    long getGeneration() {
+      return generation;
+    }
+
+    long getDigestOffset() {
+      return digestOffset;
+    }
+  }
 }
@@ -28,6 +28,7 @@
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.StorageUnit;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleEvent;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
@@ -534,6 +535,16 @@ void removeContainerReplica(final ContainerID containerID,
     containers.removeContainerReplica(containerID, replica);
   }
 
+  /**
+   * Returns the digest of the replicas on the given datanode.
+   *
+   * @param datanode DatanodeDetails
+   * @return digest of the replicas
+   */
+  long getReplicaDigest(final DatanodeDetails datanode) {
+    return containers.getReplicaDigest(datanode);
+  }
+
   void removeContainer(final ContainerID containerID)
       throws ContainerNotFoundException {
     containers.removeContainer(containerID);
@@ -21,6 +21,9 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -138,6 +141,25 @@
    */
   private final NodeManager nodeManager;
 
+  /**
+   * Number of inflight replications per target and per source datanode,
+   * recomputed at the start of each replication round.
+   */
+  private final Map<DatanodeDetails, Integer> inflightTargets;
+  private final Map<DatanodeDetails, Integer> inflightSources;
+
+  /**
+   * Replication backlog found by the last run, per urgency.
+   */
+  private volatile Map<ReplicationUrgency, Integer> replicationBacklog =
+      Collections.emptyMap();
+
+  /**
+   * Containers whose replication was deferred, entirely or in part, in the
+   * last run as their sources were busy.
+   */
+  private volatile int deferredReplication;
+
   /**
    * Constructs ReplicationManager instance with the given configuration.
    *
@@ -161,6 +183,8 @@ public ReplicationManager(final ReplicationManagerConfiguration conf,
     this.inflightReplication = new ConcurrentHashMap<>();
     this.inflightDeletion = new ConcurrentHashMap<>();
     this.nodeManager = nodeManager;
+    this.inflightTargets = new HashMap<>();
+    this.inflightSources = new HashMap<>();
   }
 
   /**
@@ -235,7 +259,9 @@ private synchronized void run() {
         final long start = Time.monotonicNow();
         final Set<ContainerID> containerIds =
             containerManager.getContainerIDs();
-        containerIds.forEach(this::processContainer);
+        final List<ReplicationWork> replicationWork = new ArrayList<>();
+        containerIds.forEach(id -> processContainer(id, replicationWork));
+        processReplicationWork(replicationWork);
 
         LOG.info("Replication Monitor Thread took {} milliseconds for" +
                 " processing {} containers.", Time.monotonicNow() - start,
@@ -251,11 +277,15 @@ private synchronized void run() {
   }
 
   /**
-   * Process the given container.
+   * Process the given container. Under and over replicated containers are
+   * added to the replication work, to be handled in the order of their
+   * urgency once all the containers have been processed.
    *
    * @param id ContainerID
+   * @param replicationWork collects the containers to replicate or delete
    */
-  private void processContainer(ContainerID id) {
+  private void processContainer(ContainerID id,
+      List<ReplicationWork> replicationWork) {
     lockManager.lock(id);
     try {
       final ContainerInfo container = containerManager.getContainer(id);
@@ -324,20 +354,29 @@ private void processContainer(ContainerID id) {
       }
 
       /*
-       * Check if the container is under replicated and take appropriate
-       * action.
+       * Check if the container is under replicated, the action is taken
+       * after all the containers are processed.
        */
       if (isContainerUnderReplicated(container, replicas)) {
-        handleUnderReplicatedContainer(container, replicas);
+        final int replicationFactor =
+            container.getReplicationFactor().getNumber();
+        final int remainingReplicas = replicas.size() - inflightDeletion
+            .getOrDefault(id, Collections.emptyList()).size();
+        replicationWork.add(new ReplicationWork(id,
+            getReplicaCount(id, replicas) < replicationFactor
+                ? ReplicationUrgency.UNDER_REPLICATED
+                : ReplicationUrgency.MIS_REPLICATED,
+            remainingReplicas));
         return;
       }
 
       /*
-       * Check if the container is over replicated and take appropriate
-       * action.
+       * Check if the container is over replicated, the action is taken
+       * after all the containers are processed.
        */
       if (isContainerOverReplicated(container, replicas)) {
-        handleOverReplicatedContainer(container, replicas);
+        replicationWork.add(new ReplicationWork(id,
+            ReplicationUrgency.OVER_REPLICATED, replicas.size()));
         return;
       }
 
@@ -357,6 +396,101 @@ private void processContainer(ContainerID id) {
     }
   }
 
+  /**
+   * Handles the under and over replicated containers, the most urgent
+   * first: containers with the fewest remaining replicas, then
+   * mis-replicated and finally over replicated containers.
+   *
+   * @param replicationWork containers found by processContainer
+   */
+  private void processReplicationWork(
+      final List<ReplicationWork> replicationWork) {
+    replicationWork.sort(ReplicationWork.URGENCY_ORDER);
+
+    final Map<ReplicationUrgency, Integer> backlog =
+        new EnumMap<>(ReplicationUrgency.class);
+    for (ReplicationUrgency urgency : ReplicationUrgency.values()) {
+      backlog.put(urgency, 0);
+    }
+    replicationWork.forEach(work -> backlog.merge(work.urgency, 1,
+        Integer::sum));
+    replicationBacklog = backlog;
+
+    countInflightReplication();
+    deferredReplication = 0;
+    replicationWork.forEach(this::processReplicationWork);
+  }
+
+  /**
+   * Handles an under or over replicated container. The replicas are read
+   * again, as they might have changed since the container was processed.
+   */
+  private void processReplicationWork(final ReplicationWork work) {
+    final ContainerID id = work.containerID;
+    lockManager.lock(id);
+    try {
+      final ContainerInfo container = containerManager.getContainer(id);
+      final Set<ContainerReplica> replicas = containerManager
+          .getContainerReplicas(id);
+      if (isContainerUnderReplicated(container, replicas)) {
+        handleUnderReplicatedContainer(container, replicas);
+      } else if (isContainerOverReplicated(container, replicas)) {
+        handleOverReplicatedContainer(container, replicas);
+      }
+    } catch (ContainerNotFoundException ex) {
+      LOG.warn("Missing container {}.", id);
+    } catch (Exception ex) {
+      LOG.warn("Process container {} error: ", id, ex);
+    } finally {
+      lockManager.unlock(id);
+    }
+  }
+
+  /**
+   * Counts the inflight replications of each target and source datanode.
+   */
+  private void countInflightReplication() {
+    inflightTargets.clear();
+    inflightSources.clear();
+    inflightReplication.values().forEach(actions -> actions.forEach(
+        action -> {
+          inflightTargets.merge(action.datanode, 1, Integer::sum);
+          if (action.source != null) {
+            inflightSources.merge(action.source, 1, Integer::sum);
+          }
+        }));
+  }
+
+  /**
+   * Returns the datanodes of the given replicas in the order they should be
+   * used as replication sources: the ones below the inflight replication
+   * limit first, then the ones with the latest sequence id and the fewest
+   * inflight replications.
+   */
+  private List<DatanodeDetails> orderSources(
+      final List<ContainerReplica> replicas) {
+    return replicas.stream()
+        .sorted(Comparator.comparing((ContainerReplica r) ->
+            isInflightLimitReached(inflightSources, r.getDatanodeDetails()))
+            .thenComparing(Comparator.comparing(
+                ContainerReplica::getSequenceId).reversed())
+            .thenComparing(r -> inflightSources
+                .getOrDefault(r.getDatanodeDetails(), 0)))
+        .map(ContainerReplica::getDatanodeDetails)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns true if the datanode has reached the configured limit of
+   * inflight replications.
+   */
+  private boolean isInflightLimitReached(
+      final Map<DatanodeDetails, Integer> inflight,
+      final DatanodeDetails datanode) {
+    final int limit = conf.getDatanodeInflightLimit();
+    return limit > 0 && inflight.getOrDefault(datanode, 0) >= limit;
+  }
+
   /**
    * Reconciles the InflightActions for a given container.
    *
@@ -525,15 +659,19 @@ private void handleUnderReplicatedContainer(final ContainerInfo container,
           .stream()
           .map(action -> action.datanode)
           .collect(Collectors.toList());
-      final List<DatanodeDetails> source = replicas.stream()
+      final List<ContainerReplica> sourceReplicas = replicas.stream()
           .filter(r ->
               r.getState() == State.QUASI_CLOSED ||
               r.getState() == State.CLOSED)
           .filter(r -> !deletionInFlight.contains(r.getDatanodeDetails()))
-          .sorted((r1, r2) -> r2.getSequenceId().compareTo(r1.getSequenceId()))
-          .map(ContainerReplica::getDatanodeDetails)
           .collect(Collectors.toList());
-      if (source.size() > 0) {
+      final List<DatanodeDetails> source = orderSources(sourceReplicas);
+      if (source.size() > 0 &&
+          isInflightLimitReached(inflightSources, source.get(0))) {
+        LOG.debug("Deferring replication of container {}, all the sources " +
+            "have reached the inflight replication limit.", id);
+        deferredReplication++;
+      } else if (source.size() > 0) {
         final int replicationFactor = container
             .getReplicationFactor().getNumber();
         // Want to check if the container is mis-replicated after considering
@@ -555,6 +693,9 @@ private void handleUnderReplicatedContainer(final ContainerInfo container,
             .map(ContainerReplica::getDatanodeDetails)
             .collect(Collectors.toList());
         excludeList.addAll(replicationInFlight);
+        inflightTargets.keySet().stream()
+            .filter(dn -> isInflightLimitReached(inflightTargets, dn))
+            .forEach(excludeList::add);
         final List<DatanodeDetails> selectedDatanodes = containerPlacement
             .chooseDatanodes(excludeList, null, replicasNeeded,
                 container.getUsedBytes());
@@ -579,7 +720,16 @@ private void handleUnderReplicatedContainer(final ContainerInfo container,
           // creating new replicas for mis-replicated containers unless it
           // improves things.
           for (DatanodeDetails datanode : selectedDatanodes) {
-            sendReplicateCommand(container, datanode, source);
+            // Each command counts against the limit of its first source.
+            final List<DatanodeDetails> sources = orderSources(sourceReplicas);
+            if (isInflightLimitReached(inflightSources, sources.get(0))) {
+              LOG.debug("Deferring the remaining replications of container " +
+                  "{}, all the sources have reached the inflight " +
+                  "replication limit.", id);
+              deferredReplication++;
+              break;
+            }
+            sendReplicateCommand(container, datanode, sources, sources.size());
           }
         } else {
           LOG.warn("Container {} is mis-replicated, requiring {} additional " +
@@ -792,10 +942,13 @@ private void sendCloseCommand(final ContainerInfo container,
    * @param container Container to be replicated
    * @param datanode The destination datanode to replicate
    * @param sources List of source nodes from where we can replicate
+   * @param priority Urgency of the replication on the datanode, the number
+   *                 of remaining replicas
    */
   private void sendReplicateCommand(final ContainerInfo container,
                                     final DatanodeDetails datanode,
-                                    final List<DatanodeDetails> sources) {
+                                    final List<DatanodeDetails> sources,
+                                    final int priority) {
 
     LOG.info("Sending replicate container command for container {}" +
             " to datanode {}", container.containerID(), datanode);
@@ -803,9 +956,13 @@ private void sendReplicateCommand(final ContainerInfo container,
     final ContainerID id = container.containerID();
     final ReplicateContainerCommand replicateCommand =
         new ReplicateContainerCommand(id.getId(), sources);
+    replicateCommand.setPriority(priority);
+    final DatanodeDetails source = sources.get(0);
     inflightReplication.computeIfAbsent(id, k -> new ArrayList<>());
-    sendAndTrackDatanodeCommand(datanode, replicateCommand,
+    sendAndTrackDatanodeCommand(datanode, replicateCommand, source,
         action -> inflightReplication.get(id).add(action));
+    inflightTargets.merge(datanode, 1, Integer::sum);
+    inflightSources.merge(source, 1, Integer::sum);
   }
 
   /**
@@ -827,7 +984,7 @@ private void sendDeleteCommand(final ContainerInfo container,
     final DeleteContainerCommand deleteCommand =
         new DeleteContainerCommand(id.getId(), force);
     inflightDeletion.computeIfAbsent(id, k -> new ArrayList<>());
-    sendAndTrackDatanodeCommand(datanode, deleteCommand,
+    sendAndTrackDatanodeCommand(datanode, deleteCommand, null,
         action -> inflightDeletion.get(id).add(action));
   }
 
@@ -839,17 +996,20 @@ private void sendDeleteCommand(final ContainerInfo container,
    *
    * @param datanode Datanode to which the command has to be sent
    * @param command SCMCommand to be sent
+   * @param source Datanode the replica is copied from, null if the command
+   *               is not a replication
    * @param tracker Tracker which tracks the inflight actions
    * @param <T> Type of SCMCommand
    */
   private <T extends GeneratedMessage> void sendAndTrackDatanodeCommand(
       final DatanodeDetails datanode,
       final SCMCommand<T> command,
+      final DatanodeDetails source,
       final Consumer<InflightAction> tracker) {
     final CommandForDatanode<T> datanodeCommand =
         new CommandForDatanode<>(datanode.getUuid(), command);
     eventPublisher.fireEvent(SCMEvents.DATANODE_COMMAND, datanodeCommand);
-    tracker.accept(new InflightAction(datanode, Time.monotonicNow()));
+    tracker.accept(new InflightAction(datanode, source, Time.monotonicNow()));
   }
 
   /**
@@ -886,9 +1046,34 @@ public void getMetrics(MetricsCollector collector, boolean all) {
             inflightReplication.size())
         .addGauge(ReplicationManagerMetrics.INFLIGHT_DELETION,
             inflightDeletion.size())
+        .addGauge(ReplicationManagerMetrics.UNDER_REPLICATED_BACKLOG,
+            getReplicationBacklog(ReplicationUrgency.UNDER_REPLICATED))
+        .addGauge(ReplicationManagerMetrics.MIS_REPLICATED_BACKLOG,
+            getReplicationBacklog(ReplicationUrgency.MIS_REPLICATED))
+        .addGauge(ReplicationManagerMetrics.OVER_REPLICATED_BACKLOG,
+            getReplicationBacklog(ReplicationUrgency.OVER_REPLICATED))
+        .addGauge(ReplicationManagerMetrics.DEFERRED_REPLICATION,
+            deferredReplication)
         .endRecord();
   }
 
+  /**
+   * Returns the number of containers of the given urgency found by the last
+   * run of the replication monitor.
+   */
+  public int getReplicationBacklog(ReplicationUrgency urgency) {
+    return replicationBacklog.getOrDefault(urgency, 0);
+  }
+
+  /**
+   * Returns the number of containers whose replication was deferred,
+   * entirely or in part, by the last run of the replication monitor as
+   * their sources were busy.
+   */
+  public int getDeferredReplication() {
+    return deferredReplication;
+  }
+
   @Override
   public void onMessage(SafeModeStatus status,
       EventPublisher publisher) {
@@ -903,15 +1088,51 @@ public void onMessage(SafeModeStatus status,
   private static final class InflightAction {
 
     private final DatanodeDetails datanode;
+    private final DatanodeDetails source;
     private final long time;
 
     private InflightAction(final DatanodeDetails datanode,
+                           final DatanodeDetails source,
                            final long time) {
       this.datanode = datanode;
+      this.source = source;
       this.time = time;
     }
   }
 
+  /**
+   * Kind of replication work needed by a container, from the most to the
+   * least urgent.
+   */
+  public enum ReplicationUrgency {
+    UNDER_REPLICATED,
+    MIS_REPLICATED,
+    OVER_REPLICATED
+  }
+
+  /**
+   * Container found to be under or over replicated.
+   */
+  private static final class ReplicationWork {
+
+    private static final Comparator<ReplicationWork> URGENCY_ORDER =
+        Comparator.<ReplicationWork, ReplicationUrgency>comparing(
+            work -> work.urgency)
+            .thenComparingInt(work -> work.remainingReplicas);
+
+    private final ContainerID containerID;
+    private final ReplicationUrgency urgency;
+    private final int remainingReplicas;
+
+    private ReplicationWork(final ContainerID containerID,
+                            final ReplicationUrgency urgency,
+                            final int remainingReplicas) {
+      this.containerID = containerID;
+      this.urgency = urgency;
+      this.remainingReplicas = remainingReplicas;
+    }
+  }
+
   /**
    * Configuration used by the Replication Manager.
    */
@@ -944,6 +1165,20 @@ public static class ReplicationManagerConfiguration {
             + "retried.")
     private long eventTimeout = 30 * 60 * 1000;
 
+    /**
+     * The maximum number of inflight replications per datanode.
+     */
+    @Config(key = "datanode.inflight.limit",
+        type = ConfigType.INT,
+        defaultValue = "20",
+        tags = {SCM, OZONE},
+        description = "The maximum number of inflight container replications "
+            + "a datanode can be the target or the first source of. Further "
+            + "replications are sent to other datanodes, or deferred to the "
+            + "next run of the replication monitor. 0 means unlimited."
+    )
+    private int datanodeInflightLimit = 20;
+
 
     public void setInterval(long interval) {
       this.interval = interval;
@@ -961,6 +1196,14 @@ public long getInterval() {
     public long getEventTimeout() {
       return eventTimeout;
     }
+
+    public void setDatanodeInflightLimit(int datanodeInflightLimit) {
+      this.datanodeInflightLimit = datanodeInflightLimit;
+    }
+
+    public int getDatanodeInflightLimit() {
+      return datanodeInflightLimit;
+    }
   }
 
   /**
@@ -969,7 +1212,12 @@ public long getEventTimeout() {
   public enum ReplicationManagerMetrics implements MetricsInfo {
 
     INFLIGHT_REPLICATION("Tracked inflight container replication requests."),
-    INFLIGHT_DELETION("Tracked inflight container deletion requests.");
+    INFLIGHT_DELETION("Tracked inflight container deletion requests."),
+    UNDER_REPLICATED_BACKLOG("Containers found under replicated."),
+    MIS_REPLICATED_BACKLOG("Containers found mis-replicated."),
+    OVER_REPLICATED_BACKLOG("Containers found over replicated."),
+    DEFERRED_REPLICATION("Container replications deferred as their sources "
+        + "reached the inflight limit.");
 
     private final String desc;
 
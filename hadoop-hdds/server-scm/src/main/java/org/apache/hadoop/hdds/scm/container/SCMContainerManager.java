@@ -30,6 +30,7 @@
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
@@ -559,6 +560,11 @@ public void removeContainerReplica(final ContainerID containerID,
     containerStateManager.removeContainerReplica(containerID, replica);
   }
 
+  @Override
+  public long getReplicaDigest(final DatanodeDetails datanode) {
+    return containerStateManager.getReplicaDigest(datanode);
+  }
+
   /**
    * Closes this stream and releases any system resources associated with it.
    * If the stream is
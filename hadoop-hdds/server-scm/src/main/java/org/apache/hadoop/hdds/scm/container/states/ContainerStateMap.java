@@ -20,6 +20,7 @@
 
 import com.google.common.base.Preconditions;
 
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerNotFoundException;
 import org.apache.hadoop.hdds.scm.container.ContainerReplica;
@@ -29,6 +30,7 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.ozone.container.common.report.ContainerReportDigest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +39,7 @@
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.ConcurrentHashMap;
@@ -90,6 +93,8 @@ public class ContainerStateMap {
   private final ContainerAttribute<ReplicationType> typeMap;
   private final Map<ContainerID, ContainerInfo> containerMap;
   private final Map<ContainerID, Set<ContainerReplica>> replicaMap;
+  // Digest of the replicas of each datanode, updated with the replicaMap.
+  private final Map<UUID, Long> replicaDigests;
   private final Map<ContainerQueryKey, NavigableSet<ContainerID>> resultCache;
 
   // Container State Map lock should be held before calling into
@@ -108,6 +113,7 @@ public ContainerStateMap() {
     this.containerMap = new ConcurrentHashMap<>();
     this.lock = new ReentrantReadWriteLock();
     this.replicaMap = new ConcurrentHashMap<>();
+    this.replicaDigests = new ConcurrentHashMap<>();
     this.resultCache = new ConcurrentHashMap<>();
   }
 
@@ -167,6 +173,10 @@ public void removeContainer(final ContainerID containerID)
       ownerMap.remove(info.getOwner(), containerID);
       factorMap.remove(info.getReplicationFactor(), containerID);
       typeMap.remove(info.getReplicationType(), containerID);
+      final Set<ContainerReplica> replicas = replicaMap.get(containerID);
+      if (replicas != null) {
+        replicas.forEach(r -> updateDigest(containerID, r, -1));
+      }
       // Flush the cache of this container type.
       flushCache(info);
       LOG.trace("Removed container with {} successfully.", containerID);
@@ -227,8 +237,13 @@ public void updateContainerReplica(final ContainerID containerID,
     try {
       checkIfContainerExist(containerID);
       Set<ContainerReplica> replicas = replicaMap.get(containerID);
-      replicas.remove(replica);
+      final ContainerReplica existing = getReplica(replicas, replica);
+      if (existing != null) {
+        replicas.remove(existing);
+        updateDigest(containerID, existing, -1);
+      }
       replicas.add(replica);
+      updateDigest(containerID, replica, 1);
     } finally {
       lock.writeLock().unlock();
     }
@@ -250,16 +265,58 @@ public void removeContainerReplica(final ContainerID containerID,
     lock.writeLock().lock();
     try {
       checkIfContainerExist(containerID);
-      if(!replicaMap.get(containerID).remove(replica)) {
+      final Set<ContainerReplica> replicas = replicaMap.get(containerID);
+      final ContainerReplica existing = getReplica(replicas, replica);
+      if (existing == null) {
         throw new ContainerReplicaNotFoundException(
             "Container #"
                 + containerID.getId() + ", replica: " + replica);
       }
+      replicas.remove(existing);
+      updateDigest(containerID, existing, -1);
     } finally {
       lock.writeLock().unlock();
     }
   }
 
+  /**
+   * Returns the digest of the replicas on the given datanode, which is the
+   * sum of the {@link ContainerReportDigest} hashes of the replicas.
+   *
+   * @param datanode DatanodeDetails
+   * @return digest of the replicas, 0 if there is no replica on the datanode.
+   */
+  public long getReplicaDigest(final DatanodeDetails datanode) {
+    return replicaDigests.getOrDefault(datanode.getUuid(), 0L);
+  }
+
+  /**
+   * Returns the replica in the set which is equal to the given replica,
+   * that is the replica of the same datanode, which may differ in state.
+   */
+  private static ContainerReplica getReplica(
+      final Set<ContainerReplica> replicas, final ContainerReplica replica) {
+    for (ContainerReplica r : replicas) {
+      if (r.equals(replica)) {
+        return r;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Adds the hash of the replica to the digest of its datanode, or
+   * subtracts it if sign is negative. Called with the write lock held.
+   */
+  private void updateDigest(final ContainerID containerID,
+      final ContainerReplica replica, final int sign) {
+    final Long sequenceId = replica.getSequenceId();
+    final long hash = ContainerReportDigest.hash(containerID.getId(),
+        replica.getState(), sequenceId == null ? 0 : sequenceId);
+    replicaDigests.merge(replica.getDatanodeDetails().getUuid(),
+        sign * hash, Long::sum);
+  }
+
   /**
    * Just update the container State.
    * @param info ContainerInfo.
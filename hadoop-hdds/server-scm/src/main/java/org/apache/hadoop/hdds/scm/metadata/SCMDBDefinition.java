@@ -29,6 +29,8 @@
 import org.apache.hadoop.hdds.utils.db.DBColumnFamilyDefinition;
 import org.apache.hadoop.hdds.utils.db.DBDefinition;
 import org.apache.hadoop.hdds.utils.db.LongCodec;
+import org.apache.hadoop.hdds.utils.db.TableTuning;
+import org.apache.hadoop.hdds.utils.db.TableTuning.CachePriority;
 
 /**
  * Class defines the structure and types of the scm.db.
@@ -42,7 +44,11 @@ public class SCMDBDefinition implements DBDefinition {
           Long.class,
           new LongCodec(),
           DeletedBlocksTransaction.class,
-          new DeletedBlocksTransactionCodec());
+          new DeletedBlocksTransactionCodec(),
+          // Queue of transactions removed once acknowledged by the datanodes.
+          TableTuning.newBuilder()
+              .setCachePriority(CachePriority.LOW)
+              .build());
 
   public static final DBColumnFamilyDefinition<BigInteger, X509Certificate>
       VALID_CERTS =
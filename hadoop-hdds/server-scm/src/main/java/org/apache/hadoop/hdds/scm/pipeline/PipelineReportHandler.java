@@ -113,14 +113,27 @@ protected void processPipelineReport(PipelineReport report,
             pipeline.getId(), dn);
       }
       if (pipeline.isHealthy()) {
-        pipelineManager.openPipeline(pipelineID);
-        if (pipelineAvailabilityCheck && scmSafeModeManager.getInSafeMode()) {
-          publisher.fireEvent(SCMEvents.OPEN_PIPELINE, pipeline);
-        }
+        openPipeline(pipelineID, publisher);
       }
     }
   }
 
+  /**
+   * Reports of the members of a pipeline may be handled in parallel, only
+   * the first one of them should open the pipeline.
+   */
+  private synchronized void openPipeline(PipelineID pipelineID,
+      EventPublisher publisher) throws IOException {
+    Pipeline pipeline = pipelineManager.getPipeline(pipelineID);
+    if (pipeline.getPipelineState() != Pipeline.PipelineState.ALLOCATED) {
+      return;
+    }
+    pipelineManager.openPipeline(pipelineID);
+    if (pipelineAvailabilityCheck && scmSafeModeManager.getInSafeMode()) {
+      publisher.fireEvent(SCMEvents.OPEN_PIPELINE, pipeline);
+    }
+  }
+
 
   protected void setReportedDatanode(Pipeline pipeline, DatanodeDetails dn)
       throws IOException {
@@ -177,7 +177,7 @@ public List<AllocatedBlock> allocateBlock(long size, int num,
     auditMap.put("type", type.name());
     auditMap.put("factor", factor.name());
     auditMap.put("owner", owner);
-    List<AllocatedBlock> blocks = new ArrayList<>(num);
+    auditMap.put("num", String.valueOf(num));
     boolean auditSuccess = true;
 
     if (LOG.isDebugEnabled()) {
@@ -185,14 +185,8 @@ public List<AllocatedBlock> allocateBlock(long size, int num,
           num, size, excludeList);
     }
     try {
-      for (int i = 0; i < num; i++) {
-        AllocatedBlock block = scm.getScmBlockManager()
-            .allocateBlock(size, type, factor, owner, excludeList);
-        if (block != null) {
-          blocks.add(block);
-        }
-      }
-      return blocks;
+      return scm.getScmBlockManager()
+          .allocateBlocks(size, num, type, factor, owner, excludeList);
     } catch (Exception ex) {
       auditSuccess = false;
       AUDIT.logWriteFailure(
@@ -89,8 +89,12 @@
 import org.apache.hadoop.hdds.security.x509.certificate.authority.DefaultCAServer;
 import org.apache.hadoop.hdds.security.x509.certificate.utils.CertificateCodec;
 import org.apache.hadoop.hdds.server.ServiceRuntimeInfoImpl;
+import org.apache.hadoop.hdds.scm.server.SCMDatanodeHeartbeatDispatcher.ReportFromDatanode;
+import org.apache.hadoop.hdds.server.events.Event;
+import org.apache.hadoop.hdds.server.events.EventHandler;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
 import org.apache.hadoop.hdds.server.events.EventQueue;
+import org.apache.hadoop.hdds.server.events.KeyedEventExecutor;
 import org.apache.hadoop.hdds.utils.HddsServerUtil;
 import org.apache.hadoop.hdds.utils.HddsVersionInfo;
 import org.apache.hadoop.hdds.utils.LegacyHadoopConfigurationSource;
@@ -108,6 +112,7 @@
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.security.UserGroupInformation.AuthenticationMethod;
 import org.apache.hadoop.security.authentication.client.AuthenticationException;
+import org.apache.hadoop.util.StringUtils;
 import org.apache.hadoop.util.JvmPauseMonitor;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -333,9 +338,9 @@ public StorageContainerManager(OzoneConfiguration conf,
 
     eventQueue.addHandler(SCMEvents.DATANODE_COMMAND, scmNodeManager);
     eventQueue.addHandler(SCMEvents.RETRIABLE_DATANODE_COMMAND, scmNodeManager);
-    eventQueue.addHandler(SCMEvents.NODE_REPORT, nodeReportHandler);
-    eventQueue.addHandler(SCMEvents.CONTAINER_REPORT, containerReportHandler);
-    eventQueue.addHandler(SCMEvents.INCREMENTAL_CONTAINER_REPORT,
+    addReportHandler(conf, SCMEvents.NODE_REPORT, nodeReportHandler);
+    addReportHandler(conf, SCMEvents.CONTAINER_REPORT, containerReportHandler);
+    addReportHandler(conf, SCMEvents.INCREMENTAL_CONTAINER_REPORT,
         incrementalContainerReportHandler);
     eventQueue.addHandler(SCMEvents.CONTAINER_ACTIONS, actionsHandler);
     eventQueue.addHandler(SCMEvents.CLOSE_CONTAINER, closeContainerHandler);
@@ -350,7 +355,7 @@ public StorageContainerManager(OzoneConfiguration conf,
     eventQueue.addHandler(SCMEvents.DELETE_BLOCK_STATUS,
         (DeletedBlockLogImpl) scmBlockManager.getDeletedBlockLog());
     eventQueue.addHandler(SCMEvents.PIPELINE_ACTIONS, pipelineActionHandler);
-    eventQueue.addHandler(SCMEvents.PIPELINE_REPORT, pipelineReportHandler);
+    addReportHandler(conf, SCMEvents.PIPELINE_REPORT, pipelineReportHandler);
     eventQueue.addHandler(SCMEvents.SAFE_MODE_STATUS, clientProtocolServer);
     eventQueue.addHandler(SCMEvents.SAFE_MODE_STATUS, scmBlockManager);
     eventQueue
@@ -365,6 +370,27 @@ public StorageContainerManager(OzoneConfiguration conf,
     registerMetricsSource(this);
   }
 
+  /**
+   * Registers a datanode report handler with an executor which handles the
+   * reports of different datanodes in parallel, while the reports of the
+   * same datanode are still handled one-by-one.
+   */
+  private <P extends ReportFromDatanode<?>> void addReportHandler(
+      OzoneConfiguration conf, Event<P> event, EventHandler<P> handler) {
+    int threads = conf.getInt(
+        ScmConfigKeys.OZONE_SCM_EVENT_REPORT_EXEC_THREADS,
+        ScmConfigKeys.OZONE_SCM_EVENT_REPORT_EXEC_THREADS_DEFAULT);
+    int queueSize = conf.getInt(
+        ScmConfigKeys.OZONE_SCM_EVENT_REPORT_QUEUE_SIZE,
+        ScmConfigKeys.OZONE_SCM_EVENT_REPORT_QUEUE_SIZE_DEFAULT);
+    String executorName = StringUtils.camelize(event.getName()) + "For"
+        + handler.getClass().getSimpleName();
+    eventQueue.addHandler(event,
+        new KeyedEventExecutor<>(executorName, threads, queueSize,
+            report -> report.getDatanodeDetails().getUuid()),
+        handler);
+  }
+
   /**
    * This function initializes the following managers. If the configurator
    * specifies a value, we will use it, else we will use the default value.
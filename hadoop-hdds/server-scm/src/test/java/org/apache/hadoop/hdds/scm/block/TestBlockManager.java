@@ -27,9 +27,11 @@
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
@@ -68,6 +70,7 @@
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
 
 /**
  * Tests for SCM Block Manager.
@@ -123,10 +126,10 @@ public void setUp() throws Exception {
     pipelineManager.setPipelineProvider(HddsProtos.ReplicationType.RATIS,
         mockRatisProvider);
     SCMContainerManager containerManager =
-        new SCMContainerManager(conf,
+        Mockito.spy(new SCMContainerManager(conf,
             scmMetadataStore.getContainerTable(),
             scmMetadataStore.getStore(),
-            pipelineManager);
+            pipelineManager));
     SCMSafeModeManager safeModeManager = new SCMSafeModeManager(conf,
         containerManager.getContainers(), pipelineManager, eventQueue) {
       @Override
@@ -175,6 +178,64 @@ public void testAllocateBlock() throws Exception {
     Assert.assertNotNull(block);
   }
 
+  @Test
+  public void testAllocateBlocks() throws Exception {
+    pipelineManager.createPipeline(type, factor);
+    TestUtils.openAllRatisPipelines(pipelineManager);
+    int numBlocks = 5;
+    List<AllocatedBlock> blocks = blockManager.allocateBlocks(
+        DEFAULT_BLOCK_SIZE, numBlocks, type, factor, OzoneConsts.OZONE,
+        new ExcludeList());
+    Assert.assertEquals(numBlocks, blocks.size());
+
+    long localIDs = blocks.stream()
+        .mapToLong(block -> block.getBlockID().getLocalID())
+        .distinct()
+        .count();
+    Assert.assertEquals(numBlocks, localIDs);
+  }
+
+  @Test
+  public void testAllocateBlocksThatFitInOneContainer() throws Exception {
+    pipelineManager.createPipeline(type, factor);
+    TestUtils.openAllRatisPipelines(pipelineManager);
+    int numBlocks = 5;
+    List<AllocatedBlock> blocks = blockManager.allocateBlocks(
+        DEFAULT_BLOCK_SIZE, numBlocks, type, factor, OzoneConsts.OZONE,
+        new ExcludeList());
+    Assert.assertEquals(numBlocks, blocks.size());
+
+    // The blocks fit in one container, which is looked up once for all.
+    Mockito.verify(mapping, Mockito.times(1)).getMatchingContainer(
+        Mockito.anyLong(), Mockito.anyString(), Mockito.any(Pipeline.class),
+        Mockito.anyList());
+    Assert.assertEquals(1, blocks.stream()
+        .mapToLong(block -> block.getBlockID().getContainerID())
+        .distinct()
+        .count());
+  }
+
+  @Test
+  public void testAllocateBlocksThatOverflowContainer() throws Exception {
+    pipelineManager.createPipeline(type, factor);
+    TestUtils.openAllRatisPipelines(pipelineManager);
+    long containerSize = (long) conf.getStorageSize(
+        ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE,
+        ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE_DEFAULT, StorageUnit.BYTES);
+    // Two blocks fit in a container, the third one goes to another.
+    List<AllocatedBlock> blocks = blockManager.allocateBlocks(
+        containerSize / 2, 3, type, factor, OzoneConsts.OZONE,
+        new ExcludeList());
+    Assert.assertEquals(3, blocks.size());
+    Map<Long, Long> blocksPerContainer = blocks.stream()
+        .collect(Collectors.groupingBy(
+            block -> block.getBlockID().getContainerID(),
+            Collectors.counting()));
+    Assert.assertEquals(2, blocksPerContainer.size());
+    Assert.assertEquals(2L, (long) blocksPerContainer.get(
+        blocks.get(0).getBlockID().getContainerID()));
+  }
+
   @Test
   public void testAllocateBlockWithExclusion() throws Exception {
     try {
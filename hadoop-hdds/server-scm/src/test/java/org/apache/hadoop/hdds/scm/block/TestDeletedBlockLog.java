@@ -59,6 +59,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -262,6 +263,65 @@ public void testCommitTransactions() throws Exception {
     Assert.assertEquals(0, blocks.size());
   }
 
+  @Test
+  public void testGetTransactionsContinuesFromLastScan() throws Exception {
+    for (Map.Entry<Long, List<Long>> entry : generateData(30).entrySet()){
+      deletedBlockLog.addTransaction(entry.getKey(), entry.getValue());
+    }
+
+    // Each scan stops when the datanodes have enough transactions, and the
+    // next one continues after the last scanned transaction.
+    List<Long> first = getTransactions(10).stream()
+        .map(DeletedBlocksTransaction::getTxID).collect(Collectors.toList());
+    List<Long> second = getTransactions(10).stream()
+        .map(DeletedBlocksTransaction::getTxID).collect(Collectors.toList());
+    List<Long> third = getTransactions(10).stream()
+        .map(DeletedBlocksTransaction::getTxID).collect(Collectors.toList());
+    Assert.assertEquals(10, first.size());
+    Assert.assertEquals(10, second.size());
+    Assert.assertEquals(10, third.size());
+    Set<Long> all = new HashSet<>(first);
+    all.addAll(second);
+    all.addAll(third);
+    Assert.assertEquals(30, all.size());
+
+    // The scan wraps around to the beginning of the log.
+    List<Long> fourth = getTransactions(10).stream()
+        .map(DeletedBlocksTransaction::getTxID).collect(Collectors.toList());
+    Assert.assertEquals(first, fourth);
+  }
+
+  @Test
+  public void testNumOfValidTransactions() throws Exception {
+    int maxRetry = conf.getInt(OZONE_SCM_BLOCK_DELETION_MAX_RETRY, 20);
+    for (Map.Entry<Long, List<Long>> entry : generateData(30).entrySet()){
+      deletedBlockLog.addTransaction(entry.getKey(), entry.getValue());
+    }
+    Assert.assertEquals(30, deletedBlockLog.getNumOfValidTransactions());
+
+    // 10 transactions fail.
+    List<DeletedBlocksTransaction> blocks = getTransactions(10);
+    List<Long> txIDs = blocks.stream().map(DeletedBlocksTransaction::getTxID)
+        .collect(Collectors.toList());
+    for (int i = 0; i <= maxRetry; i++) {
+      deletedBlockLog.incrementCount(txIDs);
+    }
+    Assert.assertEquals(20, deletedBlockLog.getNumOfValidTransactions());
+
+    // 10 transactions are committed.
+    commitTransactions(getTransactions(10));
+    Assert.assertEquals(10, deletedBlockLog.getNumOfValidTransactions());
+
+    deletedBlockLog.addTransactions(generateData(5));
+    Assert.assertEquals(15, deletedBlockLog.getNumOfValidTransactions());
+
+    // The counter is loaded from the log after restart.
+    deletedBlockLog.close();
+    deletedBlockLog = new DeletedBlockLogImpl(conf, containerManager,
+        scm.getScmMetadataStore());
+    Assert.assertEquals(15, deletedBlockLog.getNumOfValidTransactions());
+  }
+
   @Test
   public void testRandomOperateTransactions() throws Exception {
     Random random = new Random();
@@ -26,12 +26,15 @@
     .StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.protocol.proto
     .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.scm.events.SCMEvents;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
 import org.apache.hadoop.hdds.scm.node.states.NodeNotFoundException;
 import org.apache.hadoop.hdds.scm.server
     .SCMDatanodeHeartbeatDispatcher.ContainerReportFromDatanode;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
+import org.apache.hadoop.ozone.container.common.report.ContainerReportDigest;
+import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -100,6 +103,11 @@ public void setup() throws IOException {
     }).when(containerManager).removeContainerReplica(
         Mockito.any(ContainerID.class), Mockito.any(ContainerReplica.class));
 
+    Mockito.when(containerManager.getReplicaDigest(
+        Mockito.any(DatanodeDetails.class)))
+        .thenAnswer(invocation -> containerStateManager
+            .getReplicaDigest((DatanodeDetails) invocation.getArguments()[0]));
+
   }
 
   @After
@@ -483,6 +491,94 @@ public void testQuasiClosedToClosed()
     Assert.assertEquals(LifeCycleState.CLOSED, containerOne.getState());
   }
 
+  @Test
+  public void testDeltaContainerReport()
+      throws NodeNotFoundException, IOException {
+
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(
+        nodeManager, containerManager);
+    final Iterator<DatanodeDetails> nodeIterator = nodeManager.getNodes(
+        NodeState.HEALTHY).iterator();
+    final DatanodeDetails datanodeOne = nodeIterator.next();
+    final DatanodeDetails datanodeTwo = nodeIterator.next();
+
+    final ContainerInfo containerOne = getContainer(LifeCycleState.CLOSED);
+    final ContainerInfo containerTwo = getContainer(LifeCycleState.CLOSED);
+    containerStateManager.loadContainer(containerOne);
+    containerStateManager.loadContainer(containerTwo);
+    getReplicas(containerOne.containerID(),
+        ContainerReplicaProto.State.CLOSED, datanodeTwo)
+        .forEach(r -> {
+          try {
+            containerStateManager.updateContainerReplica(
+                containerOne.containerID(), r);
+          } catch (ContainerNotFoundException ignored) {
+
+          }
+        });
+
+    final ContainerReplicaProto replicaOne = getContainerReportsProto(
+        containerOne.containerID(), ContainerReplicaProto.State.CLOSED,
+        datanodeOne.getUuidString()).getReports(0);
+    final ContainerReplicaProto replicaTwo = getContainerReportsProto(
+        containerTwo.containerID(), ContainerReplicaProto.State.CLOSED,
+        datanodeOne.getUuidString()).getReports(0);
+    final long digestOne = ContainerReportDigest.hash(replicaOne);
+    final long digestTwo = ContainerReportDigest.hash(replicaTwo);
+
+    // Full report of the datanode with a generation.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanodeOne,
+        ContainerReportsProto.newBuilder()
+            .addReports(replicaOne)
+            .addReports(replicaTwo)
+            .setGeneration(1)
+            .setDigest(digestOne + digestTwo)
+            .build()), publisher);
+    Assert.assertEquals(2, containerManager.getContainerReplicas(
+        containerOne.containerID()).size());
+
+    // Delta report, containerOne is removed from the datanode.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanodeOne,
+        ContainerReportsProto.newBuilder()
+            .setBaseGeneration(1)
+            .setGeneration(2)
+            .addRemovedContainerIDs(containerOne.getContainerID())
+            .setDigest(digestTwo)
+            .build()), publisher);
+    Assert.assertEquals(1, containerManager.getContainerReplicas(
+        containerOne.containerID()).size());
+    Assert.assertEquals(1, containerManager.getContainerReplicas(
+        containerTwo.containerID()).size());
+    Assert.assertEquals(Stream.of(containerTwo.containerID())
+            .collect(Collectors.toSet()),
+        nodeManager.getContainers(datanodeOne));
+    Mockito.verify(publisher, Mockito.never()).fireEvent(
+        Mockito.eq(SCMEvents.DATANODE_COMMAND),
+        Mockito.any(CommandForDatanode.class));
+
+    // The digest of the datanode does not match the replicas in SCM.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanodeOne,
+        ContainerReportsProto.newBuilder()
+            .setBaseGeneration(2)
+            .setGeneration(3)
+            .setDigest(digestOne + digestTwo)
+            .build()), publisher);
+    Mockito.verify(publisher, Mockito.times(1)).fireEvent(
+        Mockito.eq(SCMEvents.DATANODE_COMMAND),
+        Mockito.any(CommandForDatanode.class));
+
+    // The delta does not follow the last applied report.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanodeOne,
+        ContainerReportsProto.newBuilder()
+            .setBaseGeneration(3)
+            .setGeneration(4)
+            .setDigest(digestTwo)
+            .build()), publisher);
+    Mockito.verify(publisher, Mockito.times(2)).fireEvent(
+        Mockito.eq(SCMEvents.DATANODE_COMMAND),
+        Mockito.any(CommandForDatanode.class));
+  }
+
   private static ContainerReportsProto getContainerReportsProto(
       final ContainerID containerId, final ContainerReplicaProto.State state,
       final String originNodeId) {
@@ -32,6 +32,7 @@
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineManager;
 import org.apache.hadoop.hdds.scm.pipeline.SCMPipelineManager;
+import org.apache.hadoop.ozone.container.common.report.ContainerReportDigest;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -94,15 +95,64 @@ public void checkReplicationStateMissingReplica() throws IOException {
     Assert.assertEquals(3, c1.getReplicationFactor().getNumber());
   }
 
+  @Test
+  public void checkReplicaDigest() throws IOException {
+    //GIVEN
+    ContainerInfo c1 = allocateContainer();
+    ContainerInfo c2 = allocateContainer();
+
+    DatanodeDetails d1 = MockDatanodeDetails.randomDatanodeDetails();
+    DatanodeDetails d2 = MockDatanodeDetails.randomDatanodeDetails();
+
+    addReplica(c1, d1);
+    addReplica(c2, d1);
+    addReplica(c1, d2);
+
+    //THEN
+    long hash1 = ContainerReportDigest.hash(c1.getContainerID(),
+        ContainerReplicaProto.State.CLOSED, 0);
+    long hash2 = ContainerReportDigest.hash(c2.getContainerID(),
+        ContainerReplicaProto.State.CLOSED, 0);
+    Assert.assertEquals(hash1 + hash2,
+        containerStateManager.getReplicaDigest(d1));
+    Assert.assertEquals(hash1, containerStateManager.getReplicaDigest(d2));
+
+    // An updated replica replaces the previous one in the digest.
+    ContainerReplica quasiClosed = addReplica(c2, d1,
+        ContainerReplicaProto.State.QUASI_CLOSED, 10L);
+    Assert.assertEquals(hash1 + ContainerReportDigest.hash(
+        c2.getContainerID(), ContainerReplicaProto.State.QUASI_CLOSED, 10),
+        containerStateManager.getReplicaDigest(d1));
+
+    containerStateManager.removeContainerReplica(c2.containerID(),
+        quasiClosed);
+    Assert.assertEquals(hash1, containerStateManager.getReplicaDigest(d1));
+
+    containerStateManager.removeContainer(c1.containerID());
+    Assert.assertEquals(0, containerStateManager.getReplicaDigest(d1));
+    Assert.assertEquals(0, containerStateManager.getReplicaDigest(d2));
+  }
+
   private void addReplica(ContainerInfo cont, DatanodeDetails node)
       throws ContainerNotFoundException {
-    ContainerReplica replica = ContainerReplica.newBuilder()
-        .setContainerID(cont.containerID())
-        .setContainerState(ContainerReplicaProto.State.CLOSED)
-        .setDatanodeDetails(node)
-        .build();
+    addReplica(cont, node, ContainerReplicaProto.State.CLOSED, null);
+  }
+
+  private ContainerReplica addReplica(ContainerInfo cont,
+      DatanodeDetails node, ContainerReplicaProto.State state,
+      Long sequenceId) throws ContainerNotFoundException {
+    ContainerReplica.ContainerReplicaBuilder builder =
+        ContainerReplica.newBuilder()
+            .setContainerID(cont.containerID())
+            .setContainerState(state)
+            .setDatanodeDetails(node);
+    if (sequenceId != null) {
+      builder.setSequenceId(sequenceId);
+    }
+    ContainerReplica replica = builder.build();
     containerStateManager
         .updateContainerReplica(cont.containerID(), replica);
+    return replica;
   }
 
   private ContainerInfo allocateContainer() throws IOException {
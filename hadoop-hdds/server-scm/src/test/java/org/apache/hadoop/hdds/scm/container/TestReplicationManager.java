@@ -38,6 +38,7 @@
 import org.apache.hadoop.hdds.server.events.EventQueue;
 import org.apache.hadoop.ozone.lock.LockManager;
 import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
+import org.apache.hadoop.ozone.protocol.commands.ReplicateContainerCommand;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -47,6 +48,7 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -73,12 +75,13 @@ public class TestReplicationManager {
   private EventQueue eventQueue;
   private DatanodeCommandHandler datanodeCommandHandler;
   private SCMNodeManager scmNodeManager;
+  private ConfigurationSource conf;
+  private ContainerManager containerManager;
 
   @Before
   public void setup() throws IOException, InterruptedException {
-    final ConfigurationSource conf = new OzoneConfiguration();
-    final ContainerManager containerManager =
-        Mockito.mock(ContainerManager.class);
+    conf = new OzoneConfiguration();
+    containerManager = Mockito.mock(ContainerManager.class);
     eventQueue = new EventQueue();
     containerStateManager = new ContainerStateManager(conf);
 
@@ -766,6 +769,83 @@ public void overReplicatedButRemovingMakesMisReplicated()
         replicaFive.getDatanodeDetails()));
   }
 
+  /**
+   * Containers with the fewest remaining replicas are replicated first.
+   */
+  @Test
+  public void testUrgentContainersReplicatedFirst()
+      throws SCMException, ContainerNotFoundException, InterruptedException {
+    final UUID originNodeId = UUID.randomUUID();
+    for (int i = 0; i < 10; i++) {
+      final ContainerInfo container = getContainer(LifeCycleState.CLOSED);
+      final ContainerID id = container.containerID();
+      containerStateManager.loadContainer(container);
+      // Every other container is down to a single replica.
+      for (int r = 0; r < 1 + i % 2; r++) {
+        containerStateManager.updateContainerReplica(id, getReplicas(
+            id, State.CLOSED, 1000L, originNodeId, randomDatanodeDetails()));
+      }
+    }
+
+    replicationManager.processContainersNow();
+    // Wait for EventQueue to call the event handler
+    Thread.sleep(100L);
+
+    final List<Integer> priorities = datanodeCommandHandler
+        .getReceivedCommands().stream()
+        .filter(c -> c.getCommand().getType()
+            .equals(SCMCommandProto.Type.replicateContainerCommand))
+        .map(c -> ((ReplicateContainerCommand) c.getCommand()).getPriority())
+        .collect(Collectors.toList());
+    // 5 containers need two new replicas, 5 containers need one.
+    Assert.assertEquals(15, priorities.size());
+    Assert.assertEquals(Collections.nCopies(10, 1), priorities.subList(0, 10));
+    Assert.assertEquals(Collections.nCopies(5, 2), priorities.subList(10, 15));
+    Assert.assertEquals(10, replicationManager.getReplicationBacklog(
+        ReplicationManager.ReplicationUrgency.UNDER_REPLICATED));
+  }
+
+  /**
+   * Replications are deferred when all the sources of a container have
+   * reached the inflight replication limit, counting each replication.
+   */
+  @Test
+  public void testReplicationDeferredAtSourceLimit()
+      throws SCMException, ContainerNotFoundException, InterruptedException {
+    replicationManager.stop();
+    final ReplicationManagerConfiguration rmConf =
+        new ReplicationManagerConfiguration();
+    rmConf.setDatanodeInflightLimit(1);
+    replicationManager = new ReplicationManager(rmConf, containerManager,
+        containerPlacementPolicy, eventQueue, new LockManager<>(conf),
+        scmNodeManager);
+    replicationManager.start();
+    Thread.sleep(100L);
+
+    final DatanodeDetails source = randomDatanodeDetails();
+    final UUID originNodeId = UUID.randomUUID();
+    for (int i = 0; i < 2; i++) {
+      final ContainerInfo container = getContainer(LifeCycleState.CLOSED);
+      final ContainerID id = container.containerID();
+      containerStateManager.loadContainer(container);
+      containerStateManager.updateContainerReplica(id, getReplicas(
+          id, State.CLOSED, 1000L, originNodeId, source));
+    }
+
+    final int currentReplicateCommandCount = datanodeCommandHandler
+        .getInvocationCount(SCMCommandProto.Type.replicateContainerCommand);
+
+    replicationManager.processContainersNow();
+    // Wait for EventQueue to call the event handler
+    Thread.sleep(100L);
+    // The source is the first source of a single replication, the second
+    // replica of the first container and the second container are deferred.
+    Assert.assertEquals(currentReplicateCommandCount + 1,
+        datanodeCommandHandler.getInvocationCount(
+            SCMCommandProto.Type.replicateContainerCommand));
+    Assert.assertEquals(2, replicationManager.getDeferredReplication());
+  }
+
   @After
   public void teardown() throws IOException {
     containerStateManager.close();
@@ -426,6 +426,26 @@ public Iterator<? extends OzoneKey> listKeys(String keyPrefix,
     return new KeyIterator(keyPrefix, prevKey);
   }
 
+  /**
+   * Returns up to maxKeys keys and common prefixes after prevKey in the
+   * bucket. The keys whose name contains the delimiter after the key prefix
+   * are grouped into a single common prefix, ending with the delimiter,
+   * which is listed by Ozone Manager without reading the grouped keys.
+   * To list the next page, pass the last key or common prefix as prevKey.
+   *
+   * @param keyPrefix Bucket prefix to match
+   * @param prevKey Keys and common prefixes will be listed after this value
+   * @param delimiter Delimiter of the common prefixes
+   * @param maxKeys Maximum number of keys and common prefixes to return
+   * @return {@link OzoneKeyList}
+   * @throws IOException
+   */
+  public OzoneKeyList listKeys(String keyPrefix, String prevKey,
+      String delimiter, int maxKeys) throws IOException {
+    return proxy.listKeys(volumeName, name, keyPrefix, prevKey, delimiter,
+        maxKeys);
+  }
+
   /**
    * Deletes key from the bucket.
    * @param key Name of the key to be deleted.
@@ -444,6 +464,15 @@ public void deleteKeys(List<String> keyList) throws IOException {
     proxy.deleteKeys(volumeName, name, keyList);
   }
 
+  /**
+   * Renames the given keys of the bucket atomically.
+   * @param keyMap Map of the key names to rename to their new names.
+   * @throws IOException
+   */
+  public void renameKeys(Map<String, String> keyMap) throws IOException {
+    proxy.renameKeys(volumeName, name, keyMap);
+  }
+
   /**
    * Rename the keyname from fromKeyName to toKeyName.
    * @param fromKeyName The original key name.
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Keys and common prefixes of a key listing with a delimiter.
+ */
+public class OzoneKeyList {
+
+  private final List<OzoneKey> keys;
+
+  private final List<String> commonPrefixes;
+
+  public OzoneKeyList(List<OzoneKey> keys, List<String> commonPrefixes) {
+    Preconditions.checkNotNull(keys);
+    Preconditions.checkNotNull(commonPrefixes);
+    this.keys = keys;
+    this.commonPrefixes = commonPrefixes;
+  }
+
+  public List<OzoneKey> getKeys() {
+    return keys;
+  }
+
+  /**
+   * Returns the common prefixes, each ending with the delimiter.
+   */
+  public List<String> getCommonPrefixes() {
+    return commonPrefixes;
+  }
+}
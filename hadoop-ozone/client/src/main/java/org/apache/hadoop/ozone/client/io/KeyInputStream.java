@@ -21,12 +21,17 @@
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSExceptionMessages;
+import org.apache.hadoop.fs.PositionedReadable;
 import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.scm.XceiverClientManager;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
+import org.apache.hadoop.hdds.scm.storage.ByteArrayReader;
+import org.apache.hadoop.hdds.scm.storage.ByteBufferReader;
+import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.slf4j.Logger;
@@ -36,16 +41,20 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Maintaining a list of BlockInputStream. Read based on offset.
  */
-public class KeyInputStream extends InputStream implements Seekable {
+public class KeyInputStream extends InputStream
+    implements Seekable, ByteBufferReadable, PositionedReadable {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyInputStream.class);
@@ -75,6 +84,12 @@ public class KeyInputStream extends InputStream implements Seekable {
   // can be reset if a new position is seeked.
   private int blockIndexOfPrevPosition;
 
+  // Used to read ahead, null if the streams were added for testing.
+  private XceiverClientManager xceiverClientManager;
+
+  // Index of the last block initialized in the background to be read ahead.
+  private int readAheadBlockIndex;
+
   public KeyInputStream() {
     blockStreams = new ArrayList<>();
     blockIndex = 0;
@@ -101,6 +116,7 @@ private synchronized void initialize(OmKeyInfo keyInfo,
       XceiverClientManager xceiverClientManager,
       boolean verifyChecksum,  Function<OmKeyInfo, OmKeyInfo> retryFunction) {
     this.key = keyInfo.getKeyName();
+    this.xceiverClientManager = xceiverClientManager;
     this.blockOffsets = new long[blockInfos.size()];
     long keyLength = 0;
     for (int i = 0; i < blockInfos.size(); i++) {
@@ -174,16 +190,30 @@ public synchronized int read() throws IOException {
   @Override
   public synchronized int read(byte[] b, int off, int len) throws IOException {
     checkOpen();
-    if (b == null) {
-      throw new NullPointerException();
-    }
-    if (off < 0 || len < 0 || len > b.length - off) {
-      throw new IndexOutOfBoundsException();
-    }
+    ByteReaderStrategy strategy = new ByteArrayReader(b, off, len);
     if (len == 0) {
       return 0;
     }
+    return readWithStrategy(strategy);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized int read(ByteBuffer byteBuffer) throws IOException {
+    checkOpen();
+    ByteReaderStrategy strategy = new ByteBufferReader(byteBuffer);
+    if (strategy.getTargetLength() == 0) {
+      return 0;
+    }
+    return readWithStrategy(strategy);
+  }
+
+  private synchronized int readWithStrategy(ByteReaderStrategy strategy)
+      throws IOException {
     int totalReadLen = 0;
+    int len = strategy.getTargetLength();
     while (len > 0) {
       // if we are at the last block and have read the entire block, return
       if (blockStreams.size() == 0 ||
@@ -196,7 +226,7 @@ public synchronized int read(byte[] b, int off, int len) throws IOException {
       // Get the current blockStream and read data from it
       BlockInputStream current = blockStreams.get(blockIndex);
       int numBytesToRead = Math.min(len, (int)current.getRemaining());
-      int numBytesRead = current.read(b, off, numBytesToRead);
+      int numBytesRead = strategy.readFromBlock(current, numBytesToRead);
       if (numBytesRead != numBytesToRead) {
         // This implies that there is either data loss or corruption in the
         // chunk entries. Even EOF in the current stream would be covered in
@@ -207,16 +237,136 @@ public synchronized int read(byte[] b, int off, int len) throws IOException {
                 numBytesRead));
       }
       totalReadLen += numBytesRead;
-      off += numBytesRead;
       len -= numBytesRead;
       if (current.getRemaining() <= 0 &&
           ((blockIndex + 1) < blockStreams.size())) {
         blockIndex += 1;
       }
     }
+    readAhead();
     return totalReadLen;
   }
 
+  /**
+   * Reads up to buf.remaining() bytes of the key starting at the given
+   * position into the buffer, without changing the position of the stream.
+   * The data is read from the datanodes directly into the buffer, so it can
+   * be called concurrently by multiple threads.
+   *
+   * @return the number of bytes read, or -1 if the position is at or after
+   * the end of the key.
+   */
+  public int read(long position, ByteBuffer buf) throws IOException {
+    checkOpen();
+    if (position < 0) {
+      throw new EOFException(
+          "Negative position " + position + " for key: " + key);
+    }
+    if (position >= length) {
+      return EOF;
+    }
+    if (!buf.hasRemaining()) {
+      return 0;
+    }
+
+    int index = Arrays.binarySearch(blockOffsets, position);
+    if (index < 0) {
+      // Binary search returns -insertionPoint - 1 if element is not present
+      // in the array.
+      index = -index - 2;
+    }
+    int totalReadLen = 0;
+    for (; index < blockStreams.size() && buf.hasRemaining(); index++) {
+      BlockInputStream blockStream = blockStreams.get(index);
+      long blockPosition = position + totalReadLen - blockOffsets[index];
+      if (blockPosition < blockStream.getLength()) {
+        int numBytesRead = blockStream.read(blockPosition, buf);
+        if (numBytesRead == EOF) {
+          break;
+        }
+        totalReadLen += numBytesRead;
+      }
+    }
+    return totalReadLen;
+  }
+
+  /**
+   * Reads the key starting at the given position until the buffer is full,
+   * without changing the position of the stream.
+   *
+   * @throws EOFException if the end of the key is reached before the buffer
+   * is full.
+   */
+  public void readFully(long position, ByteBuffer buf) throws IOException {
+    while (buf.hasRemaining()) {
+      int numBytesRead = read(position, buf);
+      if (numBytesRead < 0) {
+        throw new EOFException(FSExceptionMessages.EOF_IN_READ_FULLY);
+      }
+      position += numBytesRead;
+    }
+  }
+
+  @Override
+  public int read(long position, byte[] buffer, int offset, int len)
+      throws IOException {
+    return read(position, ByteBuffer.wrap(buffer, offset, len));
+  }
+
+  @Override
+  public void readFully(long position, byte[] buffer, int offset, int len)
+      throws IOException {
+    readFully(position, ByteBuffer.wrap(buffer, offset, len));
+  }
+
+  @Override
+  public void readFully(long position, byte[] buffer) throws IOException {
+    readFully(position, buffer, 0, buffer.length);
+  }
+
+  /**
+   * Starts reading ahead the chunks after the current position, if read
+   * ahead is enabled. Blocks after the current one are read ahead with the
+   * part of the budget left. A block not initialized yet is initialized in
+   * the background, as it needs a call to the datanode.
+   */
+  private void readAhead() {
+    if (xceiverClientManager == null) {
+      return;
+    }
+    BlockInputStream.ReadAheadBudget budget =
+        xceiverClientManager.newReadAheadBudget();
+    if (budget == null) {
+      return;
+    }
+    Executor executor = xceiverClientManager.getReadAheadExecutor();
+    try {
+      for (int index = blockIndex;
+           index < blockStreams.size() && !budget.isExhausted(); index++) {
+        BlockInputStream blockStream = blockStreams.get(index);
+        if (index == blockIndex || blockStream.isInitialized()) {
+          blockStream.readAhead(budget, executor);
+        } else {
+          if (index > readAheadBlockIndex) {
+            readAheadBlockIndex = index;
+            executor.execute(() -> {
+              try {
+                blockStream.readAhead(budget, executor);
+              } catch (IOException e) {
+                LOG.debug("Failed to read ahead block {}",
+                    blockStream.getBlockID(), e);
+              }
+            });
+          }
+          return;
+        }
+      }
+    } catch (IOException | RejectedExecutionException e) {
+      // The data is read again when it is needed.
+      LOG.debug("Failed to read ahead key {}", key, e);
+    }
+  }
+
   /**
    * Seeks the KeyInputStream to the specified position. This involves 2 steps:
    *    1. Updating the blockIndex to the blockStream corresponding to the
@@ -263,8 +413,14 @@ public synchronized void seek(long pos) throws IOException {
       blockIndex = -blockIndex - 2;
     }
 
-    // Reset the previous blockStream's position
-    blockStreams.get(blockIndexOfPrevPosition).resetPosition();
+    // Reset the previous blockStream's position and drop the data it read
+    // ahead, as the reader moved away from it.
+    BlockInputStream prevBlockStream =
+        blockStreams.get(blockIndexOfPrevPosition);
+    prevBlockStream.resetPosition();
+    if (blockIndexOfPrevPosition != blockIndex) {
+      prevBlockStream.dropReadAhead();
+    }
 
     // Reset all the blockStreams above the blockIndex. We do this to reset
     // any previous reads which might have updated the blockPosition and
@@ -33,6 +33,7 @@
 import org.apache.hadoop.ozone.client.BucketArgs;
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneKey;
+import org.apache.hadoop.ozone.client.OzoneKeyList;
 import org.apache.hadoop.ozone.client.OzoneKeyDetails;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadList;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadPartListParts;
@@ -305,6 +306,16 @@ void deleteKeys(String volumeName, String bucketName,
                   List<String> keyNameList)
       throws IOException;
 
+  /**
+   * Renames existing keys within a bucket, either all of them or none.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keyMap Map of the Key names to their new names
+   * @throws IOException
+   */
+  void renameKeys(String volumeName, String bucketName,
+      Map<String, String> keyMap) throws IOException;
+
   /**
    * Renames an existing key within a bucket.
    * @param volumeName Name of the Volume
@@ -332,6 +343,25 @@ List<OzoneKey> listKeys(String volumeName, String bucketName,
                           String keyPrefix, String prevKey, int maxListResult)
       throws IOException;
 
+  /**
+   * Returns the Keys and common prefixes in {Volume/Bucket} that match the
+   * keyPrefix. The keys whose name contains the delimiter after the
+   * keyPrefix are returned once as a common prefix, which ends with the
+   * delimiter.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keyPrefix Bucket prefix to match
+   * @param prevKey Starting point of the list, this key or common prefix
+   *                is excluded
+   * @param delimiter Delimiter of the common prefixes
+   * @param maxListResult Max number of keys and common prefixes to return.
+   * @return {@link OzoneKeyList}
+   * @throws IOException
+   */
+  OzoneKeyList listKeys(String volumeName, String bucketName,
+      String keyPrefix, String prevKey, String delimiter, int maxListResult)
+      throws IOException;
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
@@ -60,6 +60,7 @@
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneKey;
 import org.apache.hadoop.ozone.client.OzoneKeyDetails;
+import org.apache.hadoop.ozone.client.OzoneKeyList;
 import org.apache.hadoop.ozone.client.OzoneKeyLocation;
 import org.apache.hadoop.ozone.client.OzoneMultipartUpload;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadList;
@@ -78,6 +79,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteList;
@@ -96,6 +98,7 @@
 import org.apache.hadoop.ozone.om.protocolPB.OmTransport;
 import org.apache.hadoop.ozone.om.protocolPB.OmTransportFactory;
 import org.apache.hadoop.ozone.om.protocolPB.OzoneManagerProtocolClientSideTranslatorPB;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRoleInfo;
 import org.apache.hadoop.ozone.security.GDPRSymmetricKey;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
@@ -736,6 +739,18 @@ public void deleteKeys(
     ozoneManagerClient.deleteKeys(keyArgsList);
   }
 
+  @Override
+  public void renameKeys(String volumeName, String bucketName,
+      Map<String, String> keyMap) throws IOException {
+    HddsClientUtils.verifyResourceName(volumeName, bucketName);
+    Preconditions.checkNotNull(keyMap);
+    for (Map.Entry<String, String> entry : keyMap.entrySet()) {
+      Preconditions.checkNotNull(entry.getKey());
+      Preconditions.checkNotNull(entry.getValue());
+    }
+    ozoneManagerClient.renameKeys(volumeName, bucketName, keyMap);
+  }
+
   @Override
   public void renameKey(String volumeName, String bucketName,
       String fromKeyName, String toKeyName) throws IOException {
@@ -755,10 +770,30 @@ public List<OzoneKey> listKeys(String volumeName, String bucketName,
                                  String keyPrefix, String prevKey,
                                  int maxListResult)
       throws IOException {
-    List<OmKeyInfo> keys = ozoneManagerClient.listKeys(
-        volumeName, bucketName, prevKey, keyPrefix, maxListResult);
+    // OzoneKey has no block locations, so they are not requested.
+    OmKeyList keyList = ozoneManagerClient.listKeys(volumeName, bucketName,
+        prevKey, keyPrefix, null, maxListResult, KeyInfoProjection.SUMMARY);
 
-    return keys.stream().map(key -> new OzoneKey(
+    return keyList.getKeys().stream().map(RpcClient::toOzoneKey)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public OzoneKeyList listKeys(String volumeName, String bucketName,
+      String keyPrefix, String prevKey, String delimiter, int maxListResult)
+      throws IOException {
+    Preconditions.checkNotNull(delimiter);
+    OmKeyList keyList = ozoneManagerClient.listKeys(volumeName, bucketName,
+        prevKey, keyPrefix, delimiter, maxListResult,
+        KeyInfoProjection.SUMMARY);
+
+    return new OzoneKeyList(keyList.getKeys().stream()
+        .map(RpcClient::toOzoneKey)
+        .collect(Collectors.toList()), keyList.getCommonPrefixes());
+  }
+
+  private static OzoneKey toOzoneKey(OmKeyInfo key) {
+    return new OzoneKey(
         key.getVolumeName(),
         key.getBucketName(),
         key.getKeyName(),
@@ -766,8 +801,7 @@ public List<OzoneKey> listKeys(String volumeName, String bucketName,
         key.getCreationTime(),
         key.getModificationTime(),
         ReplicationType.valueOf(key.getType().toString()),
-        key.getFactor().getNumber()))
-        .collect(Collectors.toList());
+        key.getFactor().getNumber());
   }
 
   @Override
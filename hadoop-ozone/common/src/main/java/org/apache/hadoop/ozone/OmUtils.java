@@ -246,6 +246,7 @@ public static boolean isReadOnly(
     case DeleteBucket:
     case CreateKey:
     case RenameKey:
+    case RenameKeys:
     case DeleteKey:
     case DeleteKeys:
     case CommitKey:
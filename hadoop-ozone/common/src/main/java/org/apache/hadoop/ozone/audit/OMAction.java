@@ -32,6 +32,7 @@ public enum OMAction implements AuditAction {
   DELETE_BUCKET,
   DELETE_KEY,
   RENAME_KEY,
+  RENAME_KEYS,
   SET_OWNER,
   SET_QUOTA,
   UPDATE_VOLUME,
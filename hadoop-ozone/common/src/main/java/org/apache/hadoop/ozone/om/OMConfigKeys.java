@@ -138,6 +138,38 @@ private OMConfigKeys() {
   public static final long
       OZONE_OM_RATIS_SNAPSHOT_AUTO_TRIGGER_THRESHOLD_DEFAULT = 400000;
 
+  // Number of executors used by OM StateMachine to apply transactions.
+  // Transactions are partitioned across executors by volume/bucket, and
+  // transactions which are not scoped to a single bucket are serialized.
+  public static final String OZONE_OM_RATIS_APPLY_TRANSACTION_EXECUTORS_KEY
+      = "ozone.om.ratis.apply.transaction.executors";
+  public static final int
+      OZONE_OM_RATIS_APPLY_TRANSACTION_EXECUTORS_DEFAULT = 1;
+
+  // OM DoubleBuffer configurations
+  public static final String OZONE_OM_DOUBLE_BUFFER_CAPACITY_KEY
+      = "ozone.om.double.buffer.capacity";
+  public static final int OZONE_OM_DOUBLE_BUFFER_CAPACITY_DEFAULT = 100000;
+  public static final String OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_KEY
+      = "ozone.om.double.buffer.max.batch.size";
+  public static final int OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_DEFAULT =
+      10000;
+
+  // Blocks allocated from SCM ahead of requests, for each replication type
+  // and factor.
+  public static final String OZONE_OM_BLOCK_PREFETCH_SIZE_KEY
+      = "ozone.om.block.prefetch.size";
+  public static final int OZONE_OM_BLOCK_PREFETCH_SIZE_DEFAULT = 0;
+  public static final String OZONE_OM_BLOCK_PREFETCH_EXPIRY_KEY
+      = "ozone.om.block.prefetch.expiry";
+  public static final String OZONE_OM_BLOCK_PREFETCH_EXPIRY_DEFAULT = "30s";
+
+  // Format in which the key table and open key table caches keep key infos.
+  public static final String OZONE_OM_KEY_CACHE_VALUE_FORMAT_KEY
+      = "ozone.om.key.cache.value.format";
+  public static final String OZONE_OM_KEY_CACHE_VALUE_FORMAT_DEFAULT
+      = "OBJECT";
+
   // OM Ratis server configurations
   public static final String OZONE_OM_RATIS_SERVER_REQUEST_TIMEOUT_KEY
       = "ozone.om.ratis.server.request.timeout";
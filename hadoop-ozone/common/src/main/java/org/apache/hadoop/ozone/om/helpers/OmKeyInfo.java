@@ -382,12 +382,22 @@ public OmKeyInfo build() {
   }
 
   public KeyInfo getProtobuf() {
+    return getProtobuf(true);
+  }
+
+  /**
+   * Returns the protobuf of the key, with or without the block locations.
+   * The latest version is set in both cases.
+   */
+  public KeyInfo getProtobuf(boolean withLocations) {
     long latestVersion = keyLocationVersions.size() == 0 ? -1 :
         keyLocationVersions.get(keyLocationVersions.size() - 1).getVersion();
 
     List<KeyLocationList> keyLocations = new ArrayList<>();
-    for (OmKeyLocationInfoGroup locationInfoGroup : keyLocationVersions) {
-      keyLocations.add(locationInfoGroup.getProtobuf());
+    if (withLocations) {
+      for (OmKeyLocationInfoGroup locationInfoGroup : keyLocationVersions) {
+        keyLocations.add(locationInfoGroup.getProtobuf());
+      }
     }
 
     KeyInfo.Builder kb = KeyInfo.newBuilder()
@@ -94,13 +94,17 @@ public boolean isFile() {
   }
 
   public OzoneFileStatusProto getProtobuf() {
+    return getProtobuf(true);
+  }
+
+  public OzoneFileStatusProto getProtobuf(boolean withLocations) {
 
     Builder builder = OzoneFileStatusProto.newBuilder()
         .setBlockSize(blockSize)
         .setIsDirectory(isDirectory);
     //key info can be null for the fake root entry.
     if (keyInfo != null) {
-      builder.setKeyInfo(keyInfo.getProtobuf());
+      builder.setKeyInfo(keyInfo.getProtobuf(withLocations));
     }
     return builder.build();
   }
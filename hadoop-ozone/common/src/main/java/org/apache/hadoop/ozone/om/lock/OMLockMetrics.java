@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
+
+/**
+ * Receives the timings of the locks taken through {@link OzoneManagerLock}.
+ */
+public interface OMLockMetrics {
+
+  /**
+   * Time a thread waited to acquire a lock of the given resource type.
+   */
+  void addLockWaitTime(Resource resource, long nanos);
+
+  /**
+   * Time a thread held the locks of the given resource type, from the
+   * first acquired lock to the last released one.
+   */
+  void addLockHoldTime(Resource resource, long nanos);
+}
@@ -20,8 +20,10 @@
 
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +74,8 @@
  *     {@literal +-->} acquire s3 bucket lock (will throw Exception)<br>
  * </p>
  * <br>
+ * Each resource type has its own {@link LockManager}, so the striped locks
+ * of different levels are never shared.
  */
 
 public class OzoneManagerLock {
@@ -82,9 +86,13 @@ public class OzoneManagerLock {
   private static final String READ_LOCK = "read";
   private static final String WRITE_LOCK = "write";
 
-  private final LockManager<String> manager;
+  private final Map<Resource, LockManager<String>> managers =
+      new EnumMap<>(Resource.class);
   private final ThreadLocal<Short> lockSet = ThreadLocal.withInitial(
       () -> Short.valueOf((short)0));
+  private final ThreadLocal<HeldLocks> heldLocks =
+      ThreadLocal.withInitial(HeldLocks::new);
+  private volatile OMLockMetrics metrics;
 
 
   /**
@@ -94,14 +102,26 @@ public class OzoneManagerLock {
   public OzoneManagerLock(ConfigurationSource conf) {
     boolean fair = conf.getBoolean(OZONE_MANAGER_FAIR_LOCK,
         OZONE_MANAGER_FAIR_LOCK_DEFAULT);
-    manager = new LockManager<>(conf, fair);
+    for (Resource resource : Resource.values()) {
+      managers.put(resource, new LockManager<>(conf, fair));
+    }
+  }
+
+  /**
+   * Sets the metrics which receive the wait and hold times of the locks.
+   * The times are only measured once metrics are set.
+   */
+  public void setMetrics(OMLockMetrics lockMetrics) {
+    this.metrics = lockMetrics;
   }
 
   /**
    * Acquire lock on resource.
    *
    * For S3_BUCKET_LOCK, VOLUME_LOCK, BUCKET_LOCK type resource, same
-   * thread acquiring lock again is allowed.
+   * thread acquiring lock again is allowed. Within such a level a thread
+   * may hold read locks on several names, or locks on a single name if one
+   * of them is a write lock.
    *
    * For USER_LOCK, PREFIX_LOCK, S3_SECRET_LOCK type resource, same thread
    * acquiring lock again is not allowed.
@@ -117,14 +137,16 @@ public OzoneManagerLock(ConfigurationSource conf) {
   @Deprecated
   public boolean acquireLock(Resource resource, String... resources) {
     String resourceName = generateResourceName(resource, resources);
-    return lock(resource, resourceName, manager::writeLock, WRITE_LOCK);
+    return lock(resource, resourceName, LockManager::writeLock, WRITE_LOCK);
   }
 
   /**
    * Acquire read lock on resource.
    *
    * For S3_BUCKET_LOCK, VOLUME_LOCK, BUCKET_LOCK type resource, same
-   * thread acquiring lock again is allowed.
+   * thread acquiring lock again is allowed. Within such a level a thread
+   * may hold read locks on several names, or locks on a single name if one
+   * of them is a write lock.
    *
    * For USER_LOCK, PREFIX_LOCK, S3_SECRET_LOCK type resource, same thread
    * acquiring lock again is not allowed.
@@ -139,7 +161,7 @@ public boolean acquireLock(Resource resource, String... resources) {
    */
   public boolean acquireReadLock(Resource resource, String... resources) {
     String resourceName = generateResourceName(resource, resources);
-    return lock(resource, resourceName, manager::readLock, READ_LOCK);
+    return lock(resource, resourceName, LockManager::readLock, READ_LOCK);
   }
 
 
@@ -147,7 +169,9 @@ public boolean acquireReadLock(Resource resource, String... resources) {
    * Acquire write lock on resource.
    *
    * For S3_BUCKET_LOCK, VOLUME_LOCK, BUCKET_LOCK type resource, same
-   * thread acquiring lock again is allowed.
+   * thread acquiring lock again is allowed. Within such a level a thread
+   * may hold read locks on several names, or locks on a single name if one
+   * of them is a write lock.
    *
    * For USER_LOCK, PREFIX_LOCK, S3_SECRET_LOCK type resource, same thread
    * acquiring lock again is not allowed.
@@ -162,17 +186,31 @@ public boolean acquireReadLock(Resource resource, String... resources) {
    */
   public boolean acquireWriteLock(Resource resource, String... resources) {
     String resourceName = generateResourceName(resource, resources);
-    return lock(resource, resourceName, manager::writeLock, WRITE_LOCK);
+    return lock(resource, resourceName, LockManager::writeLock, WRITE_LOCK);
   }
 
   private boolean lock(Resource resource, String resourceName,
-      Consumer<String> lockFn, String lockType) {
+      BiConsumer<LockManager<String>, String> lockFn, String lockType) {
     if (!resource.canLock(lockSet.get())) {
       String errorMessage = getErrorMessage(resource);
       LOG.error(errorMessage);
       throw new RuntimeException(errorMessage);
     } else {
-      lockFn.accept(resourceName);
+      LockManager<String> manager = managers.get(resource);
+      if (!canLockName(manager, resourceName, WRITE_LOCK.equals(lockType))) {
+        String errorMessage = getErrorMessage(resource, resourceName,
+            lockType, manager);
+        LOG.error(errorMessage);
+        throw new RuntimeException(errorMessage);
+      }
+      OMLockMetrics lockMetrics = metrics;
+      if (lockMetrics == null) {
+        lockFn.accept(manager, resourceName);
+      } else {
+        long start = System.nanoTime();
+        lockFn.accept(manager, resourceName);
+        lockAcquired(lockMetrics, resource, start);
+      }
       if (LOG.isDebugEnabled()) {
         LOG.debug("Acquired {} {} lock on resource {}", lockType, resource.name,
             resourceName);
@@ -200,6 +238,31 @@ private String generateResourceName(Resource resource, String... resources) {
     }
   }
 
+  /**
+   * Names of one level share the stripes of its LockManager. A thread may
+   * hold read locks on several names of a level, or the write lock on a
+   * single one: mixing modes on different names can self-deadlock on a
+   * shared stripe, and unordered write locks can deadlock across threads.
+   */
+  private static boolean canLockName(LockManager<String> manager,
+      String resourceName, boolean write) {
+    for (String held : manager.getLockedByCurrentThread()) {
+      if (!held.equals(resourceName)
+          && (write || manager.isWriteLockedByCurrentThread(held))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String getErrorMessage(Resource resource, String resourceName,
+      String lockType, LockManager<String> manager) {
+    return "Thread '" + Thread.currentThread().getName() + "' cannot " +
+        "acquire " + lockType + " " + resource.name + " lock on " +
+        resourceName + " while holding " + resource.name + " lock(s) on " +
+        manager.getLockedByCurrentThread() + ".";
+  }
+
   private String getErrorMessage(Resource resource) {
     return "Thread '" + Thread.currentThread().getName() + "' cannot " +
         "acquire " + resource.name + " lock while holding " +
@@ -233,8 +296,8 @@ public boolean acquireMultiUserLock(String firstUser, String secondUser) {
       LOG.error(errorMessage);
       throw new RuntimeException(errorMessage);
     } else {
-      // When acquiring multiple user locks, the reason for doing lexical
-      // order comparision is to avoid deadlock scenario.
+      // When acquiring multiple user locks, the reason for doing ordered
+      // acquisition is to avoid deadlock scenario.
 
       // Example: 1st thread acquire lock(ozone, hdfs)
       // 2nd thread acquire lock(hdfs, ozone).
@@ -242,22 +305,23 @@ public boolean acquireMultiUserLock(String firstUser, String secondUser) {
       // 1st thread acquired lock on ozone, waiting for lock on hdfs, 2nd
       // thread acquired lock on hdfs, waiting for lock on ozone.
       // To avoid this when we acquire lock on multiple users, we acquire
-      // locks in lexical order, which can help us to avoid dead locks.
-      // Now if first thread acquires lock on hdfs, 2nd thread wait for lock
-      // on hdfs, and first thread acquires lock on ozone. Once after first
-      // thread releases user locks, 2nd thread acquires them.
-
-      int compare = firstUser.compareTo(secondUser);
+      // locks in the order of their stripes, as different users may share
+      // a lock. Now if first thread acquires lock on hdfs, 2nd thread wait
+      // for lock on hdfs, and first thread acquires lock on ozone. Once
+      // after first thread releases user locks, 2nd thread acquires them.
+      LockManager<String> manager = managers.get(resource);
       String temp;
 
-      // Order the user names in sorted order. Swap them.
-      if (compare > 0) {
+      // Order the user names by their stripes. Swap them.
+      if (manager.getStripe(firstUser) > manager.getStripe(secondUser)) {
         temp = secondUser;
         secondUser = firstUser;
         firstUser = temp;
       }
 
-      if (compare == 0) {
+      OMLockMetrics lockMetrics = metrics;
+      long start = lockMetrics == null ? 0 : System.nanoTime();
+      if (firstUser.equals(secondUser)) {
         // both users are equal.
         manager.writeLock(firstUser);
       } else {
@@ -271,6 +335,9 @@ public boolean acquireMultiUserLock(String firstUser, String secondUser) {
           throw ex;
         }
       }
+      if (lockMetrics != null) {
+        lockAcquired(lockMetrics, resource, start);
+      }
       if (LOG.isDebugEnabled()) {
         LOG.debug("Acquired Write {} lock on resource {} and {}", resource.name,
             firstUser, secondUser);
@@ -291,24 +358,16 @@ public void releaseMultiUserLock(String firstUser, String secondUser) {
     Resource resource = Resource.USER_LOCK;
     firstUser = generateResourceName(resource, firstUser);
     secondUser = generateResourceName(resource, secondUser);
+    LockManager<String> manager = managers.get(resource);
 
-    int compare = firstUser.compareTo(secondUser);
-
-    String temp;
-    // Order the user names in sorted order. Swap them.
-    if (compare > 0) {
-      temp = secondUser;
-      secondUser = firstUser;
-      firstUser = temp;
-    }
-
-    if (compare == 0) {
+    if (firstUser.equals(secondUser)) {
       // both users are equal.
       manager.writeUnlock(firstUser);
     } else {
       manager.writeUnlock(firstUser);
       manager.writeUnlock(secondUser);
     }
+    lockReleased(resource);
     if (LOG.isDebugEnabled()) {
       LOG.debug("Release Write {} lock on resource {} and {}", resource.name,
           firstUser, secondUser);
@@ -326,7 +385,7 @@ public void releaseMultiUserLock(String firstUser, String secondUser) {
    */
   public void releaseWriteLock(Resource resource, String... resources) {
     String resourceName = generateResourceName(resource, resources);
-    unlock(resource, resourceName, manager::writeUnlock, WRITE_LOCK);
+    unlock(resource, resourceName, LockManager::writeUnlock, WRITE_LOCK);
   }
 
   /**
@@ -339,7 +398,7 @@ public void releaseWriteLock(Resource resource, String... resources) {
    */
   public void releaseReadLock(Resource resource, String... resources) {
     String resourceName = generateResourceName(resource, resources);
-    unlock(resource, resourceName, manager::readUnlock, READ_LOCK);
+    unlock(resource, resourceName, LockManager::readUnlock, READ_LOCK);
   }
 
   /**
@@ -353,21 +412,69 @@ public void releaseReadLock(Resource resource, String... resources) {
   @Deprecated
   public void releaseLock(Resource resource, String... resources) {
     String resourceName = generateResourceName(resource, resources);
-    unlock(resource, resourceName, manager::writeUnlock, WRITE_LOCK);
+    unlock(resource, resourceName, LockManager::writeUnlock, WRITE_LOCK);
   }
 
   private void unlock(Resource resource, String resourceName,
-      Consumer<String> lockFn, String lockType) {
+      BiConsumer<LockManager<String>, String> lockFn, String lockType) {
     // TODO: Not checking release of higher order level lock happened while
     // releasing lower order level lock, as for that we need counter for
     // locks, as some locks support acquiring lock again.
-    lockFn.accept(resourceName);
-    // clear lock
+    LockManager<String> manager = managers.get(resource);
+    lockFn.accept(manager, resourceName);
+    lockReleased(resource);
     if (LOG.isDebugEnabled()) {
       LOG.debug("Release {} {}, lock on resource {}", lockType, resource.name,
           resourceName);
     }
-    lockSet.set(resource.clearLock(lockSet.get()));
+    // clear lock once no name of the level is held any more
+    if (manager.getLockedByCurrentThread().isEmpty()) {
+      lockSet.set(resource.clearLock(lockSet.get()));
+    }
+  }
+
+  private void lockAcquired(OMLockMetrics lockMetrics, Resource resource,
+      long start) {
+    long now = System.nanoTime();
+    lockMetrics.addLockWaitTime(resource, now - start);
+    heldLocks.get().acquired(resource, now);
+  }
+
+  private void lockReleased(Resource resource) {
+    OMLockMetrics lockMetrics = metrics;
+    if (lockMetrics != null) {
+      long holdTime = heldLocks.get().released(resource, System.nanoTime());
+      if (holdTime >= 0) {
+        lockMetrics.addLockHoldTime(resource, holdTime);
+      }
+    }
+  }
+
+  /**
+   * Locks held by a thread, per resource type, to measure the hold time
+   * from the first acquired lock to the last released one of a type.
+   */
+  private static final class HeldLocks {
+    private final int[] counts = new int[Resource.values().length];
+    private final long[] acquiredAt = new long[Resource.values().length];
+
+    void acquired(Resource resource, long now) {
+      if (counts[resource.ordinal()]++ == 0) {
+        acquiredAt[resource.ordinal()] = now;
+      }
+    }
+
+    /**
+     * Returns the hold time if the last lock of the type is released, else
+     * -1.
+     */
+    long released(Resource resource, long now) {
+      int index = resource.ordinal();
+      if (counts[index] == 0 || --counts[index] > 0) {
+        return -1;
+      }
+      return now - acquiredAt[index];
+    }
   }
 
   /**
@@ -21,6 +21,7 @@
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.ozone.OzoneAcl;
@@ -31,6 +32,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
@@ -46,6 +48,7 @@
 import org.apache.hadoop.ozone.om.helpers.ServiceInfo;
 import org.apache.hadoop.ozone.om.helpers.ServiceInfoEx;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OzoneAclInfo;
 import org.apache.hadoop.ozone.security.OzoneDelegationTokenSelector;
 import org.apache.hadoop.ozone.security.acl.OzoneObj;
@@ -216,6 +219,17 @@ OmKeyLocationInfo allocateBlock(OmKeyArgs args, long clientID,
    */
   void renameKey(OmKeyArgs args, String toKeyName) throws IOException;
 
+  /**
+   * Renames existing keys within a bucket. Either all the keys are renamed,
+   * or none of them.
+   * @param volumeName the name of the volume.
+   * @param bucketName the name of the bucket.
+   * @param keyMap map of the keys to rename to their new names.
+   * @throws IOException
+   */
+  void renameKeys(String volumeName, String bucketName,
+      Map<String, String> keyMap) throws IOException;
+
   /**
    * Deletes an existing key.
    *
@@ -290,6 +304,29 @@ List<OmKeyInfo> listKeys(String volumeName,
       String bucketName, String startKeyName, String keyPrefix, int maxKeys)
       throws IOException;
 
+  /**
+   * Returns a list of keys and common prefixes, which group the keys whose
+   * name contains the delimiter after the key prefix. A common prefix is
+   * the key name up to and including the first delimiter after the key
+   * prefix; it is returned once, and its keys are skipped over.
+   *
+   * @param volumeName the name of the volume.
+   * @param bucketName the name of the bucket.
+   * @param startKeyName only the keys and common prefixes after this value
+   *   are included in the result. If it is a common prefix, all of its keys
+   *   are excluded.
+   * @param keyPrefix key name prefix.
+   * @param delimiter the delimiter of the common prefixes.
+   * @param maxKeys the maximum number of keys and common prefixes to return.
+   * @param projection the part of the keys to return, SUMMARY leaves out
+   *   the block locations.
+   * @return the keys and common prefixes.
+   * @throws IOException
+   */
+  OmKeyList listKeys(String volumeName, String bucketName,
+      String startKeyName, String keyPrefix, String delimiter, int maxKeys,
+      KeyInfoProjection projection) throws IOException;
+
   /**
    * Returns list of Ozone services with its configuration details.
    *
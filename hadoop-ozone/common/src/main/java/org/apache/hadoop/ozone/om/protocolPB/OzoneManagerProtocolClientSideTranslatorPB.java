@@ -21,6 +21,7 @@
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
@@ -35,6 +36,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
@@ -86,6 +88,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.InfoVolumeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.InfoVolumeResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListBucketsRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListBucketsResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
@@ -120,6 +123,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RemoveAclRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RemoveAclResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysMap;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenewDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListResponse;
@@ -690,6 +695,25 @@ public void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
     handleError(submitRequest(omRequest));
   }
 
+  @Override
+  public void renameKeys(String volumeName, String bucketName,
+      Map<String, String> keyMap) throws IOException {
+    RenameKeysRequest.Builder req = RenameKeysRequest.newBuilder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName);
+    for (Map.Entry<String, String> entry : keyMap.entrySet()) {
+      req.addRenameKeysMap(RenameKeysMap.newBuilder()
+          .setFromKeyName(entry.getKey())
+          .setToKeyName(entry.getValue()));
+    }
+
+    OMRequest omRequest = createOMRequest(Type.RenameKeys)
+        .setRenameKeysRequest(req)
+        .build();
+
+    handleError(submitRequest(omRequest));
+  }
+
   /**
    * Deletes an existing key.
    *
@@ -796,6 +820,40 @@ public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
 
   }
 
+  /**
+   * List keys and common prefixes in a bucket.
+   */
+  @Override
+  public OmKeyList listKeys(String volumeName, String bucketName,
+      String startKey, String prefix, String delimiter, int maxKeys,
+      KeyInfoProjection projection) throws IOException {
+    ListKeysRequest.Builder reqBuilder = ListKeysRequest.newBuilder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setCount(maxKeys)
+        .setProjection(projection);
+    if (delimiter != null) {
+      reqBuilder.setDelimiter(delimiter);
+    }
+    if (startKey != null) {
+      reqBuilder.setStartKey(startKey);
+    }
+    if (prefix != null) {
+      reqBuilder.setPrefix(prefix);
+    }
+
+    OMRequest omRequest = createOMRequest(Type.ListKeys)
+        .setListKeysRequest(reqBuilder.build())
+        .build();
+
+    ListKeysResponse resp =
+        handleError(submitRequest(omRequest)).getListKeysResponse();
+    List<OmKeyInfo> keys = resp.getKeyInfoList().stream()
+        .map(OmKeyInfo::getFromProtobuf)
+        .collect(Collectors.toList());
+    return new OmKeyList(keys, new ArrayList<>(resp.getCommonPrefixesList()));
+  }
+
   @Override
   public S3SecretValue getS3Secret(String kerberosID) throws IOException {
     GetS3SecretRequest request = GetS3SecretRequest.newBuilder()
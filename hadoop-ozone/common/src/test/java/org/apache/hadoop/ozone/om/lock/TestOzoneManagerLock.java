@@ -19,8 +19,10 @@
 package org.apache.hadoop.ozone.om.lock;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Stack;
 import java.util.UUID;
@@ -207,6 +209,39 @@ public void releaseLockWithOutAcquiringLock() {
     }
   }
 
+  @Test
+  public void testLockOtherNamesOfLevel() {
+    OzoneManagerLock lock = new OzoneManagerLock(new OzoneConfiguration());
+    OzoneManagerLock.Resource resource = OzoneManagerLock.Resource.BUCKET_LOCK;
+
+    // Several read locks on a level are allowed.
+    lock.acquireReadLock(resource, "vol", "bucket1");
+    lock.acquireReadLock(resource, "vol", "bucket2");
+    try {
+      lock.acquireWriteLock(resource, "vol", "bucket3");
+      fail("testLockOtherNamesOfLevel failed");
+    } catch (RuntimeException ex) {
+      String message = "cannot acquire write " + resource.getName() +
+          " lock on /vol/bucket3 while holding";
+      Assert.assertTrue(ex.getMessage(), ex.getMessage().contains(message));
+    }
+    lock.releaseReadLock(resource, "vol", "bucket2");
+    lock.releaseReadLock(resource, "vol", "bucket1");
+
+    // A write lock excludes other names of the level.
+    lock.acquireWriteLock(resource, "vol", "bucket1");
+    lock.acquireReadLock(resource, "vol", "bucket1");
+    try {
+      lock.acquireReadLock(resource, "vol", "bucket2");
+      fail("testLockOtherNamesOfLevel failed");
+    } catch (RuntimeException ex) {
+      String message = "cannot acquire read " + resource.getName() +
+          " lock on /vol/bucket2 while holding";
+      Assert.assertTrue(ex.getMessage(), ex.getMessage().contains(message));
+    }
+    lock.releaseReadLock(resource, "vol", "bucket1");
+    lock.releaseWriteLock(resource, "vol", "bucket1");
+  }
 
   private String[] generateResourceName(OzoneManagerLock.Resource resource) {
     if (resource == OzoneManagerLock.Resource.BUCKET_LOCK) {
@@ -345,4 +380,54 @@ public void testMultiLockResourceParallel() throws Exception {
     Thread.sleep(100);
     Assert.assertTrue(gotLock.get());
   }
+
+  @Test
+  public void testLockMetrics() {
+    OzoneManagerLock lock = new OzoneManagerLock(new OzoneConfiguration());
+    Map<OzoneManagerLock.Resource, Integer> waits =
+        new EnumMap<>(OzoneManagerLock.Resource.class);
+    Map<OzoneManagerLock.Resource, Integer> holds =
+        new EnumMap<>(OzoneManagerLock.Resource.class);
+    lock.setMetrics(new OMLockMetrics() {
+      @Override
+      public void addLockWaitTime(OzoneManagerLock.Resource resource,
+          long nanos) {
+        waits.merge(resource, 1, Integer::sum);
+      }
+
+      @Override
+      public void addLockHoldTime(OzoneManagerLock.Resource resource,
+          long nanos) {
+        holds.merge(resource, 1, Integer::sum);
+      }
+    });
+
+    lock.acquireReadLock(OzoneManagerLock.Resource.VOLUME_LOCK, "vol1");
+    lock.acquireWriteLock(OzoneManagerLock.Resource.BUCKET_LOCK, "vol1",
+        "bucket1");
+    lock.acquireWriteLock(OzoneManagerLock.Resource.BUCKET_LOCK, "vol1",
+        "bucket1");
+    lock.releaseWriteLock(OzoneManagerLock.Resource.BUCKET_LOCK, "vol1",
+        "bucket1");
+    // The bucket lock is still held.
+    Assert.assertNull(holds.get(OzoneManagerLock.Resource.BUCKET_LOCK));
+    lock.releaseWriteLock(OzoneManagerLock.Resource.BUCKET_LOCK, "vol1",
+        "bucket1");
+    lock.releaseReadLock(OzoneManagerLock.Resource.VOLUME_LOCK, "vol1");
+    lock.acquireMultiUserLock("user1", "user2");
+    lock.releaseMultiUserLock("user1", "user2");
+
+    Assert.assertEquals(1,
+        (int) waits.get(OzoneManagerLock.Resource.VOLUME_LOCK));
+    Assert.assertEquals(2,
+        (int) waits.get(OzoneManagerLock.Resource.BUCKET_LOCK));
+    Assert.assertEquals(1,
+        (int) waits.get(OzoneManagerLock.Resource.USER_LOCK));
+    Assert.assertEquals(1,
+        (int) holds.get(OzoneManagerLock.Resource.VOLUME_LOCK));
+    Assert.assertEquals(1,
+        (int) holds.get(OzoneManagerLock.Resource.BUCKET_LOCK));
+    Assert.assertEquals(1,
+        (int) holds.get(OzoneManagerLock.Resource.USER_LOCK));
+  }
 }
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import org.apache.hadoop.conf.StorageUnit;
+import org.apache.hadoop.hdds.client.ReplicationType;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.scm.XceiverClientManager;
+import org.apache.hadoop.hdds.scm.XceiverClientMetrics;
+import org.apache.hadoop.ozone.MiniOzoneCluster;
+import org.apache.hadoop.ozone.client.ObjectStore;
+import org.apache.hadoop.ozone.client.OzoneClient;
+import org.apache.hadoop.ozone.client.OzoneClientFactory;
+import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.hadoop.ozone.container.ContainerTestHelper;
+import org.apache.hadoop.ozone.container.TestHelper;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Tests writing and reading blocks as small files.
+ */
+public class TestBlockOutputStreamSmallFile {
+
+  /**
+   * Set a timeout for each test.
+   */
+  @Rule
+  public Timeout timeout = new Timeout(300000);
+  private static MiniOzoneCluster cluster;
+  private static OzoneConfiguration conf = new OzoneConfiguration();
+  private static OzoneClient client;
+  private static ObjectStore objectStore;
+  private static int chunkSize;
+  private static String volumeName;
+  private static String bucketName;
+  private static String keyString;
+
+  @BeforeClass
+  public static void init() throws Exception {
+    chunkSize = 100;
+    int flushSize = 2 * chunkSize;
+    int maxFlushSize = 2 * flushSize;
+    conf.setInt("scm.container.client.small.file.threshold", chunkSize);
+    cluster = MiniOzoneCluster.newBuilder(conf)
+        .setNumDatanodes(3)
+        .setBlockSize(2 * maxFlushSize)
+        .setChunkSize(chunkSize)
+        .setStreamBufferFlushSize(flushSize)
+        .setStreamBufferMaxSize(maxFlushSize)
+        .setStreamBufferSizeUnit(StorageUnit.BYTES)
+        .build();
+    cluster.waitForClusterToBeReady();
+    client = OzoneClientFactory.getRpcClient(conf);
+    objectStore = client.getObjectStore();
+    keyString = UUID.randomUUID().toString();
+    volumeName = "testblockoutputstreamsmallfile";
+    bucketName = volumeName;
+    objectStore.createVolume(volumeName);
+    objectStore.getVolume(volumeName).createBucket(bucketName);
+  }
+
+  @AfterClass
+  public static void shutdown() {
+    if (cluster != null) {
+      cluster.shutdown();
+    }
+  }
+
+  @Test
+  public void testSmallFile() throws Exception {
+    XceiverClientMetrics metrics =
+        XceiverClientManager.getXceiverClientMetrics();
+    long writeChunkCount = metrics.getContainerOpCountMetrics(Type.WriteChunk);
+    long putBlockCount = metrics.getContainerOpCountMetrics(Type.PutBlock);
+    long putSmallFileCount =
+        metrics.getContainerOpCountMetrics(Type.PutSmallFile);
+    long getBlockCount = metrics.getContainerOpCountMetrics(Type.GetBlock);
+    long readChunkCount = metrics.getContainerOpCountMetrics(Type.ReadChunk);
+    long getSmallFileCount =
+        metrics.getContainerOpCountMetrics(Type.GetSmallFile);
+
+    String keyName = UUID.randomUUID().toString();
+    byte[] data = writeKey(keyName, chunkSize / 2);
+
+    // The block is written with a single request at close.
+    Assert.assertEquals(writeChunkCount,
+        metrics.getContainerOpCountMetrics(Type.WriteChunk));
+    Assert.assertEquals(putBlockCount,
+        metrics.getContainerOpCountMetrics(Type.PutBlock));
+    Assert.assertEquals(putSmallFileCount + 1,
+        metrics.getContainerOpCountMetrics(Type.PutSmallFile));
+
+    // And read with a single request.
+    TestHelper.validateData(keyName, data, objectStore, volumeName,
+        bucketName);
+    Assert.assertEquals(getBlockCount,
+        metrics.getContainerOpCountMetrics(Type.GetBlock));
+    Assert.assertEquals(readChunkCount,
+        metrics.getContainerOpCountMetrics(Type.ReadChunk));
+    Assert.assertEquals(getSmallFileCount + 1,
+        metrics.getContainerOpCountMetrics(Type.GetSmallFile));
+  }
+
+  @Test
+  public void testLargerThanSmallFile() throws Exception {
+    XceiverClientMetrics metrics =
+        XceiverClientManager.getXceiverClientMetrics();
+    long putSmallFileCount =
+        metrics.getContainerOpCountMetrics(Type.PutSmallFile);
+    long getSmallFileCount =
+        metrics.getContainerOpCountMetrics(Type.GetSmallFile);
+
+    String keyName = UUID.randomUUID().toString();
+    byte[] data = writeKey(keyName, chunkSize + chunkSize / 2);
+    TestHelper.validateData(keyName, data, objectStore, volumeName,
+        bucketName);
+
+    Assert.assertEquals(putSmallFileCount,
+        metrics.getContainerOpCountMetrics(Type.PutSmallFile));
+    Assert.assertEquals(getSmallFileCount,
+        metrics.getContainerOpCountMetrics(Type.GetSmallFile));
+  }
+
+  private byte[] writeKey(String keyName, int dataLength) throws Exception {
+    byte[] data =
+        ContainerTestHelper.getFixedLengthString(keyString, dataLength)
+            .getBytes(UTF_8);
+    try (OzoneOutputStream key = TestHelper.createKey(keyName,
+        ReplicationType.RATIS, 0, objectStore, volumeName, bucketName)) {
+      key.write(data);
+    }
+    return data;
+  }
+}
@@ -22,6 +22,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
@@ -33,9 +34,11 @@
 import org.apache.hadoop.ozone.om.fs.OzoneManagerFS;
 import org.apache.hadoop.hdds.utils.BackgroundService;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Handles key level commands.
@@ -115,6 +118,19 @@ OmKeyLocationInfo allocateBlock(OmKeyArgs args, long clientID,
    */
   void renameKey(OmKeyArgs args, String toKeyName) throws IOException;
 
+  /**
+   * Renames existing keys within a bucket in a single batch. Either all the
+   * keys are renamed, or none of them.
+   *
+   * @param volumeName the name of the volume.
+   * @param bucketName the name of the bucket.
+   * @param keyMap map of the keys to rename to their new names.
+   * @throws IOException if a key doesn't exist, a new name is already used,
+   * or some other I/O errors while renaming the keys.
+   */
+  void renameKeys(String volumeName, String bucketName,
+      Map<String, String> keyMap) throws IOException;
+
   /**
    * Deletes an object by an object key. The key will be immediately removed
    * from OM namespace and become invisible to clients. The object data
@@ -151,6 +167,35 @@ List<OmKeyInfo> listKeys(String volumeName,
       String bucketName, String startKey, String keyPrefix, int maxKeys)
       throws IOException;
 
+  /**
+   * Returns a list of keys and common prefixes, which group the keys whose
+   * name contains the delimiter after the key prefix. The keys of a common
+   * prefix are skipped over with a seek, so the cost of the listing depends
+   * on the number of returned entries rather than on the number of keys.
+   *
+   * @param volumeName
+   *   the name of the volume.
+   * @param bucketName
+   *   the name of the bucket.
+   * @param startKey
+   *   only the keys and common prefixes after this value are returned.
+   *   If it is a common prefix, all of its keys are excluded.
+   * @param keyPrefix
+   *   key name prefix, only the keys whose name has
+   *   this prefix will be included in the result.
+   * @param delimiter
+   *   the delimiter of the common prefixes.
+   * @param maxKeys
+   *   the maximum number of keys and common prefixes to return.
+   * @param projection
+   *   the part of the keys to read, SUMMARY leaves out the block locations.
+   * @return the keys and common prefixes.
+   * @throws IOException
+   */
+  OmKeyList listKeys(String volumeName, String bucketName, String startKey,
+      String keyPrefix, String delimiter, int maxKeys,
+      KeyInfoProjection projection) throws IOException;
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
@@ -27,6 +27,7 @@
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -69,12 +70,14 @@
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.om.codec.OmKeyInfoSummaryCodec;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.BucketEncryptionKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
@@ -92,6 +95,7 @@
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PartKeyInfo;
 import org.apache.hadoop.ozone.security.OzoneBlockTokenSecretManager;
 import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
@@ -144,6 +148,9 @@ public class KeyManagerImpl implements KeyManager {
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyManagerImpl.class);
 
+  private static final OmKeyInfoSummaryCodec KEY_SUMMARY_CODEC =
+      new OmKeyInfoSummaryCodec();
+
   /**
    * A SCM block client, used to talk to SCM to allocate block during putKey.
    */
@@ -804,6 +811,76 @@ public void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
     }
   }
 
+  @Override
+  public void renameKeys(String volumeName, String bucketName,
+      Map<String, String> keyMap) throws IOException {
+    Preconditions.checkNotNull(keyMap);
+    for (Map.Entry<String, String> entry : keyMap.entrySet()) {
+      if (entry.getKey().length() == 0 || entry.getValue().length() == 0) {
+        throw new OMException("Key name is empty",
+            ResultCodes.INVALID_KEY_NAME);
+      }
+      // The keys are checked against the table before any of them is
+      // renamed, so a key of the batch can not be the target of another.
+      if (keyMap.containsKey(entry.getValue())) {
+        throw new OMException("Key renamed in the same batch " +
+            entry.getValue(), ResultCodes.INVALID_REQUEST);
+      }
+    }
+    if (new HashSet<>(keyMap.values()).size() != keyMap.size()) {
+      throw new OMException("Keys renamed to the same name",
+          ResultCodes.INVALID_REQUEST);
+    }
+
+    metadataManager.getLock().acquireWriteLock(BUCKET_LOCK, volumeName,
+        bucketName);
+    try {
+      Table<String, OmKeyInfo> keyTable = metadataManager.getKeyTable();
+      // Check all the keys before renaming any of them, so that a failed
+      // batch leaves all of them unchanged.
+      Map<String, OmKeyInfo> renamedKeys = new LinkedHashMap<>();
+      for (Map.Entry<String, String> entry : keyMap.entrySet()) {
+        String fromKey = metadataManager.getOzoneKey(
+            volumeName, bucketName, entry.getKey());
+        OmKeyInfo fromKeyValue = keyTable.get(fromKey);
+        if (fromKeyValue == null) {
+          throw new OMException("Key not found " + entry.getKey(),
+              KEY_NOT_FOUND);
+        }
+        if (keyTable.isExist(metadataManager.getOzoneKey(
+            volumeName, bucketName, entry.getValue()))) {
+          throw new OMException("Key already exists " + entry.getValue(),
+              ResultCodes.KEY_ALREADY_EXISTS);
+        }
+        fromKeyValue.setKeyName(entry.getValue());
+        fromKeyValue.updateModifcationTime();
+        renamedKeys.put(fromKey, fromKeyValue);
+      }
+
+      DBStore store = metadataManager.getStore();
+      try (BatchOperation batch = store.initBatchOperation()) {
+        for (Map.Entry<String, OmKeyInfo> entry : renamedKeys.entrySet()) {
+          OmKeyInfo toKeyValue = entry.getValue();
+          keyTable.deleteWithBatch(batch, entry.getKey());
+          keyTable.putWithBatch(batch, metadataManager.getOzoneKey(
+              volumeName, bucketName, toKeyValue.getKeyName()), toKeyValue);
+        }
+        store.commitBatchOperation(batch);
+      }
+    } catch (IOException ex) {
+      if (ex instanceof OMException) {
+        throw ex;
+      }
+      LOG.error("Rename keys failed for volume:{} bucket:{}", volumeName,
+          bucketName, ex);
+      throw new OMException(ex.getMessage(),
+          ResultCodes.KEY_RENAME_ERROR);
+    } finally {
+      metadataManager.getLock().releaseWriteLock(BUCKET_LOCK, volumeName,
+          bucketName);
+    }
+  }
+
   @Override
   public void deleteKey(OmKeyArgs args) throws IOException {
     Preconditions.checkNotNull(args);
@@ -871,6 +948,147 @@ public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
         startKey, keyPrefix, maxKeys);
   }
 
+  @Override
+  public OmKeyList listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, String delimiter, int maxKeys,
+      KeyInfoProjection projection) throws IOException {
+    Preconditions.checkNotNull(volumeName);
+    Preconditions.checkNotNull(bucketName);
+    if (Strings.isNullOrEmpty(delimiter)) {
+      return new OmKeyList(metadataManager.listKeys(volumeName, bucketName,
+          startKey, keyPrefix, maxKeys, projection), Collections.emptyList());
+    }
+
+    List<OmKeyInfo> keys = new ArrayList<>();
+    List<String> commonPrefixes = new ArrayList<>();
+    if (maxKeys <= 0) {
+      return new OmKeyList(keys, commonPrefixes);
+    }
+    String prefix = Strings.nullToEmpty(keyPrefix);
+    if (metadataManager.getBucketTable().get(
+        metadataManager.getBucketKey(volumeName, bucketName)) == null) {
+      throw new OMException("Bucket " + bucketName + " not found.",
+          BUCKET_NOT_FOUND);
+    }
+
+    // Like listKeys, this walks the table without a lock, the iterator
+    // reads from a snapshot.
+    String seekPrefix = prefix.isEmpty()
+        ? metadataManager.getBucketKey(volumeName, bucketName
+            + OZONE_URI_DELIMITER)
+        : metadataManager.getOzoneKey(volumeName, bucketName, prefix);
+    String seekKey = seekPrefix;
+    String skipKey = null;
+    if (!Strings.isNullOrEmpty(startKey) && startKey.compareTo(prefix) >= 0) {
+      if (startKey.equals(getCommonPrefix(prefix, startKey, delimiter))) {
+        // The common prefix has been listed already, skip all its keys.
+        seekKey = getNextGreaterString(volumeName, bucketName, startKey);
+      } else {
+        seekKey = metadataManager.getOzoneKey(volumeName, bucketName,
+            startKey);
+        skipKey = seekKey;
+      }
+    }
+
+    // The entries of the table cache which are not flushed to the DB yet.
+    Table<String, OmKeyInfo> keyTable = metadataManager.getKeyTable();
+    TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    Set<String> deletedKeySet = new HashSet<>();
+    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> cacheIter =
+        keyTable.cacheIterator(seekKey);
+    while (cacheIter.hasNext()) {
+      Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>> entry =
+          cacheIter.next();
+      String key = entry.getKey().getCacheKey();
+      if (!key.startsWith(seekPrefix)) {
+        break;
+      }
+      OmKeyInfo omKeyInfo = entry.getValue().getCacheValue();
+      if (omKeyInfo != null) {
+        cacheKeyMap.put(key, omKeyInfo);
+      } else {
+        deletedKeySet.add(key);
+      }
+    }
+
+    // The iterator is bounded to seekPrefix, so RocksDB does not scan the
+    // entries and tombstones after the prefix.
+    try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
+             keyIter = keyTable.iterator(seekPrefix)) {
+      keyIter.seek(seekKey);
+      Table.KeyValue<String, OmKeyInfo> dbEntry = null;
+      boolean dbDone = false;
+      while (keys.size() + commonPrefixes.size() < maxKeys) {
+        // Merge the next entry of the DB with the next entry of the cache.
+        while (dbEntry == null && !dbDone) {
+          if (!keyIter.hasNext()) {
+            dbDone = true;
+            break;
+          }
+          Table.KeyValue<String, OmKeyInfo> kv = keyIter.next();
+          if (!deletedKeySet.contains(kv.getKey())) {
+            dbEntry = kv;
+          }
+        }
+        Map.Entry<String, OmKeyInfo> cacheEntry = cacheKeyMap.firstEntry();
+        String dbKey = dbEntry != null ? dbEntry.getKey() : null;
+        String ozoneKey;
+        OmKeyInfo keyInfo;
+        if (cacheEntry != null
+            && (dbKey == null || cacheEntry.getKey().compareTo(dbKey) <= 0)) {
+          ozoneKey = cacheEntry.getKey();
+          keyInfo = cacheEntry.getValue();
+        } else if (dbKey != null) {
+          ozoneKey = dbKey;
+          keyInfo = projection == KeyInfoProjection.SUMMARY
+              ? dbEntry.getValue(KEY_SUMMARY_CODEC) : dbEntry.getValue();
+        } else {
+          break;
+        }
+        cacheKeyMap.remove(ozoneKey);
+        if (ozoneKey.equals(dbKey)) {
+          dbEntry = null;
+        }
+        if (ozoneKey.equals(skipKey)) {
+          continue;
+        }
+
+        String commonPrefix =
+            getCommonPrefix(prefix, keyInfo.getKeyName(), delimiter);
+        if (commonPrefix == null) {
+          keys.add(keyInfo);
+          continue;
+        }
+        commonPrefixes.add(commonPrefix);
+        // Skip the other keys of the common prefix, in the DB and in the
+        // cache.
+        String nextKey =
+            getNextGreaterString(volumeName, bucketName, commonPrefix);
+        cacheKeyMap.headMap(nextKey).clear();
+        dbEntry = null;
+        if (!dbDone) {
+          keyIter.seek(nextKey);
+        }
+      }
+    }
+    return new OmKeyList(keys, commonPrefixes);
+  }
+
+  /**
+   * Returns the common prefix of the key, which is the key name up to and
+   * including the first delimiter after the prefix, or null if the key has
+   * no delimiter after the prefix.
+   */
+  private static String getCommonPrefix(String prefix, String keyName,
+      String delimiter) {
+    if (!keyName.startsWith(prefix)) {
+      return null;
+    }
+    int index = keyName.indexOf(delimiter, prefix.length());
+    return index < 0 ? null
+        : keyName.substring(0, index + delimiter.length());
+  }
+
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName,
       String bucketName, String startKeyName, String keyPrefix,
@@ -1906,13 +2124,18 @@ public OmKeyInfo lookupFile(OmKeyArgs args, String clientAddress)
    */
   private void listStatusFindKeyInTableCache(
       Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> cacheIter,
-      String keyArgs, String startCacheKey, boolean recursive,
-      TreeMap<String, OzoneFileStatus> cacheKeyMap, Set<String> deletedKeySet) {
+      String keyArgs, String startCacheKey, String cachePrefix,
+      boolean recursive, TreeMap<String, OzoneFileStatus> cacheKeyMap,
+      Set<String> deletedKeySet) {
 
     while (cacheIter.hasNext()) {
       Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>> entry =
           cacheIter.next();
       String cacheKey = entry.getKey().getCacheKey();
+      if (!cacheKey.startsWith(cachePrefix)) {
+        // Cache iterator is sorted, so no more entries are in the range.
+        break;
+      }
       if (cacheKey.equals(keyArgs)) {
         continue;
       }
@@ -1980,84 +2203,90 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       }
 
       Table keyTable = metadataManager.getKeyTable();
-      Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
-          cacheIter = keyTable.cacheIterator();
       String startCacheKey = OZONE_URI_DELIMITER + volumeName +
           OZONE_URI_DELIMITER + bucketName + OZONE_URI_DELIMITER +
           ((startKey.equals(OZONE_URI_DELIMITER)) ? "" : startKey);
       // Note: eliminating the case where startCacheKey could end with '//'
       String keyArgs = OzoneFSUtils.addTrailingSlashIfNeeded(
           metadataManager.getOzoneKey(volumeName, bucketName, keyName));
+      // Only the cache entries under both the directory and the start key
+      // are of interest, so iterate the cache range with their common prefix.
+      String cachePrefix = Strings.commonPrefix(startCacheKey, keyArgs);
+      Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
+          cacheIter = keyTable.cacheIterator(cachePrefix);
 
       // First, find key in TableCache
       listStatusFindKeyInTableCache(cacheIter, keyArgs, startCacheKey,
-          recursive, cacheKeyMap, deletedKeySet);
+          cachePrefix, recursive, cacheKeyMap, deletedKeySet);
       // Then, find key in DB
       String seekKeyInDb =
           metadataManager.getOzoneKey(volumeName, bucketName, startKey);
-      TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-          iterator = keyTable.iterator();
-      iterator.seek(seekKeyInDb);
+      // The iterator is bounded to the directory, so RocksDB does not scan
+      // the entries and tombstones after it.
       int countEntries = 0;
-      if (iterator.hasNext()) {
-        if (iterator.key().equals(keyArgs)) {
-          // Skip the key itself, since we are listing inside the directory
-          iterator.next();
-        }
-        // Iterate through seek results
-        while (iterator.hasNext() && numEntries - countEntries > 0) {
-          String entryInDb = iterator.key();
-          OmKeyInfo omKeyInfo = iterator.value().getValue();
-          if (entryInDb.startsWith(keyArgs)) {
-            String entryKeyName = omKeyInfo.getKeyName();
-            if (recursive) {
-              // for recursive list all the entries
-              if (!deletedKeySet.contains(entryInDb)) {
-                cacheKeyMap.put(entryInDb, new OzoneFileStatus(omKeyInfo,
-                    scmBlockSize, !OzoneFSUtils.isFile(entryKeyName)));
-                countEntries++;
-              }
-              iterator.next();
-            } else {
-              // get the child of the directory to list from the entry. For
-              // example if directory to list is /a and entry is /a/b/c where
-              // c is a file. The immediate child is b which is a directory. c
-              // should not be listed as child of a.
-              String immediateChild = OzoneFSUtils
-                  .getImmediateChild(entryKeyName, keyName);
-              boolean isFile = OzoneFSUtils.isFile(immediateChild);
-              if (isFile) {
+      try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
+               iterator = keyTable.iterator(keyArgs)) {
+        iterator.seek(seekKeyInDb);
+        if (iterator.hasNext()) {
+          if (iterator.key().equals(keyArgs)) {
+            // Skip the key itself, since we are listing inside the directory
+            iterator.next();
+          }
+          // Iterate through seek results
+          while (iterator.hasNext() && numEntries - countEntries > 0) {
+            String entryInDb = iterator.key();
+            OmKeyInfo omKeyInfo = iterator.value().getValue();
+            if (entryInDb.startsWith(keyArgs)) {
+              String entryKeyName = omKeyInfo.getKeyName();
+              if (recursive) {
+                // for recursive list all the entries
                 if (!deletedKeySet.contains(entryInDb)) {
-                  cacheKeyMap.put(entryInDb,
-                      new OzoneFileStatus(omKeyInfo, scmBlockSize, !isFile));
+                  cacheKeyMap.put(entryInDb, new OzoneFileStatus(omKeyInfo,
+                      scmBlockSize, !OzoneFSUtils.isFile(entryKeyName)));
                   countEntries++;
                 }
                 iterator.next();
               } else {
-                // if entry is a directory
-                if (!deletedKeySet.contains(entryInDb)) {
-                  if (!entryKeyName.equals(immediateChild)) {
-                    OmKeyInfo fakeDirEntry = createDirectoryKey(
-                        omKeyInfo.getVolumeName(),
-                        omKeyInfo.getBucketName(),
-                        immediateChild,
-                        omKeyInfo.getAcls());
-                    cacheKeyMap.put(entryInDb,
-                        new OzoneFileStatus(fakeDirEntry, scmBlockSize, true));
-                  } else {
-                    // If entryKeyName matches dir name, we have the info
+                // get the child of the directory to list from the entry. For
+                // example if directory to list is /a and entry is /a/b/c where
+                // c is a file. The immediate child is b which is a directory. c
+                // should not be listed as child of a.
+                String immediateChild = OzoneFSUtils
+                    .getImmediateChild(entryKeyName, keyName);
+                boolean isFile = OzoneFSUtils.isFile(immediateChild);
+                if (isFile) {
+                  if (!deletedKeySet.contains(entryInDb)) {
                     cacheKeyMap.put(entryInDb,
-                        new OzoneFileStatus(omKeyInfo, 0, true));
+                        new OzoneFileStatus(omKeyInfo, scmBlockSize, !isFile));
+                    countEntries++;
                   }
-                  countEntries++;
+                  iterator.next();
+                } else {
+                  // if entry is a directory
+                  if (!deletedKeySet.contains(entryInDb)) {
+                    if (!entryKeyName.equals(immediateChild)) {
+                      OmKeyInfo fakeDirEntry = createDirectoryKey(
+                          omKeyInfo.getVolumeName(),
+                          omKeyInfo.getBucketName(),
+                          immediateChild,
+                          omKeyInfo.getAcls());
+                      cacheKeyMap.put(entryInDb, new OzoneFileStatus(
+                          fakeDirEntry, scmBlockSize, true));
+                    } else {
+                      // If entryKeyName matches dir name, we have the info
+                      cacheKeyMap.put(entryInDb,
+                          new OzoneFileStatus(omKeyInfo, 0, true));
+                    }
+                    countEntries++;
+                  }
+                  // skip the other descendants of this child directory.
+                  iterator.seek(getNextGreaterString(
+                      volumeName, bucketName, immediateChild));
                 }
-                // skip the other descendants of this child directory.
-                iterator.seek(getNextGreaterString(
-                    volumeName, bucketName, immediateChild));
               }
+            } else {
+              break;
             }
-          } else {
-            break;
           }
         }
       }
@@ -17,6 +17,9 @@
  */
 package org.apache.hadoop.ozone.om;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import com.google.common.annotations.VisibleForTesting;
 
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
@@ -24,18 +27,28 @@
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableQuantiles;
+import org.apache.hadoop.ozone.om.lock.OMLockMetrics;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
+import org.apache.hadoop.util.StringUtils;
 
 /**
  * This class is for maintaining Ozone Manager statistics.
  */
 @InterfaceAudience.Private
 @Metrics(about="Ozone Manager Metrics", context="dfs")
-public class OMMetrics {
+public class OMMetrics implements OMLockMetrics {
   private static final String SOURCE_NAME =
       OMMetrics.class.getSimpleName();
 
+  // Interval in seconds of the lock wait and hold time quantiles.
+  private static final int LOCK_QUANTILE_INTERVAL = 60;
+
+  private final MetricsRegistry registry = new MetricsRegistry(SOURCE_NAME);
+
   // OM request type op metrics
   private @Metric MutableCounterLong numVolumeOps;
   private @Metric MutableCounterLong numBucketOps;
@@ -137,7 +150,26 @@ public class OMMetrics {
   private @Metric MutableCounterLong numListMultipartUploadFails;
   private @Metric MutableCounterLong numListMultipartUploads;
 
+  // Metadata manager whose table caches are reported, it is replaced when
+  // OM state is reloaded.
+  private volatile OMMetadataManager metadataManager;
+
+  // Time waited for and time held of the OM locks, per resource type.
+  private final Map<Resource, MutableQuantiles> lockWaitTime =
+      new EnumMap<>(Resource.class);
+  private final Map<Resource, MutableQuantiles> lockHoldTime =
+      new EnumMap<>(Resource.class);
+
   public OMMetrics() {
+    for (Resource resource : Resource.values()) {
+      String name = StringUtils.camelize(resource.name());
+      lockWaitTime.put(resource, registry.newQuantiles(
+          name + "WaitTimeNanos", "Time waited to acquire the " + name,
+          "ops", "latency", LOCK_QUANTILE_INTERVAL));
+      lockHoldTime.put(resource, registry.newQuantiles(
+          name + "HoldTimeNanos", "Time the " + name + " was held",
+          "ops", "latency", LOCK_QUANTILE_INTERVAL));
+    }
   }
 
   public static OMMetrics create() {
@@ -226,6 +258,47 @@ public long getNumKeys() {
     return numKeys.value();
   }
 
+  public void setMetadataManager(OMMetadataManager omMetadataManager) {
+    this.metadataManager = omMetadataManager;
+    omMetadataManager.getLock().setMetrics(this);
+  }
+
+  @Override
+  public void addLockWaitTime(Resource resource, long nanos) {
+    lockWaitTime.get(resource).add(nanos);
+  }
+
+  @Override
+  public void addLockHoldTime(Resource resource, long nanos) {
+    lockHoldTime.get(resource).add(nanos);
+  }
+
+  @VisibleForTesting
+  public MutableQuantiles getLockWaitTime(Resource resource) {
+    return lockWaitTime.get(resource);
+  }
+
+  @VisibleForTesting
+  public MutableQuantiles getLockHoldTime(Resource resource) {
+    return lockHoldTime.get(resource);
+  }
+
+  @Metric("Size in bytes of the key infos kept encoded in the key table " +
+      "cache")
+  public long getKeyTableCacheEncodedBytes() {
+    OMMetadataManager omMetadataManager = metadataManager;
+    return omMetadataManager == null ? 0 :
+        omMetadataManager.getKeyTable().getCacheEncodedSize();
+  }
+
+  @Metric("Size in bytes of the key infos kept encoded in the open key " +
+      "table cache")
+  public long getOpenKeyTableCacheEncodedBytes() {
+    OMMetadataManager omMetadataManager = metadataManager;
+    return omMetadataManager == null ? 0 :
+        omMetadataManager.getOpenKeyTable().getCacheEncodedSize();
+  }
+
 
   public void incNumVolumeCreates() {
     numVolumeOps.incr();
@@ -23,6 +23,7 @@
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -40,12 +41,15 @@
 import org.apache.hadoop.hdds.utils.db.TypedTable;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValueFormat;
 import org.apache.hadoop.hdds.utils.db.cache.TableCacheImpl;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
 import org.apache.hadoop.ozone.om.codec.OMTransactionInfoCodec;
 import org.apache.hadoop.ozone.om.codec.OmBucketInfoCodec;
 import org.apache.hadoop.ozone.om.codec.OmKeyInfoCodec;
+import org.apache.hadoop.ozone.om.codec.OmKeyInfoSummaryCodec;
 import org.apache.hadoop.ozone.om.codec.OmMultipartKeyInfoCodec;
 import org.apache.hadoop.ozone.om.codec.OmPrefixInfoCodec;
 import org.apache.hadoop.ozone.om.codec.OmVolumeArgsCodec;
@@ -67,6 +71,8 @@
 import org.apache.hadoop.ozone.om.helpers.S3SecretValue;
 import org.apache.hadoop.ozone.om.lock.OzoneManagerLock;
 import org.apache.hadoop.ozone.om.ratis.OMTransactionInfo;
+import org.apache.hadoop.ozone.protocol.proto
+    .OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.protocol.proto
     .OzoneManagerProtocolProtos.UserVolumeInfo;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
@@ -91,6 +97,9 @@ public class OmMetadataManagerImpl implements OMMetadataManager {
   private static final Logger LOG =
       LoggerFactory.getLogger(OmMetadataManagerImpl.class);
 
+  private static final OmKeyInfoSummaryCodec KEY_SUMMARY_CODEC =
+      new OmKeyInfoSummaryCodec();
+
   /**
    * OM RocksDB Structure .
    * <p>
@@ -155,6 +164,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager {
   private Table prefixTable;
   private Table transactionInfoTable;
   private boolean isRatisEnabled;
+  private CacheValueFormat keyCacheValueFormat = CacheValueFormat.OBJECT;
 
   private Map<String, Table> tableMap = new HashMap<>();
 
@@ -170,6 +180,10 @@ public OmMetadataManagerImpl(OzoneConfiguration conf) throws IOException {
     isRatisEnabled = conf.getBoolean(
         OMConfigKeys.OZONE_OM_RATIS_ENABLE_KEY,
         OMConfigKeys.OZONE_OM_RATIS_ENABLE_DEFAULT);
+    keyCacheValueFormat = CacheValueFormat.valueOf(conf.getTrimmed(
+        OMConfigKeys.OZONE_OM_KEY_CACHE_VALUE_FORMAT_KEY,
+        OMConfigKeys.OZONE_OM_KEY_CACHE_VALUE_FORMAT_DEFAULT)
+        .toUpperCase(Locale.ROOT));
     start(conf);
   }
 
@@ -287,11 +301,12 @@ protected static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
     return builder.addTable(USER_TABLE)
         .addTable(VOLUME_TABLE)
         .addTable(BUCKET_TABLE)
-        .addTable(KEY_TABLE)
-        .addTable(DELETED_TABLE)
-        .addTable(OPEN_KEY_TABLE)
+        .addTable(KEY_TABLE, OMDBDefinition.KEY_TABLE.getTuning())
+        .addTable(DELETED_TABLE, OMDBDefinition.DELETED_TABLE.getTuning())
+        .addTable(OPEN_KEY_TABLE, OMDBDefinition.OPEN_KEY_TABLE.getTuning())
         .addTable(MULTIPARTINFO_TABLE)
-        .addTable(DELEGATION_TOKEN_TABLE)
+        .addTable(DELEGATION_TOKEN_TABLE,
+            OMDBDefinition.DTOKEN_TABLE.getTuning())
         .addTable(S3_SECRET_TABLE)
         .addTable(PREFIX_TABLE)
         .addTable(TRANSACTION_INFO_TABLE)
@@ -331,7 +346,8 @@ protected void initializeOmTables() throws IOException {
 
     checkTableStatus(bucketTable, BUCKET_TABLE);
 
-    keyTable = this.store.getTable(KEY_TABLE, String.class, OmKeyInfo.class);
+    keyTable = this.store.getTable(KEY_TABLE, String.class, OmKeyInfo.class,
+        TableCacheImpl.CacheCleanupPolicy.MANUAL, keyCacheValueFormat);
     checkTableStatus(keyTable, KEY_TABLE);
 
     deletedTable = this.store.getTable(DELETED_TABLE, String.class,
@@ -339,7 +355,8 @@ protected void initializeOmTables() throws IOException {
     checkTableStatus(deletedTable, DELETED_TABLE);
 
     openKeyTable =
-        this.store.getTable(OPEN_KEY_TABLE, String.class, OmKeyInfo.class);
+        this.store.getTable(OPEN_KEY_TABLE, String.class, OmKeyInfo.class,
+            TableCacheImpl.CacheCleanupPolicy.MANUAL, keyCacheValueFormat);
     checkTableStatus(openKeyTable, OPEN_KEY_TABLE);
 
     multipartInfoTable = this.store.getTable(MULTIPARTINFO_TABLE,
@@ -532,28 +549,19 @@ public boolean isVolumeEmpty(String volume) throws IOException {
     }
 
     try (TableIterator<String, ? extends KeyValue<String, OmBucketInfo>>
-        bucketIter = bucketTable.iterator()) {
-      KeyValue<String, OmBucketInfo> kv = bucketIter.seek(volumePrefix);
-
-      if (kv != null) {
-        // Check the entry in db is not marked for delete. This can happen
-        // while entry is marked for delete, but it is not flushed to DB.
+        bucketIter = bucketTable.iterator(volumePrefix)) {
+      // The iterator is bounded to the volume prefix. Skip the entries in db
+      // which are marked for delete. This can happen while entry is marked
+      // for delete, but it is not flushed to DB.
+      while (bucketIter.hasNext()) {
+        KeyValue<String, OmBucketInfo> kv = bucketIter.next();
         CacheValue<OmBucketInfo> cacheValue =
             bucketTable.getCacheValue(new CacheKey(kv.getKey()));
-        if (cacheValue != null) {
-          if (kv.getKey().startsWith(volumePrefix)
-              && cacheValue.getCacheValue() != null) {
-            return false; // we found at least one bucket with this volume
-            // prefix.
-          }
-        } else {
-          if (kv.getKey().startsWith(volumePrefix)) {
-            return false; // we found at least one bucket with this volume
-            // prefix.
-          }
+        if (cacheValue == null || cacheValue.isPresent()) {
+          return false; // we found at least one bucket with this volume
+          // prefix.
         }
       }
-
     }
     return true;
   }
@@ -573,40 +581,34 @@ public boolean isBucketEmpty(String volume, String bucket)
 
     // First check in key table cache.
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
-        ((TypedTable< String, OmKeyInfo>) keyTable).cacheIterator();
+        ((TypedTable< String, OmKeyInfo>) keyTable).cacheIterator(keyPrefix);
     while (iterator.hasNext()) {
       Map.Entry< CacheKey<String>, CacheValue<OmKeyInfo>> entry =
           iterator.next();
       String key = entry.getKey().getCacheKey();
-      OmKeyInfo omKeyInfo = entry.getValue().getCacheValue();
-      // Making sure that entry is not for delete key request.
-      if (key.startsWith(keyPrefix) && omKeyInfo != null) {
+      if (!key.startsWith(keyPrefix)) {
+        break;
+      }
+      // Making sure that entry is not for delete key request. The value
+      // itself is not needed, so it is not decoded.
+      if (entry.getValue().isPresent()) {
         return false;
       }
     }
     try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>> keyIter =
-        keyTable.iterator()) {
-      KeyValue<String, OmKeyInfo> kv = keyIter.seek(keyPrefix);
-
-      if (kv != null) {
-        // Check the entry in db is not marked for delete. This can happen
-        // while entry is marked for delete, but it is not flushed to DB.
+        keyTable.iterator(keyPrefix)) {
+      // The iterator is bounded to the bucket prefix. Skip the entries in db
+      // which are marked for delete. This can happen while entry is marked
+      // for delete, but it is not flushed to DB.
+      while (keyIter.hasNext()) {
+        KeyValue<String, OmKeyInfo> kv = keyIter.next();
         CacheValue<OmKeyInfo> cacheValue =
             keyTable.getCacheValue(new CacheKey(kv.getKey()));
-        if (cacheValue != null) {
-          if (kv.getKey().startsWith(keyPrefix)
-              && cacheValue.getCacheValue() != null) {
-            return false; // we found at least one key with this vol/bucket
-            // prefix.
-          }
-        } else {
-          if (kv.getKey().startsWith(keyPrefix)) {
-            return false; // we found at least one key with this vol/bucket
-            // prefix.
-          }
+        if (cacheValue == null || cacheValue.isPresent()) {
+          return false; // we found at least one key with this vol/bucket
+          // prefix.
         }
       }
-
     }
     return true;
   }
@@ -656,9 +658,10 @@ public List<OmBucketInfo> listBuckets(final String volumeName,
 
 
     // For Bucket it is full cache, so we can just iterate in-memory table
-    // cache.
+    // cache from the first key in the range.
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmBucketInfo>>> iterator =
-        bucketTable.cacheIterator();
+        bucketTable.cacheIterator(
+            startKey.compareTo(seekPrefix) >= 0 ? startKey : seekPrefix);
 
 
     while (currentCount < maxNumOfBuckets && iterator.hasNext()) {
@@ -666,6 +669,9 @@ public List<OmBucketInfo> listBuckets(final String volumeName,
           iterator.next();
 
       String key = entry.getKey().getCacheKey();
+      if (!key.startsWith(seekPrefix)) {
+        break;
+      }
       OmBucketInfo omBucketInfo = entry.getValue().getCacheValue();
       // Making sure that entry in cache is not for delete bucket request.
 
@@ -688,6 +694,14 @@ public List<OmBucketInfo> listBuckets(final String volumeName,
   @Override
   public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
       String startKey, String keyPrefix, int maxKeys) throws IOException {
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        KeyInfoProjection.FULL);
+  }
+
+  @Override
+  public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys,
+      KeyInfoProjection projection) throws IOException {
 
     List<OmKeyInfo> result = new ArrayList<>();
     if (maxKeys <= 0) {
@@ -732,29 +746,25 @@ public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
 
     TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
     Set<String> deletedKeySet = new TreeSet<>();
+
+    // Table cache keeps its keys sorted, so iterate only the cache entries
+    // which match with keyPrefix and are greater than or equal to startKey.
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
-        keyTable.cacheIterator();
-
-    //TODO: We can avoid this iteration if table cache has stored entries in
-    // treemap. Currently HashMap is used in Cache. HashMap get operation is an
-    // constant time operation, where as for treeMap get is log(n).
-    // So if we move to treemap, the get operation will be affected. As get
-    // is frequent operation on table. So, for now in list we iterate cache map
-    // and construct treeMap which match with keyPrefix and are greater than or
-    // equal to startKey. Later we can revisit this, if list operation
-    // is becoming slow.
+        keyTable.cacheIterator(
+            seekKey.compareTo(seekPrefix) >= 0 ? seekKey : seekPrefix);
     while (iterator.hasNext()) {
       Map.Entry< CacheKey<String>, CacheValue<OmKeyInfo>> entry =
           iterator.next();
 
       String key = entry.getKey().getCacheKey();
+      if (!key.startsWith(seekPrefix)) {
+        break;
+      }
       OmKeyInfo omKeyInfo = entry.getValue().getCacheValue();
       // Making sure that entry in cache is not for delete key request.
 
       if (omKeyInfo != null) {
-        if (key.startsWith(seekPrefix) && key.compareTo(seekKey) >= 0) {
-          cacheKeyMap.put(key, omKeyInfo);
-        }
+        cacheKeyMap.put(key, omKeyInfo);
       } else {
         deletedKeySet.add(key);
       }
@@ -762,26 +772,23 @@ public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
 
     // Get maxKeys from DB if it has.
 
+    // The iterator is bounded to seekPrefix, so RocksDB does not scan the
+    // entries and tombstones after the prefix.
     try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-             keyIter = getKeyTable().iterator()) {
+             keyIter = getKeyTable().iterator(seekPrefix)) {
       KeyValue< String, OmKeyInfo > kv;
-      keyIter.seek(seekKey);
+      keyIter.seek(seekKey.compareTo(seekPrefix) >= 0 ? seekKey : seekPrefix);
       // we need to iterate maxKeys + 1 here because if skipStartKey is true,
       // we should skip that entry and return the result.
       while (currentCount < maxKeys + 1 && keyIter.hasNext()) {
         kv = keyIter.next();
-        if (kv != null && kv.getKey().startsWith(seekPrefix)) {
-
-          // Entry should not be marked for delete, consider only those
-          // entries.
-          if(!deletedKeySet.contains(kv.getKey())) {
-            cacheKeyMap.put(kv.getKey(), kv.getValue());
-            currentCount++;
-          }
-        } else {
-          // The SeekPrefix does not match any more, we can break out of the
-          // loop.
-          break;
+        // Entry should not be marked for delete, consider only those
+        // entries.
+        if (!deletedKeySet.contains(kv.getKey())) {
+          cacheKeyMap.put(kv.getKey(),
+              projection == KeyInfoProjection.SUMMARY
+                  ? kv.getValue(KEY_SUMMARY_CODEC) : kv.getValue());
+          currentCount++;
         }
       }
     }
@@ -1017,7 +1024,7 @@ public Set<String> getMultipartUploadKeys(
           cacheIterator.next();
       if (cacheEntry.getKey().getCacheKey().startsWith(prefixKey)) {
         // Check if it is marked for delete, due to abort mpu
-        if (cacheEntry.getValue().getCacheValue() != null) {
+        if (cacheEntry.getValue().isPresent()) {
           response.add(cacheEntry.getKey().getCacheKey());
         } else {
           aborted.add(cacheEntry.getKey().getCacheKey());
@@ -1025,19 +1032,14 @@ public Set<String> getMultipartUploadKeys(
       }
     }
 
-    TableIterator<String, ? extends KeyValue<String, OmMultipartKeyInfo>>
-        iterator = getMultipartInfoTable().iterator();
-    iterator.seek(prefixKey);
-
-    while (iterator.hasNext()) {
-      KeyValue<String, OmMultipartKeyInfo> entry = iterator.next();
-      if (entry.getKey().startsWith(prefixKey)) {
+    try (TableIterator<String, ? extends KeyValue<String, OmMultipartKeyInfo>>
+        iterator = getMultipartInfoTable().iterator(prefixKey)) {
+      while (iterator.hasNext()) {
+        KeyValue<String, OmMultipartKeyInfo> entry = iterator.next();
         // If it is marked for abort, skip it.
         if (!aborted.contains(entry.getKey())) {
           response.add(entry.getKey());
         }
-      } else {
-        break;
       }
     }
     return response;
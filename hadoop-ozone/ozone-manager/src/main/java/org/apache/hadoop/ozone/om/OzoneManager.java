@@ -109,6 +109,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
@@ -132,6 +133,7 @@
 import org.apache.hadoop.ozone.om.snapshot.OzoneManagerSnapshotProvider;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBUpdatesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRoleInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OzoneAclInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServicePort;
@@ -372,7 +374,8 @@ private OzoneManager(OzoneConfiguration conf) throws IOException,
     scmContainerClient = getScmContainerClient(configuration);
     // verifies that the SCM info in the OM Version file is correct.
     scmBlockClient = getScmBlockClient(configuration);
-    this.scmClient = new ScmClient(scmBlockClient, scmContainerClient);
+    this.scmClient =
+        new ScmClient(scmBlockClient, scmContainerClient, configuration);
 
     // For testing purpose only, not hit scm from om as Hadoop UGI can't login
     // two principals in the same JVM.
@@ -1096,6 +1099,7 @@ public void start() throws IOException {
           certClient.getCACertificate());
     }
     // Set metrics and start metrics back ground thread
+    metrics.setMetadataManager(metadataManager);
     metrics.setNumVolumes(metadataManager.countRowsInTable(metadataManager
         .getVolumeTable()));
     metrics.setNumBuckets(metadataManager.countRowsInTable(metadataManager
@@ -1144,6 +1148,7 @@ public void restart() throws IOException {
     startSecretManagerIfNecessary();
 
     // Set metrics and start metrics back ground thread
+    metrics.setMetadataManager(metadataManager);
     metrics.setNumVolumes(metadataManager.countRowsInTable(metadataManager
         .getVolumeTable()));
     metrics.setNumBuckets(metadataManager.countRowsInTable(metadataManager
@@ -1261,6 +1266,7 @@ public void stop() {
       }
       isOmRpcServerRunning = false;
       keyManager.stop();
+      scmClient.stop();
       stopSecretManager();
       if (httpServer != null) {
         httpServer.stop();
@@ -2189,6 +2195,34 @@ public void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
     }
   }
 
+  @Override
+  public void renameKeys(String volumeName, String bucketName,
+      Map<String, String> keyMap) throws IOException {
+    if (isAclEnabled) {
+      for (Map.Entry<String, String> entry : keyMap.entrySet()) {
+        checkAcls(ResourceType.KEY, StoreType.OZONE, ACLType.DELETE,
+            volumeName, bucketName, entry.getKey());
+        checkAcls(ResourceType.KEY, StoreType.OZONE, ACLType.CREATE,
+            volumeName, bucketName, entry.getValue());
+      }
+    }
+    Map<String, String> auditMap = new LinkedHashMap<>();
+    auditMap.put(OzoneConsts.VOLUME, volumeName);
+    auditMap.put(OzoneConsts.BUCKET, bucketName);
+    auditMap.put(OzoneConsts.RENAMED_KEYS_MAP, keyMap.toString());
+    try {
+      metrics.incNumKeyRenames();
+      keyManager.renameKeys(volumeName, bucketName, keyMap);
+      AUDIT.logWriteSuccess(buildAuditMessageForSuccess(OMAction.RENAME_KEYS,
+          auditMap));
+    } catch (IOException e) {
+      metrics.incNumKeyRenameFails();
+      AUDIT.logWriteFailure(buildAuditMessageForFailure(OMAction.RENAME_KEYS,
+          auditMap, e));
+      throw e;
+    }
+  }
+
   /**
    * Deletes an existing key.
    *
@@ -2261,6 +2295,39 @@ public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
     }
   }
 
+  @Override
+  public OmKeyList listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, String delimiter, int maxKeys,
+      KeyInfoProjection projection) throws IOException {
+    if (isAclEnabled) {
+      checkAcls(ResourceType.BUCKET,
+          StoreType.OZONE, ACLType.LIST, volumeName, bucketName, keyPrefix);
+    }
+    boolean auditSuccess = true;
+    Map<String, String> auditMap = buildAuditMap(volumeName);
+    auditMap.put(OzoneConsts.BUCKET, bucketName);
+    auditMap.put(OzoneConsts.START_KEY, startKey);
+    auditMap.put(OzoneConsts.MAX_KEYS, String.valueOf(maxKeys));
+    auditMap.put(OzoneConsts.KEY_PREFIX, keyPrefix);
+    auditMap.put(OzoneConsts.DELIMITER, delimiter);
+    try {
+      metrics.incNumKeyLists();
+      return keyManager.listKeys(volumeName, bucketName,
+          startKey, keyPrefix, delimiter, maxKeys, projection);
+    } catch (IOException ex) {
+      metrics.incNumKeyListFails();
+      auditSuccess = false;
+      AUDIT.logReadFailure(buildAuditMessageForFailure(OMAction.LIST_KEYS,
+          auditMap, ex));
+      throw ex;
+    } finally {
+      if (auditSuccess) {
+        AUDIT.logReadSuccess(buildAuditMessageForSuccess(OMAction.LIST_KEYS,
+            auditMap));
+      }
+    }
+  }
+
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName,
       String bucketName, String startKeyName, String keyPrefix, int maxKeys)
@@ -3171,6 +3238,7 @@ void reloadOMState(long newSnapshotIndex, long newSnapshotTermIndex)
     keyManager.start(configuration);
 
     // Set metrics and start metrics back ground thread
+    metrics.setMetadataManager(metadataManager);
     metrics.setNumVolumes(metadataManager.countRowsInTable(metadataManager
         .getVolumeTable()));
     metrics.setNumBuckets(metadataManager.countRowsInTable(metadataManager
@@ -0,0 +1,277 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.hdds.scm.ScmInfo;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.common.DeleteBlockGroupResult;
+import org.apache.hadoop.util.Time;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SCM block client which keeps a pool of blocks allocated ahead of requests,
+ * for each block size, replication type and factor and owner.
+ *
+ * Block allocations without excluded nodes, pipelines or containers are
+ * served from the pool, and only the blocks missing in the pool are
+ * allocated from SCM by the caller. Once a pool is half empty, it is refilled
+ * in the background with a single SCM call. Blocks which stay in the pool
+ * longer than the expiry time are dropped, as their pipeline or container
+ * may have been closed meanwhile. Other calls are passed to SCM.
+ */
+public class PrefetchingScmBlockClient implements ScmBlockLocationProtocol {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PrefetchingScmBlockClient.class);
+
+  private final ScmBlockLocationProtocol scmBlockClient;
+  private final int poolSize;
+  private final long expiryMillis;
+  private final Map<PoolKey, BlockPool> pools = new ConcurrentHashMap<>();
+  private final ExecutorService executor;
+
+  /**
+   * @param scmBlockClient client to allocate blocks from SCM.
+   * @param poolSize number of blocks to keep in each pool.
+   * @param expiryMillis time after which blocks in the pool are dropped.
+   */
+  public PrefetchingScmBlockClient(ScmBlockLocationProtocol scmBlockClient,
+      int poolSize, long expiryMillis) {
+    Preconditions.checkArgument(poolSize > 0,
+        "Pool size should be greater than zero");
+    this.scmBlockClient = scmBlockClient;
+    this.poolSize = poolSize;
+    this.expiryMillis = expiryMillis;
+    this.executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("OMBlockPrefetcher-%d")
+            .build());
+  }
+
+  @Override
+  public List<AllocatedBlock> allocateBlock(long size, int numBlocks,
+      ReplicationType type, ReplicationFactor factor, String owner,
+      ExcludeList excludeList) throws IOException {
+    if (excludeList != null && !excludeList.isEmpty()) {
+      // The pool is not aware of the failures the client has seen.
+      return scmBlockClient.allocateBlock(size, numBlocks, type, factor,
+          owner, excludeList);
+    }
+
+    BlockPool pool = pools.computeIfAbsent(
+        new PoolKey(size, type, factor, owner), BlockPool::new);
+    List<AllocatedBlock> blocks = pool.take(numBlocks);
+    if (blocks.size() < numBlocks) {
+      blocks.addAll(scmBlockClient.allocateBlock(size,
+          numBlocks - blocks.size(), type, factor, owner, excludeList));
+    }
+    pool.refillIfNeeded();
+    return blocks;
+  }
+
+  @Override
+  public List<DeleteBlockGroupResult> deleteKeyBlocks(
+      List<BlockGroup> keyBlocksInfoList) throws IOException {
+    return scmBlockClient.deleteKeyBlocks(keyBlocksInfoList);
+  }
+
+  @Override
+  public ScmInfo getScmInfo() throws IOException {
+    return scmBlockClient.getScmInfo();
+  }
+
+  @Override
+  public List<DatanodeDetails> sortDatanodes(List<String> nodes,
+      String clientMachine) throws IOException {
+    return scmBlockClient.sortDatanodes(nodes, clientMachine);
+  }
+
+  /**
+   * Stops refilling the pools.
+   */
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public void close() throws IOException {
+    stop();
+    scmBlockClient.close();
+  }
+
+  @VisibleForTesting
+  int getPooledBlockCount(long size, ReplicationType type,
+      ReplicationFactor factor, String owner) {
+    BlockPool pool = pools.get(new PoolKey(size, type, factor, owner));
+    return pool == null ? 0 : pool.size();
+  }
+
+  /**
+   * Blocks of the same size, replication type, factor and owner, in the
+   * order they were allocated.
+   */
+  private final class BlockPool {
+
+    private final PoolKey key;
+    private final Deque<PooledBlock> blocks = new ArrayDeque<>();
+    private boolean refilling;
+
+    private BlockPool(PoolKey key) {
+      this.key = key;
+    }
+
+    synchronized int size() {
+      return blocks.size();
+    }
+
+    /**
+     * Takes up to num blocks from the pool, dropping the expired ones.
+     */
+    synchronized List<AllocatedBlock> take(int num) {
+      long expiryTime = Time.monotonicNow() - expiryMillis;
+      while (!blocks.isEmpty() && blocks.peek().time < expiryTime) {
+        blocks.poll();
+      }
+      List<AllocatedBlock> result = new ArrayList<>(num);
+      while (result.size() < num && !blocks.isEmpty()) {
+        result.add(blocks.poll().block);
+      }
+      return result;
+    }
+
+    /**
+     * Refills the pool in the background if it is half empty and not being
+     * refilled already.
+     */
+    synchronized void refillIfNeeded() {
+      if (refilling || blocks.size() > poolSize / 2) {
+        return;
+      }
+      int num = poolSize - blocks.size();
+      refilling = true;
+      try {
+        executor.execute(() -> refill(num));
+      } catch (RejectedExecutionException e) {
+        refilling = false;
+      }
+    }
+
+    private void refill(int num) {
+      try {
+        List<AllocatedBlock> allocated = scmBlockClient.allocateBlock(
+            key.size, num, key.type, key.factor, key.owner,
+            new ExcludeList());
+        long now = Time.monotonicNow();
+        synchronized (this) {
+          for (AllocatedBlock block : allocated) {
+            blocks.add(new PooledBlock(block, now));
+          }
+        }
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Prefetched {} blocks for {}", allocated.size(), key);
+        }
+      } catch (IOException e) {
+        // Requests allocate blocks from SCM until the next refill.
+        LOG.warn("Failed to prefetch {} blocks for {}: {}", num, key,
+            e.getMessage());
+      } finally {
+        synchronized (this) {
+          refilling = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * Block allocated from SCM and the time it was allocated at.
+   */
+  private static final class PooledBlock {
+    private final AllocatedBlock block;
+    private final long time;
+
+    private PooledBlock(AllocatedBlock block, long time) {
+      this.block = block;
+      this.time = time;
+    }
+  }
+
+  /**
+   * Attributes of the blocks in a pool.
+   */
+  private static final class PoolKey {
+    private final long size;
+    private final ReplicationType type;
+    private final ReplicationFactor factor;
+    private final String owner;
+
+    private PoolKey(long size, ReplicationType type,
+        ReplicationFactor factor, String owner) {
+      this.size = size;
+      this.type = type;
+      this.factor = factor;
+      this.owner = owner;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PoolKey that = (PoolKey) o;
+      return size == that.size && type == that.type &&
+          factor == that.factor && Objects.equals(owner, that.owner);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(size, type, factor, owner);
+    }
+
+    @Override
+    public String toString() {
+      return "size=" + size + ", type=" + type + ", factor=" + factor
+          + ", owner=" + owner;
+    }
+  }
+}
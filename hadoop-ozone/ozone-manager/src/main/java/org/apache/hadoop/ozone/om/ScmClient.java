@@ -17,6 +17,9 @@
 
 package org.apache.hadoop.ozone.om;
 
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
 
@@ -34,6 +37,31 @@ public class ScmClient {
     this.blockClient = blockClient;
   }
 
+  /**
+   * Creates the clients, with a pool of prefetched blocks for the block
+   * client if it is enabled by the configuration.
+   */
+  ScmClient(ScmBlockLocationProtocol blockClient,
+            StorageContainerLocationProtocol containerClient,
+            ConfigurationSource conf) {
+    this(withBlockPrefetch(blockClient, conf), containerClient);
+  }
+
+  private static ScmBlockLocationProtocol withBlockPrefetch(
+      ScmBlockLocationProtocol blockClient, ConfigurationSource conf) {
+    int prefetchSize = conf.getInt(
+        OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_SIZE_KEY,
+        OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_SIZE_DEFAULT);
+    if (prefetchSize <= 0) {
+      return blockClient;
+    }
+    long expiry = conf.getTimeDuration(
+        OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_EXPIRY_KEY,
+        OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_EXPIRY_DEFAULT,
+        TimeUnit.MILLISECONDS);
+    return new PrefetchingScmBlockClient(blockClient, prefetchSize, expiry);
+  }
+
   public ScmBlockLocationProtocol getBlockClient() {
     return this.blockClient;
   }
@@ -41,4 +69,13 @@ public ScmBlockLocationProtocol getBlockClient() {
   public StorageContainerLocationProtocol getContainerClient() {
     return this.containerClient;
   }
+
+  /**
+   * Stops prefetching blocks, the clients themselves are not closed.
+   */
+  public void stop() {
+    if (blockClient instanceof PrefetchingScmBlockClient) {
+      ((PrefetchingScmBlockClient) blockClient).stop();
+    }
+  }
 }
@@ -22,6 +22,8 @@
 import org.apache.hadoop.hdds.utils.db.DBDefinition;
 import org.apache.hadoop.hdds.utils.db.LongCodec;
 import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.hadoop.hdds.utils.db.TableTuning;
+import org.apache.hadoop.hdds.utils.db.TableTuning.CachePriority;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -39,6 +41,31 @@
  */
 public class OMDBDefinition implements DBDefinition {
 
+  /**
+   * Volume and bucket names are at least 3 characters long, so the prefix of
+   * every key listing, starting with /volume/bucket/, is longer than this.
+   */
+  private static final int KEY_PREFIX_LENGTH = 8;
+
+  /**
+   * The key table is read by every key lookup and listing. Its index and
+   * filter blocks stay in the table readers, as for the other tables, so
+   * they do not compete with the data blocks for the shared cache.
+   */
+  private static final TableTuning KEY_TABLE_TUNING = TableTuning.newBuilder()
+      .setPrefixLength(KEY_PREFIX_LENGTH)
+      .build();
+
+  /**
+   * The open key and deleted tables are queues, written once and read back
+   * a few times before the entries are removed, and the token table is
+   * small, so they get the least of the cache.
+   */
+  private static final TableTuning LOW_PRIORITY_TUNING =
+      TableTuning.newBuilder()
+          .setCachePriority(CachePriority.LOW)
+          .build();
+
   public static final DBColumnFamilyDefinition<String, RepeatedOmKeyInfo>
             DELETED_TABLE =
             new DBColumnFamilyDefinition<>(
@@ -46,7 +73,8 @@ public class OMDBDefinition implements DBDefinition {
                     String.class,
                     new StringCodec(),
                     RepeatedOmKeyInfo.class,
-                    new RepeatedOmKeyInfoCodec());
+                    new RepeatedOmKeyInfoCodec(),
+                    LOW_PRIORITY_TUNING);
 
   public static final DBColumnFamilyDefinition<String,
             OzoneManagerProtocolProtos.UserVolumeInfo>
@@ -83,7 +111,8 @@ public class OMDBDefinition implements DBDefinition {
                     String.class,
                     new StringCodec(),
                     OmKeyInfo.class,
-                    new OmKeyInfoCodec());
+                    new OmKeyInfoCodec(),
+                    LOW_PRIORITY_TUNING);
 
   public static final DBColumnFamilyDefinition<String, OmKeyInfo>
             KEY_TABLE =
@@ -92,7 +121,8 @@ public class OMDBDefinition implements DBDefinition {
                     String.class,
                     new StringCodec(),
                     OmKeyInfo.class,
-                    new OmKeyInfoCodec());
+                    new OmKeyInfoCodec(),
+                    KEY_TABLE_TUNING);
 
   public static final DBColumnFamilyDefinition<String, OmBucketInfo>
             BUCKET_TABLE =
@@ -128,7 +158,8 @@ public class OMDBDefinition implements DBDefinition {
                     OzoneTokenIdentifier.class,
                     new TokenIdentifierCodec(),
                     Long.class,
-                    new LongCodec());
+                    new LongCodec(),
+                    LOW_PRIORITY_TUNING);
 
   public static final DBColumnFamilyDefinition<String, S3SecretValue>
             S3_SECRET_TABLE =
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Codec to decode OmKeyInfo without its block locations, used to list keys.
+ * <p>
+ * The key location list fields are skipped in the raw data before it is
+ * parsed, so the locations, which make up most of a KeyInfo, are never
+ * decoded. The decoded OmKeyInfo has no location versions and must not be
+ * written back to the DB. Encoding is the same as {@link OmKeyInfoCodec}.
+ */
+public class OmKeyInfoSummaryCodec extends OmKeyInfoCodec {
+
+  @Override
+  public OmKeyInfo fromPersistedFormat(byte[] rawData) throws IOException {
+    Preconditions
+        .checkNotNull(rawData,
+            "Null byte array can't converted to real object.");
+    try {
+      return OmKeyInfo.getFromProtobuf(
+          KeyInfo.parseFrom(stripKeyLocations(rawData)));
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException(
+          "Can't encode the the raw data from the byte array", e);
+    }
+  }
+
+  /**
+   * Returns the serialized KeyInfo without its keyLocationList fields. The
+   * other fields are copied as they are.
+   */
+  @VisibleForTesting
+  static byte[] stripKeyLocations(byte[] rawData) throws IOException {
+    CodedInputStream in = CodedInputStream.newInstance(rawData);
+    ByteArrayOutputStream out = null;
+    int copied = 0;
+    while (true) {
+      int start = in.getTotalBytesRead();
+      int tag = in.readTag();
+      if (tag == 0) {
+        break;
+      }
+      in.skipField(tag);
+      if (WireFormat.getTagFieldNumber(tag)
+          == KeyInfo.KEYLOCATIONLIST_FIELD_NUMBER) {
+        if (out == null) {
+          out = new ByteArrayOutputStream(rawData.length);
+        }
+        out.write(rawData, copied, start - copied);
+        copied = in.getTotalBytesRead();
+      }
+    }
+    if (out == null) {
+      return rawData;
+    }
+    out.write(rawData, copied, rawData.length - copied);
+    return out.toByteArray();
+  }
+}
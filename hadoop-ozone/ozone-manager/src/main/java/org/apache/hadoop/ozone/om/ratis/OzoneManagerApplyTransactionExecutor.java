@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+
+/**
+ * Executes OM StateMachine applyTransaction calls.
+ *
+ * Transactions are partitioned across a set of single threaded executors by
+ * volume/bucket. All transactions on a bucket go to the same executor, so
+ * they are applied in log order, while transactions on different buckets can
+ * be applied in parallel. Transactions which are not scoped to a single
+ * bucket act as a barrier: they are run on a separate serial executor only
+ * after every earlier transaction has been applied, and every later
+ * transaction waits for them.
+ *
+ * Submission must happen in log order, which is guaranteed by Ratis calling
+ * applyTransaction sequentially.
+ */
+public class OzoneManagerApplyTransactionExecutor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OzoneManagerApplyTransactionExecutor.class);
+
+  private final ExecutorService[] partitionExecutors;
+  private final ExecutorService serialExecutor;
+
+  // Last submitted transaction of each partition. A new transaction of a
+  // partition is chained to it, and a serial transaction is chained to all
+  // of them.
+  private final CompletableFuture<?>[] partitionTails;
+
+  public OzoneManagerApplyTransactionExecutor(int numExecutors) {
+    Preconditions.checkArgument(numExecutors > 0, "Number of apply " +
+        "transaction executors should be greater than zero");
+    this.partitionExecutors = new ExecutorService[numExecutors];
+    this.partitionTails = new CompletableFuture<?>[numExecutors];
+    for (int i = 0; i < numExecutors; i++) {
+      String nameFormat = numExecutors == 1 ?
+          "OM StateMachine ApplyTransaction Thread - %d" :
+          "OM StateMachine ApplyTransaction Thread - " + i + " - %d";
+      ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
+          .setNameFormat(nameFormat).build();
+      partitionExecutors[i] = HadoopExecutors.newSingleThreadExecutor(build);
+      partitionTails[i] = CompletableFuture.completedFuture(null);
+    }
+    if (numExecutors > 1) {
+      ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
+          .setNameFormat("OM StateMachine Serial ApplyTransaction Thread - %d")
+          .build();
+      this.serialExecutor = HadoopExecutors.newSingleThreadExecutor(build);
+    } else {
+      // With a single executor all transactions are already serialized.
+      this.serialExecutor = partitionExecutors[0];
+    }
+  }
+
+  /**
+   * Submit a transaction to be applied.
+   * @param request OMRequest of the transaction
+   * @param task task which applies the transaction
+   * @return future which is completed with the result of the task.
+   */
+  public synchronized <T> CompletableFuture<T> submit(OMRequest request,
+      Supplier<T> task) {
+    if (partitionExecutors.length == 1) {
+      CompletableFuture<T> future =
+          CompletableFuture.supplyAsync(task, partitionExecutors[0]);
+      partitionTails[0] = future;
+      return future;
+    }
+
+    String bucketKey = getBucketKey(request);
+    if (bucketKey != null) {
+      int partition = getPartition(bucketKey);
+      CompletableFuture<T> future = partitionTails[partition].handleAsync(
+          (result, throwable) -> task.get(), partitionExecutors[partition]);
+      partitionTails[partition] = future;
+      return future;
+    }
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Applying {} transaction serially", request.getCmdType());
+    }
+    CompletableFuture<T> future = CompletableFuture.allOf(partitionTails)
+        .handleAsync((result, throwable) -> task.get(), serialExecutor);
+    for (int i = 0; i < partitionTails.length; i++) {
+      partitionTails[i] = future;
+    }
+    return future;
+  }
+
+  @VisibleForTesting
+  int getPartition(String bucketKey) {
+    return (bucketKey.hashCode() & Integer.MAX_VALUE) %
+        partitionExecutors.length;
+  }
+
+  /**
+   * Returns the volume/bucket a request is scoped to, or null if the request
+   * can touch more than one bucket or non bucket level state and has to be
+   * applied serially.
+   */
+  @VisibleForTesting
+  static String getBucketKey(OMRequest request) {
+    switch (request.getCmdType()) {
+    case CreateKey:
+      return getBucketKey(request.getCreateKeyRequest().getKeyArgs());
+    case AllocateBlock:
+      return getBucketKey(request.getAllocateBlockRequest().getKeyArgs());
+    case CommitKey:
+      return getBucketKey(request.getCommitKeyRequest().getKeyArgs());
+    case DeleteKey:
+      return getBucketKey(request.getDeleteKeyRequest().getKeyArgs());
+    case DeleteKeys:
+      return getBucketKey(request.getDeleteKeysRequest().getKeyArgsList());
+    case RenameKey:
+      return getBucketKey(request.getRenameKeyRequest().getKeyArgs());
+    case RenameKeys:
+      return getBucketKey(request.getRenameKeysRequest().getVolumeName(),
+          request.getRenameKeysRequest().getBucketName());
+    case CreateDirectory:
+      return getBucketKey(request.getCreateDirectoryRequest().getKeyArgs());
+    case CreateFile:
+      return getBucketKey(request.getCreateFileRequest().getKeyArgs());
+    case InitiateMultiPartUpload:
+      return getBucketKey(
+          request.getInitiateMultiPartUploadRequest().getKeyArgs());
+    case CommitMultiPartUpload:
+      return getBucketKey(
+          request.getCommitMultiPartUploadRequest().getKeyArgs());
+    case AbortMultiPartUpload:
+      return getBucketKey(
+          request.getAbortMultiPartUploadRequest().getKeyArgs());
+    case CompleteMultiPartUpload:
+      return getBucketKey(
+          request.getCompleteMultiPartUploadRequest().getKeyArgs());
+    case SetBucketProperty:
+      return getBucketKey(
+          request.getSetBucketPropertyRequest().getBucketArgs()
+              .getVolumeName(),
+          request.getSetBucketPropertyRequest().getBucketArgs()
+              .getBucketName());
+    default:
+      return null;
+    }
+  }
+
+  private static String getBucketKey(KeyArgs keyArgs) {
+    return getBucketKey(keyArgs.getVolumeName(), keyArgs.getBucketName());
+  }
+
+  private static String getBucketKey(List<KeyArgs> keyArgsList) {
+    String bucketKey = null;
+    for (KeyArgs keyArgs : keyArgsList) {
+      String current = getBucketKey(keyArgs);
+      if (bucketKey == null) {
+        bucketKey = current;
+      } else if (!bucketKey.equals(current)) {
+        return null;
+      }
+    }
+    return bucketKey;
+  }
+
+  private static String getBucketKey(String volumeName, String bucketName) {
+    return OM_KEY_PREFIX + volumeName + OM_KEY_PREFIX + bucketName;
+  }
+
+  public void stop() {
+    for (ExecutorService executor : partitionExecutors) {
+      HadoopExecutors.shutdown(executor, LOG, 5, TimeUnit.SECONDS);
+    }
+    if (partitionExecutors.length > 1) {
+      HadoopExecutors.shutdown(serialExecutor, LOG, 5, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.hadoop.ozone.om.ratis;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,15 +27,19 @@
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hdds.function.SupplierWithIOException;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
@@ -48,12 +53,15 @@
 import org.apache.hadoop.ozone.om.ratis.metrics.OzoneManagerDoubleBufferMetrics;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.util.Daemon;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.ratis.util.ExitUtils;
 
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 import static org.apache.hadoop.ozone.OzoneConsts.BUCKET;
 import static org.apache.hadoop.ozone.OzoneConsts.VOLUME;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_CAPACITY_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type.DeleteBucket;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type.DeleteVolume;
 
@@ -62,36 +70,33 @@
  * DoubleBuffer it has 2 buffers one is currentBuffer and other is
  * readyBuffer. The current OM requests will be always added to currentBuffer.
  * Flush thread will be running in background, it check's if currentBuffer has
- * any entries, it swaps the buffer and creates a batch and commit to DB.
- * Adding OM request to doubleBuffer and swap of buffer are synchronized
- * methods.
+ * any entries, it moves up to maxBatchSize entries to readyBuffer and creates
+ * a batch. Adding OM request to doubleBuffer and taking the readyBuffer are
+ * synchronized methods.
  *
+ * Flush is pipelined in two stages. The flush thread builds the batch for
+ * readyBuffer, and hands it over to the commit thread, which commits the
+ * batch to DB, completes the futures, cleans up the cache and updates the
+ * lastAppliedIndex. So, the batch for the next readyBuffer is built while the
+ * previous batch is being committed. At most one batch is being committed at
+ * a time, so batches are committed in the order they are built.
+ *
+ * currentBuffer has a bounded capacity, once it is full add waits until the
+ * flush thread takes entries from it, which pushes back on the callers.
  */
 public final class OzoneManagerDoubleBuffer {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerDoubleBuffer.class);
 
-  // Taken unbounded queue, if sync thread is taking too long time, we
-  // might end up taking huge memory to add entries to the buffer.
-  // TODO: We can avoid this using unbounded queue and use queue with
-  // capacity, if queue is full we can wait for sync to be completed to
-  // add entries. But in this also we might block rpc handlers, as we
-  // clear entries after sync. Or we can come up with a good approach to
-  // solve this.
-  private Queue<DoubleBufferEntry<OMClientResponse>> currentBuffer;
-  private Queue<DoubleBufferEntry<OMClientResponse>> readyBuffer;
-
-
-  // future objects which hold the future returned by add method.
-  private volatile Queue<CompletableFuture<Void>> currentFutureQueue;
-
-  // Once we have an entry in current buffer, we swap the currentFutureQueue
-  // with readyFutureQueue. After flush is completed in flushTransaction
-  // daemon thread, we complete the futures in readyFutureQueue and clear them.
-  private volatile Queue<CompletableFuture<Void>> readyFutureQueue;
+  // Bounded by capacity, if sync thread is taking too long time, add waits
+  // for the flush thread to take entries instead of taking huge memory.
+  private final Queue<DoubleBufferEntry<OMClientResponse>> currentBuffer;
 
   private Daemon daemon;
+  private final ExecutorService commitExecutor;
+  // Commit of the last batch handed over to commitExecutor.
+  private Future<?> pendingCommit;
   private final OMMetadataManager omMetadataManager;
   private final AtomicLong flushedTransactionCount = new AtomicLong(0);
   private final AtomicLong flushIterations = new AtomicLong(0);
@@ -103,12 +108,20 @@ public final class OzoneManagerDoubleBuffer {
 
   private final boolean isRatisEnabled;
   private final boolean isTracingEnabled;
+  private final int capacity;
+  private final int maxBatchSize;
 
   /**
    * function which will get term associated with the transaction index.
    */
   private Function<Long, Long> indexToTerm;
 
+  /**
+   * function which will get the transaction info to be persisted for the
+   * list of flushed transaction indexes. If not set, the last flushed
+   * transaction index and its term is persisted.
+   */
+  private Function<List<Long>, OMTransactionInfo> flushedTransactionInfo;
 
 
   /**
@@ -120,6 +133,9 @@ public static class Builder {
     private boolean isRatisEnabled = false;
     private boolean isTracingEnabled = false;
     private Function<Long, Long> indexToTerm = null;
+    private Function<List<Long>, OMTransactionInfo> flushedTrxInfo = null;
+    private int capacity = OZONE_OM_DOUBLE_BUFFER_CAPACITY_DEFAULT;
+    private int maxBatchSize = OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_DEFAULT;
 
     public Builder setOmMetadataManager(OMMetadataManager omm) {
       this.mm = omm;
@@ -147,6 +163,22 @@ public Builder setIndexToTerm(Function<Long, Long> termGet) {
       return this;
     }
 
+    public Builder setFlushedTransactionInfo(
+        Function<List<Long>, OMTransactionInfo> trxInfoGet) {
+      this.flushedTrxInfo = trxInfoGet;
+      return this;
+    }
+
+    public Builder setCapacity(int bufferCapacity) {
+      this.capacity = bufferCapacity;
+      return this;
+    }
+
+    public Builder setMaxBatchSize(int batchSize) {
+      this.maxBatchSize = batchSize;
+      return this;
+    }
+
     public OzoneManagerDoubleBuffer build() {
       if (isRatisEnabled) {
         Preconditions.checkNotNull(rs, "When ratis is enabled, " +
@@ -154,33 +186,40 @@ public OzoneManagerDoubleBuffer build() {
         Preconditions.checkNotNull(indexToTerm, "When ratis is enabled " +
             "indexToTerm should not be null");
       }
+      Preconditions.checkArgument(capacity > 0, "DoubleBuffer capacity " +
+          "should be greater than zero");
+      Preconditions.checkArgument(maxBatchSize > 0, "DoubleBuffer max " +
+          "batch size should be greater than zero");
       return new OzoneManagerDoubleBuffer(mm, rs, isRatisEnabled,
-          isTracingEnabled, indexToTerm);
+          isTracingEnabled, indexToTerm, flushedTrxInfo, capacity,
+          maxBatchSize);
     }
   }
 
+  @SuppressWarnings("parameternumber")
   private OzoneManagerDoubleBuffer(OMMetadataManager omMetadataManager,
       OzoneManagerRatisSnapshot ozoneManagerRatisSnapShot,
       boolean isRatisEnabled, boolean isTracingEnabled,
-      Function<Long, Long> indexToTerm) {
-    this.currentBuffer = new ConcurrentLinkedQueue<>();
-    this.readyBuffer = new ConcurrentLinkedQueue<>();
+      Function<Long, Long> indexToTerm,
+      Function<List<Long>, OMTransactionInfo> flushedTransactionInfo,
+      int capacity, int maxBatchSize) {
+    this.currentBuffer = new ArrayDeque<>();
 
     this.isRatisEnabled = isRatisEnabled;
     this.isTracingEnabled = isTracingEnabled;
-    if (!isRatisEnabled) {
-      this.currentFutureQueue = new ConcurrentLinkedQueue<>();
-      this.readyFutureQueue = new ConcurrentLinkedQueue<>();
-    } else {
-      this.currentFutureQueue = null;
-      this.readyFutureQueue = null;
-    }
+    this.capacity = capacity;
+    this.maxBatchSize = maxBatchSize;
 
     this.omMetadataManager = omMetadataManager;
     this.ozoneManagerRatisSnapShot = ozoneManagerRatisSnapShot;
     this.ozoneManagerDoubleBufferMetrics =
         OzoneManagerDoubleBufferMetrics.create();
     this.indexToTerm = indexToTerm;
+    this.flushedTransactionInfo = flushedTransactionInfo;
+
+    ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("OMDoubleBufferCommitThread").build();
+    this.commitExecutor = HadoopExecutors.newSingleThreadExecutor(build);
 
     isRunning.set(true);
     // Daemon thread which runs in back ground and flushes transactions to DB.
@@ -233,119 +272,54 @@ private Void addToBatchTransactionInfoWithTrace(String parentName,
 
   /**
    * Runs in a background thread and batches the transaction in currentBuffer
-   * and commit to DB.
+   * and hands over the batch to commit thread to commit to DB.
    */
   private void flushTransactions() {
     while (isRunning.get()) {
       try {
-        if (canFlush()) {
-          Map<String, List<Long>> cleanupEpochs = new HashMap<>();
-
-          setReadyBuffer();
-          List<Long> flushedEpochs = null;
-          try(BatchOperation batchOperation = omMetadataManager.getStore()
-              .initBatchOperation()) {
-
-            AtomicReference<String> lastTraceId = new AtomicReference<>();
-            readyBuffer.iterator().forEachRemaining((entry) -> {
-              try {
-                OMResponse omResponse = entry.getResponse().getOMResponse();
-                lastTraceId.set(omResponse.getTraceID());
-                addToBatchWithTrace(omResponse,
-                    (SupplierWithIOException<Void>) () -> {
-                      entry.getResponse().checkAndUpdateDB(omMetadataManager,
-                          batchOperation);
-                      return null;
-                    });
-
-                setCleanupEpoch(entry, cleanupEpochs);
-
-              } catch (IOException ex) {
-                // During Adding to RocksDB batch entry got an exception.
-                // We should terminate the OM.
-                terminate(ex);
-              }
-            });
-
-            // Only when ratis is enabled commit transaction info to DB.
-            if (isRatisEnabled) {
-              flushedEpochs =
-                  readyBuffer.stream().map(DoubleBufferEntry::getTrxLogIndex)
-                      .sorted().collect(Collectors.toList());
-              long lastRatisTransactionIndex =
-                  flushedEpochs.get(flushedEpochs.size() - 1);
-              long term = indexToTerm.apply(lastRatisTransactionIndex);
-
-              addToBatchTransactionInfoWithTrace(lastTraceId.get(),
-                  lastRatisTransactionIndex,
-                  (SupplierWithIOException<Void>) () -> {
-                  omMetadataManager.getTransactionInfoTable().putWithBatch(
-                      batchOperation, TRANSACTION_INFO_KEY,
-                      new OMTransactionInfo.Builder()
-                      .setTransactionIndex(lastRatisTransactionIndex)
-                      .setCurrentTerm(term).build());
-                  return null;
-                });
+        List<DoubleBufferEntry<OMClientResponse>> readyBuffer =
+            getReadyBuffer();
+
+        long startTime = Time.monotonicNowNanos();
+        Map<String, List<Long>> cleanupEpochs = new HashMap<>();
+        BatchOperation batchOperation =
+            omMetadataManager.getStore().initBatchOperation();
+        String lastTraceId = null;
+        try {
+          for (DoubleBufferEntry<OMClientResponse> entry : readyBuffer) {
+            OMClientResponse response = entry.getResponse();
+            OMResponse omResponse = response.getOMResponse();
+            lastTraceId = omResponse.getTraceID();
+            if (response.readsFromDB()) {
+              // This response reads DB to build its batch entries, so all
+              // the earlier batches should be committed to DB before it.
+              awaitPendingCommit();
             }
-
-            long startTime = Time.monotonicNowNanos();
-            flushBatchWithTrace(lastTraceId.get(), readyBuffer.size(),
+            addToBatchWithTrace(omResponse,
                 (SupplierWithIOException<Void>) () -> {
-                  omMetadataManager.getStore().commitBatchOperation(
+                  response.checkAndUpdateDB(omMetadataManager,
                       batchOperation);
                   return null;
                 });
-            ozoneManagerDoubleBufferMetrics.updateFlushTime(
-                Time.monotonicNowNanos() - startTime);
-          }
-
-          // Complete futures first and then do other things. So, that
-          // handler threads will be released.
-          if (!isRatisEnabled) {
-            // Once all entries are flushed, we can complete their future.
-            readyFutureQueue.iterator().forEachRemaining((entry) -> {
-              entry.complete(null);
-            });
 
-            readyFutureQueue.clear();
+            setCleanupEpoch(entry, cleanupEpochs);
           }
-
-          int flushedTransactionsSize = readyBuffer.size();
-          flushedTransactionCount.addAndGet(flushedTransactionsSize);
-          flushIterations.incrementAndGet();
-
-          if (LOG.isDebugEnabled()) {
-            LOG.debug("Sync Iteration {} flushed transactions in this " +
-                    "iteration{}", flushIterations.get(),
-                flushedTransactionsSize);
-          }
-
-          // When non-HA do the sort step here, as the sorted list is not
-          // required for flush to DB. As in non-HA we want to complete
-          // futures as quick as possible after flush to DB, to release rpc
-          // handler threads.
-          if (!isRatisEnabled) {
-            flushedEpochs =
-                readyBuffer.stream().map(DoubleBufferEntry::getTrxLogIndex)
-                    .sorted().collect(Collectors.toList());
-          }
-
-
-          // Clean up committed transactions.
-
-          cleanupCache(cleanupEpochs);
-
-          readyBuffer.clear();
-
-          // update the last updated index in OzoneManagerStateMachine.
-          ozoneManagerRatisSnapShot.updateLastAppliedIndex(
-              flushedEpochs);
-
-          // set metrics.
-          updateMetrics(flushedTransactionsSize);
-
-
+        } catch (IOException ex) {
+          // During Adding to RocksDB batch entry got an exception.
+          // We should terminate the OM.
+          batchOperation.close();
+          throw ex;
         }
+        ozoneManagerDoubleBufferMetrics.updateBatchBuildTime(
+            Time.monotonicNowNanos() - startTime);
+
+        // Wait for the previous batch to be committed, and then hand over
+        // this batch, so that the next batch is built while this batch is
+        // being committed.
+        awaitPendingCommit();
+        final String traceId = lastTraceId;
+        pendingCommit = commitExecutor.submit(() -> commitTransactions(
+            readyBuffer, batchOperation, cleanupEpochs, traceId));
       } catch (InterruptedException ex) {
         Thread.currentThread().interrupt();
         if (isRunning.get()) {
@@ -368,6 +342,132 @@ private void flushTransactions() {
     }
   }
 
+  /**
+   * Runs in the commit thread, commits the batch built for readyBuffer to DB
+   * and then completes the futures, cleans up the cache and updates the
+   * lastAppliedIndex.
+   */
+  private void commitTransactions(
+      List<DoubleBufferEntry<OMClientResponse>> readyBuffer,
+      BatchOperation batchOperation, Map<String, List<Long>> cleanupEpochs,
+      String lastTraceId) {
+    try {
+      List<Long> flushedEpochs = null;
+      try (BatchOperation batch = batchOperation) {
+        // Only when ratis is enabled commit transaction info to DB.
+        if (isRatisEnabled) {
+          flushedEpochs =
+              readyBuffer.stream().map(DoubleBufferEntry::getTrxLogIndex)
+                  .sorted().collect(Collectors.toList());
+          // Transaction info is computed here and not while building the
+          // batch, as it depends on the lastAppliedIndex which is updated
+          // after the previous batch is committed.
+          OMTransactionInfo omTransactionInfo =
+              getTransactionInfoToPersist(flushedEpochs);
+
+          addToBatchTransactionInfoWithTrace(lastTraceId,
+              omTransactionInfo.getTransactionIndex(),
+              (SupplierWithIOException<Void>) () -> {
+              omMetadataManager.getTransactionInfoTable().putWithBatch(
+                  batch, TRANSACTION_INFO_KEY, omTransactionInfo);
+              return null;
+            });
+        }
+
+        long startTime = Time.monotonicNowNanos();
+        flushBatchWithTrace(lastTraceId, readyBuffer.size(),
+            (SupplierWithIOException<Void>) () -> {
+              omMetadataManager.getStore().commitBatchOperation(batch);
+              return null;
+            });
+        ozoneManagerDoubleBufferMetrics.updateFlushTime(
+            Time.monotonicNowNanos() - startTime);
+      }
+
+      long startTime = Time.monotonicNowNanos();
+      // Complete futures first and then do other things. So, that
+      // handler threads will be released.
+      if (!isRatisEnabled) {
+        // Once all entries are flushed, we can complete their future.
+        readyBuffer.forEach(entry -> entry.getFuture().complete(null));
+      }
+
+      int flushedTransactionsSize = readyBuffer.size();
+      flushedTransactionCount.addAndGet(flushedTransactionsSize);
+      flushIterations.incrementAndGet();
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Sync Iteration {} flushed transactions in this " +
+                "iteration{}", flushIterations.get(),
+            flushedTransactionsSize);
+      }
+
+      // When non-HA do the sort step here, as the sorted list is not
+      // required for flush to DB. As in non-HA we want to complete
+      // futures as quick as possible after flush to DB, to release rpc
+      // handler threads.
+      if (!isRatisEnabled) {
+        flushedEpochs =
+            readyBuffer.stream().map(DoubleBufferEntry::getTrxLogIndex)
+                .sorted().collect(Collectors.toList());
+      }
+
+
+      // Clean up committed transactions.
+
+      cleanupCache(cleanupEpochs);
+
+      // update the last updated index in OzoneManagerStateMachine.
+      ozoneManagerRatisSnapShot.updateLastAppliedIndex(
+          flushedEpochs);
+
+      ozoneManagerDoubleBufferMetrics.updatePostCommitTime(
+          Time.monotonicNowNanos() - startTime);
+
+      // set metrics.
+      updateMetrics(flushedTransactionsSize);
+    } catch (IOException ex) {
+      terminate(ex);
+    } catch (Throwable t) {
+      final String s = "OMDoubleBuffer commit thread" +
+          Thread.currentThread().getName() + "encountered Throwable error";
+      ExitUtils.terminate(2, s, t, LOG);
+    }
+  }
+
+  /**
+   * Wait until the batch handed over to commit thread is committed.
+   */
+  private void awaitPendingCommit() throws InterruptedException,
+      IOException {
+    if (pendingCommit != null) {
+      try {
+        pendingCommit.get();
+      } catch (ExecutionException ex) {
+        throw new IOException("OMDoubleBuffer commit failed", ex.getCause());
+      }
+      pendingCommit = null;
+    }
+  }
+
+  /**
+   * Returns the transaction info to be persisted to DB along with the
+   * flushed transactions.
+   * @param flushedEpochs sorted list of flushed transaction indexes.
+   * @return OMTransactionInfo
+   */
+  private OMTransactionInfo getTransactionInfoToPersist(
+      List<Long> flushedEpochs) {
+    if (flushedTransactionInfo != null) {
+      return flushedTransactionInfo.apply(flushedEpochs);
+    }
+    long lastRatisTransactionIndex =
+        flushedEpochs.get(flushedEpochs.size() - 1);
+    return new OMTransactionInfo.Builder()
+        .setTransactionIndex(lastRatisTransactionIndex)
+        .setCurrentTerm(indexToTerm.apply(lastRatisTransactionIndex)).build();
+  }
+
   /**
    * Set cleanup epoch for the DoubleBufferEntry.
    * @param entry
@@ -463,6 +563,12 @@ public void stop() {
       } catch (InterruptedException e) {
         LOG.debug("Interrupted while waiting for daemon to exit.", e);
       }
+      // Let the batch handed over to commit thread complete.
+      HadoopExecutors.shutdown(commitExecutor, LOG, 5, TimeUnit.SECONDS);
+      synchronized (this) {
+        // Release callers waiting for space in currentBuffer.
+        notifyAll();
+      }
 
       // stop metrics.
       ozoneManagerDoubleBufferMetrics.unRegister();
@@ -501,52 +607,58 @@ public long getFlushIterations() {
    */
   public synchronized CompletableFuture<Void> add(OMClientResponse response,
       long transactionIndex) {
-    currentBuffer.add(new DoubleBufferEntry<>(transactionIndex, response));
-    notify();
-
-    if (!isRatisEnabled) {
-      CompletableFuture<Void> future = new CompletableFuture<>();
-      currentFutureQueue.add(future);
-      return future;
-    } else {
-      // In Non-HA case we don't need future to be returned, and this return
-      // status is not used.
-      return null;
+    if (currentBuffer.size() >= capacity) {
+      // Push back on the caller until flush thread takes entries from
+      // currentBuffer.
+      long startTime = Time.monotonicNowNanos();
+      while (currentBuffer.size() >= capacity && isRunning.get()) {
+        try {
+          wait();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      ozoneManagerDoubleBufferMetrics.updateAddWaitTime(
+          Time.monotonicNowNanos() - startTime);
     }
+
+    // In HA case we don't need future to be returned, and this return
+    // status is not used.
+    CompletableFuture<Void> future =
+        isRatisEnabled ? null : new CompletableFuture<>();
+    currentBuffer.add(
+        new DoubleBufferEntry<>(transactionIndex, response, future));
+    notifyAll();
+    return future;
   }
 
   /**
-   * Check can we flush transactions or not. This method wait's until
-   * currentBuffer size is greater than zero, once currentBuffer size is
-   * greater than zero it gets notify signal, and it returns true
-   * indicating that we are ready to flush.
+   * Prepares the readyBuffer which is used by sync thread to flush
+   * transactions to OM DB. This method wait's until currentBuffer size is
+   * greater than zero, then it moves up to maxBatchSize entries from
+   * currentBuffer to readyBuffer. When there are more entries than
+   * maxBatchSize, the remaining entries are flushed in the next batch, so the
+   * batch size follows the load up to maxBatchSize.
    *
-   * @return boolean
+   * @return readyBuffer
    */
-  private synchronized boolean canFlush() throws InterruptedException {
+  private synchronized List<DoubleBufferEntry<OMClientResponse>>
+      getReadyBuffer() throws InterruptedException {
     // When transactions are added to buffer it notifies, then we check if
     // currentBuffer size once and return from this method.
-    while (currentBuffer.size() == 0) {
+    while (currentBuffer.isEmpty()) {
       wait(Long.MAX_VALUE);
     }
-    return true;
-  }
-
-  /**
-   * Prepares the readyBuffer which is used by sync thread to flush
-   * transactions to OM DB. This method swaps the currentBuffer and readyBuffer.
-   */
-  private synchronized void setReadyBuffer() {
-    Queue<DoubleBufferEntry<OMClientResponse>> temp = currentBuffer;
-    currentBuffer = readyBuffer;
-    readyBuffer = temp;
-
-    if (!isRatisEnabled) {
-      // Swap future queue.
-      Queue<CompletableFuture<Void>> tempFuture = currentFutureQueue;
-      currentFutureQueue = readyFutureQueue;
-      readyFutureQueue = tempFuture;
+    int batchSize = Math.min(currentBuffer.size(), maxBatchSize);
+    List<DoubleBufferEntry<OMClientResponse>> readyBuffer =
+        new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      readyBuffer.add(currentBuffer.poll());
     }
+    // Wake up callers waiting for space in currentBuffer.
+    notifyAll();
+    return readyBuffer;
   }
 
   @VisibleForTesting
@@ -345,7 +345,7 @@ public RaftGroup getRaftGroup() {
   private OzoneManagerStateMachine getStateMachine(ConfigurationSource conf)
       throws IOException {
     return new OzoneManagerStateMachine(this,
-        TracingUtil.isTracingEnabled(conf));
+        TracingUtil.isTracingEnabled(conf), conf);
   }
 
   @VisibleForTesting
@@ -20,19 +20,21 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ServiceException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OMRatisHelper;
@@ -62,6 +64,12 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_CAPACITY_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_CAPACITY_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_RATIS_APPLY_TRANSACTION_EXECUTORS_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_RATIS_APPLY_TRANSACTION_EXECUTORS_KEY;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.INTERNAL_ERROR;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.METADATA_ERROR;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.REPLAY;
@@ -83,9 +91,11 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private RaftGroupId raftGroupId;
   private OzoneManagerDoubleBuffer ozoneManagerDoubleBuffer;
   private final OMRatisSnapshotInfo snapshotInfo;
-  private final ExecutorService executorService;
+  private final OzoneManagerApplyTransactionExecutor applyTransactionExecutor;
   private final ExecutorService installSnapshotExecutor;
   private final boolean isTracingEnabled;
+  private final int doubleBufferCapacity;
+  private final int doubleBufferMaxBatchSize;
 
   // Map which contains index and term for the ratis transactions which are
   // stateMachine entries which are recived through applyTransaction.
@@ -100,9 +110,23 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
 
   public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
       boolean isTracingEnabled) throws IOException {
+    this(ratisServer, isTracingEnabled, new OzoneConfiguration());
+  }
+
+  public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
+      boolean isTracingEnabled, ConfigurationSource conf) throws IOException {
     this.omRatisServer = ratisServer;
     this.isTracingEnabled = isTracingEnabled;
     this.ozoneManager = omRatisServer.getOzoneManager();
+    this.doubleBufferCapacity = conf.getInt(
+        OZONE_OM_DOUBLE_BUFFER_CAPACITY_KEY,
+        OZONE_OM_DOUBLE_BUFFER_CAPACITY_DEFAULT);
+    this.doubleBufferMaxBatchSize = conf.getInt(
+        OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_KEY,
+        OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_DEFAULT);
+    int numApplyTransactionExecutors = conf.getInt(
+        OZONE_OM_RATIS_APPLY_TRANSACTION_EXECUTORS_KEY,
+        OZONE_OM_RATIS_APPLY_TRANSACTION_EXECUTORS_DEFAULT);
 
     this.snapshotInfo = ozoneManager.getSnapshotInfo();
     loadSnapshotInfoFromDB();
@@ -113,14 +137,16 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
         .enableRatis(true)
         .enableTracing(isTracingEnabled)
         .setIndexToTerm(this::getTermForIndex)
+        .setFlushedTransactionInfo(this::getFlushedTransactionInfo)
+        .setCapacity(doubleBufferCapacity)
+        .setMaxBatchSize(doubleBufferMaxBatchSize)
         .build();
 
     this.handler = new OzoneManagerRequestHandler(ozoneManager,
         ozoneManagerDoubleBuffer);
 
-    ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
-        .setNameFormat("OM StateMachine ApplyTransaction Thread - %d").build();
-    this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+    this.applyTransactionExecutor =
+        new OzoneManagerApplyTransactionExecutor(numApplyTransactionExecutors);
     this.installSnapshotExecutor = HadoopExecutors.newSingleThreadExecutor();
   }
 
@@ -210,33 +236,19 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
       OMRequest request = OMRatisHelper.convertByteStringToOMRequest(
           trx.getStateMachineLogEntry().getLogData());
       long trxLogIndex = trx.getLogEntry().getIndex();
-      // In the current approach we have one single global thread executor.
-      // with single thread. Right now this is being done for correctness, as
-      // applyTransaction will be run on multiple OM's we want to execute the
-      // transactions in the same order on all OM's, otherwise there is a
-      // chance that OM replica's can be out of sync.
-      // TODO: In this way we are making all applyTransactions in
-      // OM serial order. Revisit this in future to use multiple executors for
-      // volume/bucket.
-
-      // Reason for not immediately implementing executor per volume is, if
-      // one executor operations are slow, we cannot update the
-      // lastAppliedIndex in OzoneManager StateMachine, even if other
-      // executor has completed the transactions with id more.
-
-      // We have 300 transactions, And for each volume we have transactions
-      // of 150. Volume1 transactions 0 - 149 and Volume2 transactions 150 -
-      // 299.
-      // Example: Executor1 - Volume1 - 100 (current completed transaction)
-      // Example: Executor2 - Volume2 - 299 (current completed transaction)
-
-      // Now we have applied transactions of 0 - 100 and 149 - 299. We
-      // cannot update lastAppliedIndex to 299. We need to update it to 100,
-      // since 101 - 149 are not applied. When OM restarts it will
-      // applyTransactions from lastAppliedIndex.
-      // We can update the lastAppliedIndex to 100, and update it to 299,
-      // only after completing 101 - 149. In initial stage, we are starting
-      // with single global executor. Will revisit this when needed.
+      // Transactions are applied by executors partitioned by volume/bucket.
+      // Transactions on the same bucket are applied in log order on all
+      // OM's, and transactions which are not scoped to a single bucket are
+      // applied only after all earlier transactions, so OM replica's can not
+      // go out of sync.
+
+      // As transactions on different buckets can complete out of order,
+      // lastAppliedIndex is a low watermark. For example with transactions
+      // 0 - 149 on Volume1 and 150 - 299 on Volume2, if Executor1 has
+      // completed 100 and Executor2 has completed 299, lastAppliedIndex is
+      // 100 and moves to 299 only after 101 - 149 are applied. The same
+      // watermark is persisted as transaction info by the double buffer, so
+      // when OM restarts it will applyTransactions from lastAppliedIndex.
 
       // Add the term index and transaction log index to applyTransaction map
       // . This map will be used to update lastAppliedIndex.
@@ -244,8 +256,8 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
       CompletableFuture<Message> ratisFuture =
           new CompletableFuture<>();
       applyTransactionMap.put(trxLogIndex, trx.getLogEntry().getTerm());
-      CompletableFuture<OMResponse> future = CompletableFuture.supplyAsync(
-          () -> runCommand(request, trxLogIndex), executorService);
+      CompletableFuture<OMResponse> future = applyTransactionExecutor.submit(
+          request, () -> runCommand(request, trxLogIndex));
       future.thenApply(omResponse -> {
         if(!omResponse.getSuccess()) {
           // When INTERNAL_ERROR or METADATA_ERROR it is considered as
@@ -335,6 +347,10 @@ public void unpause(long newLastAppliedSnaphsotIndex,
               .setOzoneManagerRatisSnapShot(this::updateLastAppliedIndex)
               .enableRatis(true)
               .enableTracing(isTracingEnabled)
+              .setIndexToTerm(this::getTermForIndex)
+              .setFlushedTransactionInfo(this::getFlushedTransactionInfo)
+              .setCapacity(doubleBufferCapacity)
+              .setMaxBatchSize(doubleBufferMaxBatchSize)
               .build();
       handler.updateDoubleBuffer(ozoneManagerDoubleBuffer);
       this.setLastAppliedTermIndex(TermIndex.newTermIndex(
@@ -522,6 +538,36 @@ private synchronized void computeAndUpdateLastAppliedIndex(
     }
   }
 
+  /**
+   * Returns the transaction info to be persisted along with a double buffer
+   * batch containing the given flushed transactions. As transactions on
+   * different buckets can reach the double buffer out of order, this is the
+   * highest index up to which all transactions are either already applied,
+   * flushed in this batch or conf/metadata entries, and not just the highest
+   * index in the batch.
+   * @param flushedEpochs - list of ratis transactions flushed in the batch.
+   * @return OMTransactionInfo
+   */
+  public synchronized OMTransactionInfo getFlushedTransactionInfo(
+      List<Long> flushedEpochs) {
+    TermIndex lastAppliedTermIndex = getLastAppliedTermIndex();
+    long appliedIndex = lastAppliedTermIndex.getIndex();
+    long appliedTerm = lastAppliedTermIndex.getTerm();
+    Set<Long> flushedTrans = new HashSet<>(flushedEpochs);
+    for (long i = appliedIndex + 1; ; i++) {
+      Long term = flushedTrans.contains(i) ? applyTransactionMap.get(i) :
+          ratisTransactionMap.get(i);
+      if (term == null) {
+        break;
+      }
+      appliedIndex = i;
+      appliedTerm = term;
+    }
+    return new OMTransactionInfo.Builder()
+        .setTransactionIndex(appliedIndex)
+        .setCurrentTerm(appliedTerm).build();
+  }
+
   public void loadSnapshotInfoFromDB() throws IOException {
     // This is done, as we have a check in Ratis for not throwing
     // LeaderNotReadyException, it checks stateMachineIndex >= raftLog
@@ -569,7 +615,7 @@ public void setRaftGroupId(RaftGroupId raftGroupId) {
 
   public void stop() {
     ozoneManagerDoubleBuffer.stop();
-    HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
+    applyTransactionExecutor.stop();
     HadoopExecutors.shutdown(installSnapshotExecutor, LOG, 5, TimeUnit.SECONDS);
   }
 
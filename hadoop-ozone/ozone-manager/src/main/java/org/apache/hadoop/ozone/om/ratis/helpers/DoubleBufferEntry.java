@@ -18,6 +18,8 @@
 
 package org.apache.hadoop.ozone.om.ratis.helpers;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 
 /**
@@ -28,10 +30,18 @@
 
   private long trxLogIndex;
   private Response response;
+  // Future completed once the entry is flushed to DB, null when not waited.
+  private CompletableFuture<Void> future;
 
   public DoubleBufferEntry(long trxLogIndex, Response response) {
+    this(trxLogIndex, response, null);
+  }
+
+  public DoubleBufferEntry(long trxLogIndex, Response response,
+      CompletableFuture<Void> future) {
     this.trxLogIndex = trxLogIndex;
     this.response = response;
+    this.future = future;
   }
 
   public long getTrxLogIndex() {
@@ -41,4 +51,8 @@ public long getTrxLogIndex() {
   public Response getResponse() {
     return response;
   }
+
+  public CompletableFuture<Void> getFuture() {
+    return future;
+  }
 }
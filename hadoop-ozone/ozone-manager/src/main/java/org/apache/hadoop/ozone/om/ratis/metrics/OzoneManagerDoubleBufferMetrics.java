@@ -23,8 +23,10 @@
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeFloat;
+import org.apache.hadoop.metrics2.lib.MutableQuantiles;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
 /**
@@ -37,6 +39,11 @@ public class OzoneManagerDoubleBufferMetrics {
   private static final String SOURCE_NAME =
       OzoneManagerDoubleBufferMetrics.class.getSimpleName();
 
+  // Interval in seconds of the latency quantiles of the flush stages.
+  private static final int QUANTILE_INTERVAL = 60;
+
+  private final MetricsRegistry registry = new MetricsRegistry(SOURCE_NAME);
+
   @Metric(about = "Total Number of flush operations happened in " +
       "OzoneManagerDoubleBuffer.")
   private MutableCounterLong totalNumOfFlushOperations;
@@ -58,6 +65,36 @@ public class OzoneManagerDoubleBufferMetrics {
       "iteration")
   private MutableGaugeFloat avgFlushTransactionsInOneIteration;
 
+  @Metric(about = "DoubleBuffer batch build time. This metrics captures the " +
+      "time taken to add the responses of a flush iteration to rocksdb batch.")
+  private MutableRate batchBuildTime;
+
+  @Metric(about = "DoubleBuffer post commit time. This metrics captures the " +
+      "time taken to complete futures, cleanup cache and update the last " +
+      "applied index after rocksdb batch commit.")
+  private MutableRate postCommitTime;
+
+  @Metric(about = "Time callers waited to add a response to DoubleBuffer, " +
+      "when DoubleBuffer is full.")
+  private MutableRate addWaitTime;
+
+  private final MutableQuantiles batchBuildTimeQuantiles;
+  private final MutableQuantiles flushTimeQuantiles;
+  private final MutableQuantiles postCommitTimeQuantiles;
+  private final MutableQuantiles addWaitTimeQuantiles;
+
+  public OzoneManagerDoubleBufferMetrics() {
+    batchBuildTimeQuantiles = registry.newQuantiles("batchBuildTimeNanos",
+        "DoubleBuffer batch build time", "ops", "latency", QUANTILE_INTERVAL);
+    flushTimeQuantiles = registry.newQuantiles("flushTimeNanos",
+        "DoubleBuffer rocksdb batch commit time", "ops", "latency",
+        QUANTILE_INTERVAL);
+    postCommitTimeQuantiles = registry.newQuantiles("postCommitTimeNanos",
+        "DoubleBuffer post commit time", "ops", "latency", QUANTILE_INTERVAL);
+    addWaitTimeQuantiles = registry.newQuantiles("addWaitTimeNanos",
+        "DoubleBuffer add wait time", "ops", "latency", QUANTILE_INTERVAL);
+  }
+
   public synchronized static OzoneManagerDoubleBufferMetrics create() {
     if (instance != null) {
       return instance;
@@ -104,6 +141,32 @@ public long getMaxNumberOfTransactionsFlushedInOneIteration() {
 
   public void updateFlushTime(long time) {
     flushTime.add(time);
+    flushTimeQuantiles.add(time);
+  }
+
+  public void updateBatchBuildTime(long time) {
+    batchBuildTime.add(time);
+    batchBuildTimeQuantiles.add(time);
+  }
+
+  public void updatePostCommitTime(long time) {
+    postCommitTime.add(time);
+    postCommitTimeQuantiles.add(time);
+  }
+
+  public void updateAddWaitTime(long time) {
+    addWaitTime.add(time);
+    addWaitTimeQuantiles.add(time);
+  }
+
+  @VisibleForTesting
+  public MutableRate getBatchBuildTime() {
+    return batchBuildTime;
+  }
+
+  @VisibleForTesting
+  public MutableRate getAddWaitTime() {
+    return addWaitTime;
   }
 
   @VisibleForTesting
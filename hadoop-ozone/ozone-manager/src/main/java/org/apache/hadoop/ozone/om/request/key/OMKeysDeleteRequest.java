@@ -117,20 +117,21 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
         getOmRequest());
     OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
     try {
+      List<String> objectKeys = new ArrayList<>(deleteKeyArgsList.size());
       for (KeyArgs deleteKeyArgs : deleteKeyArgsList) {
-        volumeName = deleteKeyArgs.getVolumeName();
-        bucketName = deleteKeyArgs.getBucketName();
-        keyName = deleteKeyArgs.getKeyName();
-        String objectKey = omMetadataManager.getOzoneKey(volumeName, bucketName,
-            keyName);
-        OmKeyInfo omKeyInfo = omMetadataManager.getKeyTable().get(objectKey);
-        omKeyInfoList.add(omKeyInfo);
-        unDeletedKeys.add(omKeyInfo);
+        objectKeys.add(omMetadataManager.getOzoneKey(
+            deleteKeyArgs.getVolumeName(), deleteKeyArgs.getBucketName(),
+            deleteKeyArgs.getKeyName()));
       }
+      // Look up all the keys of the batch at once.
+      omKeyInfoList.addAll(
+          omMetadataManager.getKeyTable().multiGet(objectKeys));
+      unDeletedKeys.addAll(omKeyInfoList);
 
       // Check if any of the key in the batch cannot be deleted. If exists the
       // batch will delete failed.
-      for (KeyArgs deleteKeyArgs : deleteKeyArgsList) {
+      for (int i = 0; i < deleteKeyArgsList.size(); i++) {
+        KeyArgs deleteKeyArgs = deleteKeyArgsList.get(i);
         volumeName = deleteKeyArgs.getVolumeName();
         bucketName = deleteKeyArgs.getBucketName();
         keyName = deleteKeyArgs.getKeyName();
@@ -139,13 +140,10 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
         checkKeyAcls(ozoneManager, volumeName, bucketName, keyName,
             IAccessAuthorizer.ACLType.DELETE, OzoneObj.ResourceType.KEY);
 
-        String objectKey = omMetadataManager.getOzoneKey(
-            volumeName, bucketName, keyName);
-
         // Validate bucket and volume exists or not.
         validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
 
-        OmKeyInfo omKeyInfo = omMetadataManager.getKeyTable().get(objectKey);
+        OmKeyInfo omKeyInfo = omKeyInfoList.get(i);
 
         if (omKeyInfo == null) {
           throw new OMException("Key not found: " + keyName, KEY_NOT_FOUND);
@@ -0,0 +1,297 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.audit.AuditLogger;
+import org.apache.hadoop.ozone.audit.OMAction;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OMMetrics;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
+import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeysRenameResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysMap;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysResponse;
+import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
+import org.apache.hadoop.ozone.security.acl.OzoneObj;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_KEY_NAME;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_REQUEST;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_ALREADY_EXISTS;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
+
+/**
+ * Handles rename keys request, which renames a batch of keys of a bucket in
+ * a single transaction. Either all the keys of the batch are renamed, or
+ * none of them. The bucket lock is held while the batch is applied, so the
+ * time it is held is bounded by the size of the batch.
+ */
+public class OMKeysRenameRequest extends OMKeyRequest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OMKeysRenameRequest.class);
+
+  public OMKeysRenameRequest(OMRequest omRequest) {
+    super(omRequest);
+  }
+
+  @Override
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+    RenameKeysRequest renameKeysRequest =
+        getOmRequest().getRenameKeysRequest();
+    Preconditions.checkNotNull(renameKeysRequest);
+
+    // Set modification time.
+    return getOmRequest().toBuilder()
+        .setRenameKeysRequest(renameKeysRequest.toBuilder()
+            .setModificationTime(Time.now()))
+        .setUserInfo(getUserInfo()).build();
+  }
+
+  @Override
+  @SuppressWarnings("methodlength")
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
+      long trxnLogIndex, OzoneManagerDoubleBufferHelper omDoubleBufferHelper) {
+
+    RenameKeysRequest renameKeysRequest =
+        getOmRequest().getRenameKeysRequest();
+    String volumeName = renameKeysRequest.getVolumeName();
+    String bucketName = renameKeysRequest.getBucketName();
+
+    OMMetrics omMetrics = ozoneManager.getMetrics();
+    omMetrics.incNumKeyRenames();
+
+    AuditLogger auditLogger = ozoneManager.getAuditLogger();
+    Map<String, String> auditMap = buildAuditMap(renameKeysRequest);
+
+    OMResponse.Builder omResponse = OmResponseUtil.getOMResponseBuilder(
+        getOmRequest());
+
+    OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    boolean acquiredLock = false;
+    OMClientResponse omClientResponse = null;
+    IOException exception = null;
+    Result result = null;
+    // fromKeyName -> info of the key renamed to its toKeyName, or null if
+    // the key was already renamed and only fromKeyName is to be deleted.
+    Map<String, OmKeyInfo> renamedKeys = new LinkedHashMap<>();
+    try {
+      validateKeyNames(renameKeysRequest);
+      // check Acls to see if user has access to perform delete operation on
+      // old keys and create operation on new keys
+      for (RenameKeysMap renameKeysMap :
+          renameKeysRequest.getRenameKeysMapList()) {
+        checkKeyAcls(ozoneManager, volumeName, bucketName,
+            renameKeysMap.getFromKeyName(), IAccessAuthorizer.ACLType.DELETE,
+            OzoneObj.ResourceType.KEY);
+        checkKeyAcls(ozoneManager, volumeName, bucketName,
+            renameKeysMap.getToKeyName(), IAccessAuthorizer.ACLType.CREATE,
+            OzoneObj.ResourceType.KEY);
+      }
+
+      acquiredLock = omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK,
+          volumeName, bucketName);
+
+      // Validate bucket and volume exists or not.
+      validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
+
+      Table<String, OmKeyInfo> keyTable = omMetadataManager.getKeyTable();
+      boolean replayed = false;
+      // Check all the keys before updating any of them or the cache, so that
+      // a failed batch leaves all of them unchanged.
+      for (RenameKeysMap renameKeysMap :
+          renameKeysRequest.getRenameKeysMapList()) {
+        String fromKeyName = renameKeysMap.getFromKeyName();
+        String toKeyName = renameKeysMap.getToKeyName();
+        OmKeyInfo fromKeyValue = keyTable.get(omMetadataManager.getOzoneKey(
+            volumeName, bucketName, fromKeyName));
+        OmKeyInfo toKeyValue = keyTable.get(omMetadataManager.getOzoneKey(
+            volumeName, bucketName, toKeyName));
+
+        if (toKeyValue != null) {
+          // Check if this transaction is a replay of ratis logs.
+          if (!isReplay(ozoneManager, toKeyValue, trxnLogIndex)) {
+            // This transaction is not a replay. toKeyName should not exist
+            throw new OMException("Key already exists " + toKeyName,
+                KEY_ALREADY_EXISTS);
+          }
+          replayed = true;
+          // As for a single rename, fromKey may have been created again by
+          // replayed transactions before this one, in which case it still
+          // has to be deleted.
+          if (fromKeyValue != null && ozoneManager.isRatisEnabled() &&
+              trxnLogIndex > fromKeyValue.getUpdateID()) {
+            renamedKeys.put(fromKeyName, null);
+          }
+        } else {
+          // fromKeyName should exist
+          if (fromKeyValue == null) {
+            throw new OMException("Key not found " + fromKeyName,
+                KEY_NOT_FOUND);
+          }
+          renamedKeys.put(fromKeyName, fromKeyValue);
+        }
+      }
+
+      if (replayed && renamedKeys.isEmpty()) {
+        // All the keys were renamed already, no further action is required.
+        result = Result.REPLAY;
+        omClientResponse = new OMKeysRenameResponse(createReplayOMResponse(
+            omResponse));
+      } else {
+        // Add to cache.
+        // fromKeys should be deleted, toKeys should be added with newly
+        // updated omKeyInfo.
+        for (RenameKeysMap renameKeysMap :
+            renameKeysRequest.getRenameKeysMapList()) {
+          String fromKeyName = renameKeysMap.getFromKeyName();
+          if (!renamedKeys.containsKey(fromKeyName)) {
+            continue;
+          }
+          keyTable.addCacheEntry(new CacheKey<>(omMetadataManager.getOzoneKey(
+              volumeName, bucketName, fromKeyName)),
+              new CacheValue<>(Optional.absent(), trxnLogIndex));
+          OmKeyInfo toKeyValue = renamedKeys.get(fromKeyName);
+          if (toKeyValue != null) {
+            toKeyValue.setUpdateID(trxnLogIndex,
+                ozoneManager.isRatisEnabled());
+            toKeyValue.setKeyName(renameKeysMap.getToKeyName());
+            //Set modification time
+            toKeyValue.setModificationTime(
+                renameKeysRequest.getModificationTime());
+            keyTable.addCacheEntry(new CacheKey<>(
+                omMetadataManager.getOzoneKey(volumeName, bucketName,
+                    toKeyValue.getKeyName())),
+                new CacheValue<>(Optional.of(toKeyValue), trxnLogIndex));
+          }
+        }
+
+        omClientResponse = new OMKeysRenameResponse(omResponse
+            .setRenameKeysResponse(RenameKeysResponse.newBuilder()).build(),
+            volumeName, bucketName, renamedKeys);
+        result = Result.SUCCESS;
+      }
+    } catch (IOException ex) {
+      result = Result.FAILURE;
+      exception = ex;
+      omClientResponse = new OMKeysRenameResponse(createErrorOMResponse(
+          omResponse, exception));
+    } finally {
+      addResponseToDoubleBuffer(trxnLogIndex, omClientResponse,
+          omDoubleBufferHelper);
+      if (acquiredLock) {
+        omMetadataManager.getLock().releaseWriteLock(BUCKET_LOCK, volumeName,
+            bucketName);
+      }
+    }
+
+    if (result != Result.REPLAY) {
+      auditLog(auditLogger, buildAuditMessage(OMAction.RENAME_KEYS, auditMap,
+          exception, getOmRequest().getUserInfo()));
+    }
+
+    switch (result) {
+    case SUCCESS:
+      LOG.debug("Rename Keys is successfully completed for volume:{} " +
+              "bucket:{} keys:{}.", volumeName, bucketName,
+          renamedKeys.size());
+      break;
+    case REPLAY:
+      LOG.debug("Replayed Transaction {} ignored. Request: {}", trxnLogIndex,
+          renameKeysRequest);
+      break;
+    case FAILURE:
+      omMetrics.incNumKeyRenameFails();
+      LOG.error("Rename keys failed for volume:{} bucket:{}.", volumeName,
+          bucketName, exception);
+      break;
+    default:
+      LOG.error("Unrecognized Result for OMKeysRenameRequest: {}",
+          renameKeysRequest);
+    }
+    return omClientResponse;
+  }
+
+  /**
+   * Checks that the key names are not empty, and that no key is renamed
+   * more than once or renamed to a key of the batch, as the keys are checked
+   * against the table before any of them is renamed.
+   */
+  private static void validateKeyNames(RenameKeysRequest renameKeysRequest)
+      throws OMException {
+    Set<String> fromKeyNames = new HashSet<>();
+    Set<String> toKeyNames = new HashSet<>();
+    for (RenameKeysMap renameKeysMap :
+        renameKeysRequest.getRenameKeysMapList()) {
+      String fromKeyName = renameKeysMap.getFromKeyName();
+      String toKeyName = renameKeysMap.getToKeyName();
+      if (toKeyName.length() == 0 || fromKeyName.length() == 0) {
+        throw new OMException("Key name is empty", INVALID_KEY_NAME);
+      }
+      if (!fromKeyNames.add(fromKeyName) || !toKeyNames.add(toKeyName)) {
+        throw new OMException("Key renamed more than once " + fromKeyName +
+            " to " + toKeyName, INVALID_REQUEST);
+      }
+    }
+    for (String toKeyName : toKeyNames) {
+      if (fromKeyNames.contains(toKeyName)) {
+        throw new OMException("Key renamed in the same batch " + toKeyName,
+            INVALID_REQUEST);
+      }
+    }
+  }
+
+  private Map<String, String> buildAuditMap(
+      RenameKeysRequest renameKeysRequest) {
+    Map<String, String> renamedKeysMap = new LinkedHashMap<>();
+    for (RenameKeysMap renameKeysMap :
+        renameKeysRequest.getRenameKeysMapList()) {
+      renamedKeysMap.put(renameKeysMap.getFromKeyName(),
+          renameKeysMap.getToKeyName());
+    }
+    Map<String, String> auditMap = new HashMap<>();
+    auditMap.put(OzoneConsts.VOLUME, renameKeysRequest.getVolumeName());
+    auditMap.put(OzoneConsts.BUCKET, renameKeysRequest.getBucketName());
+    auditMap.put(OzoneConsts.RENAMED_KEYS_MAP, renamedKeysMap.toString());
+    return auditMap;
+  }
+}
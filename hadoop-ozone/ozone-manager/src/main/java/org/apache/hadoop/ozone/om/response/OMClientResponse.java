@@ -74,6 +74,17 @@ public void checkAndUpdateDB(OMMetadataManager omMetadataManager,
   protected abstract void addToDBBatch(OMMetadataManager omMetadataManager,
       BatchOperation batchOperation) throws IOException;
 
+  /**
+   * Returns true if addToDBBatch reads values from DB to build the entries
+   * it adds to the batch. Such a response should be added to a batch only
+   * after all the earlier batches are committed, so that it does not read
+   * stale values.
+   * @return boolean
+   */
+  public boolean readsFromDB() {
+    return false;
+  }
+
   /**
    * Return OMResponse.
    * @return OMResponse
@@ -65,6 +65,12 @@ public OMKeysDeleteResponse(@Nonnull OMResponse omResponse) {
     checkStatusNotOK();
   }
 
+  @Override
+  public boolean readsFromDB() {
+    // deletedTable entry is read from DB to add to the existing entries.
+    return true;
+  }
+
   @Override
   public void addToDBBatch(OMMetadataManager omMetadataManager,
                            BatchOperation batchOperation) throws IOException {
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.response.key;
+
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
+    .OMResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.KEY_TABLE;
+
+/**
+ * Response for RenameKeys request.
+ */
+@CleanupTableInfo(cleanupTables = {KEY_TABLE})
+public class OMKeysRenameResponse extends OMClientResponse {
+
+  private String volumeName;
+  private String bucketName;
+  // fromKeyName -> renamed key info. A null key info means only the fromKey
+  // has to be deleted, see OMKeyRenameResponse for the replay case.
+  private Map<String, OmKeyInfo> renamedKeys;
+
+  public OMKeysRenameResponse(@Nonnull OMResponse omResponse,
+      String volumeName, String bucketName,
+      @Nonnull Map<String, OmKeyInfo> renamedKeys) {
+    super(omResponse);
+    this.volumeName = volumeName;
+    this.bucketName = bucketName;
+    this.renamedKeys = renamedKeys;
+  }
+
+  /**
+   * For when the request is not successful or it is a replay transaction.
+   * For a successful request, the other constructor should be used.
+   */
+  public OMKeysRenameResponse(@Nonnull OMResponse omResponse) {
+    super(omResponse);
+    checkStatusNotOK();
+  }
+
+  @Override
+  public void addToDBBatch(OMMetadataManager omMetadataManager,
+      BatchOperation batchOperation) throws IOException {
+    Table<String, OmKeyInfo> keyTable = omMetadataManager.getKeyTable();
+    for (Map.Entry<String, OmKeyInfo> renamed : renamedKeys.entrySet()) {
+      keyTable.deleteWithBatch(batchOperation,
+          omMetadataManager.getOzoneKey(volumeName, bucketName,
+              renamed.getKey()));
+      OmKeyInfo newKeyInfo = renamed.getValue();
+      if (newKeyInfo != null) {
+        keyTable.putWithBatch(batchOperation,
+            omMetadataManager.getOzoneKey(volumeName, bucketName,
+                newKeyInfo.getKeyName()), newKeyInfo);
+      }
+    }
+  }
+
+  public Map<String, OmKeyInfo> getRenamedKeys() {
+    return renamedKeys;
+  }
+}
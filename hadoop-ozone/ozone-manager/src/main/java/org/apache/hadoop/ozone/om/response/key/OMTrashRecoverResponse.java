@@ -48,6 +48,12 @@ public OMTrashRecoverResponse(@Nullable OmKeyInfo omKeyInfo,
     this.omKeyInfo = omKeyInfo;
   }
 
+  @Override
+  public boolean readsFromDB() {
+    // deletedTable entry of the key to recover is read from DB.
+    return true;
+  }
+
   @Override
   public void addToDBBatch(OMMetadataManager omMetadataManager,
       BatchOperation batchOperation) throws IOException {
@@ -69,6 +69,12 @@ public S3MultipartUploadAbortResponse(@Nonnull OMResponse omResponse) {
     checkStatusNotOK();
   }
 
+  @Override
+  public boolean readsFromDB() {
+    // deletedTable entry is read from DB to add to the existing entries.
+    return true;
+  }
+
   @Override
   public void addToDBBatch(OMMetadataManager omMetadataManager,
       BatchOperation batchOperation) throws IOException {
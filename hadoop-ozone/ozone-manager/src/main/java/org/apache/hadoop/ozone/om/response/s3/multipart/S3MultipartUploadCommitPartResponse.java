@@ -131,6 +131,12 @@ public void checkAndUpdateDB(OMMetadataManager omMetadataManager,
     }
   }
 
+  @Override
+  public boolean readsFromDB() {
+    // deletedTable entry is read from DB to add to the existing entries.
+    return true;
+  }
+
   @Override
   public void addToDBBatch(OMMetadataManager omMetadataManager,
       BatchOperation batchOperation) throws IOException {
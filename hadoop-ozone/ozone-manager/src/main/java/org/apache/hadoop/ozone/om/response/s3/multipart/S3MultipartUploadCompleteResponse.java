@@ -80,6 +80,12 @@ public S3MultipartUploadCompleteResponse(@Nonnull OMResponse omResponse) {
     checkStatusNotOK();
   }
 
+  @Override
+  public boolean readsFromDB() {
+    // deletedTable entry is read from DB to add to the existing entries.
+    return true;
+  }
+
   @Override
   public void addToDBBatch(OMMetadataManager omMetadataManager,
       BatchOperation batchOperation) throws IOException {
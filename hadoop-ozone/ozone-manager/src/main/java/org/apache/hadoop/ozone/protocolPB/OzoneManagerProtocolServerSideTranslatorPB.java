@@ -25,6 +25,7 @@
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.ProtocolMessageMetrics;
 import org.apache.hadoop.ozone.OmUtils;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
 import org.apache.hadoop.ozone.om.protocolPB.OzoneManagerProtocolPB;
@@ -92,6 +93,12 @@ public OzoneManagerProtocolServerSideTranslatorPB(
           .enableRatis(isRatisEnabled)
           .enableTracing(TracingUtil.isTracingEnabled(
               ozoneManager.getConfiguration()))
+          .setCapacity(ozoneManager.getConfiguration().getInt(
+              OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_CAPACITY_KEY,
+              OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_CAPACITY_DEFAULT))
+          .setMaxBatchSize(ozoneManager.getConfiguration().getInt(
+              OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_KEY,
+              OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MAX_BATCH_SIZE_DEFAULT))
           .build();
       handler = new OzoneManagerRequestHandler(impl, ozoneManagerDoubleBuffer);
     }
@@ -31,6 +31,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadList;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadListParts;
@@ -57,6 +58,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.InfoVolumeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.InfoVolumeResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListBucketsRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListBucketsResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
@@ -390,15 +392,20 @@ private ListKeysResponse listKeys(ListKeysRequest request)
     ListKeysResponse.Builder resp =
         ListKeysResponse.newBuilder();
 
-    List<OmKeyInfo> keys = impl.listKeys(
+    boolean withLocations =
+        request.getProjection() == KeyInfoProjection.FULL;
+    OmKeyList keyList = impl.listKeys(
         request.getVolumeName(),
         request.getBucketName(),
         request.getStartKey(),
         request.getPrefix(),
-        request.getCount());
-    for (OmKeyInfo key : keys) {
-      resp.addKeyInfo(key.getProtobuf());
+        request.hasDelimiter() ? request.getDelimiter() : null,
+        request.getCount(),
+        request.getProjection());
+    for (OmKeyInfo key : keyList.getKeys()) {
+      resp.addKeyInfo(key.getProtobuf(withLocations));
     }
+    resp.addAllCommonPrefixes(keyList.getCommonPrefixes());
 
     return resp.build();
   }
@@ -563,11 +570,14 @@ private LookupFileResponse lookupFile(
   private ListStatusResponse listStatus(
       ListStatusRequest request) throws IOException {
     KeyArgs keyArgs = request.getKeyArgs();
+    // The pipelines are only refreshed if the locations are returned.
+    boolean withLocations =
+        request.getProjection() == KeyInfoProjection.FULL;
     OmKeyArgs omKeyArgs = new OmKeyArgs.Builder()
         .setVolumeName(keyArgs.getVolumeName())
         .setBucketName(keyArgs.getBucketName())
         .setKeyName(keyArgs.getKeyName())
-        .setRefreshPipeline(true)
+        .setRefreshPipeline(withLocations)
         .build();
     List<OzoneFileStatus> statuses =
         impl.listStatus(omKeyArgs, request.getRecursive(),
@@ -576,7 +586,7 @@ private ListStatusResponse listStatus(
         listStatusResponseBuilder =
         ListStatusResponse.newBuilder();
     for (OzoneFileStatus status : statuses) {
-      listStatusResponseBuilder.addStatuses(status.getProtobuf());
+      listStatusResponseBuilder.addStatuses(status.getProtobuf(withLocations));
     }
     return listStatusResponseBuilder.build();
   }
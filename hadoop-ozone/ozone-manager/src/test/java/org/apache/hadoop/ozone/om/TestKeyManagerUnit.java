@@ -23,6 +23,7 @@
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -47,10 +48,12 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs.Builder;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyList;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
@@ -61,6 +64,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
 import org.apache.hadoop.ozone.om.request.TestOMRequestUtils;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfoProjection;
 import org.apache.hadoop.ozone.security.OzoneBlockTokenSecretManager;
 import org.apache.hadoop.test.GenericTestUtils;
 
@@ -262,6 +266,90 @@ public void listMultipartUploadsWithPrefix() throws IOException {
     Assert.assertEquals("dir/key2", uploads.get(1).getKeyName());
   }
 
+  @Test
+  public void renameKeys() throws Exception {
+    createBucket(metadataManager, "vol1", "bucket1");
+    for (String key : Arrays.asList("a", "b", "c")) {
+      TestOMRequestUtils.addKeyToTable(false, "vol1", "bucket1", key, 0L,
+          ReplicationType.RATIS, ReplicationFactor.ONE, metadataManager);
+    }
+
+    // The second target exists, so none of the keys is renamed.
+    Map<String, String> keyMap = new LinkedHashMap<>();
+    keyMap.put("a", "a1");
+    keyMap.put("b", "c");
+    try {
+      keyManager.renameKeys("vol1", "bucket1", keyMap);
+      Assert.fail("Keys renamed to an existing key");
+    } catch (OMException e) {
+      Assert.assertEquals(OMException.ResultCodes.KEY_ALREADY_EXISTS,
+          e.getResult());
+    }
+    Assert.assertTrue(metadataManager.getKeyTable().isExist(
+        metadataManager.getOzoneKey("vol1", "bucket1", "a")));
+    Assert.assertFalse(metadataManager.getKeyTable().isExist(
+        metadataManager.getOzoneKey("vol1", "bucket1", "a1")));
+
+    keyMap.put("b", "b1");
+    keyManager.renameKeys("vol1", "bucket1", keyMap);
+    for (Map.Entry<String, String> entry : keyMap.entrySet()) {
+      Assert.assertFalse(metadataManager.getKeyTable().isExist(
+          metadataManager.getOzoneKey("vol1", "bucket1", entry.getKey())));
+      Assert.assertEquals(entry.getValue(), metadataManager.getKeyTable().get(
+          metadataManager.getOzoneKey("vol1", "bucket1", entry.getValue()))
+          .getKeyName());
+    }
+  }
+
+  @Test
+  public void listKeysWithDelimiter() throws Exception {
+    //GIVEN
+    createBucket(metadataManager, "vol1", "bucket1");
+    for (String key : Arrays.asList("a/1", "a/2", "b/c/1", "d", "e/1")) {
+      TestOMRequestUtils.addKeyToTable(false, "vol1", "bucket1", key, 0L,
+          ReplicationType.RATIS, ReplicationFactor.ONE, metadataManager);
+    }
+    // Unflushed changes: a new key and a deleted key.
+    TestOMRequestUtils.addKeyToTableCache("vol1", "bucket1", "b/2",
+        ReplicationType.RATIS, ReplicationFactor.ONE, metadataManager);
+    metadataManager.getKeyTable().addCacheEntry(
+        new CacheKey<>(metadataManager.getOzoneKey("vol1", "bucket1", "e/1")),
+        new CacheValue<>(Optional.absent(), 2L));
+
+    //WHEN
+    OmKeyList keyList =
+        keyManager.listKeys("vol1", "bucket1", null, "", "/", 100,
+            KeyInfoProjection.FULL);
+
+    //THEN
+    Assert.assertEquals(Arrays.asList("a/", "b/"),
+        keyList.getCommonPrefixes());
+    Assert.assertEquals(1, keyList.getKeys().size());
+    Assert.assertEquals("d", keyList.getKeys().get(0).getKeyName());
+
+    // Page through the entries, continuing after a common prefix.
+    keyList = keyManager.listKeys("vol1", "bucket1", null, "", "/", 1,
+        KeyInfoProjection.FULL);
+    Assert.assertEquals(Collections.singletonList("a/"),
+        keyList.getCommonPrefixes());
+    keyList = keyManager.listKeys("vol1", "bucket1", "a/", "", "/", 1,
+        KeyInfoProjection.FULL);
+    Assert.assertEquals(Collections.singletonList("b/"),
+        keyList.getCommonPrefixes());
+    keyList = keyManager.listKeys("vol1", "bucket1", "b/", "", "/", 1,
+        KeyInfoProjection.FULL);
+    Assert.assertTrue(keyList.getCommonPrefixes().isEmpty());
+    Assert.assertEquals("d", keyList.getKeys().get(0).getKeyName());
+
+    // List within a common prefix.
+    keyList = keyManager.listKeys("vol1", "bucket1", null, "b/", "/", 100,
+        KeyInfoProjection.FULL);
+    Assert.assertEquals(Collections.singletonList("b/c/"),
+        keyList.getCommonPrefixes());
+    Assert.assertEquals(1, keyList.getKeys().size());
+    Assert.assertEquals("b/2", keyList.getKeys().get(0).getKeyName());
+  }
+
   private void createBucket(OmMetadataManagerImpl omMetadataManager,
       String volume, String bucket)
       throws IOException {
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.test.GenericTestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.THREE;
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType.RATIS;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PrefetchingScmBlockClient}.
+ */
+public class TestPrefetchingScmBlockClient {
+
+  private static final long BLOCK_SIZE = 1024;
+  private static final int POOL_SIZE = 4;
+  private static final String OWNER = "om";
+
+  private ScmBlockLocationProtocol scmBlockClient;
+  private PrefetchingScmBlockClient client;
+  private final AtomicLong localID = new AtomicLong();
+
+  @Before
+  public void setup() throws Exception {
+    scmBlockClient = Mockito.mock(ScmBlockLocationProtocol.class);
+    when(scmBlockClient.allocateBlock(anyLong(), anyInt(), any(), any(),
+        anyString(), any())).thenAnswer(invocation -> {
+          int num = invocation.getArgument(1);
+          List<AllocatedBlock> blocks = new ArrayList<>(num);
+          for (int i = 0; i < num; i++) {
+            blocks.add(new AllocatedBlock.Builder()
+                .setContainerBlockID(
+                    new ContainerBlockID(1, localID.incrementAndGet()))
+                .build());
+          }
+          return blocks;
+        });
+    client = new PrefetchingScmBlockClient(scmBlockClient, POOL_SIZE,
+        60_000);
+  }
+
+  @After
+  public void teardown() throws Exception {
+    client.close();
+  }
+
+  @Test
+  public void testAllocateFromPool() throws Exception {
+    // The pool is empty, so the block is allocated from SCM, and the pool is
+    // filled in the background.
+    assertEquals(1, client.allocateBlock(BLOCK_SIZE, 1, RATIS, THREE, OWNER,
+        new ExcludeList()).size());
+    waitForPooledBlocks(POOL_SIZE);
+    verify(scmBlockClient, times(1)).allocateBlock(eq(BLOCK_SIZE), eq(1),
+        eq(RATIS), eq(THREE), eq(OWNER), any());
+    verify(scmBlockClient, times(1)).allocateBlock(eq(BLOCK_SIZE),
+        eq(POOL_SIZE), eq(RATIS), eq(THREE), eq(OWNER), any());
+
+    // Served from the pool, which is refilled once half empty.
+    assertEquals(1, client.allocateBlock(BLOCK_SIZE, 1, RATIS, THREE, OWNER,
+        new ExcludeList()).size());
+    assertEquals(POOL_SIZE - 1, client.getPooledBlockCount(BLOCK_SIZE, RATIS,
+        THREE, OWNER));
+    assertEquals(2, client.allocateBlock(BLOCK_SIZE, 2, RATIS, THREE, OWNER,
+        new ExcludeList()).size());
+    waitForPooledBlocks(POOL_SIZE);
+    verify(scmBlockClient, times(3)).allocateBlock(anyLong(), anyInt(),
+        any(), any(), anyString(), any());
+  }
+
+  @Test
+  public void testAllocateWithExcludeList() throws Exception {
+    client.allocateBlock(BLOCK_SIZE, 1, RATIS, THREE, OWNER,
+        new ExcludeList());
+    waitForPooledBlocks(POOL_SIZE);
+
+    // Allocations excluding pipelines are not served from the pool.
+    ExcludeList excludeList = new ExcludeList();
+    excludeList.addPipeline(PipelineID.randomId());
+    assertEquals(1, client.allocateBlock(BLOCK_SIZE, 1, RATIS, THREE, OWNER,
+        excludeList).size());
+    verify(scmBlockClient, times(1)).allocateBlock(BLOCK_SIZE, 1, RATIS,
+        THREE, OWNER, excludeList);
+    assertEquals(POOL_SIZE, client.getPooledBlockCount(BLOCK_SIZE, RATIS,
+        THREE, OWNER));
+  }
+
+  private void waitForPooledBlocks(int count) throws Exception {
+    GenericTestUtils.waitFor(() -> client.getPooledBlockCount(BLOCK_SIZE,
+        RATIS, THREE, OWNER) == count, 10, 10_000);
+  }
+}
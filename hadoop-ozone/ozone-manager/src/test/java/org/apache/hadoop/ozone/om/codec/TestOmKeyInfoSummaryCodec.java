@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.codec;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
+import org.apache.hadoop.util.Time;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests OmKeyInfoSummaryCodec.
+ */
+public class TestOmKeyInfoSummaryCodec {
+
+  private OmKeyInfoSummaryCodec codec;
+
+  @Before
+  public void setUp() {
+    codec = new OmKeyInfoSummaryCodec();
+  }
+
+  @Test
+  public void testLocationsAreNotDecoded() throws Exception {
+    OmKeyInfo keyInfo = createKeyInfo(2);
+    byte[] rawData = new OmKeyInfoCodec().toPersistedFormat(keyInfo);
+
+    OmKeyInfo summary = codec.fromPersistedFormat(rawData);
+
+    assertTrue(summary.getKeyLocationVersions().isEmpty());
+    assertEquals(keyInfo.getKeyName(), summary.getKeyName());
+    assertEquals(keyInfo.getDataSize(), summary.getDataSize());
+    assertEquals(keyInfo.getModificationTime(),
+        summary.getModificationTime());
+    assertEquals(keyInfo.getFactor(), summary.getFactor());
+    assertEquals(keyInfo.getMetadata(), summary.getMetadata());
+    assertEquals(keyInfo.getObjectID(), summary.getObjectID());
+    assertEquals(keyInfo.getUpdateID(), summary.getUpdateID());
+
+    // The stripped data is the same as the protobuf without locations.
+    KeyInfo expected = keyInfo.getProtobuf(false);
+    assertEquals(expected, KeyInfo.parseFrom(
+        OmKeyInfoSummaryCodec.stripKeyLocations(rawData)));
+  }
+
+  @Test
+  public void testKeyWithoutLocations() throws Exception {
+    byte[] rawData =
+        new OmKeyInfoCodec().toPersistedFormat(createKeyInfo(0));
+    assertArrayEquals(rawData,
+        OmKeyInfoSummaryCodec.stripKeyLocations(rawData));
+  }
+
+  @Test
+  public void testEncodingIsUnchanged() throws Exception {
+    OmKeyInfo keyInfo = createKeyInfo(1);
+    assertArrayEquals(new OmKeyInfoCodec().toPersistedFormat(keyInfo),
+        codec.toPersistedFormat(keyInfo));
+  }
+
+  private OmKeyInfo createKeyInfo(int versions) {
+    Pipeline pipeline = Pipeline.newBuilder()
+        .setId(PipelineID.randomId())
+        .setType(ReplicationType.RATIS)
+        .setFactor(ReplicationFactor.THREE)
+        .setState(Pipeline.PipelineState.OPEN)
+        .setNodes(Arrays.asList(MockDatanodeDetails.randomDatanodeDetails(),
+            MockDatanodeDetails.randomDatanodeDetails(),
+            MockDatanodeDetails.randomDatanodeDetails()))
+        .build();
+    List<OmKeyLocationInfoGroup> groups = new ArrayList<>();
+    for (int version = 0; version < versions; version++) {
+      OmKeyLocationInfo location = new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(1L, version))
+          .setPipeline(pipeline)
+          .setLength(100L)
+          .setOffset(0L)
+          .build();
+      groups.add(new OmKeyLocationInfoGroup(version,
+          Collections.singletonList(location)));
+    }
+    return new OmKeyInfo.Builder()
+        .setVolumeName("vol1")
+        .setBucketName("bucket1")
+        .setKeyName("dir/key1")
+        .setOmKeyLocationInfos(groups)
+        .setCreationTime(Time.now())
+        .setModificationTime(Time.now())
+        .setDataSize(100L * versions)
+        .setReplicationType(ReplicationType.RATIS)
+        .setReplicationFactor(ReplicationFactor.THREE)
+        .addMetadata("key", "value")
+        .setObjectID(1L)
+        .setUpdateID(2L)
+        .build();
+  }
+}
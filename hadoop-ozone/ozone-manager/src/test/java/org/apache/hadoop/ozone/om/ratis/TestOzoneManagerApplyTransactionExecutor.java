@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.hadoop.ozone.om.request.TestOMRequestUtils;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class to test OzoneManagerApplyTransactionExecutor.
+ */
+public class TestOzoneManagerApplyTransactionExecutor {
+
+  private OzoneManagerApplyTransactionExecutor executor;
+
+  @Before
+  public void setup() {
+    executor = new OzoneManagerApplyTransactionExecutor(4);
+  }
+
+  @After
+  public void stop() {
+    executor.stop();
+  }
+
+  @Test
+  public void testGetBucketKey() {
+    Assert.assertEquals("/vol1/bucket1",
+        OzoneManagerApplyTransactionExecutor.getBucketKey(
+            TestOMRequestUtils.createInitiateMPURequest("vol1", "bucket1",
+                "key1")));
+    Assert.assertNull(OzoneManagerApplyTransactionExecutor.getBucketKey(
+        TestOMRequestUtils.createVolumeRequest("vol1", "admin", "owner")));
+    Assert.assertNull(OzoneManagerApplyTransactionExecutor.getBucketKey(
+        TestOMRequestUtils.createDeleteBucketRequest("vol1", "bucket1")));
+  }
+
+  @Test
+  public void testSameBucketTransactionsAreOrdered() throws Exception {
+    OMRequest request =
+        TestOMRequestUtils.createInitiateMPURequest("vol1", "bucket1", "key1");
+    List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final int index = i;
+      futures.add(executor.submit(request, () -> {
+        applied.add(index);
+        return index;
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+    Assert.assertEquals(100, applied.size());
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(i, applied.get(i).intValue());
+    }
+  }
+
+  @Test
+  public void testSerialTransactionWaitsForEarlierTransactions()
+      throws Exception {
+    String bucket1 = "bucket1";
+    String bucket2 = "bucket2";
+    int i = 0;
+    // Find a bucket which goes to a different partition than bucket1.
+    while (executor.getPartition("/vol1/" + bucket1) ==
+        executor.getPartition("/vol1/" + bucket2)) {
+      bucket2 = "bucket" + (i++);
+    }
+
+    CountDownLatch latch = new CountDownLatch(1);
+    List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+    CompletableFuture<String> slow = executor.submit(
+        TestOMRequestUtils.createInitiateMPURequest("vol1", bucket1, "key1"),
+        () -> {
+          try {
+            latch.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          applied.add("slow");
+          return "slow";
+        });
+    CompletableFuture<String> serial = executor.submit(
+        TestOMRequestUtils.createVolumeRequest("vol2", "admin", "owner"),
+        () -> {
+          applied.add("serial");
+          return "serial";
+        });
+    CompletableFuture<String> later = executor.submit(
+        TestOMRequestUtils.createInitiateMPURequest("vol1", bucket2, "key1"),
+        () -> {
+          applied.add("later");
+          return "later";
+        });
+
+    Thread.sleep(100);
+    // Nothing can be applied until the slow transaction is done.
+    Assert.assertTrue(applied.isEmpty());
+
+    latch.countDown();
+    CompletableFuture.allOf(slow, serial, later).get();
+    Assert.assertEquals(3, applied.size());
+    Assert.assertEquals("slow", applied.get(0));
+    Assert.assertEquals("serial", applied.get(1));
+    Assert.assertEquals("later", applied.get(2));
+  }
+}
@@ -142,6 +142,41 @@ public void testDoubleBufferWithDummyResponse() throws Exception {
     Assert.assertEquals(term, omTransactionInfo.getCurrentTerm());
   }
 
+  /**
+   * Tests that a flush iteration does not take more than max batch size
+   * transactions, and add waits for the flush thread when the buffer is
+   * full.
+   */
+  @Test(timeout = 300_000)
+  public void testDoubleBufferWithBoundedBatchSize() throws Exception {
+    doubleBuffer.stop();
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        .setOzoneManagerRatisSnapShot(index ->
+            lastAppliedIndex = index.get(index.size() - 1))
+        .enableRatis(true)
+        .setIndexToTerm((val) -> term)
+        .setCapacity(10)
+        .setMaxBatchSize(5)
+        .build();
+
+    String volumeName = UUID.randomUUID().toString();
+    int bucketCount = 100;
+
+    for (int i = 0; i < bucketCount; i++) {
+      doubleBuffer.add(createDummyBucketResponse(volumeName),
+          trxId.incrementAndGet());
+    }
+    waitFor(() -> doubleBuffer.getFlushedTransactionCount() == bucketCount,
+        100, 60000);
+
+    // Each flush iteration takes at most 5 transactions.
+    assertTrue(doubleBuffer.getFlushIterations() >= bucketCount / 5);
+    assertEquals(bucketCount, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+    assertEquals(bucketCount, lastAppliedIndex);
+  }
+
   /**
    * Create DummyBucketCreate response.
    */
@@ -230,4 +230,40 @@ public void testLastAppliedIndexWithMultipleExecutors() {
     Assert.assertEquals(10L,
         ozoneManagerStateMachine.getLastAppliedTermIndex().getIndex());
   }
+
+  @Test
+  public void testFlushedTransactionInfoWithMultipleExecutors() {
+    ozoneManagerStateMachine.addApplyTransactionTermIndex(0L, 1L);
+    ozoneManagerStateMachine.addApplyTransactionTermIndex(0L, 2L);
+    ozoneManagerStateMachine.addApplyTransactionTermIndex(0L, 3L);
+    ozoneManagerStateMachine.addApplyTransactionTermIndex(0L, 4L);
+
+    // Transaction 3 is not yet flushed, so the transaction info persisted
+    // with this batch should not move past 2.
+    List<Long> flushedEpochs = new ArrayList<>();
+    flushedEpochs.add(1L);
+    flushedEpochs.add(2L);
+    flushedEpochs.add(4L);
+
+    OMTransactionInfo omTransactionInfo =
+        ozoneManagerStateMachine.getFlushedTransactionInfo(flushedEpochs);
+    Assert.assertEquals(0L, omTransactionInfo.getCurrentTerm());
+    Assert.assertEquals(2L, omTransactionInfo.getTransactionIndex());
+    ozoneManagerStateMachine.updateLastAppliedIndex(flushedEpochs);
+
+    // Conf/metadata transaction.
+    ozoneManagerStateMachine.notifyIndexUpdate(1L, 5L);
+
+    flushedEpochs.clear();
+    flushedEpochs.add(3L);
+
+    omTransactionInfo =
+        ozoneManagerStateMachine.getFlushedTransactionInfo(flushedEpochs);
+    Assert.assertEquals(1L, omTransactionInfo.getCurrentTerm());
+    Assert.assertEquals(5L, omTransactionInfo.getTransactionIndex());
+    ozoneManagerStateMachine.updateLastAppliedIndex(flushedEpochs);
+
+    Assert.assertEquals(5L,
+        ozoneManagerStateMachine.getLastAppliedTermIndex().getIndex());
+  }
 }
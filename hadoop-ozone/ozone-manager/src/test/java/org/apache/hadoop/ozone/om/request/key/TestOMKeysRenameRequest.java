@@ -0,0 +1,246 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.request.key;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.request.TestOMRequestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
+    .OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
+    .RenameKeysMap;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
+    .RenameKeysRequest;
+
+/**
+ * Tests RenameKeys request.
+ */
+public class TestOMKeysRenameRequest extends TestOMKeyRequest {
+
+  private static final int KEY_COUNT = 3;
+
+  private List<String> fromKeyNames = new ArrayList<>();
+  private List<String> toKeyNames = new ArrayList<>();
+
+  @Test
+  public void testPreExecute() throws Exception {
+    createKeyNames();
+    doPreExecute(createRenameKeysRequest());
+  }
+
+  @Test
+  public void testValidateAndUpdateCache() throws Exception {
+    createKeyNames();
+    OMRequest modifiedOmRequest = doPreExecute(createRenameKeysRequest());
+    addKeysToTable();
+
+    OMClientResponse omKeysRenameResponse =
+        new OMKeysRenameRequest(modifiedOmRequest).validateAndUpdateCache(
+            ozoneManager, 100L, ozoneManagerDoubleBufferHelper);
+
+    Assert.assertEquals(OzoneManagerProtocolProtos.Status.OK,
+        omKeysRenameResponse.getOMResponse().getStatus());
+
+    long modificationTime =
+        modifiedOmRequest.getRenameKeysRequest().getModificationTime();
+    for (int i = 0; i < KEY_COUNT; i++) {
+      // Original keys should be deleted, toKeys should exist.
+      Assert.assertNull(getKeyInfo(fromKeyNames.get(i)));
+      OmKeyInfo omKeyInfo = getKeyInfo(toKeyNames.get(i));
+      Assert.assertNotNull(omKeyInfo);
+      Assert.assertEquals(toKeyNames.get(i), omKeyInfo.getKeyName());
+      Assert.assertEquals(modificationTime, omKeyInfo.getModificationTime());
+    }
+  }
+
+  @Test
+  public void testValidateAndUpdateCacheWithKeyNotFound() throws Exception {
+    createKeyNames();
+    OMRequest modifiedOmRequest = doPreExecute(createRenameKeysRequest());
+    TestOMRequestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    // Add all the keys but the last one.
+    for (int i = 0; i < KEY_COUNT - 1; i++) {
+      TestOMRequestUtils.addKeyToTable(false, volumeName, bucketName,
+          fromKeyNames.get(i), clientID, replicationType, replicationFactor,
+          omMetadataManager);
+    }
+
+    OMClientResponse omKeysRenameResponse =
+        new OMKeysRenameRequest(modifiedOmRequest).validateAndUpdateCache(
+            ozoneManager, 100L, ozoneManagerDoubleBufferHelper);
+
+    Assert.assertEquals(OzoneManagerProtocolProtos.Status.KEY_NOT_FOUND,
+        omKeysRenameResponse.getOMResponse().getStatus());
+
+    // None of the keys should be renamed.
+    for (int i = 0; i < KEY_COUNT - 1; i++) {
+      Assert.assertNotNull(getKeyInfo(fromKeyNames.get(i)));
+      Assert.assertNull(getKeyInfo(toKeyNames.get(i)));
+    }
+  }
+
+  @Test
+  public void testValidateAndUpdateCacheWithToKeyExists() throws Exception {
+    createKeyNames();
+    OMRequest modifiedOmRequest = doPreExecute(createRenameKeysRequest());
+    addKeysToTable();
+    TestOMRequestUtils.addKeyToTable(false, volumeName, bucketName,
+        toKeyNames.get(KEY_COUNT - 1), clientID, replicationType,
+        replicationFactor, omMetadataManager);
+
+    OMClientResponse omKeysRenameResponse =
+        new OMKeysRenameRequest(modifiedOmRequest).validateAndUpdateCache(
+            ozoneManager, 100L, ozoneManagerDoubleBufferHelper);
+
+    Assert.assertEquals(OzoneManagerProtocolProtos.Status.KEY_ALREADY_EXISTS,
+        omKeysRenameResponse.getOMResponse().getStatus());
+    Assert.assertNotNull(getKeyInfo(fromKeyNames.get(0)));
+  }
+
+  @Test
+  public void testValidateAndUpdateCacheWithDuplicateKeys() throws Exception {
+    createKeyNames();
+    // Rename a key to one renamed by the same batch.
+    toKeyNames.set(KEY_COUNT - 1, fromKeyNames.get(0));
+    OMRequest modifiedOmRequest = doPreExecute(createRenameKeysRequest());
+    addKeysToTable();
+
+    OMClientResponse omKeysRenameResponse =
+        new OMKeysRenameRequest(modifiedOmRequest).validateAndUpdateCache(
+            ozoneManager, 100L, ozoneManagerDoubleBufferHelper);
+
+    Assert.assertEquals(OzoneManagerProtocolProtos.Status.INVALID_REQUEST,
+        omKeysRenameResponse.getOMResponse().getStatus());
+  }
+
+  @Test
+  public void testValidateAndUpdateCacheWithBucketNotFound() throws Exception {
+    createKeyNames();
+    OMRequest modifiedOmRequest = doPreExecute(createRenameKeysRequest());
+    TestOMRequestUtils.addVolumeToDB(volumeName, omMetadataManager);
+
+    OMClientResponse omKeysRenameResponse =
+        new OMKeysRenameRequest(modifiedOmRequest).validateAndUpdateCache(
+            ozoneManager, 100L, ozoneManagerDoubleBufferHelper);
+
+    Assert.assertEquals(OzoneManagerProtocolProtos.Status.BUCKET_NOT_FOUND,
+        omKeysRenameResponse.getOMResponse().getStatus());
+  }
+
+  @Test
+  public void testReplayRequest() throws Exception {
+    createKeyNames();
+    OMRequest modifiedOmRequest = doPreExecute(createRenameKeysRequest());
+    TestOMRequestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    for (String fromKeyName : fromKeyNames) {
+      TestOMRequestUtils.addKeyToTableAndCache(volumeName, bucketName,
+          fromKeyName, clientID, replicationType, replicationFactor, 1L,
+          omMetadataManager);
+    }
+
+    OMKeysRenameRequest omKeysRenameRequest =
+        new OMKeysRenameRequest(modifiedOmRequest);
+    OMClientResponse omKeysRenameResponse =
+        omKeysRenameRequest.validateAndUpdateCache(ozoneManager, 10L,
+            ozoneManagerDoubleBufferHelper);
+
+    // Commit Batch operation to add the transaction to DB
+    BatchOperation batchOperation = omMetadataManager.getStore()
+        .initBatchOperation();
+    omKeysRenameResponse.checkAndUpdateDB(omMetadataManager, batchOperation);
+    omMetadataManager.getStore().commitBatchOperation(batchOperation);
+
+    // Replay the RenameKeysRequest.
+    OMClientResponse replayResponse =
+        omKeysRenameRequest.validateAndUpdateCache(ozoneManager, 10L,
+            ozoneManagerDoubleBufferHelper);
+
+    Assert.assertEquals(OzoneManagerProtocolProtos.Status.REPLAY,
+        replayResponse.getOMResponse().getStatus());
+  }
+
+  private void createKeyNames() {
+    for (int i = 0; i < KEY_COUNT; i++) {
+      fromKeyNames.add(keyName + "/" + i);
+      toKeyNames.add(UUID.randomUUID().toString() + "/" + i);
+    }
+  }
+
+  private void addKeysToTable() throws Exception {
+    TestOMRequestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    for (String fromKeyName : fromKeyNames) {
+      TestOMRequestUtils.addKeyToTable(false, volumeName, bucketName,
+          fromKeyName, clientID, replicationType, replicationFactor,
+          omMetadataManager);
+    }
+  }
+
+  private OmKeyInfo getKeyInfo(String key) throws Exception {
+    return omMetadataManager.getKeyTable().get(
+        omMetadataManager.getOzoneKey(volumeName, bucketName, key));
+  }
+
+  /**
+   * This method calls preExecute and verify the modified request.
+   * @param originalOmRequest
+   * @return OMRequest - modified request returned from preExecute.
+   * @throws Exception
+   */
+  private OMRequest doPreExecute(OMRequest originalOmRequest) throws Exception {
+    OMRequest modifiedOmRequest =
+        new OMKeysRenameRequest(originalOmRequest).preExecute(ozoneManager);
+
+    // Will not be equal, as UserInfo and modification time will be set.
+    Assert.assertNotEquals(originalOmRequest, modifiedOmRequest);
+    Assert.assertTrue(modifiedOmRequest.getRenameKeysRequest()
+        .getModificationTime() > 0);
+
+    return modifiedOmRequest;
+  }
+
+  /**
+   * Create OMRequest which encapsulates RenameKeysRequest.
+   * @return OMRequest
+   */
+  private OMRequest createRenameKeysRequest() {
+    RenameKeysRequest.Builder renameKeysRequest =
+        RenameKeysRequest.newBuilder()
+            .setVolumeName(volumeName).setBucketName(bucketName);
+    for (int i = 0; i < fromKeyNames.size(); i++) {
+      renameKeysRequest.addRenameKeysMap(RenameKeysMap.newBuilder()
+          .setFromKeyName(fromKeyNames.get(i))
+          .setToKeyName(toKeyNames.get(i)));
+    }
+
+    return OMRequest.newBuilder()
+        .setClientId(UUID.randomUUID().toString())
+        .setRenameKeysRequest(renameKeysRequest)
+        .setCmdType(OzoneManagerProtocolProtos.Type.RenameKeys).build();
+  }
+}
@@ -24,6 +24,7 @@
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.hadoop.classification.InterfaceAudience;
 import org.apache.hadoop.conf.Configuration;
@@ -194,6 +195,10 @@ protected void incrementCounter(Statistic objectsRead) {
     //noop: Use OzoneClientAdapterImpl which supports statistics.
   }
 
+  protected void incrementCounter(Statistic objectsRead, long count) {
+    //noop: Use OzoneClientAdapterImpl which supports statistics.
+  }
+
   @Override
   public OzoneFSOutputStream createFile(String key, short replication,
       boolean overWrite, boolean recursive) throws IOException {
@@ -228,6 +233,19 @@ public void renameKey(String key, String newKeyName) throws IOException {
     bucket.renameKey(key, newKeyName);
   }
 
+  /**
+   * Renames the keys of the map to their new names in a single request.
+   * Either all the keys are renamed, or none of them.
+   *
+   * @param keyMap map of the key names to their new names
+   * @throws IOException
+   */
+  @Override
+  public void renameKeys(Map<String, String> keyMap) throws IOException {
+    incrementCounter(Statistic.OBJECTS_RENAMED, keyMap.size());
+    bucket.renameKeys(keyMap);
+  }
+
   @Override
   public void rename(String pathStr, String newPath) throws IOException {
     throw new IOException("Please use renameKey instead for o3fs.");
@@ -53,8 +53,10 @@
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -274,10 +276,17 @@ private class RenameIterator extends OzoneListingIterator {
 
     @Override
     boolean processKey(List<String> keyList) throws IOException {
-      // TODO RenameKey needs to be changed to batch operation
+      // Each batch of the listing is renamed in a single request.
+      Map<String, String> keyMap = new LinkedHashMap<>();
       for(String key : keyList) {
         String newKeyName = dstKey.concat(key.substring(srcKey.length()));
-        adapter.renameKey(key, newKeyName);
+        keyMap.put(key, newKeyName);
+      }
+      if (keyMap.size() == 1) {
+        Map.Entry<String, String> entry = keyMap.entrySet().iterator().next();
+        adapter.renameKey(entry.getKey(), entry.getValue());
+      } else {
+        adapter.renameKeys(keyMap);
       }
       return true;
     }
@@ -25,7 +25,9 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.base.Preconditions;
 import org.apache.commons.collections.CollectionUtils;
@@ -301,6 +303,10 @@ protected void incrementCounter(Statistic objectsRead) {
     //noop: Use OzoneClientAdapterImpl which supports statistics.
   }
 
+  protected void incrementCounter(Statistic objectsRead, long count) {
+    //noop: Use OzoneClientAdapterImpl which supports statistics.
+  }
+
   @Override
   public OzoneFSOutputStream createFile(String pathStr, short replication,
       boolean overWrite, boolean recursive) throws IOException {
@@ -341,6 +347,12 @@ public void renameKey(String key, String newKeyName) throws IOException {
     throw new IOException("OFS doesn't support renameKey, use rename instead.");
   }
 
+  @Override
+  public void renameKeys(Map<String, String> keyMap) throws IOException {
+    throw new IOException(
+        "OFS doesn't support renameKeys, use rename instead.");
+  }
+
   /**
    * Rename a path into another.
    *
@@ -389,6 +401,25 @@ void rename(OzoneBucket bucket, String path, String newPath)
     bucket.renameKey(key, newKey);
   }
 
+  /**
+   * Package-private helper function to rename a batch of paths of a bucket
+   * in a single request.
+   * @param bucket Bucket to operate in.
+   * @param pathMap Existing key paths to their new key paths.
+   * @throws IOException IOException from bucket.renameKeys().
+   */
+  void rename(OzoneBucket bucket, Map<String, String> pathMap)
+      throws IOException {
+    incrementCounter(Statistic.OBJECTS_RENAMED, pathMap.size());
+    // No same-bucket policy check here since this call path is controlled
+    Map<String, String> keyMap = new LinkedHashMap<>();
+    for (Map.Entry<String, String> entry : pathMap.entrySet()) {
+      keyMap.put(new OFSPath(entry.getKey()).getKeyName(),
+          new OFSPath(entry.getValue()).getKeyName());
+    }
+    bucket.renameKeys(keyMap);
+  }
+
   /**
    * Helper method to create an directory specified by key name in bucket.
    *
@@ -51,14 +51,18 @@
 import java.net.URISyntaxException;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static org.apache.hadoop.fs.ozone.Constants.LISTING_PAGE_SIZE;
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_DEFAULT_USER;
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_USER_DIR;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_OFS_URI_SCHEME;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.BUCKET_NOT_EMPTY;
@@ -238,6 +242,8 @@ private class RenameIterator extends OzoneListingIterator {
     private final String dstPath;
     private final OzoneBucket bucket;
     private final BasicRootedOzoneClientAdapterImpl adapterImpl;
+    private final int batchSize;
+    private final Map<String, String> pathMap = new LinkedHashMap<>();
 
     RenameIterator(Path srcPath, Path dstPath)
         throws IOException {
@@ -250,14 +256,41 @@ private class RenameIterator extends OzoneListingIterator {
       // TODO: Refactor later.
       adapterImpl = (BasicRootedOzoneClientAdapterImpl) adapter;
       this.bucket = adapterImpl.getBucket(ofsPath, false);
+      this.batchSize = getConf().getInt(OZONE_FS_ITERATE_BATCH_SIZE,
+          OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT);
     }
 
     @Override
     boolean processKeyPath(String keyPath) throws IOException {
       String newPath = dstPath.concat(keyPath.substring(srcPath.length()));
-      adapterImpl.rename(this.bucket, keyPath, newPath);
+      pathMap.put(keyPath, newPath);
+      if (pathMap.size() >= batchSize) {
+        renamePaths();
+      }
       return true;
     }
+
+    @Override
+    boolean iterate() throws IOException {
+      boolean result = super.iterate();
+      if (result && !pathMap.isEmpty()) {
+        renamePaths();
+      }
+      return result;
+    }
+
+    /**
+     * Renames the collected paths, each batch in a single request.
+     */
+    private void renamePaths() throws IOException {
+      if (pathMap.size() == 1) {
+        Map.Entry<String, String> entry = pathMap.entrySet().iterator().next();
+        adapterImpl.rename(this.bucket, entry.getKey(), entry.getValue());
+      } else {
+        adapterImpl.rename(this.bucket, pathMap);
+      }
+      pathMap.clear();
+    }
   }
 
   /**
@@ -22,6 +22,7 @@
 import java.net.URI;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.hadoop.crypto.key.KeyProvider;
 import org.apache.hadoop.fs.Path;
@@ -46,6 +47,8 @@ OzoneFSOutputStream createFile(String key, short replication,
 
   void renameKey(String key, String newKeyName) throws IOException;
 
+  void renameKeys(Map<String, String> keyMap) throws IOException;
+
   // Users should use rename instead of renameKey in OFS.
   void rename(String pathStr, String newPath) throws IOException;
 
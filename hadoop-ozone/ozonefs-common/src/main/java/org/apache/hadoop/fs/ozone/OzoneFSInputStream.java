@@ -18,6 +18,7 @@
 
 package org.apache.hadoop.fs.ozone;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -26,15 +27,19 @@
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
 import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.fs.FSExceptionMessages;
 import org.apache.hadoop.fs.FSInputStream;
 import org.apache.hadoop.fs.FileSystem.Statistics;
+import org.apache.hadoop.fs.PositionedReadable;
 import org.apache.hadoop.fs.Seekable;
+import org.apache.hadoop.ozone.client.io.KeyInputStream;
 
 /**
  * The input stream for Ozone file system.
  *
  * TODO: Make inputStream generic for both rest and rpc clients
- * This class is not thread safe.
+ * This class is not thread safe, except for the positional reads when the
+ * wrapped stream supports them.
  */
 @InterfaceAudience.Private
 @InterfaceStability.Evolving
@@ -104,6 +109,12 @@ public int read(ByteBuffer buf) throws IOException {
       throw new ReadOnlyBufferException();
     }
 
+    if (inputStream instanceof ByteBufferReadable) {
+      int bytesRead = ((ByteBufferReadable) inputStream).read(buf);
+      incrementBytesRead(bytesRead);
+      return bytesRead;
+    }
+
     int readLen = Math.min(buf.remaining(), available());
 
     int bytesRead;
@@ -123,4 +134,87 @@ public int read(ByteBuffer buf) throws IOException {
 
     return bytesRead;
   }
+
+  /**
+   * Reads data at the given position without changing the position of the
+   * stream. Keys are read by the underlying stream without seeking, so
+   * concurrent positional reads do not block each other.
+   */
+  @Override
+  public int read(long position, byte[] buffer, int offset, int length)
+      throws IOException {
+    if (!(inputStream instanceof PositionedReadable)) {
+      return super.read(position, buffer, offset, length);
+    }
+    int bytesRead = ((PositionedReadable) inputStream)
+        .read(position, buffer, offset, length);
+    incrementBytesRead(bytesRead);
+    return bytesRead;
+  }
+
+  /**
+   * Reads up to buf.remaining() bytes at the given position into the buffer
+   * without changing the position of the stream.
+   * <p>
+   * This has the signature of ByteBufferPositionedReadable, which the
+   * Hadoop version Ozone builds against does not have, so the stream does
+   * not advertise the in:preadbytebuffer capability and callers going
+   * through FSDataInputStream can not reach this method.
+   *
+   * @param position position in the stream to read from
+   * @param buf the ByteBuffer to receive the results of the read operation.
+   * @return the number of bytes read, possibly zero, or -1 if the position
+   *         is at or after the end of the stream
+   * @throws IOException if there is some error performing the read
+   */
+  public int read(long position, ByteBuffer buf) throws IOException {
+    if (buf.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+
+    if (inputStream instanceof KeyInputStream) {
+      int bytesRead = ((KeyInputStream) inputStream).read(position, buf);
+      incrementBytesRead(bytesRead);
+      return bytesRead;
+    }
+
+    int bytesRead;
+    if (buf.hasArray()) {
+      bytesRead = read(position, buf.array(),
+          buf.arrayOffset() + buf.position(), buf.remaining());
+      if (bytesRead > 0) {
+        buf.position(buf.position() + bytesRead);
+      }
+    } else {
+      byte[] readData = new byte[buf.remaining()];
+      bytesRead = read(position, readData, 0, readData.length);
+      if (bytesRead > 0) {
+        buf.put(readData, 0, bytesRead);
+      }
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads data at the given position until the buffer is full, without
+   * changing the position of the stream.
+   *
+   * @throws EOFException if the end of the stream is reached before the
+   * buffer is full.
+   */
+  public void readFully(long position, ByteBuffer buf) throws IOException {
+    while (buf.hasRemaining()) {
+      int bytesRead = read(position, buf);
+      if (bytesRead < 0) {
+        throw new EOFException(FSExceptionMessages.EOF_IN_READ_FULLY);
+      }
+      position += bytesRead;
+    }
+  }
+
+  private void incrementBytesRead(int bytesRead) {
+    if (statistics != null && bytesRead > 0) {
+      statistics.incrementBytesRead(bytesRead);
+    }
+  }
 }
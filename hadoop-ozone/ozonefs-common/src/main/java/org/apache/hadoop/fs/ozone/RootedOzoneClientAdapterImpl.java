@@ -58,4 +58,11 @@ protected void incrementCounter(Statistic objectsRead) {
       storageStatistics.incrementCounter(objectsRead, 1);
     }
   }
+
+  @Override
+  protected void incrementCounter(Statistic objectsRead, long count) {
+    if (storageStatistics != null) {
+      storageStatistics.incrementCounter(objectsRead, count);
+    }
+  }
 }
@@ -45,6 +45,7 @@
 import org.apache.hadoop.util.Time;
 
 import com.google.common.collect.ImmutableSet;
+import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto.Type.fullContainerReportCommand;
 import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto.Type.reregisterCommand;
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_SCM_DB_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_SCM_DB_CACHE_SIZE_MB;
@@ -62,7 +63,7 @@ public class ReconNodeManager extends SCMNodeManager {
 
   private final MetadataStore nodeStore;
   private final static Set<Type> ALLOWED_COMMANDS =
-      ImmutableSet.of(reregisterCommand);
+      ImmutableSet.of(reregisterCommand, fullContainerReportCommand);
 
   /**
    * Map that contains mapping between datanodes
@@ -35,10 +35,12 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.hadoop.hdds.client.ReplicationType;
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneKey;
+import org.apache.hadoop.ozone.client.OzoneKeyList;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadList;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
@@ -108,88 +110,49 @@ public Response list(
 
     OzoneBucket bucket = getBucket(bucketName);
 
-    Iterator<? extends OzoneKey> ozoneKeyIterator;
-
     ContinueToken decodedToken =
         ContinueToken.decodeFromString(continueToken);
 
-    if (startAfter != null && continueToken != null) {
+    // The listing starts after the continuation token, or start-after for
+    // list-type=2, or the marker for list-type=1.
+    String prevKey;
+    if (continueToken != null) {
       // If continuation token and start after both are provided, then we
       // ignore start After
-      ozoneKeyIterator = bucket.listKeys(prefix, decodedToken.getLastKey());
-    } else if (startAfter != null && continueToken == null) {
-      ozoneKeyIterator = bucket.listKeys(prefix, startAfter);
-    } else if (startAfter == null && continueToken != null){
-      ozoneKeyIterator = bucket.listKeys(prefix, decodedToken.getLastKey());
+      prevKey = decodedToken.getLastKey();
+      if (decodedToken.getLastDir() != null && delimiter != null) {
+        // Token of an older gateway, which ended the page in a directory.
+        prevKey = prefix + decodedToken.getLastDir() + delimiter;
+      }
+    } else if (startAfter != null) {
+      prevKey = startAfter;
     } else {
-      ozoneKeyIterator = bucket.listKeys(prefix);
+      prevKey = marker;
     }
 
-
     ListObjectResponse response = new ListObjectResponse();
     response.setDelimiter(delimiter);
     response.setName(bucketName);
     response.setPrefix(prefix);
-    response.setMarker("");
+    response.setMarker(marker == null ? "" : marker);
     response.setMaxKeys(maxKeys);
     response.setEncodingType(ENCODING_TYPE);
     response.setTruncated(false);
     response.setContinueToken(continueToken);
 
-    String prevDir = null;
-    if (continueToken != null) {
-      prevDir = decodedToken.getLastDir();
-    }
-    String lastKey = null;
-    int count = 0;
-    while (ozoneKeyIterator.hasNext()) {
-      OzoneKey next = ozoneKeyIterator.next();
-      String relativeKeyName = next.getName().substring(prefix.length());
-
-      int depth = StringUtils.countMatches(relativeKeyName, delimiter);
-      if (delimiter != null) {
-        if (depth > 0) {
-          // means key has multiple delimiters in its value.
-          // ex: dir/dir1/dir2, where delimiter is "/" and prefix is dir/
-          String dirName = relativeKeyName.substring(0, relativeKeyName
-              .indexOf(delimiter));
-          if (!dirName.equals(prevDir)) {
-            response.addPrefix(prefix + dirName + delimiter);
-            prevDir = dirName;
-            count++;
-          }
-        } else if (relativeKeyName.endsWith(delimiter)) {
-          // means or key is same as prefix with delimiter at end and ends with
-          // delimiter. ex: dir/, where prefix is dir and delimiter is /
-          response.addPrefix(relativeKeyName);
-          count++;
-        } else {
-          // means our key is matched with prefix if prefix is given and it
-          // does not have any common prefix.
-          addKey(response, next);
-          count++;
-        }
-      } else {
-        addKey(response, next);
-        count++;
-      }
-
-      if (count == maxKeys) {
-        lastKey = next.getName();
-        break;
-      }
+    String lastKey;
+    if (StringUtils.isNotEmpty(delimiter)) {
+      lastKey = listWithDelimiter(bucket, response, prefix, prevKey,
+          delimiter, maxKeys);
+    } else {
+      lastKey = listWithoutDelimiter(bucket, response, prefix, prevKey,
+          maxKeys);
     }
 
-    response.setKeyCount(count);
-
-    if (count < maxKeys) {
-      response.setTruncated(false);
-    } else if(ozoneKeyIterator.hasNext()) {
-      response.setTruncated(true);
-      ContinueToken nextToken = new ContinueToken(lastKey, prevDir);
+    if (response.isTruncated()) {
+      ContinueToken nextToken = new ContinueToken(lastKey, null);
       response.setNextToken(nextToken.encodeToString());
-    } else {
-      response.setTruncated(false);
+      response.setNextMarker(lastKey);
     }
 
     response.setKeyCount(
@@ -197,6 +160,66 @@ public Response list(
     return Response.ok(response).build();
   }
 
+  /**
+   * Lists a page of keys and common prefixes. Ozone Manager groups the keys
+   * into the common prefixes, so only one page is read from it.
+   *
+   * @return the last key or common prefix of the page
+   */
+  private String listWithDelimiter(OzoneBucket bucket,
+      ListObjectResponse response, String prefix, String prevKey,
+      String delimiter, int maxKeys) throws IOException {
+    // One more entry tells whether the listing is truncated.
+    OzoneKeyList keyList = bucket.listKeys(prefix, prevKey, delimiter,
+        maxKeys < Integer.MAX_VALUE ? maxKeys + 1 : maxKeys);
+    List<OzoneKey> keys = keyList.getKeys();
+    List<String> commonPrefixes = keyList.getCommonPrefixes();
+
+    // Keys and common prefixes are returned separately, merge them to
+    // find the last entry of the page.
+    int keyIndex = 0;
+    int prefixIndex = 0;
+    String lastKey = null;
+    while (keyIndex + prefixIndex < maxKeys && (keyIndex < keys.size()
+        || prefixIndex < commonPrefixes.size())) {
+      if (prefixIndex == commonPrefixes.size()
+          || (keyIndex < keys.size() && keys.get(keyIndex).getName()
+              .compareTo(commonPrefixes.get(prefixIndex)) < 0)) {
+        OzoneKey next = keys.get(keyIndex++);
+        addKey(response, next);
+        lastKey = next.getName();
+      } else {
+        lastKey = commonPrefixes.get(prefixIndex++);
+        response.addPrefix(lastKey);
+      }
+    }
+    response.setTruncated(keyIndex < keys.size()
+        || prefixIndex < commonPrefixes.size());
+    return lastKey;
+  }
+
+  /**
+   * Lists a page of keys.
+   *
+   * @return the last key of the page
+   */
+  private String listWithoutDelimiter(OzoneBucket bucket,
+      ListObjectResponse response, String prefix, String prevKey,
+      int maxKeys) {
+    Iterator<? extends OzoneKey> ozoneKeyIterator =
+        bucket.listKeys(prefix, prevKey);
+    String lastKey = null;
+    int count = 0;
+    while (count < maxKeys && ozoneKeyIterator.hasNext()) {
+      OzoneKey next = ozoneKeyIterator.next();
+      addKey(response, next);
+      lastKey = next.getName();
+      count++;
+    }
+    response.setTruncated(ozoneKeyIterator.hasNext());
+    return lastKey;
+  }
+
   @PUT
   public Response put(@PathParam("bucket") String bucketName, @Context
       HttpHeaders httpHeaders) throws IOException, OS3Exception {
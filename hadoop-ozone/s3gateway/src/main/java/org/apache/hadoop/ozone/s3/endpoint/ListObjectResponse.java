@@ -63,6 +63,9 @@ public class ListObjectResponse {
   @XmlElement(name = "NextContinuationToken")
   private String nextToken;
 
+  @XmlElement(name = "NextMarker")
+  private String nextMarker;
+
   @XmlElement(name = "continueToken")
   private String continueToken;
 
@@ -162,6 +165,14 @@ public void setNextToken(String nextToken) {
     this.nextToken = nextToken;
   }
 
+  public String getNextMarker() {
+    return nextMarker;
+  }
+
+  public void setNextMarker(String nextMarker) {
+    this.nextMarker = nextMarker;
+  }
+
   public String getContinueToken() {
     return continueToken;
   }
@@ -143,12 +143,40 @@ public Iterator<? extends OzoneKey> listKeys(String keyPrefix,
     Map<String, OzoneKey> sortedKey = new TreeMap<String, OzoneKey>(keyDetails);
     return sortedKey.values()
         .stream()
-        .filter(key -> key.getName().compareTo(prevKey) > 0)
+        .filter(key -> prevKey == null || key.getName().compareTo(prevKey) > 0)
         .filter(key -> key.getName().startsWith(keyPrefix))
         .collect(Collectors.toList())
         .iterator();
   }
 
+  @Override
+  public OzoneKeyList listKeys(String keyPrefix, String prevKey,
+      String delimiter, int maxKeys) {
+    List<OzoneKey> keys = new ArrayList<>();
+    List<String> commonPrefixes = new ArrayList<>();
+    for (OzoneKey key : new TreeMap<String, OzoneKey>(keyDetails).values()) {
+      String name = key.getName();
+      if (keys.size() + commonPrefixes.size() == maxKeys) {
+        break;
+      }
+      if (!name.startsWith(keyPrefix)
+          || (prevKey != null && name.compareTo(prevKey) <= 0)) {
+        continue;
+      }
+      int index = name.indexOf(delimiter, keyPrefix.length());
+      if (index < 0) {
+        keys.add(key);
+        continue;
+      }
+      String commonPrefix = name.substring(0, index + delimiter.length());
+      if (!commonPrefix.equals(prevKey) && !commonPrefixes.contains(
+          commonPrefix)) {
+        commonPrefixes.add(commonPrefix);
+      }
+    }
+    return new OzoneKeyList(keys, commonPrefixes);
+  }
+
   @Override
   public void deleteKey(String key) throws IOException {
     keyDetails.remove(key);
@@ -302,6 +302,37 @@ public void listWithContinuationToken1() throws OS3Exception, IOException {
 
   }
 
+  @Test
+  public void listWithMarker() throws OS3Exception, IOException {
+
+    BucketEndpoint getBucket = new BucketEndpoint();
+
+    OzoneClient ozoneClient =
+        createClientWithKeys("dir1/file1", "dir1/file2", "dir2/file1",
+            "file1", "file2");
+
+    getBucket.setClient(ozoneClient);
+
+    ListObjectResponse getBucketResponse =
+        (ListObjectResponse) getBucket.list("b1", "/", null, null, 2,
+            "", null, null, null, null, null).getEntity();
+
+    Assert.assertTrue(getBucketResponse.isTruncated());
+    Assert.assertEquals("dir2/", getBucketResponse.getNextMarker());
+
+    // List type 1 continues after the marker.
+    getBucketResponse =
+        (ListObjectResponse) getBucket.list("b1", "/", null,
+            getBucketResponse.getNextMarker(), 2, "", null, null, null, null,
+            null).getEntity();
+
+    Assert.assertFalse(getBucketResponse.isTruncated());
+    Assert.assertEquals(0, getBucketResponse.getCommonPrefixes().size());
+    Assert.assertEquals(2, getBucketResponse.getContents().size());
+    Assert.assertEquals("file1",
+        getBucketResponse.getContents().get(0).getKey());
+  }
+
   @Test
   public void listWithContinuationTokenFail() throws IOException {
 
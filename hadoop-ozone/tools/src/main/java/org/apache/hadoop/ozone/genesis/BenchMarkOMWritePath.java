@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.genesis;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.hdds.HddsConfigKeys;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.hdds.scm.server.SCMConfigurator;
+import org.apache.hadoop.hdds.scm.server.StorageContainerManager;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.om.request.key.OMKeyCommitRequest;
+import org.apache.hadoop.ozone.om.request.key.OMKeyCreateRequest;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCreateResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyLocation;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.util.Time;
+
+import com.google.common.base.Optional;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the OM HA write path of key requests: validateAndUpdateCache
+ * of the requests, addToDBBatch of the responses and the flush of
+ * OzoneManagerDoubleBuffer to the OM DB.
+ * <p>
+ * The requests are applied directly, without RPC and Ratis, on an OM whose
+ * DB is in a temporary directory. Blocks of the keys are made up, so SCM is
+ * only started for OM to come up. The number of threads is set with the
+ * genesis -t option, and the allocation rate of each benchmark is reported
+ * by the GC profiler genesis runs with.
+ */
+@State(Scope.Benchmark)
+public class BenchMarkOMWritePath {
+
+  // size of the made up blocks of the keys.
+  private static final long BLOCK_SIZE = 4L * 1024 * 1024;
+
+  /**
+   * Data size of the created keys, which gives the number of blocks of each
+   * key.
+   */
+  @Param({"0", "4194304", "67108864"})
+  long keySize;
+
+  /**
+   * Number of buckets the keys are spread over, requests on a bucket are
+   * serialized by the bucket lock.
+   */
+  @Param({"1", "16"})
+  int bucketCount;
+
+  private String testDir;
+  private StorageContainerManager scm;
+  private OzoneManager om;
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private String volumeName;
+  private List<String> bucketNames;
+  private List<KeyLocation> keyLocations;
+  private final AtomicLong transactionIndex = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void initialize() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    testDir = GenesisUtil.getTempPath()
+        .resolve(RandomStringUtils.randomNumeric(7)).toString();
+    conf.set(HddsConfigKeys.OZONE_METADATA_DIRS, testDir);
+    GenesisUtil.configureSCM(conf, 10);
+    GenesisUtil.configureOM(conf, 20);
+
+    scm = GenesisUtil.getScm(conf, new SCMConfigurator());
+    scm.start();
+    om = GenesisUtil.getOm(conf);
+    omMetadataManager = om.getMetadataManager();
+
+    // Volume and bucket are added to the DB and to the table caches, as
+    // their requests would do, and are not part of the benchmark.
+    volumeName = UUID.randomUUID().toString();
+    String owner = UUID.randomUUID().toString();
+    OmVolumeArgs volumeArgs = OmVolumeArgs.newBuilder()
+        .setVolume(volumeName)
+        .setAdminName(owner)
+        .setOwnerName(owner)
+        .setCreationTime(Time.now())
+        .build();
+    String volumeKey = omMetadataManager.getVolumeKey(volumeName);
+    omMetadataManager.getVolumeTable().put(volumeKey, volumeArgs);
+    omMetadataManager.getVolumeTable().addCacheEntry(
+        new CacheKey<>(volumeKey),
+        new CacheValue<>(Optional.of(volumeArgs), 0L));
+
+    bucketNames = new ArrayList<>(bucketCount);
+    for (int i = 0; i < bucketCount; i++) {
+      String bucketName = UUID.randomUUID().toString();
+      OmBucketInfo bucketInfo = OmBucketInfo.newBuilder()
+          .setVolumeName(volumeName)
+          .setBucketName(bucketName)
+          .setCreationTime(Time.now())
+          .build();
+      String bucketKey = omMetadataManager.getBucketKey(volumeName,
+          bucketName);
+      omMetadataManager.getBucketTable().put(bucketKey, bucketInfo);
+      omMetadataManager.getBucketTable().addCacheEntry(
+          new CacheKey<>(bucketKey),
+          new CacheValue<>(Optional.of(bucketInfo), 0L));
+      bucketNames.add(bucketName);
+    }
+
+    keyLocations = new ArrayList<>();
+    for (long offset = 0; offset < keySize; offset += BLOCK_SIZE) {
+      keyLocations.add(KeyLocation.newBuilder()
+          .setBlockID(new BlockID(offset / BLOCK_SIZE + 1, offset + 1)
+              .getProtobuf())
+          .setOffset(0)
+          .setLength(Math.min(BLOCK_SIZE, keySize - offset))
+          .build());
+    }
+
+    // Without Ratis the double buffer completes the flush future of each
+    // response, which lets a benchmark wait for its response to be flushed.
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        // As in OM non-HA, there is no transaction index to save.
+        .setOzoneManagerRatisSnapShot(i -> {
+        })
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (doubleBuffer != null) {
+      doubleBuffer.stop();
+    }
+    if (om != null) {
+      om.stop();
+    }
+    if (scm != null) {
+      scm.stop();
+      scm.join();
+    }
+    FileUtil.fullyDelete(new File(testDir));
+  }
+
+  /**
+   * Creates a key, the response is flushed in the background and the
+   * benchmark is throttled only when the double buffer is full.
+   */
+  @Benchmark
+  public void createKey(Blackhole bh) {
+    bh.consume(createKey(randomBucket(), UUID.randomUUID().toString(),
+        Time.now()));
+  }
+
+  /**
+   * Creates and commits a key, and waits for the commit to be flushed to the
+   * OM DB, which is when the client would get the response.
+   */
+  @Benchmark
+  public void createAndCommitKey(Blackhole bh)
+      throws InterruptedException, ExecutionException {
+    bh.consume(createAndCommitKey());
+  }
+
+  OMClientResponse createAndCommitKey()
+      throws InterruptedException, ExecutionException {
+    String bucketName = randomBucket();
+    String keyName = UUID.randomUUID().toString();
+    long clientID = Time.now();
+    createKey(bucketName, keyName, clientID);
+
+    CommitKeyRequest commitKeyRequest = CommitKeyRequest.newBuilder()
+        .setKeyArgs(keyArgs(bucketName, keyName))
+        .setClientID(clientID)
+        .build();
+    OMRequest omRequest = OMRequest.newBuilder()
+        .setCmdType(Type.CommitKey)
+        .setCommitKeyRequest(commitKeyRequest)
+        .setClientId(UUID.randomUUID().toString())
+        .build();
+    OMClientResponse response = new OMKeyCommitRequest(omRequest)
+        .validateAndUpdateCache(om, transactionIndex.incrementAndGet(),
+            doubleBuffer::add);
+    response.getFlushFuture().get();
+    return response;
+  }
+
+  /**
+   * Writes the response of a key create to the OM DB in a batch of its own,
+   * without the request and the double buffer.
+   */
+  @Benchmark
+  public void writeKeyCreateResponse() throws IOException {
+    String bucketName = randomBucket();
+    long clientID = Time.now();
+    List<OmKeyLocationInfo> locations = new ArrayList<>(keyLocations.size());
+    for (KeyLocation keyLocation : keyLocations) {
+      locations.add(OmKeyLocationInfo.getFromProtobuf(keyLocation));
+    }
+    OmKeyInfo omKeyInfo = new OmKeyInfo.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(UUID.randomUUID().toString())
+        .setOmKeyLocationInfos(Collections.singletonList(
+            new OmKeyLocationInfoGroup(0, locations)))
+        .setCreationTime(clientID)
+        .setModificationTime(clientID)
+        .setDataSize(keySize)
+        .setReplicationType(ReplicationType.RATIS)
+        .setReplicationFactor(ReplicationFactor.THREE)
+        .setObjectID(clientID)
+        .setUpdateID(clientID)
+        .build();
+    OMResponse omResponse = OMResponse.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setStatus(Status.OK)
+        .setCreateKeyResponse(CreateKeyResponse.newBuilder()
+            .setKeyInfo(omKeyInfo.getProtobuf())
+            .setID(clientID)
+            .setOpenVersion(0L))
+        .build();
+    OMClientResponse response =
+        new OMKeyCreateResponse(omResponse, omKeyInfo, null, clientID);
+
+    DBStore store = omMetadataManager.getStore();
+    try (BatchOperation batch = store.initBatchOperation()) {
+      response.checkAndUpdateDB(omMetadataManager, batch);
+      store.commitBatchOperation(batch);
+    }
+  }
+
+  private OMClientResponse createKey(String bucketName, String keyName,
+      long clientID) {
+    CreateKeyRequest createKeyRequest = CreateKeyRequest.newBuilder()
+        .setKeyArgs(keyArgs(bucketName, keyName))
+        .setClientID(clientID)
+        .build();
+    OMRequest omRequest = OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setCreateKeyRequest(createKeyRequest)
+        .setClientId(UUID.randomUUID().toString())
+        .build();
+    return new OMKeyCreateRequest(omRequest).validateAndUpdateCache(om,
+        transactionIndex.incrementAndGet(), doubleBuffer::add);
+  }
+
+  private KeyArgs keyArgs(String bucketName, String keyName) {
+    return KeyArgs.newBuilder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(keyName)
+        .setDataSize(keySize)
+        .setType(ReplicationType.RATIS)
+        .setFactor(ReplicationFactor.THREE)
+        .setModificationTime(Time.now())
+        .addAllKeyLocations(keyLocations)
+        .build();
+  }
+
+  private String randomBucket() {
+    return bucketNames.get(ThreadLocalRandom.current().nextInt(bucketCount));
+  }
+}
@@ -131,7 +131,8 @@ public void cleanup() {
   public void writeMultipleFiles(BenchmarkState state, Blackhole sink)
       throws StorageContainerException {
 
-    ChunkManager chunkManager = new FilePerChunkStrategy(true, null);
+    ChunkManager chunkManager = new FilePerChunkStrategy(true, null,
+        state.config);
     benchmark(chunkManager, FILE_PER_CHUNK, state, sink);
   }
 
@@ -139,7 +140,7 @@ public void writeMultipleFiles(BenchmarkState state, Blackhole sink)
   public void writeSingleFile(BenchmarkState state, Blackhole sink)
       throws StorageContainerException {
 
-    ChunkManager chunkManager = new FilePerBlockStrategy(true);
+    ChunkManager chunkManager = new FilePerBlockStrategy(true, state.config);
     benchmark(chunkManager, FILE_PER_BLOCK, state, sink);
   }
 
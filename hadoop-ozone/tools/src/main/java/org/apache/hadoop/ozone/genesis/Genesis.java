@@ -51,7 +51,7 @@ public final class Genesis {
           + "BenchMarkOMKeyAllocation.\n"
           + "Possible benchmarks which can be used are "
           + "{BenchMarkContainerStateMap, BenchMarkOMKeyAllocation, "
-          + "BenchMarkOzoneManager, BenchMarkOMClient, "
+          + "BenchMarkOzoneManager, BenchMarkOMClient, BenchMarkOMWritePath, "
           + "BenchMarkSCM, BenchMarkMetadataStoreReads, "
           + "BenchMarkMetadataStoreWrites, BenchMarkDatanodeDispatcher, "
           + "BenchMarkRocksDbStore}")
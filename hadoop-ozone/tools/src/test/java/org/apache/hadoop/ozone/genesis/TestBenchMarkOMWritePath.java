@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.genesis;
+
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Smoke test of the OM write path benchmark.
+ */
+public class TestBenchMarkOMWritePath {
+
+  @Test(timeout = 120_000)
+  public void testCommitIsFlushed() throws Exception {
+    BenchMarkOMWritePath benchmark = new BenchMarkOMWritePath();
+    benchmark.keySize = 4L * 1024 * 1024;
+    benchmark.bucketCount = 1;
+    benchmark.initialize();
+    try {
+      // Returns once the double buffer has flushed the commit.
+      OMClientResponse response = benchmark.createAndCommitKey();
+      Assert.assertEquals(Status.OK, response.getOMResponse().getStatus());
+      Assert.assertTrue(response.getFlushFuture().isDone());
+    } finally {
+      benchmark.tearDown();
+    }
+  }
+}